@@ -0,0 +1,23 @@
+package misc.exceptions;
+
+/**
+ * Thrown when an element is requested from an empty container.
+ * <p>
+ * Stand-in for the course-provided exception, which is not part of this repository.
+ */
+public class EmptyContainerException extends RuntimeException {
+    /**
+     * Constructor : creates the exception without a message
+     */
+    public EmptyContainerException() {
+        super();
+    }
+
+    /**
+     * Constructor : creates the exception with the given message
+     * @param msg detail message
+     */
+    public EmptyContainerException(String msg) {
+        super(msg);
+    }
+}
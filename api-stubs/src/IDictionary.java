@@ -0,0 +1,59 @@
+package datastructures.interfaces;
+
+import misc.exceptions.NoSuchKeyException;
+
+/**
+ * Represents a dictionary : a collection of key-value pairs with distinct keys.
+ * <p>
+ * Stand-in for the course-provided interface, which is not part of this
+ * repository; it declares the same methods so that the implementations compile.
+ *
+ * @param <K> Generic type for key
+ * @param <V> Generic type for value
+ */
+public interface IDictionary<K, V> {
+    /**
+     * Returns the value corresponding to the given key.
+     * @param key key used to store the value.
+     * @return value corresponding to the given key.
+     * @throws NoSuchKeyException if the dictionary does not contain the given key.
+     */
+    V get(K key);
+
+    /**
+     * Adds the key-value pair to the dictionary. If the key already exists in the dictionary,
+     * replace its value with the given one.
+     * @param key key used to store the value
+     * @param value value corresponds to the key
+     */
+    void put(K key, V value);
+
+    /**
+     * Remove the key-value pair corresponding to the given key from the dictionary.
+     * @param key key user wants to remove
+     * @return value corresponds to the key
+     * @throws NoSuchKeyException if the dictionary does not contain the given key.
+     */
+    V remove(K key);
+
+    /**
+     * Returns 'true' if the dictionary contains the given key and 'false' otherwise.
+     * @param key key the user wants to search
+     * @return if the given key exists in the dictionary
+     */
+    boolean containsKey(K key);
+
+    /**
+     * Returns the number of key-value pairs stored in this dictionary.
+     * @return number of pairs in the dictionary
+     */
+    int size();
+
+    /**
+     * Returns 'true' if this dictionary is empty and 'false' otherwise.
+     * @return if the dictionary is empty
+     */
+    default boolean isEmpty() {
+        return this.size() == 0;
+    }
+}
@@ -0,0 +1,96 @@
+package datastructures.interfaces;
+
+import misc.exceptions.EmptyContainerException;
+
+import java.util.Iterator;
+
+/**
+ * Represents a list : an ordered collection of elements which can be reached by index.
+ * <p>
+ * Stand-in for the course-provided interface, which is not part of this
+ * repository; it declares the same methods so that the implementations compile.
+ *
+ * @param <T> Generic type
+ */
+public interface IList<T> extends Iterable<T> {
+    /**
+     * Adds the given item to the end of the list
+     * @param item The item to be added
+     */
+    void add(T item);
+
+    /**
+     * Removes the last element and returns it.
+     * @throws EmptyContainerException if the container is empty and there is no element to remove.
+     * @return The last element
+     */
+    T remove();
+
+    /**
+     * Returns the item located at the given index.
+     * @param index The index number
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= this.size()
+     * @return The item located at the given index
+     */
+    T get(int index);
+
+    /**
+     * Overwrites the element located at the given index with the new item.
+     * @param index The index number
+     * @param item The new item to be overwritten
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= this.size()
+     */
+    void set(int index, T item);
+
+    /**
+     * Inserts the given item at the given index, shifting the element at that
+     * index and any subsequent elements one index higher.
+     * @param index The index number
+     * @param item The new item to be inserted
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= this.size() + 1
+     */
+    void insert(int index, T item);
+
+    /**
+     * Deletes the item at the given index, shifting any elements located at a
+     * higher index down by one.
+     * @param index The index number
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= this.size()
+     * @return The deleted item
+     */
+    T delete(int index);
+
+    /**
+     * Returns the index corresponding to the first occurrence of the given item.
+     * @param item The item to be found in the list
+     * @return The location of the item in the list. (-1 if not found)
+     */
+    int indexOf(T item);
+
+    /**
+     * Returns the number of elements in the container.
+     * @return The size of the list
+     */
+    int size();
+
+    /**
+     * Returns 'true' if this container contains the given element, and 'false' otherwise.
+     * @param other The item to be found
+     * @return If the list contains the given item
+     */
+    boolean contains(T other);
+
+    /**
+     * Returns 'true' if this container is empty, and 'false' otherwise.
+     * @return If the list is empty
+     */
+    default boolean isEmpty() {
+        return this.size() == 0;
+    }
+
+    /**
+     * Returns an iterator over the contents of this list.
+     */
+    @Override
+    Iterator<T> iterator();
+}
@@ -0,0 +1,23 @@
+package misc.exceptions;
+
+/**
+ * Thrown when a key is not in a dictionary.
+ * <p>
+ * Stand-in for the course-provided exception, which is not part of this repository.
+ */
+public class NoSuchKeyException extends RuntimeException {
+    /**
+     * Constructor : creates the exception without a message
+     */
+    public NoSuchKeyException() {
+        super();
+    }
+
+    /**
+     * Constructor : creates the exception with the given message
+     * @param msg detail message
+     */
+    public NoSuchKeyException(String msg) {
+        super(msg);
+    }
+}
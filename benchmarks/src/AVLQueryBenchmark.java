@@ -0,0 +1,119 @@
+package datastructures.benchmarks;
+
+import datastructures.concrete.dictionaries.AVL;
+import datastructures.interfaces.IMonoid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Iterator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AVLQueryBenchmark class : time of the order-statistic and range queries of
+ * AVL. select and aggregate use the sizes and aggregates kept in the nodes and
+ * take O(log n); scanAggregate sums the same range through rangeIterator and
+ * get, which is what aggregate replaces, and takes O(width log n).
+ * @author Shohei F. Koshiro
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class AVLQueryBenchmark {
+    /** number of precomputed query positions; a power of two */
+    private static final int QUERIES = 1 << 16;
+
+    /** number of keys in the tree */
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    /** number of keys in an aggregated range */
+    @Param({"16", "1000"})
+    public int width;
+
+    /** tree holding i -> i for i from 0 to size - 1, with sums of the values */
+    private AVL<Integer, Long> avl;
+
+    /** random ranks, also used as the lowest keys of the ranges */
+    private int[] positions;
+
+    /** index of the next position */
+    private int next;
+
+    /**
+     * Builds the tree and draws the query positions
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        Integer[] keys = new Integer[this.size];
+        Long[] values = new Long[this.size];
+        for (int i = 0; i < this.size; i++) {
+            keys[i] = i;
+            values[i] = (long) i;
+        }
+        this.avl = new AVL<>(keys, values, null, IMonoid.of(0L, Long::sum));
+        SplittableRandom random = new SplittableRandom(42);
+        this.positions = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            this.positions[i] = random.nextInt(this.size);
+        }
+        this.next = 0;
+    }
+
+    /**
+     * Returns the next query position
+     * @return rank between 0 and size - 1
+     */
+    private int nextPosition() {
+        int position = this.positions[this.next];
+        this.next = (this.next + 1) & (QUERIES - 1);
+        return position;
+    }
+
+    /**
+     * Finds the key of a random rank
+     * @return the key
+     */
+    @Benchmark
+    public Integer select() {
+        return this.avl.select(this.nextPosition());
+    }
+
+    /**
+     * Sums the values of a random range from the aggregates of the nodes
+     * @return the sum
+     */
+    @Benchmark
+    public Long aggregate() {
+        int lo = this.nextPosition();
+        return this.avl.aggregate(lo, lo + this.width - 1);
+    }
+
+    /**
+     * Sums the values of a random range by visiting its keys
+     * @return the sum
+     */
+    @Benchmark
+    public long scanAggregate() {
+        int lo = this.nextPosition();
+        long sum = 0;
+        Iterator<Integer> keys = this.avl.rangeIterator(lo, lo + this.width - 1);
+        while (keys.hasNext()) {
+            sum += this.avl.get(keys.next());
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,263 @@
+package datastructures.benchmarks;
+
+import datastructures.concrete.dictionaries.AsyncDictionary;
+import datastructures.interfaces.IDictionary;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * AsyncDictionaryLoadGenerator class : open-loop load generator which reports
+ * the latency percentiles of get and put against a shared dictionary, either
+ * through AsyncDictionary or behind one global lock.
+ * <p>
+ * Every client thread issues requests on a fixed schedule, whether or not the
+ * earlier ones have finished, and the latency of a request is measured from
+ * the time it was scheduled to be sent. A dictionary which falls behind
+ * therefore shows its queueing delay in the percentiles instead of quietly
+ * lowering the request rate (coordinated omission).
+ * <p>
+ * Options are given as name=value :
+ * <ul>
+ *     <li>implementation : dictionary behind the front-end (default HashDictionary)</li>
+ *     <li>front : async or locked (default async)</li>
+ *     <li>rate : requests per second over all clients (default 100000)</li>
+ *     <li>clients : number of client threads (default 8)</li>
+ *     <li>size : number of keys in the dictionary (default 10000)</li>
+ *     <li>readPercent : percentage of requests which are gets (default 90)</li>
+ *     <li>maxBatch : largest batch of AsyncDictionary (default 256)</li>
+ *     <li>warmup, seconds : warm-up and measured duration in seconds (default 5, 10)</li>
+ *     <li>hgrm : file to write the full percentile distribution to (default none)</li>
+ * </ul>
+ * @author Shohei F. Koshiro
+ */
+public final class AsyncDictionaryLoadGenerator {
+    /** option names and their default values */
+    private static final String[][] DEFAULTS = {
+            {"implementation", "HashDictionary"},
+            {"front", "async"},
+            {"rate", "100000"},
+            {"clients", "8"},
+            {"size", "10000"},
+            {"readPercent", "90"},
+            {"maxBatch", "256"},
+            {"warmup", "5"},
+            {"seconds", "10"},
+            {"hgrm", ""},
+    };
+
+    /** latencies are reported in microseconds */
+    private static final double NANOS_PER_UNIT = 1000.0;
+
+    /** latencies of the completed requests, in nanoseconds */
+    private final Recorder recorder;
+
+    /** dictionary, when used behind the lock */
+    private final IDictionary<Integer, Integer> dictionary;
+
+    /** front-end, when the dictionary is used through AsyncDictionary */
+    private final AsyncDictionary<Integer, Integer> async;
+
+    /** number of keys in the dictionary */
+    private final int size;
+
+    /** percentage of requests which are gets */
+    private final int readPercent;
+
+    /** keeps the results of the locked gets alive */
+    private final LongAdder checksum;
+
+    /**
+     * Constructor : fills the dictionary and sets up the front-end
+     * @param dictionary empty dictionary to load
+     * @param front async or locked
+     * @param size number of keys
+     * @param readPercent percentage of requests which are gets
+     * @param maxBatch largest batch of AsyncDictionary
+     * @throws IllegalArgumentException if the front is unknown
+     */
+    private AsyncDictionaryLoadGenerator(IDictionary<Integer, Integer> dictionary, String front, int size,
+                                         int readPercent, int maxBatch) {
+        for (int i = 0; i < size; i++) {
+            dictionary.put(i, i);
+        }
+        if ("async".equals(front)) {
+            this.async = new AsyncDictionary<>(dictionary, maxBatch);
+            this.dictionary = null;
+        } else if ("locked".equals(front)) {
+            this.async = null;
+            this.dictionary = dictionary;
+        } else {
+            throw new IllegalArgumentException("Unknown front : " + front + " (async or locked)");
+        }
+        this.recorder = new Recorder(3);
+        this.size = size;
+        this.readPercent = readPercent;
+        this.checksum = new LongAdder();
+    }
+
+    /**
+     * Runs the load and prints the percentiles
+     * @param args options as name=value
+     * @throws IOException if the scratch directory or the hgrm file cannot be written
+     * @throws InterruptedException if interrupted while the load runs
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, String> options = parse(args);
+        String implementation = options.get("implementation");
+        String front = options.get("front");
+        int rate = Integer.parseInt(options.get("rate"));
+        int clients = Integer.parseInt(options.get("clients"));
+        int size = Integer.parseInt(options.get("size"));
+        int readPercent = Integer.parseInt(options.get("readPercent"));
+        int maxBatch = Integer.parseInt(options.get("maxBatch"));
+        int warmup = Integer.parseInt(options.get("warmup"));
+        int seconds = Integer.parseInt(options.get("seconds"));
+        if (rate <= 0 || clients <= 0 || size <= 0 || seconds <= 0 || warmup < 0) {
+            throw new IllegalArgumentException("rate, clients, size and seconds must be positive");
+        }
+
+        Path directory = Files.createTempDirectory("load-generator");
+        IDictionary<Integer, Integer> dictionary = Structures.newDictionary(implementation, size, directory);
+        try {
+            AsyncDictionaryLoadGenerator generator = new AsyncDictionaryLoadGenerator(dictionary, front, size,
+                    readPercent, maxBatch);
+            Histogram histogram = generator.run(rate, clients, warmup, seconds);
+
+            System.out.printf("implementation=%s front=%s rate=%d/s clients=%d size=%d readPercent=%d%n",
+                    implementation, front, rate, clients, size, readPercent);
+            System.out.printf("requests : %d (%.0f/s)%n", histogram.getTotalCount(),
+                    (double) histogram.getTotalCount() / seconds);
+            System.out.printf("p50      : %10.1f us%n", histogram.getValueAtPercentile(50) / NANOS_PER_UNIT);
+            System.out.printf("p99      : %10.1f us%n", histogram.getValueAtPercentile(99) / NANOS_PER_UNIT);
+            System.out.printf("p999     : %10.1f us%n", histogram.getValueAtPercentile(99.9) / NANOS_PER_UNIT);
+            System.out.printf("max      : %10.1f us%n", histogram.getMaxValue() / NANOS_PER_UNIT);
+            if (generator.async != null) {
+                System.out.printf("batch    : %10.1f requests on average%n", generator.async.getAverageBatchSize());
+                generator.async.close();
+            }
+            String hgrm = options.get("hgrm");
+            if (!hgrm.isEmpty()) {
+                writeDistribution(histogram, hgrm);
+            }
+        } finally {
+            Structures.close(dictionary);
+            Structures.deleteDirectory(directory);
+        }
+    }
+
+    /**
+     * Parses name=value options over the defaults
+     * @param args command line
+     * @return value of every option
+     * @throws IllegalArgumentException if an option is malformed or unknown
+     */
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String[] option : DEFAULTS) {
+            options.put(option[0], option[1]);
+        }
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (equals < 0 || !options.containsKey(arg.substring(0, equals))) {
+                throw new IllegalArgumentException("Unknown option : " + arg + " (expected name=value, names "
+                        + options.keySet() + ")");
+            }
+            options.put(arg.substring(0, equals), arg.substring(equals + 1));
+        }
+        return options;
+    }
+
+    /**
+     * Writes the percentile distribution of the histogram, in microseconds
+     * @param histogram latencies in nanoseconds
+     * @param file file to write
+     * @throws FileNotFoundException if the file cannot be created
+     */
+    private static void writeDistribution(Histogram histogram, String file) throws FileNotFoundException {
+        try (PrintStream out = new PrintStream(file)) {
+            histogram.outputPercentileDistribution(out, NANOS_PER_UNIT);
+        }
+    }
+
+    /**
+     * Runs the clients through the warm-up and the measurement
+     * @param rate requests per second over all clients
+     * @param clients number of client threads
+     * @param warmup warm-up in seconds
+     * @param seconds measurement in seconds
+     * @return latencies of the requests completed after the warm-up, in nanoseconds
+     * @throws InterruptedException if interrupted while waiting for the clients
+     */
+    private Histogram run(int rate, int clients, int warmup, int seconds) throws InterruptedException {
+        long interval = Math.max(1, clients * TimeUnit.SECONDS.toNanos(1) / rate);
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(warmup + seconds);
+        Thread[] threads = new Thread[clients];
+        for (int i = 0; i < clients; i++) {
+            // spread the first requests of the clients over one interval
+            long first = start + interval * i / clients;
+            long seed = 42 + i;
+            threads[i] = new Thread(() -> this.issue(first, interval, end, seed), "load-client-" + i);
+            threads[i].start();
+        }
+        TimeUnit.SECONDS.sleep(warmup);
+        // drop what was recorded during the warm-up
+        this.recorder.getIntervalHistogram();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (this.async != null) {
+            // requests are applied in order, so this waits for all the others
+            this.async.sizeAsync().join();
+        }
+        return this.recorder.getIntervalHistogram();
+    }
+
+    /**
+     * Issues requests of one client on its schedule until the end
+     * @param first time the first request is due
+     * @param interval time between two requests
+     * @param end time after which no request is issued
+     * @param seed seed of the client's keys
+     */
+    private void issue(long first, long interval, long end, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long sum = 0;
+        for (long due = first; due < end; due += interval) {
+            long now;
+            while ((now = System.nanoTime()) < due) {
+                LockSupport.parkNanos(due - now);
+            }
+            Integer key = random.nextInt(this.size);
+            boolean read = random.nextInt(100) < this.readPercent;
+            if (this.async != null) {
+                long scheduled = due;
+                CompletableFuture<?> future = read ? this.async.getAsync(key) : this.async.putAsync(key, key);
+                future.whenComplete((result, error) -> this.recorder.recordValue(System.nanoTime() - scheduled));
+            } else {
+                synchronized (this.dictionary) {
+                    if (read) {
+                        sum += this.dictionary.get(key);
+                    } else {
+                        this.dictionary.put(key, key);
+                    }
+                }
+                this.recorder.recordValue(System.nanoTime() - due);
+            }
+        }
+        this.checksum.add(sum);
+    }
+}
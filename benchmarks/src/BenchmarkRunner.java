@@ -0,0 +1,58 @@
+package datastructures.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * BenchmarkRunner class : entry point of benchmarks.jar. Takes the usual JMH
+ * command line, but unless told otherwise writes the results as JSON to
+ * jmh-result.json and runs the gc profiler, so that throughput and allocation
+ * rate can be compared from one release to the next.
+ * @author Shohei F. Koshiro
+ */
+public final class BenchmarkRunner {
+    /** default result file */
+    private static final String RESULT_FILE = "jmh-result.json";
+
+    /**
+     * Constructor : not instantiable
+     */
+    private BenchmarkRunner() {
+    }
+
+    /**
+     * Runs the benchmarks selected on the command line
+     * @param args JMH command line options
+     * @throws CommandLineOptionException if the options cannot be parsed
+     * @throws RunnerException if the benchmarks cannot be run
+     * @throws IOException if JMH cannot print a listing
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException, IOException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListProfilers()
+                || commandLine.shouldListResultFormats() || commandLine.shouldListWithParams()) {
+            // let JMH print what was asked for
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        if (!commandLine.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLine.getResult().hasValue()) {
+            options.result(RESULT_FILE);
+        }
+        if (commandLine.getProfilers().isEmpty()) {
+            options.addProfiler(GCProfiler.class);
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,237 @@
+package datastructures.benchmarks;
+
+import datastructures.concrete.dictionaries.ArrayDictionary;
+import datastructures.concrete.dictionaries.ConcurrentHashDictionary;
+import datastructures.concrete.dictionaries.HashDictionary;
+import datastructures.interfaces.IDictionary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ConcurrentDictionaryBenchmark class : throughput of one dictionary shared by
+ * all benchmark threads, for ConcurrentHashDictionary and for dictionaries
+ * behind one global lock.
+ * <p>
+ * Every thread runs a mix of get and put (or merge) on random keys. The
+ * default is 4 threads; run with -t 1, 2, 4, 8, 16, ... to see how each
+ * implementation scales with the number of cores.
+ * @author Shohei F. Koshiro
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Threads(4)
+public class ConcurrentDictionaryBenchmark {
+    /** number of keys drawn up front per thread (power of two) */
+    private static final int DRAWN = 1 << 16;
+
+    /** dictionary implementation */
+    @Param({"ConcurrentHashDictionary", "SynchronizedHashDictionary", "SynchronizedArrayDictionary"})
+    public String implementation;
+
+    /** number of keys in the dictionary */
+    @Param({"1000", "100000"})
+    public int size;
+
+    /** percentage of operations which are reads */
+    @Param({"100", "90", "50"})
+    public int readPercent;
+
+    /** the shared dictionary; key i maps to i */
+    private IDictionary<Integer, Integer> dictionary;
+
+    /** the shared dictionary, if it is a ConcurrentHashDictionary */
+    private ConcurrentHashDictionary<Integer, Integer> concurrent;
+
+    /** gives every thread its own seed */
+    private final AtomicLong seeds = new AtomicLong(42);
+
+    /**
+     * Fills the shared dictionary
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        switch (this.implementation) {
+            case "ConcurrentHashDictionary":
+                this.concurrent = new ConcurrentHashDictionary<>();
+                this.dictionary = this.concurrent;
+                break;
+            case "SynchronizedHashDictionary":
+                this.dictionary = new SynchronizedDictionary<>(new HashDictionary<>());
+                break;
+            case "SynchronizedArrayDictionary":
+                this.dictionary = new SynchronizedDictionary<>(new ArrayDictionary<>());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown dictionary : " + this.implementation);
+        }
+        for (int i = 0; i < this.size; i++) {
+            this.dictionary.put(i, i);
+        }
+    }
+
+    /**
+     * get or put of a random key
+     * @param thread keys and operations drawn for this thread
+     * @return value read, or null for a put
+     */
+    @Benchmark
+    public Integer getOrPut(ThreadKeys thread) {
+        int i = thread.next();
+        Integer key = thread.keys[i];
+        if (thread.reads[i]) {
+            return this.dictionary.get(key);
+        }
+        this.dictionary.put(key, key);
+        return null;
+    }
+
+    /**
+     * get or atomic increment of a random key. The locked dictionaries do the
+     * get and put of the increment under one lock.
+     * @param thread keys and operations drawn for this thread
+     * @return value read or written
+     */
+    @Benchmark
+    public Integer getOrMerge(ThreadKeys thread) {
+        int i = thread.next();
+        Integer key = thread.keys[i];
+        if (thread.reads[i]) {
+            return this.dictionary.get(key);
+        }
+        if (this.concurrent != null) {
+            return this.concurrent.merge(key, 1, Integer::sum);
+        }
+        synchronized (this.dictionary) {
+            Integer value = this.dictionary.get(key) + 1;
+            this.dictionary.put(key, value);
+            return value;
+        }
+    }
+
+    /**
+     * ThreadKeys class : keys and read/write choices drawn up front for one thread
+     */
+    @State(Scope.Thread)
+    public static class ThreadKeys {
+        /** drawn keys, already boxed */
+        private Integer[] keys;
+
+        /** if the operation at the same position is a read */
+        private boolean[] reads;
+
+        /** position in the drawn arrays */
+        private int cursor;
+
+        /**
+         * Draws the keys and operations of this thread
+         * @param benchmark the shared benchmark state
+         */
+        @Setup(Level.Trial)
+        public void setUp(ConcurrentDictionaryBenchmark benchmark) {
+            SplittableRandom random = new SplittableRandom(benchmark.seeds.getAndIncrement());
+            this.keys = new Integer[DRAWN];
+            this.reads = new boolean[DRAWN];
+            for (int i = 0; i < DRAWN; i++) {
+                this.keys[i] = random.nextInt(benchmark.size);
+                this.reads[i] = random.nextInt(100) < benchmark.readPercent;
+            }
+            this.cursor = 0;
+        }
+
+        /**
+         * Advances to the next drawn key
+         * @return position of the next key in the drawn arrays
+         */
+        private int next() {
+            this.cursor = (this.cursor + 1) & (DRAWN - 1);
+            return this.cursor;
+        }
+    }
+
+    /**
+     * SynchronizedDictionary class : puts one global lock around every call,
+     * the way a dictionary which is not thread-safe is usually shared
+     * @param <K> Generic type for key
+     * @param <V> Generic type for value
+     */
+    private static final class SynchronizedDictionary<K, V> implements IDictionary<K, V> {
+        /** the locked dictionary */
+        private final IDictionary<K, V> dictionary;
+
+        /**
+         * Constructor : wraps the dictionary
+         * @param dictionary dictionary to lock around
+         */
+        SynchronizedDictionary(IDictionary<K, V> dictionary) {
+            this.dictionary = dictionary;
+        }
+
+        /**
+         * Returns the value of the key under the lock
+         * @param key key used to store the value
+         * @return value corresponding to the key
+         */
+        @Override
+        public synchronized V get(K key) {
+            return this.dictionary.get(key);
+        }
+
+        /**
+         * Stores the pair under the lock
+         * @param key key used to store the value
+         * @param value value corresponds to the key
+         */
+        @Override
+        public synchronized void put(K key, V value) {
+            this.dictionary.put(key, value);
+        }
+
+        /**
+         * Removes the pair under the lock
+         * @param key key user wants to remove
+         * @return value corresponds to the key
+         */
+        @Override
+        public synchronized V remove(K key) {
+            return this.dictionary.remove(key);
+        }
+
+        /**
+         * Looks the key up under the lock
+         * @param key key the user wants to search
+         * @return if the key exists in the dictionary
+         */
+        @Override
+        public synchronized boolean containsKey(K key) {
+            return this.dictionary.containsKey(key);
+        }
+
+        /**
+         * Returns the number of pairs under the lock
+         * @return number of pairs in the dictionary
+         */
+        @Override
+        public synchronized int size() {
+            return this.dictionary.size();
+        }
+    }
+}
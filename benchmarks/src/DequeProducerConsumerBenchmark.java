@@ -0,0 +1,177 @@
+package datastructures.benchmarks;
+
+import datastructures.concrete.ConcurrentDoubleLinkedDeque;
+import datastructures.concrete.DoubleLinkedList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DequeProducerConsumerBenchmark class : throughput of a deque used as a work
+ * queue, with producers offering at the back and consumers polling at the front.
+ * <p>
+ * ConcurrentDoubleLinkedDeque is compared with a DoubleLinkedList behind one
+ * lock and with java.util.concurrent.ConcurrentLinkedDeque. The default is 2
+ * producers and 2 consumers; run with -tg 1,1, -tg 4,4, -tg 8,2, ... for
+ * other thread counts. Producers stop offering while the deque holds CAPACITY
+ * items, so a slow side cannot fill the heap; polls of an empty deque are
+ * counted too, so compare the producer and consumer scores separately.
+ * @author Shohei F. Koshiro
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DequeProducerConsumerBenchmark {
+    /** largest number of queued items before producers back off */
+    private static final int CAPACITY = 1 << 16;
+
+    /** the item every producer offers */
+    private static final Integer ITEM = 1;
+
+    /** deque implementation */
+    @Param({"ConcurrentDoubleLinkedDeque", "SynchronizedDoubleLinkedList", "ConcurrentLinkedDeque"})
+    public String implementation;
+
+    /** the shared work queue */
+    private WorkQueue queue;
+
+    /**
+     * Creates the work queue
+     */
+    @Setup(Level.Iteration)
+    public void setUp() {
+        switch (this.implementation) {
+            case "ConcurrentDoubleLinkedDeque":
+                ConcurrentDoubleLinkedDeque<Integer> deque = new ConcurrentDoubleLinkedDeque<>();
+                this.queue = new WorkQueue() {
+                    @Override
+                    public void offer(Integer item) {
+                        deque.offerLast(item);
+                    }
+
+                    @Override
+                    public Integer poll() {
+                        return deque.pollFirst();
+                    }
+
+                    @Override
+                    public int size() {
+                        return deque.size();
+                    }
+                };
+                break;
+            case "SynchronizedDoubleLinkedList":
+                DoubleLinkedList<Integer> list = new DoubleLinkedList<>();
+                this.queue = new WorkQueue() {
+                    @Override
+                    public synchronized void offer(Integer item) {
+                        list.add(item);
+                    }
+
+                    @Override
+                    public synchronized Integer poll() {
+                        return list.isEmpty() ? null : list.delete(0);
+                    }
+
+                    @Override
+                    public synchronized int size() {
+                        return list.size();
+                    }
+                };
+                break;
+            case "ConcurrentLinkedDeque":
+                ConcurrentLinkedDeque<Integer> jdk = new ConcurrentLinkedDeque<>();
+                // ConcurrentLinkedDeque.size() walks the whole deque, so count
+                // like ConcurrentDoubleLinkedDeque does
+                AtomicInteger count = new AtomicInteger();
+                this.queue = new WorkQueue() {
+                    @Override
+                    public void offer(Integer item) {
+                        jdk.offerLast(item);
+                        count.incrementAndGet();
+                    }
+
+                    @Override
+                    public Integer poll() {
+                        Integer item = jdk.pollFirst();
+                        if (item != null) {
+                            count.decrementAndGet();
+                        }
+                        return item;
+                    }
+
+                    @Override
+                    public int size() {
+                        return count.get();
+                    }
+                };
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown deque : " + this.implementation);
+        }
+    }
+
+    /**
+     * Offers one item at the back, unless the deque is full
+     */
+    @Benchmark
+    @Group("workQueue")
+    @GroupThreads(2)
+    public void produce() {
+        if (this.queue.size() < CAPACITY) {
+            this.queue.offer(ITEM);
+        }
+    }
+
+    /**
+     * Polls one item from the front
+     * @return the item; null if the deque was empty
+     */
+    @Benchmark
+    @Group("workQueue")
+    @GroupThreads(2)
+    public Integer consume() {
+        return this.queue.poll();
+    }
+
+    /**
+     * WorkQueue interface : the operations a producer and a consumer need
+     */
+    private interface WorkQueue {
+        /**
+         * Adds the item at the back
+         * @param item item to add
+         */
+        void offer(Integer item);
+
+        /**
+         * Removes the item at the front
+         * @return the item; null if the queue is empty
+         */
+        Integer poll();
+
+        /**
+         * Returns the number of queued items
+         * @return number of items
+         */
+        int size();
+    }
+}
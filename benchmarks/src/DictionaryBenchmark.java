@@ -0,0 +1,164 @@
+package datastructures.benchmarks;
+
+import datastructures.interfaces.IDictionary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DictionaryBenchmark class : throughput of the IDictionary operations for
+ * every dictionary implementation, dictionary size and key distribution.
+ * <p>
+ * The dictionary holds the keys 0 to size - 1, and every benchmark leaves it
+ * that way : put replaces a value and remove is paired with a put.
+ * ArrayDictionary is filled by puts which each scan the whole array, so it
+ * only runs up to 100000 keys; larger sizes fail in setup.
+ * @author Shohei F. Koshiro
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class DictionaryBenchmark {
+    /** number of keys drawn up front (power of two) */
+    private static final int DRAWN = 1 << 16;
+
+    /** largest size ArrayDictionary can be filled to in reasonable time */
+    private static final int MAX_ARRAY_DICTIONARY_SIZE = 100000;
+
+    /** dictionary implementation */
+    @Param({"ArrayDictionary", "HashDictionary", "AVL", "PersistentAVL", "ConcurrentHashDictionary",
+            "FilteredDictionary", "MappedDictionary"})
+    public String implementation;
+
+    /** number of keys in the dictionary */
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    /** distribution of the keys */
+    @Param({"SEQUENTIAL", "RANDOM", "ZIPFIAN"})
+    public KeyDistribution distribution;
+
+    /** the benchmarked dictionary; key i maps to i */
+    private IDictionary<Integer, Integer> dictionary;
+
+    /** directory for the files of MappedDictionary */
+    private Path directory;
+
+    /** drawn keys, already boxed */
+    private Integer[] keys;
+
+    /** drawn keys plus size : keys which are never in the dictionary */
+    private Integer[] missingKeys;
+
+    /** position in the drawn keys */
+    private int cursor;
+
+    /**
+     * Fills the dictionary and draws the keys
+     * @throws IOException if the scratch directory cannot be created
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        if ("ArrayDictionary".equals(this.implementation) && this.size > MAX_ARRAY_DICTIONARY_SIZE) {
+            throw new IllegalStateException("ArrayDictionary is only benchmarked up to "
+                    + MAX_ARRAY_DICTIONARY_SIZE + " keys");
+        }
+        this.directory = Files.createTempDirectory("dictionary-benchmark");
+        this.dictionary = Structures.newDictionary(this.implementation, this.size, this.directory);
+        for (int i = 0; i < this.size; i++) {
+            this.dictionary.put(i, i);
+        }
+        int[] drawn = this.distribution.draw(this.size, DRAWN, 42);
+        this.keys = new Integer[DRAWN];
+        this.missingKeys = new Integer[DRAWN];
+        for (int i = 0; i < DRAWN; i++) {
+            this.keys[i] = drawn[i];
+            this.missingKeys[i] = drawn[i] + this.size;
+        }
+        this.cursor = 0;
+    }
+
+    /**
+     * Closes the dictionary and deletes its files
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Structures.close(this.dictionary);
+        Structures.deleteDirectory(this.directory);
+    }
+
+    /**
+     * Advances to the next drawn key
+     * @return position of the next key in the drawn arrays
+     */
+    private int next() {
+        this.cursor = (this.cursor + 1) & (DRAWN - 1);
+        return this.cursor;
+    }
+
+    /**
+     * get of a drawn key
+     * @return value of the key
+     */
+    @Benchmark
+    public Integer get() {
+        return this.dictionary.get(this.keys[this.next()]);
+    }
+
+    /**
+     * put of a drawn key, replacing its value with the same value
+     */
+    @Benchmark
+    public void put() {
+        Integer key = this.keys[this.next()];
+        this.dictionary.put(key, key);
+    }
+
+    /**
+     * remove of a drawn key followed by a put of it
+     * @return removed value
+     */
+    @Benchmark
+    public Integer removeThenPut() {
+        Integer key = this.keys[this.next()];
+        Integer value = this.dictionary.remove(key);
+        this.dictionary.put(key, value);
+        return value;
+    }
+
+    /**
+     * containsKey of a drawn key
+     * @return true
+     */
+    @Benchmark
+    public boolean containsKey() {
+        return this.dictionary.containsKey(this.keys[this.next()]);
+    }
+
+    /**
+     * containsKey of a key which is not in the dictionary
+     * @return false
+     */
+    @Benchmark
+    public boolean containsMissingKey() {
+        return this.dictionary.containsKey(this.missingKeys[this.next()]);
+    }
+}
@@ -0,0 +1,117 @@
+package datastructures.benchmarks;
+
+import datastructures.concrete.dictionaries.AVL;
+import datastructures.concrete.dictionaries.ArrayDictionary;
+import datastructures.concrete.dictionaries.HashDictionary;
+import datastructures.concrete.dictionaries.PersistentAVL;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DictionaryIterationBenchmark class : time to visit every pair of the
+ * dictionaries which can be iterated. IDictionary has no iterator, so each
+ * implementation is walked through the view it offers. As in
+ * DictionaryBenchmark, ArrayDictionary only runs up to 100000 keys.
+ * @author Shohei F. Koshiro
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class DictionaryIterationBenchmark {
+    /** largest size ArrayDictionary can be filled to in reasonable time */
+    private static final int MAX_ARRAY_DICTIONARY_SIZE = 100000;
+
+    /** dictionary implementation */
+    @Param({"ArrayDictionary", "HashDictionary", "AVL", "PersistentAVL"})
+    public String implementation;
+
+    /** number of keys in the dictionary */
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    /** dictionaries; only the one of the implementation is filled */
+    private ArrayDictionary<Integer, Integer> arrayDictionary;
+    private HashDictionary<Integer, Integer> hashDictionary;
+    private AVL<Integer, Integer> avl;
+    private PersistentAVL<Integer, Integer> persistentAVL;
+
+    /**
+     * Fills the dictionary of the implementation with the keys 0 to size - 1
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        switch (this.implementation) {
+            case "ArrayDictionary":
+                if (this.size > MAX_ARRAY_DICTIONARY_SIZE) {
+                    throw new IllegalStateException("ArrayDictionary is only benchmarked up to "
+                            + MAX_ARRAY_DICTIONARY_SIZE + " keys");
+                }
+                this.arrayDictionary = new ArrayDictionary<>(this.size);
+                for (int i = 0; i < this.size; i++) {
+                    this.arrayDictionary.put(i, i);
+                }
+                break;
+            case "HashDictionary":
+                this.hashDictionary = new HashDictionary<>(this.size);
+                for (int i = 0; i < this.size; i++) {
+                    this.hashDictionary.put(i, i);
+                }
+                break;
+            case "AVL":
+                Integer[] keys = new Integer[this.size];
+                for (int i = 0; i < this.size; i++) {
+                    keys[i] = i;
+                }
+                this.avl = new AVL<>(keys, keys);
+                break;
+            case "PersistentAVL":
+                this.persistentAVL = new PersistentAVL<>();
+                for (int i = 0; i < this.size; i++) {
+                    this.persistentAVL.put(i, i);
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown dictionary : " + this.implementation);
+        }
+    }
+
+    /**
+     * Visits every pair of the dictionary
+     * @return sum of the values
+     */
+    @Benchmark
+    public long iterate() {
+        switch (this.implementation) {
+            case "ArrayDictionary":
+                return this.arrayDictionary.stream().mapToLong(Map.Entry::getValue).sum();
+            case "HashDictionary":
+                return this.hashDictionary.stream().mapToLong(Map.Entry::getValue).sum();
+            case "AVL":
+                long sum = 0;
+                Iterator<Integer> keys = this.avl.rangeIterator(0, this.size - 1);
+                while (keys.hasNext()) {
+                    sum += keys.next();
+                }
+                return sum;
+            default:
+                return this.persistentAVL.stream().mapToLong(Map.Entry::getValue).sum();
+        }
+    }
+}
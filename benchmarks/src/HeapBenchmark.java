@@ -0,0 +1,208 @@
+package datastructures.benchmarks;
+
+import datastructures.concrete.DAryHeap;
+import datastructures.concrete.IndexedDAryHeap;
+import datastructures.concrete.LongPriorityHeap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HeapBenchmark class : time of the heap operations at a steady size.
+ * <p>
+ * hold removes the smallest element and adds a new one slightly larger, the
+ * classic "hold" model of an event queue, and runs on every heap.
+ * decreaseKey lowers the priority of a random element and then raises another
+ * one back through remove and add, so the size and the spread of priorities
+ * stay the same; it runs on the indexed heaps and, as a baseline, on
+ * PriorityQueue, whose remove(Object) has to search the array.
+ * @author Shohei F. Koshiro
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class HeapBenchmark {
+    /** largest size PriorityQueue is benchmarked at for decreaseKey, whose remove is linear */
+    private static final int MAX_SCANNED_SIZE = 100000;
+
+    /** heap implementation, with the arity of DAryHeap */
+    @Param({"PriorityQueue", "DAryHeap(2)", "DAryHeap(4)", "DAryHeap(8)", "IndexedDAryHeap", "LongPriorityHeap"})
+    public String implementation;
+
+    /** number of elements in the heap */
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    /** heaps; only the one of the implementation is filled */
+    private PriorityQueue<Job> priorityQueue;
+    private DAryHeap<Job> dAryHeap;
+    private IndexedDAryHeap<Job> indexedHeap;
+    private LongPriorityHeap longHeap;
+
+    /** job of every id currently in the object heaps */
+    private Job[] jobs;
+
+    /** source of the ids and priority increments */
+    private SplittableRandom random;
+
+    /**
+     * Fills the heap of the implementation with size jobs of random priorities
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.random = new SplittableRandom(42);
+        this.jobs = new Job[this.size];
+        Comparator<Job> order = Comparator.comparingLong(job -> job.priority);
+        switch (this.implementation) {
+            case "PriorityQueue":
+                this.priorityQueue = new PriorityQueue<>(order);
+                break;
+            case "DAryHeap(2)":
+            case "DAryHeap(4)":
+            case "DAryHeap(8)":
+                int arity = Integer.parseInt(this.implementation.substring(9, this.implementation.length() - 1));
+                this.dAryHeap = new DAryHeap<>(arity, order);
+                break;
+            case "IndexedDAryHeap":
+                this.indexedHeap = new IndexedDAryHeap<>(order);
+                break;
+            case "LongPriorityHeap":
+                this.longHeap = new LongPriorityHeap();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown heap : " + this.implementation);
+        }
+        for (int id = 0; id < this.size; id++) {
+            this.add(new Job(id, this.random.nextLong(this.size)));
+        }
+    }
+
+    /**
+     * Removes the smallest job and adds it back a random distance further on
+     * @return id of the removed job
+     */
+    @Benchmark
+    public int hold() {
+        Job min;
+        switch (this.implementation) {
+            case "PriorityQueue":
+                min = this.priorityQueue.poll();
+                break;
+            case "IndexedDAryHeap":
+                min = this.indexedHeap.removeMin();
+                break;
+            case "LongPriorityHeap":
+                long priority = this.longHeap.peekMinPriority();
+                int id = this.longHeap.removeMin();
+                this.longHeap.add(id, priority + this.random.nextLong(this.size));
+                return id;
+            default:
+                min = this.dAryHeap.removeMin();
+                break;
+        }
+        this.add(new Job(min.id, min.priority + this.random.nextLong(this.size)));
+        return min.id;
+    }
+
+    /**
+     * Lowers the priority of a random job, then moves another random job to a
+     * larger priority by removing and adding it
+     * @return id of the lowered job
+     */
+    @Benchmark
+    public int decreaseKey() {
+        int id = this.random.nextInt(this.size);
+        int other = this.random.nextInt(this.size);
+        long delta = this.random.nextLong(this.size);
+        switch (this.implementation) {
+            case "PriorityQueue":
+                if (this.size > MAX_SCANNED_SIZE) {
+                    throw new IllegalStateException("PriorityQueue is only benchmarked up to "
+                            + MAX_SCANNED_SIZE + " elements");
+                }
+                Job old = this.jobs[id];
+                this.priorityQueue.remove(old);
+                this.add(new Job(id, old.priority - delta));
+                Job raised = this.jobs[other];
+                this.priorityQueue.remove(raised);
+                this.add(new Job(other, raised.priority + delta));
+                return id;
+            case "IndexedDAryHeap":
+                Job current = this.jobs[id];
+                Job lowered = new Job(id, current.priority - delta);
+                this.indexedHeap.decreaseKey(current, lowered);
+                this.jobs[id] = lowered;
+                Job next = this.jobs[other];
+                this.indexedHeap.remove(next);
+                this.add(new Job(other, next.priority + delta));
+                return id;
+            case "LongPriorityHeap":
+                this.longHeap.decreaseKey(id, this.longHeap.priority(id) - delta);
+                long priority = this.longHeap.remove(other);
+                this.longHeap.add(other, priority + delta);
+                return id;
+            default:
+                throw new IllegalStateException("DAryHeap has no decreaseKey");
+        }
+    }
+
+    /**
+     * Adds the job to the object heap of the implementation, or its id to LongPriorityHeap
+     * @param job job to add
+     */
+    private void add(Job job) {
+        this.jobs[job.id] = job;
+        switch (this.implementation) {
+            case "PriorityQueue":
+                this.priorityQueue.add(job);
+                break;
+            case "IndexedDAryHeap":
+                this.indexedHeap.add(job);
+                break;
+            case "LongPriorityHeap":
+                this.longHeap.add(job.id, job.priority);
+                break;
+            default:
+                this.dAryHeap.add(job);
+                break;
+        }
+    }
+
+    /**
+     * Job class : element of the object heaps; jobs are equal only to themselves
+     */
+    private static final class Job {
+        /** identity of the job */
+        private final int id;
+
+        /** priority; smaller comes out first */
+        private final long priority;
+
+        /**
+         * Constructor : creates a job
+         * @param id identity of the job
+         * @param priority its priority
+         */
+        Job(int id, long priority) {
+            this.id = id;
+            this.priority = priority;
+        }
+    }
+}
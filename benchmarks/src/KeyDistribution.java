@@ -0,0 +1,75 @@
+package datastructures.benchmarks;
+
+import java.util.SplittableRandom;
+
+/**
+ * KeyDistribution enum : ways to pick the indexes or keys a benchmark touches.
+ * @author Shohei F. Koshiro
+ */
+public enum KeyDistribution {
+    /** 0, 1, 2, ... wrapping around at the bound */
+    SEQUENTIAL {
+        @Override
+        public int[] draw(int bound, int count, long seed) {
+            int[] keys = new int[count];
+            for (int i = 0; i < count; i++) {
+                keys[i] = i % bound;
+            }
+            return keys;
+        }
+    },
+
+    /** every key equally likely */
+    RANDOM {
+        @Override
+        public int[] draw(int bound, int count, long seed) {
+            SplittableRandom random = new SplittableRandom(seed);
+            int[] keys = new int[count];
+            for (int i = 0; i < count; i++) {
+                keys[i] = random.nextInt(bound);
+            }
+            return keys;
+        }
+    },
+
+    /** Zipfian with exponent 0.99 : key 0 is the most likely, then key 1, and so on */
+    ZIPFIAN {
+        @Override
+        public int[] draw(int bound, int count, long seed) {
+            // Gray et al., "Quickly Generating Billion-Record Synthetic Databases"
+            double theta = 0.99;
+            double zetaN = 0;
+            for (int i = 1; i <= bound; i++) {
+                zetaN += 1 / Math.pow(i, theta);
+            }
+            double zeta2 = 1 + 1 / Math.pow(2, theta);
+            double alpha = 1 / (1 - theta);
+            double eta = (1 - Math.pow(2.0 / bound, 1 - theta)) / (1 - zeta2 / zetaN);
+            SplittableRandom random = new SplittableRandom(seed);
+            int[] keys = new int[count];
+            for (int i = 0; i < count; i++) {
+                double u = random.nextDouble();
+                double uz = u * zetaN;
+                int key;
+                if (uz < 1) {
+                    key = 0;
+                } else if (uz < zeta2) {
+                    key = 1;
+                } else {
+                    key = (int) (bound * Math.pow(eta * u - eta + 1, alpha));
+                }
+                keys[i] = Math.min(key, bound - 1);
+            }
+            return keys;
+        }
+    };
+
+    /**
+     * Draws keys between 0 and bound - 1
+     * @param bound first key which is never drawn
+     * @param count number of keys to draw
+     * @param seed seed of the random generator
+     * @return the keys, in drawing order
+     */
+    public abstract int[] draw(int bound, int count, long seed);
+}
@@ -0,0 +1,147 @@
+package datastructures.benchmarks;
+
+import datastructures.interfaces.IList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ListBenchmark class : throughput of the IList operations for every list
+ * implementation, list size and index distribution.
+ * <p>
+ * Every benchmark leaves the list at its initial size : add is paired with
+ * remove and insert with delete. Indexes and values are drawn up front, so
+ * neither random number generation nor boxing is measured.
+ * @author Shohei F. Koshiro
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ListBenchmark {
+    /** number of indexes drawn up front (power of two) */
+    private static final int DRAWN = 1 << 16;
+
+    /** list implementation */
+    @Param({"DoubleLinkedList", "CircularArrayList", "UnrolledLinkedList", "IndexableSkipList",
+            "PersistentList", "ConcurrentDoubleLinkedDeque"})
+    public String implementation;
+
+    /** number of elements in the list */
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    /** distribution of the indexes */
+    @Param({"SEQUENTIAL", "RANDOM", "ZIPFIAN"})
+    public KeyDistribution distribution;
+
+    /** the benchmarked list; element i is i */
+    private IList<Integer> list;
+
+    /** drawn indexes, each boxed as well so that the values need no boxing */
+    private int[] indexes;
+    private Integer[] values;
+
+    /** position in the drawn indexes */
+    private int cursor;
+
+    /**
+     * Fills the list and draws the indexes
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.list = Structures.newList(this.implementation);
+        for (int i = 0; i < this.size; i++) {
+            this.list.add(i);
+        }
+        this.indexes = this.distribution.draw(this.size, DRAWN, 42);
+        this.values = new Integer[DRAWN];
+        for (int i = 0; i < DRAWN; i++) {
+            this.values[i] = this.indexes[i];
+        }
+        this.cursor = 0;
+    }
+
+    /**
+     * Advances to the next drawn index
+     * @return position of the next index in the drawn arrays
+     */
+    private int next() {
+        this.cursor = (this.cursor + 1) & (DRAWN - 1);
+        return this.cursor;
+    }
+
+    /**
+     * get at a drawn index
+     * @return element at the index
+     */
+    @Benchmark
+    public Integer get() {
+        return this.list.get(this.indexes[this.next()]);
+    }
+
+    /**
+     * set at a drawn index, writing the element which is already there
+     */
+    @Benchmark
+    public void set() {
+        int i = this.next();
+        this.list.set(this.indexes[i], this.values[i]);
+    }
+
+    /**
+     * add at the end followed by remove from the end
+     * @return removed element
+     */
+    @Benchmark
+    public Integer addThenRemove() {
+        this.list.add(this.values[this.next()]);
+        return this.list.remove();
+    }
+
+    /**
+     * insert at a drawn index followed by delete at the same index
+     * @return deleted element
+     */
+    @Benchmark
+    public Integer insertThenDelete() {
+        int i = this.next();
+        this.list.insert(this.indexes[i], this.values[i]);
+        return this.list.delete(this.indexes[i]);
+    }
+
+    /**
+     * indexOf of a drawn element; element i sits at index i
+     * @return index of the element
+     */
+    @Benchmark
+    public int indexOf() {
+        return this.list.indexOf(this.values[this.next()]);
+    }
+
+    /**
+     * Iterates over the whole list
+     * @return sum of the elements
+     */
+    @Benchmark
+    public long iterate() {
+        long sum = 0;
+        for (Integer item : this.list) {
+            sum += item;
+        }
+        return sum;
+    }
+}
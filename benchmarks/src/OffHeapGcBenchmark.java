@@ -0,0 +1,177 @@
+package datastructures.benchmarks;
+
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.OffHeapLongLinkedList;
+import datastructures.concrete.dictionaries.HashDictionary;
+import datastructures.concrete.dictionaries.LongLongDictionary;
+import datastructures.concrete.dictionaries.OffHeapLongLongDictionary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OffHeapGcBenchmark class : cost the garbage collector pays for a large
+ * structure kept alive on the heap, compared with the same data off the heap.
+ * <p>
+ * Every trial fills one structure with size elements and keeps it for the
+ * whole trial. fullCollection times System.gc(), which has to mark every
+ * object of an on-heap structure but only the slab array of an off-heap one.
+ * churn replaces random elements while short-lived garbage is allocated, so
+ * that the gc profiler shows the collections during normal work; compare
+ * gc.time and gc.count between the implementations.
+ * @author Shohei F. Koshiro
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-XX:MaxDirectMemorySize=4g"})
+public class OffHeapGcBenchmark {
+    /** number of keys drawn up front (power of two) */
+    private static final int DRAWN = 1 << 16;
+
+    /** structure kept alive during the trial */
+    @Param({"HashDictionary", "LongLongDictionary", "OffHeapLongLongDictionary", "DoubleLinkedList",
+            "OffHeapLongLinkedList"})
+    public String implementation;
+
+    /** number of elements in the structure */
+    @Param({"1000000", "10000000"})
+    public int size;
+
+    /** the structure, if it is a HashDictionary */
+    private HashDictionary<Long, Long> boxed;
+
+    /** the structure, if it is a LongLongDictionary */
+    private LongLongDictionary primitive;
+
+    /** the structure, if it is an OffHeapLongLongDictionary */
+    private OffHeapLongLongDictionary offHeap;
+
+    /** the structure, if it is a DoubleLinkedList */
+    private DoubleLinkedList<Long> list;
+
+    /** the structure, if it is an OffHeapLongLinkedList */
+    private OffHeapLongLinkedList offHeapList;
+
+    /** drawn keys in [0, size) */
+    private long[] keys;
+
+    /** position in the drawn keys */
+    private int cursor;
+
+    /**
+     * Fills the structure and draws the keys
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        switch (this.implementation) {
+            case "HashDictionary":
+                this.boxed = new HashDictionary<>(this.size);
+                for (long i = 0; i < this.size; i++) {
+                    this.boxed.put(i, i);
+                }
+                break;
+            case "LongLongDictionary":
+                this.primitive = new LongLongDictionary();
+                for (long i = 0; i < this.size; i++) {
+                    this.primitive.put(i, i);
+                }
+                break;
+            case "OffHeapLongLongDictionary":
+                this.offHeap = new OffHeapLongLongDictionary();
+                for (long i = 0; i < this.size; i++) {
+                    this.offHeap.put(i, i);
+                }
+                break;
+            case "DoubleLinkedList":
+                this.list = new DoubleLinkedList<>();
+                for (long i = 0; i < this.size; i++) {
+                    this.list.add(i);
+                }
+                break;
+            case "OffHeapLongLinkedList":
+                this.offHeapList = new OffHeapLongLinkedList();
+                for (long i = 0; i < this.size; i++) {
+                    this.offHeapList.add(i);
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown implementation : " + this.implementation);
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        this.keys = new long[DRAWN];
+        for (int i = 0; i < DRAWN; i++) {
+            this.keys[i] = random.nextInt(this.size);
+        }
+        this.cursor = 0;
+    }
+
+    /**
+     * Frees the off-heap structures and drops the others
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (this.offHeap != null) {
+            this.offHeap.close();
+        }
+        if (this.offHeapList != null) {
+            this.offHeapList.close();
+        }
+        this.boxed = null;
+        this.primitive = null;
+        this.list = null;
+    }
+
+    /**
+     * A full collection with the structure alive
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public void fullCollection() {
+        System.gc();
+    }
+
+    /**
+     * Replaces the value of a random key (for the lists, removes the last
+     * element and adds it back) and allocates some short-lived garbage
+     * @return the garbage, so that it is not optimized away
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public long[] churn() {
+        this.cursor = (this.cursor + 1) & (DRAWN - 1);
+        long key = this.keys[this.cursor];
+        switch (this.implementation) {
+            case "HashDictionary":
+                this.boxed.put(key, key + 1);
+                break;
+            case "LongLongDictionary":
+                this.primitive.put(key, key + 1);
+                break;
+            case "OffHeapLongLongDictionary":
+                this.offHeap.put(key, key + 1);
+                break;
+            case "DoubleLinkedList":
+                this.list.add(this.list.remove());
+                break;
+            default:
+                this.offHeapList.add(this.offHeapList.remove());
+                break;
+        }
+        return new long[64];
+    }
+}
@@ -0,0 +1,122 @@
+package datastructures.benchmarks;
+
+import datastructures.concrete.CircularArrayList;
+import datastructures.concrete.ConcurrentDoubleLinkedDeque;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.IndexableSkipList;
+import datastructures.concrete.PersistentList;
+import datastructures.concrete.UnrolledLinkedList;
+import datastructures.concrete.dictionaries.AVL;
+import datastructures.concrete.dictionaries.ArrayDictionary;
+import datastructures.concrete.dictionaries.ConcurrentHashDictionary;
+import datastructures.concrete.dictionaries.FilteredDictionary;
+import datastructures.concrete.dictionaries.HashDictionary;
+import datastructures.concrete.dictionaries.MappedDictionary;
+import datastructures.concrete.dictionaries.PersistentAVL;
+import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.IList;
+import datastructures.io.Codecs;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Structures class : creates the benchmarked implementations from their names,
+ * which are the values of the implementation parameters.
+ * @author Shohei F. Koshiro
+ */
+final class Structures {
+    /**
+     * Constructor : not instantiable
+     */
+    private Structures() {
+    }
+
+    /**
+     * Creates an empty list
+     * @param name simple class name of the implementation
+     * @return the new list
+     * @throws IllegalArgumentException if the name is unknown
+     */
+    static IList<Integer> newList(String name) {
+        switch (name) {
+            case "DoubleLinkedList":
+                return new DoubleLinkedList<>();
+            case "CircularArrayList":
+                return new CircularArrayList<>();
+            case "UnrolledLinkedList":
+                return new UnrolledLinkedList<>();
+            case "IndexableSkipList":
+                return new IndexableSkipList<>();
+            case "PersistentList":
+                return new PersistentList<>();
+            case "ConcurrentDoubleLinkedDeque":
+                return new ConcurrentDoubleLinkedDeque<>();
+            default:
+                throw new IllegalArgumentException("Unknown list : " + name);
+        }
+    }
+
+    /**
+     * Creates an empty dictionary
+     * @param name simple class name of the implementation
+     * @param expectedSize number of keys it will hold
+     * @param directory directory for the files of MappedDictionary
+     * @return the new dictionary
+     * @throws IllegalArgumentException if the name is unknown
+     */
+    static IDictionary<Integer, Integer> newDictionary(String name, int expectedSize, Path directory) {
+        switch (name) {
+            case "ArrayDictionary":
+                return new ArrayDictionary<>();
+            case "HashDictionary":
+                return new HashDictionary<>();
+            case "AVL":
+                return new AVL<>();
+            case "PersistentAVL":
+                return new PersistentAVL<>();
+            case "ConcurrentHashDictionary":
+                return new ConcurrentHashDictionary<>();
+            case "FilteredDictionary":
+                return new FilteredDictionary<>(new HashDictionary<>(), Math.max(1, expectedSize));
+            case "MappedDictionary":
+                try {
+                    return new MappedDictionary<>(directory.resolve("dictionary"), Codecs.INTEGER, Codecs.INTEGER);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            default:
+                throw new IllegalArgumentException("Unknown dictionary : " + name);
+        }
+    }
+
+    /**
+     * Closes the dictionary if it holds files or threads
+     * @param dictionary dictionary created by newDictionary
+     */
+    static void close(IDictionary<Integer, Integer> dictionary) {
+        if (dictionary instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) dictionary).close();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * Deletes the directory and everything in it
+     * @param directory directory to delete
+     */
+    static void deleteDirectory(Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
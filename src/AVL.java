@@ -1,21 +1,698 @@
 package datastructures.concrete.dictionaries;
 
-public class AVL<T> {
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.IMonoid;
+import misc.exceptions.NoSuchKeyException;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * AVL class : sorted dictionary kept as a height-balanced binary search tree.
+ * Keys are ordered by their natural ordering or by the given comparator;
+ * null keys are not allowed. Every node knows the size of its subtree, which
+ * gives rank and select in O(log n). When a monoid is given, every node also
+ * keeps the aggregate of the values of its subtree, which gives aggregate
+ * over a key range in O(log n).
+ * @author Shohei F. Koshiro
+ *
+ * @param <K> Generic type for key
+ * @param <V> Generic type for value
+ */
+public class AVL<K, V> implements IDictionary<K, V> {
     /** Root node */
-    private T root;
-    
-    /** Number of nodes */
-    private int nNode;
-    
+    private Node<K, V> root;
+
+    /** Order of the keys */
+    private final Comparator<? super K> comparator;
+
+    /** Aggregation of the values (null if aggregates are not kept) */
+    private final IMonoid<V> monoid;
+
+    /** Value held by the node removed by the last call to removeNode */
+    private V removedValue;
+
     /**
-     * Constructor: creates and initialize the AVL
+     * Constructor: creates an empty AVL ordered by the natural ordering of the keys
      */
     public AVL() {
-        root = null;
-        nNode = 0;
+        this(null);
+    }
+
+    /**
+     * Constructor: creates an empty AVL ordered by the given comparator
+     * @param comparator order of the keys (null for the natural ordering)
+     */
+    public AVL(Comparator<? super K> comparator) {
+        this(comparator, null);
     }
-    
-    public void add() {
-        
+
+    /**
+     * Constructor: creates an empty AVL which keeps aggregates of its values
+     * @param comparator order of the keys (null for the natural ordering)
+     * @param monoid aggregation of the values (null if aggregates are not needed)
+     */
+    public AVL(Comparator<? super K> comparator, IMonoid<V> monoid) {
+        this.root = null;
+        this.comparator = comparator;
+        this.monoid = monoid;
+    }
+
+    /**
+     * Constructor: builds a balanced AVL from keys in ascending natural order in O(n)
+     * @param sortedKeys keys in strictly ascending order
+     * @param values values corresponding to the keys
+     * @throws IllegalArgumentException if the arrays differ in length, a key is null,
+     *         or the keys are not strictly ascending
+     */
+    public AVL(K[] sortedKeys, V[] values) {
+        this(sortedKeys, values, null);
+    }
+
+    /**
+     * Constructor: builds a balanced AVL from keys in ascending order in O(n)
+     * @param sortedKeys keys in strictly ascending order
+     * @param values values corresponding to the keys
+     * @param comparator order of the keys (null for the natural ordering)
+     * @throws IllegalArgumentException if the arrays differ in length, a key is null,
+     *         or the keys are not strictly ascending
+     */
+    public AVL(K[] sortedKeys, V[] values, Comparator<? super K> comparator) {
+        this(sortedKeys, values, comparator, null);
+    }
+
+    /**
+     * Constructor: builds a balanced AVL which keeps aggregates of its values
+     * from keys in ascending order in O(n)
+     * @param sortedKeys keys in strictly ascending order
+     * @param values values corresponding to the keys
+     * @param comparator order of the keys (null for the natural ordering)
+     * @param monoid aggregation of the values (null if aggregates are not needed)
+     * @throws IllegalArgumentException if the arrays differ in length, a key is null,
+     *         or the keys are not strictly ascending
+     */
+    public AVL(K[] sortedKeys, V[] values, Comparator<? super K> comparator, IMonoid<V> monoid) {
+        this(comparator, monoid);
+        if (sortedKeys.length != values.length) {
+            throw new IllegalArgumentException("Number of keys and values differ");
+        }
+        for (int i = 0; i < sortedKeys.length; i++) {
+            checkKey(sortedKeys[i]);
+            if (i > 0 && this.compare(sortedKeys[i - 1], sortedKeys[i]) >= 0) {
+                throw new IllegalArgumentException("Keys are not in strictly ascending order");
+            }
+        }
+        this.root = this.buildBalanced(sortedKeys, values, 0, sortedKeys.length);
+    }
+
+    /**
+     * Builds a perfectly balanced subtree from the given range of sorted pairs
+     * @param keys sorted keys
+     * @param values values corresponding to the keys
+     * @param from first index of the range
+     * @param to index after the last one of the range
+     * @return root of the subtree; null if the range is empty
+     */
+    private Node<K, V> buildBalanced(K[] keys, V[] values, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        int mid = (from + to) >>> 1;
+        Node<K, V> node = new Node<>(keys[mid], values[mid]);
+        node.left = this.buildBalanced(keys, values, from, mid);
+        node.right = this.buildBalanced(keys, values, mid + 1, to);
+        this.update(node);
+        return node;
+    }
+
+    /**
+     * Returns the value corresponding to the given key.
+     * @param key key used to store the value.
+     * @return value corresponding to the given key.
+     * @throws NoSuchKeyException if the dictionary does not contain the given key.
+     */
+    @Override
+    public V get(K key) {
+        Node<K, V> node = this.findNode(key);
+        if (node == null) {
+            throw new NoSuchKeyException("Specified key not in the dictionary");
+        }
+        return node.value;
+    }
+
+    /**
+     * Adds the key-value pair to the dictionary. If the key already exists in the dictionary,
+     * replace its value with the given one.
+     * @param key key used to store the value
+     * @param value value corresponds to the key
+     * @throws IllegalArgumentException if the key is null
+     */
+    @Override
+    public void put(K key, V value) {
+        checkKey(key);
+        this.root = this.putNode(this.root, key, value);
+    }
+
+    /**
+     * Adds the pair to the given subtree
+     * @param node root of the subtree
+     * @param key key used to store the value
+     * @param value value corresponds to the key
+     * @return new root of the subtree
+     */
+    private Node<K, V> putNode(Node<K, V> node, K key, V value) {
+        if (node == null) {
+            Node<K, V> leaf = new Node<>(key, value);
+            this.update(leaf);
+            return leaf;
+        }
+        int cmp = this.compare(key, node.key);
+        if (cmp < 0) {
+            node.left = this.putNode(node.left, key, value);
+        } else if (cmp > 0) {
+            node.right = this.putNode(node.right, key, value);
+        } else {
+            // when the pair already exists, only replace the value
+            // (the aggregates on the path still need to be updated)
+            node.value = value;
+        }
+        return this.balance(node);
+    }
+
+    /**
+     * Remove the key-value pair corresponding to the given key from the dictionary.
+     * @param key key user wants to remove
+     * @return value corresponds to the key
+     * @throws NoSuchKeyException if the dictionary does not contain the given key.
+     */
+    @Override
+    public V remove(K key) {
+        if (this.findNode(key) == null) {
+            throw new NoSuchKeyException("Unable to delete. No such key is found");
+        }
+        this.root = this.removeNode(this.root, key);
+        V current = this.removedValue;
+        this.removedValue = null;
+        return current;
+    }
+
+    /**
+     * Removes the key from the given subtree; the key must exist in the subtree
+     * @param node root of the subtree
+     * @param key key to be removed
+     * @return new root of the subtree
+     */
+    private Node<K, V> removeNode(Node<K, V> node, K key) {
+        int cmp = this.compare(key, node.key);
+        if (cmp < 0) {
+            node.left = this.removeNode(node.left, key);
+        } else if (cmp > 0) {
+            node.right = this.removeNode(node.right, key);
+        } else {
+            this.removedValue = node.value;
+            if (node.left == null) {
+                return node.right;
+            } else if (node.right == null) {
+                return node.left;
+            }
+            // replace the node with the smallest node of the right subtree
+            Node<K, V> successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = this.removeMin(node.right);
+            successor.left = node.left;
+            node = successor;
+        }
+        return this.balance(node);
+    }
+
+    /**
+     * Detaches the smallest node of the given subtree
+     * @param node root of the subtree
+     * @return new root of the subtree
+     */
+    private Node<K, V> removeMin(Node<K, V> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = this.removeMin(node.left);
+        return this.balance(node);
+    }
+
+    /**
+     * Returns 'true' if the dictionary contains the given key and 'false' otherwise.
+     * @param key key the user wants to search
+     * @return if the given key exists in the dictionary
+     */
+    @Override
+    public boolean containsKey(K key) {
+        return this.findNode(key) != null;
+    }
+
+    /**
+     * Returns the number of key-value pairs stored in this dictionary.
+     * @return number of pairs in the dictionary
+     */
+    @Override
+    public int size() {
+        return size(this.root);
+    }
+
+    /**
+     * Returns the largest key less than or equal to the given key.
+     * @param key key to compare
+     * @return the floor key
+     * @throws NoSuchKeyException if every key is larger than the given key.
+     */
+    public K floor(K key) {
+        checkKey(key);
+        Node<K, V> node = this.root;
+        Node<K, V> best = null;
+        while (node != null) {
+            int cmp = this.compare(key, node.key);
+            if (cmp == 0) {
+                return node.key;
+            } else if (cmp < 0) {
+                node = node.left;
+            } else {
+                best = node;
+                node = node.right;
+            }
+        }
+        if (best == null) {
+            throw new NoSuchKeyException("No key less than or equal to the given key");
+        }
+        return best.key;
+    }
+
+    /**
+     * Returns the smallest key greater than or equal to the given key.
+     * @param key key to compare
+     * @return the ceiling key
+     * @throws NoSuchKeyException if every key is smaller than the given key.
+     */
+    public K ceiling(K key) {
+        checkKey(key);
+        Node<K, V> node = this.root;
+        Node<K, V> best = null;
+        while (node != null) {
+            int cmp = this.compare(key, node.key);
+            if (cmp == 0) {
+                return node.key;
+            } else if (cmp > 0) {
+                node = node.right;
+            } else {
+                best = node;
+                node = node.left;
+            }
+        }
+        if (best == null) {
+            throw new NoSuchKeyException("No key greater than or equal to the given key");
+        }
+        return best.key;
+    }
+
+    /**
+     * Returns the number of keys strictly smaller than the given key.
+     * The key itself does not need to be in the dictionary.
+     * @param key key to compare
+     * @return rank of the key
+     */
+    public int rank(K key) {
+        checkKey(key);
+        int rank = 0;
+        Node<K, V> node = this.root;
+        while (node != null) {
+            int cmp = this.compare(key, node.key);
+            if (cmp < 0) {
+                node = node.left;
+            } else if (cmp > 0) {
+                rank += size(node.left) + 1;
+                node = node.right;
+            } else {
+                rank += size(node.left);
+                break;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Returns the key with the given rank, that is the (k + 1)-th smallest key.
+     * @param k number of keys smaller than the wanted key
+     * @return key of rank k
+     * @throws IndexOutOfBoundsException if k < 0 or k >= this.size()
+     */
+    public K select(int k) {
+        if (k < 0 || k >= this.size()) {
+            throw new IndexOutOfBoundsException("Rank out of boundary : check the size of the dictionary");
+        }
+        Node<K, V> node = this.root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (k < leftSize) {
+                node = node.left;
+            } else if (k > leftSize) {
+                k -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node.key;
+            }
+        }
+    }
+
+    /**
+     * Returns the aggregate of the values whose keys are between lo and hi
+     * (both inclusive), combined in key order.
+     * @param lo smallest key of the range
+     * @param hi largest key of the range
+     * @return aggregate of the range; the identity if no key is in the range
+     * @throws IllegalStateException if this AVL was created without a monoid
+     */
+    public V aggregate(K lo, K hi) {
+        checkKey(lo);
+        checkKey(hi);
+        if (this.monoid == null) {
+            throw new IllegalStateException("AVL was created without a monoid");
+        }
+        // find the highest node inside the range; the range is split around it
+        Node<K, V> node = this.root;
+        while (node != null) {
+            if (this.compare(hi, node.key) < 0) {
+                node = node.left;
+            } else if (this.compare(lo, node.key) > 0) {
+                node = node.right;
+            } else {
+                break;
+            }
+        }
+        if (node == null) {
+            return this.monoid.identity();
+        }
+        V result = this.monoid.combine(this.aggregateFrom(node.left, lo), node.value);
+        return this.monoid.combine(result, this.aggregateTo(node.right, hi));
+    }
+
+    /**
+     * Returns the aggregate of the values in the subtree whose keys are greater than or equal to lo
+     * @param node root of the subtree
+     * @param lo smallest key of the range
+     * @return aggregate of the part of the subtree in the range
+     */
+    private V aggregateFrom(Node<K, V> node, K lo) {
+        V result = this.monoid.identity();
+        while (node != null) {
+            int cmp = this.compare(lo, node.key);
+            if (cmp <= 0) {
+                // the node and its right subtree come before what was collected so far
+                V part = this.monoid.combine(node.value, this.aggregate(node.right));
+                result = this.monoid.combine(part, result);
+                node = cmp == 0 ? null : node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the aggregate of the values in the subtree whose keys are less than or equal to hi
+     * @param node root of the subtree
+     * @param hi largest key of the range
+     * @return aggregate of the part of the subtree in the range
+     */
+    private V aggregateTo(Node<K, V> node, K hi) {
+        V result = this.monoid.identity();
+        while (node != null) {
+            int cmp = this.compare(hi, node.key);
+            if (cmp >= 0) {
+                // the left subtree and the node come after what was collected so far
+                V part = this.monoid.combine(this.aggregate(node.left), node.value);
+                result = this.monoid.combine(result, part);
+                node = cmp == 0 ? null : node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns an iterator over the keys between lo and hi (both inclusive) in
+     * ascending order. Nodes are visited lazily, so only the part of the tree
+     * that is actually iterated over gets touched.
+     * @param lo smallest key of the range
+     * @param hi largest key of the range
+     * @return iterator over the keys in the range
+     */
+    public Iterator<K> rangeIterator(K lo, K hi) {
+        checkKey(lo);
+        checkKey(hi);
+        return new RangeIterator<>(this, lo, hi);
+    }
+
+    /**
+     * Returns the node holding the given key
+     * @param key key to be found
+     * @return node holding the key; null if the key is not in the dictionary
+     */
+    private Node<K, V> findNode(K key) {
+        checkKey(key);
+        Node<K, V> node = this.root;
+        while (node != null) {
+            int cmp = this.compare(key, node.key);
+            if (cmp == 0) {
+                return node;
+            }
+            node = cmp < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    /**
+     * Compares two keys by the order of this dictionary
+     * @param a first key
+     * @param b second key
+     * @return negative, zero or positive as a is less than, equal to, or greater than b
+     */
+    @SuppressWarnings("unchecked")
+    private int compare(K a, K b) {
+        if (this.comparator == null) {
+            return ((Comparable<? super K>) a).compareTo(b);
+        }
+        return this.comparator.compare(a, b);
+    }
+
+    /**
+     * Rejects null keys
+     * @param key key to check
+     * @throws IllegalArgumentException if the key is null
+     */
+    private static void checkKey(Object key) {
+        if (key == null) {
+            throw new IllegalArgumentException("AVL does not accept null keys");
+        }
+    }
+
+    /**
+     * Returns the height of the subtree
+     * @param node root of the subtree
+     * @return height of the subtree (0 if empty)
+     */
+    private static int height(Node<?, ?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    /**
+     * Returns the number of nodes in the subtree
+     * @param node root of the subtree
+     * @return number of nodes (0 if empty)
+     */
+    private static int size(Node<?, ?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * Returns the aggregate of the values in the subtree
+     * @param node root of the subtree
+     * @return aggregate of the subtree (identity if empty)
+     */
+    private V aggregate(Node<K, V> node) {
+        return node == null ? this.monoid.identity() : node.aggregate;
+    }
+
+    /**
+     * Recomputes the height, the size and the aggregate of the node from its children
+     * @param node node to be updated
+     */
+    private void update(Node<K, V> node) {
+        node.height = Math.max(height(node.left), height(node.right)) + 1;
+        node.size = size(node.left) + size(node.right) + 1;
+        if (this.monoid != null) {
+            node.aggregate = this.monoid.combine(
+                    this.monoid.combine(this.aggregate(node.left), node.value), this.aggregate(node.right));
+        }
+    }
+
+    /**
+     * Rotates the subtree so that the heights of the children differ by at most one
+     * @param node root of the subtree
+     * @return new root of the subtree
+     */
+    private Node<K, V> balance(Node<K, V> node) {
+        this.update(node);
+        int diff = height(node.left) - height(node.right);
+        if (diff > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                // left-right case
+                node.left = this.rotateLeft(node.left);
+            }
+            return this.rotateRight(node);
+        } else if (diff < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                // right-left case
+                node.right = this.rotateRight(node.right);
+            }
+            return this.rotateLeft(node);
+        }
+        return node;
+    }
+
+    /**
+     * Rotates the subtree to the right
+     * @param node root of the subtree
+     * @return new root of the subtree (the former left child)
+     */
+    private Node<K, V> rotateRight(Node<K, V> node) {
+        Node<K, V> left = node.left;
+        node.left = left.right;
+        left.right = node;
+        this.update(node);
+        this.update(left);
+        return left;
+    }
+
+    /**
+     * Rotates the subtree to the left
+     * @param node root of the subtree
+     * @return new root of the subtree (the former right child)
+     */
+    private Node<K, V> rotateLeft(Node<K, V> node) {
+        Node<K, V> right = node.right;
+        node.right = right.left;
+        right.left = node;
+        this.update(node);
+        this.update(right);
+        return right;
+    }
+
+    /**
+     * Node class : holds the pair, the children, and the height, size and aggregate of the subtree.
+     * @param <K> Generic type for key
+     * @param <V> Generic type for value
+     */
+    private static class Node<K, V> {
+        /** key of the pair */
+        private final K key;
+
+        /** value of the pair */
+        private V value;
+
+        /** left child (smaller keys) */
+        private Node<K, V> left;
+
+        /** right child (larger keys) */
+        private Node<K, V> right;
+
+        /** height of the subtree rooted at this node */
+        private int height;
+
+        /** number of nodes in the subtree rooted at this node */
+        private int size;
+
+        /** aggregate of the values in the subtree rooted at this node (null if not kept) */
+        private V aggregate;
+
+        /**
+         * Constructor : creates a leaf node
+         * @param key key of the pair
+         * @param value value of the pair
+         */
+        public Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+            this.height = 1;
+            this.size = 1;
+        }
+    }
+
+    /**
+     * Iterator class : in-order iterator over the keys in a range
+     * @param <K> Generic type for key
+     * @param <V> Generic type for value
+     */
+    private static class RangeIterator<K, V> implements Iterator<K> {
+        /** dictionary being iterated over */
+        private final AVL<K, V> tree;
+
+        /** largest key of the range */
+        private final K hi;
+
+        /** nodes whose keys are in the range and not yet visited */
+        private final DoubleLinkedList<Node<K, V>> stack;
+
+        /**
+         * Constructor : pushes the path to the smallest key of the range
+         * @param tree dictionary to iterate over
+         * @param lo smallest key of the range
+         * @param hi largest key of the range
+         */
+        public RangeIterator(AVL<K, V> tree, K lo, K hi) {
+            this.tree = tree;
+            this.hi = hi;
+            this.stack = new DoubleLinkedList<>();
+            Node<K, V> node = tree.root;
+            while (node != null) {
+                if (tree.compare(lo, node.key) <= 0) {
+                    this.stack.add(node);
+                    node = node.left;
+                } else {
+                    node = node.right;
+                }
+            }
+        }
+
+        /**
+         * Returns 'true' if there are keys in the range left to visit
+         * @return If next key exists
+         */
+        @Override
+        public boolean hasNext() {
+            return !this.stack.isEmpty()
+                    && this.tree.compare(this.stack.get(this.stack.size() - 1).key, this.hi) <= 0;
+        }
+
+        /**
+         * Returns the next key in the range
+         * @throws NoSuchElementException if there are no more keys in the range
+         * @return Next key
+         */
+        @Override
+        public K next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException("No new key : the iterator has reached the end of the range.");
+            }
+            Node<K, V> node = this.stack.remove();
+            // push the path to the smallest key of the right subtree
+            Node<K, V> child = node.right;
+            while (child != null) {
+                this.stack.add(child);
+                child = child.left;
+            }
+            return node.key;
+        }
     }
-}
\ No newline at end of file
+}
@@ -2,6 +2,16 @@ package datastructures.concrete.dictionaries;
 
 import datastructures.interfaces.IDictionary;
 import misc.exceptions.NoSuchKeyException;
+import misc.metrics.Footprint;
+import misc.metrics.Metrics;
+
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Array Dictionary class
@@ -11,6 +21,15 @@ import misc.exceptions.NoSuchKeyException;
  * @param <V> Generic type for value
  */
 public class ArrayDictionary<K, V> implements IDictionary<K, V> {
+    /** default number of slots */
+    private static final int DEFAULT_CAPACITY = 100;
+
+    /** default ratio of the new array size to the old one when growing */
+    private static final double DEFAULT_GROWTH_FACTOR = 2.0;
+
+    /** largest array size */
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
     /** keeps the pairs */
     private Pair<K, V>[] pairs;
 
@@ -20,11 +39,45 @@ public class ArrayDictionary<K, V> implements IDictionary<K, V> {
     /** location of the last element */
     private int nElements;
 
+    /** array size the dictionary never shrinks below on its own */
+    private final int initialCapacity;
+
+    /** ratio of the new array size to the old one when growing */
+    private final double growthFactor;
+
     /**
      * Constructor : creates an array dictionary
      */
     public ArrayDictionary() {
-        this.arraySize = 100;
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor : creates an array dictionary with room for the given number of pairs
+     * @param initialCapacity number of pairs held before the array grows
+     * @throws IllegalArgumentException if initialCapacity is negative
+     */
+    public ArrayDictionary(int initialCapacity) {
+        this(initialCapacity, DEFAULT_GROWTH_FACTOR);
+    }
+
+    /**
+     * Constructor : creates an array dictionary with room for the given number of
+     * pairs, whose array grows by the given factor
+     * @param initialCapacity number of pairs held before the array grows
+     * @param growthFactor ratio of the new array size to the old one when growing
+     * @throws IllegalArgumentException if initialCapacity is negative or growthFactor <= 1
+     */
+    public ArrayDictionary(int initialCapacity, double growthFactor) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity must not be negative");
+        }
+        if (!(growthFactor > 1)) {
+            throw new IllegalArgumentException("Growth factor must be greater than 1");
+        }
+        this.initialCapacity = initialCapacity;
+        this.growthFactor = growthFactor;
+        this.arraySize = initialCapacity;
         this.nElements = 0;
         this.pairs = this.makeArrayOfPairs(this.arraySize);
     }
@@ -69,10 +122,13 @@ public class ArrayDictionary<K, V> implements IDictionary<K, V> {
         if (index == -1) {
             // when key is new
             if (this.arraySize == this.nElements) {
-                this.copyOver();
+                this.copyOver(this.nElements + 1);
             }
             this.pairs[this.nElements] = new Pair<>(key, value);
             this.nElements++;
+            if (Metrics.ENABLED) {
+                Metrics.allocation("ArrayDictionary", 1);
+            }
         } else {
             // when the pair already exists, only replace the value
             this.pairs[index].setValue(value);
@@ -80,17 +136,73 @@ public class ArrayDictionary<K, V> implements IDictionary<K, V> {
     }
     
     /**
-     * Creates a larger array of pairs and transfer the pairs to the new array
+     * Adds all the pairs of the other dictionary, replacing the values of keys
+     * which already exist. The array is grown at most once. When this dictionary
+     * is empty the pairs are copied over without looking up any key.
+     * @param other dictionary holding the pairs to be added
      */
-    private void copyOver() {
-        // double the array size
-        this.arraySize *= 2;
-        Pair<K, V>[] newArray = this.makeArrayOfPairs(this.arraySize);
-        // enter the existing elements into the new array
-        for (int i =0; i < this.nElements; i++) {
-            newArray[i] = pairs[i];
+    public void putAll(ArrayDictionary<? extends K, ? extends V> other) {
+        if (this.arraySize < this.nElements + other.nElements) {
+            this.copyOver(this.nElements + other.nElements);
+        }
+        boolean wasEmpty = this.nElements == 0;
+        for (int i = 0; i < other.nElements; i++) {
+            if (wasEmpty) {
+                // keys of the other dictionary are already distinct
+                this.pairs[i] = new Pair<>(other.pairs[i].getKey(), other.pairs[i].getValue());
+                this.nElements++;
+                if (Metrics.ENABLED) {
+                    Metrics.allocation("ArrayDictionary", 1);
+                }
+            } else {
+                this.put(other.pairs[i].getKey(), other.pairs[i].getValue());
+            }
         }
-        this.pairs = newArray;
+    }
+
+    /**
+     * Creates a larger array of pairs and transfer the pairs to the new array.
+     * The array grows by the growth factor, or to the given size if that is larger.
+     * @param minCapacity number of pairs the new array must hold
+     */
+    private void copyOver(int minCapacity) {
+        long grown = (long) (this.arraySize * this.growthFactor);
+        this.resize((int) Math.min(MAX_CAPACITY, Math.max(grown, minCapacity)));
+    }
+
+    /**
+     * Moves the pairs to an array of the given size
+     * @param newSize size of the new array (at least the number of pairs)
+     */
+    private void resize(int newSize) {
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        int oldSize = this.arraySize;
+        this.pairs = Arrays.copyOf(this.pairs, newSize);
+        this.arraySize = newSize;
+        if (Metrics.ENABLED) {
+            Metrics.resize("ArrayDictionary", oldSize, newSize, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Shrinks the array to the number of pairs
+     */
+    public void trimToSize() {
+        if (this.arraySize > this.nElements) {
+            this.resize(this.nElements);
+        }
+    }
+
+    /**
+     * Returns the estimated number of heap bytes retained by this dictionary : the
+     * dictionary itself, its array and its pairs, without the keys and values.
+     * @return estimated footprint in bytes
+     */
+    public long footprint() {
+        long self = Footprint.object(Footprint.REFERENCE + 3 * Integer.BYTES + Double.BYTES);
+        long array = Footprint.array(this.arraySize, Footprint.REFERENCE);
+        long pairBytes = Footprint.object(2 * Footprint.REFERENCE);
+        return self + array + this.nElements * pairBytes;
     }
 
     /**
@@ -107,13 +219,18 @@ public class ArrayDictionary<K, V> implements IDictionary<K, V> {
         }
         // keep the value to return
         V current = this.pairs[index].getValue();
-        this.pairs[index] = null;
-        if (this.nElements > 0) {
-          // pull the last element to the removed spot
-          this.pairs[index] = this.pairs[nElements -1]; 
-          pairs[nElements-1] = null;
+        int last = this.nElements - 1;
+        if (index != last) {
+            // pull the last element to the removed spot
+            this.pairs[index] = this.pairs[last];
         }
+        this.pairs[last] = null;
         this.nElements--;
+        // shrink by half once a quarter full, so that puts and removes around
+        // the boundary do not resize back and forth
+        if (this.nElements < this.arraySize / 4 && this.arraySize > this.initialCapacity) {
+            this.resize(Math.max(this.initialCapacity, this.arraySize / 2));
+        }
         return current;
     }
     
@@ -123,16 +240,20 @@ public class ArrayDictionary<K, V> implements IDictionary<K, V> {
      * @return index the key resides; -1 if key not in the dictionary
      */
     private int getIndex(K key) {
-        for (int i = 0; i < this.size(); i++) {
+        int index = -1;
+        for (int i = 0; i < this.size() && index == -1; i++) {
             if (key != null && pairs[i].getKey() != null) {
                 if (key.equals(pairs[i].getKey())) {
-                    return i;
+                    index = i;
                 }
             } else if (key == null && pairs[i].getKey() == null) {
-                return i;
+                index = i;
             }
         }
-        return -1;
+        if (Metrics.ENABLED) {
+            Metrics.scan("ArrayDictionary", index == -1 ? this.size() : index + 1);
+        }
+        return index;
     }
 
     /**
@@ -154,6 +275,31 @@ public class ArrayDictionary<K, V> implements IDictionary<K, V> {
         return nElements;
     }
     
+    /**
+     * Returns a spliterator over the key-value pairs of this dictionary which
+     * splits by index range. Each pair is handed out as an immutable entry.
+     * @return spliterator over the pairs
+     */
+    public Spliterator<Map.Entry<K, V>> spliterator() {
+        return new PairSpliterator<>(this.pairs, 0, this.nElements);
+    }
+
+    /**
+     * Returns a sequential stream over the key-value pairs of this dictionary.
+     * @return stream of the pairs
+     */
+    public Stream<Map.Entry<K, V>> stream() {
+        return StreamSupport.stream(this.spliterator(), false);
+    }
+
+    /**
+     * Returns a parallel stream over the key-value pairs of this dictionary.
+     * @return parallel stream of the pairs
+     */
+    public Stream<Map.Entry<K, V>> parallelStream() {
+        return StreamSupport.stream(this.spliterator(), true);
+    }
+
     /**
      * Object which holds the key and value
      * @param <K> generic type for the key
@@ -208,4 +354,81 @@ public class ArrayDictionary<K, V> implements IDictionary<K, V> {
             this.value = value;
         }
     }
+
+    /**
+     * Spliterator class : covers a range of indexes of the pair array and splits it in half
+     * @param <K> generic type for the key
+     * @param <V> generic type for the value
+     */
+    private static class PairSpliterator<K, V> implements Spliterator<Map.Entry<K, V>> {
+        /** array of pairs being traversed */
+        private final Pair<K, V>[] pairs;
+
+        /** index of the next pair */
+        private int index;
+
+        /** index after the last pair of the range */
+        private final int fence;
+
+        /**
+         * Constructor : covers the indexes [index, fence)
+         * @param pairs array of pairs
+         * @param index first index of the range
+         * @param fence index after the last one of the range
+         */
+        public PairSpliterator(Pair<K, V>[] pairs, int index, int fence) {
+            this.pairs = pairs;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        /**
+         * Passes the next pair to the action
+         * @param action action to perform
+         * @return false if there was no pair left
+         */
+        @Override
+        public boolean tryAdvance(Consumer<? super Map.Entry<K, V>> action) {
+            if (this.index >= this.fence) {
+                return false;
+            }
+            Pair<K, V> pair = this.pairs[this.index];
+            this.index++;
+            action.accept(new AbstractMap.SimpleImmutableEntry<>(pair.getKey(), pair.getValue()));
+            return true;
+        }
+
+        /**
+         * Hands the first half of the remaining range to a new spliterator
+         * @return spliterator for the first half; null if the range is too small
+         */
+        @Override
+        public Spliterator<Map.Entry<K, V>> trySplit() {
+            int mid = (this.index + this.fence) >>> 1;
+            if (mid <= this.index) {
+                return null;
+            }
+            Spliterator<Map.Entry<K, V>> prefix = new PairSpliterator<>(this.pairs, this.index, mid);
+            this.index = mid;
+            return prefix;
+        }
+
+        /**
+         * Returns the number of remaining pairs
+         * @return exact size of the remaining range
+         */
+        @Override
+        public long estimateSize() {
+            return this.fence - this.index;
+        }
+
+        /**
+         * Returns the characteristics of this spliterator
+         * @return DISTINCT, NONNULL, SIZED and SUBSIZED
+         */
+        @Override
+        public int characteristics() {
+            return Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
 }
@@ -0,0 +1,319 @@
+package datastructures.concrete.dictionaries;
+
+import datastructures.interfaces.IDictionary;
+
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Async Dictionary class : asynchronous front-end which lets many threads use a
+ * dictionary that is not thread-safe, such as ArrayDictionary, HashDictionary or AVL.
+ * <p>
+ * Calls only queue a request and return a CompletableFuture. A single applier,
+ * running on its own daemon thread, takes the queued requests in batches of up to
+ * maxBatch, applies them one after another to the dictionary, and then
+ * completes their futures, like a group commit. Requests are applied in the
+ * order they were queued, and only the applier ever touches the dictionary,
+ * so there is no lock for callers to contend on.
+ * <p>
+ * Futures are completed on the applier thread. Dependent stages added with the
+ * non-async methods (thenApply, ...) run there too and hold up the next
+ * batch; long-running stages should use the async variants.
+ * <p>
+ * If the applier stops for any other reason than close(), because it was
+ * interrupted or an operation threw an Error, the dictionary is closed and
+ * every request it has not completed fails with IllegalStateException.
+ * @author Shohei F. Koshiro
+ *
+ * @param <K> Generic type for key
+ * @param <V> Generic type for value
+ */
+public class AsyncDictionary<K, V> implements AutoCloseable {
+    /** default largest number of requests applied in one batch */
+    private static final int DEFAULT_MAX_BATCH = 256;
+
+    /** dictionary the requests are applied to; only used by the applier */
+    private final IDictionary<K, V> dictionary;
+
+    /** largest number of requests applied in one batch */
+    private final int maxBatch;
+
+    /** requests waiting for the applier */
+    private final LinkedBlockingQueue<Request<K, V, ?>> queue;
+
+    /** thread applying the requests */
+    private final Thread applier;
+
+    /** number of batches applied */
+    private final LongAdder batches;
+
+    /** number of requests applied */
+    private final LongAdder requests;
+
+    /** if close() has been called */
+    private volatile boolean closed;
+
+    /**
+     * Constructor : starts the applier for the given dictionary with the default batch size
+     * @param dictionary dictionary to apply the requests to; must not be used directly afterwards
+     */
+    public AsyncDictionary(IDictionary<K, V> dictionary) {
+        this(dictionary, DEFAULT_MAX_BATCH);
+    }
+
+    /**
+     * Constructor : starts the applier for the given dictionary
+     * @param dictionary dictionary to apply the requests to; must not be used directly afterwards
+     * @param maxBatch largest number of requests applied in one batch
+     * @throws IllegalArgumentException if maxBatch is not positive
+     */
+    public AsyncDictionary(IDictionary<K, V> dictionary, int maxBatch) {
+        if (maxBatch <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.dictionary = dictionary;
+        this.maxBatch = maxBatch;
+        this.queue = new LinkedBlockingQueue<>();
+        this.batches = new LongAdder();
+        this.requests = new LongAdder();
+        this.closed = false;
+        this.applier = new Thread(this::applyBatches, "async-dictionary-applier");
+        this.applier.setDaemon(true);
+        this.applier.start();
+    }
+
+    /**
+     * Returns the value corresponding to the given key.
+     * @param key key used to store the value.
+     * @return future of the value; completed with NoSuchKeyException if the
+     *         dictionary does not contain the given key.
+     */
+    public CompletableFuture<V> getAsync(K key) {
+        return this.submit(dictionary -> dictionary.get(key));
+    }
+
+    /**
+     * Adds the key-value pair to the dictionary. If the key already exists in the dictionary,
+     * replace its value with the given one.
+     * @param key key used to store the value
+     * @param value value corresponds to the key
+     * @return future completed once the pair is stored
+     */
+    public CompletableFuture<Void> putAsync(K key, V value) {
+        return this.submit(dictionary -> {
+            dictionary.put(key, value);
+            return null;
+        });
+    }
+
+    /**
+     * Remove the key-value pair corresponding to the given key from the dictionary.
+     * @param key key user wants to remove
+     * @return future of the removed value; completed with NoSuchKeyException if
+     *         the dictionary does not contain the given key.
+     */
+    public CompletableFuture<V> removeAsync(K key) {
+        return this.submit(dictionary -> dictionary.remove(key));
+    }
+
+    /**
+     * Returns 'true' if the dictionary contains the given key and 'false' otherwise.
+     * @param key key the user wants to search
+     * @return future of whether the given key exists in the dictionary
+     */
+    public CompletableFuture<Boolean> containsKeyAsync(K key) {
+        return this.submit(dictionary -> dictionary.containsKey(key));
+    }
+
+    /**
+     * Returns the number of key-value pairs stored in this dictionary.
+     * @return future of the number of pairs in the dictionary
+     */
+    public CompletableFuture<Integer> sizeAsync() {
+        return this.submit(IDictionary::size);
+    }
+
+    /**
+     * Returns the average number of requests applied per batch
+     * @return average batch size (0 if no batch was applied)
+     */
+    public double getAverageBatchSize() {
+        long count = this.batches.sum();
+        return count == 0 ? 0 : (double) this.requests.sum() / count;
+    }
+
+    /**
+     * Stops accepting requests, waits for the queued ones to be applied and stops the applier.
+     * If interrupted while waiting, returns early with the interrupt status set.
+     */
+    @Override
+    public void close() {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        // wakes the applier up if it is waiting for requests
+        this.queue.add(new Request<>(null));
+        try {
+            this.applier.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Queues the operation for the applier
+     * @param operation operation to apply to the dictionary
+     * @param <R> Generic type for the result
+     * @return future of the result
+     */
+    private <R> CompletableFuture<R> submit(Function<IDictionary<K, V>, R> operation) {
+        Request<K, V, R> request = new Request<>(operation);
+        if (this.closed) {
+            request.future.completeExceptionally(new IllegalStateException("Dictionary is closed"));
+        } else {
+            this.queue.add(request);
+            if (this.closed && this.queue.remove(request)) {
+                // closed in the meantime and the applier may be gone
+                request.future.completeExceptionally(new IllegalStateException("Dictionary is closed"));
+            }
+        }
+        return request.future;
+    }
+
+    /**
+     * Applier loop : waits for requests, then applies everything queued up to maxBatch at once.
+     * However it stops, the dictionary is closed and every request left is failed.
+     */
+    private void applyBatches() {
+        ArrayList<Request<K, V, ?>> batch = new ArrayList<>(this.maxBatch);
+        Throwable cause = null;
+        try {
+            this.applyUntilClosed(batch);
+        } catch (Throwable e) {
+            cause = e;
+            throw e;
+        } finally {
+            this.closed = true;
+            // completed requests ignore this; the others would wait forever
+            for (Request<K, V, ?> request : batch) {
+                request.fail(cause);
+            }
+            Request<K, V, ?> request;
+            while ((request = this.queue.poll()) != null) {
+                request.fail(cause);
+            }
+        }
+    }
+
+    /**
+     * Takes and applies batches until close() was called and the queue is empty,
+     * or until the applier is interrupted
+     * @param batch list to collect each batch in; holds the batch being applied
+     */
+    private void applyUntilClosed(ArrayList<Request<K, V, ?>> batch) {
+        boolean closing = false;
+        while (true) {
+            Request<K, V, ?> first;
+            if (closing) {
+                // close() was called : apply what is left, then stop
+                first = this.queue.poll();
+                if (first == null) {
+                    return;
+                }
+            } else {
+                try {
+                    first = this.queue.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            batch.add(first);
+            this.queue.drainTo(batch, this.maxBatch - 1);
+            int applied = 0;
+            for (Request<K, V, ?> request : batch) {
+                if (request.operation == null) {
+                    closing = true;
+                } else {
+                    request.apply(this.dictionary);
+                    applied++;
+                }
+            }
+            for (Request<K, V, ?> request : batch) {
+                request.complete();
+            }
+            this.batches.increment();
+            this.requests.add(applied);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Request class : operation waiting to be applied, its result and its future
+     * @param <K> Generic type for key
+     * @param <V> Generic type for value
+     * @param <R> Generic type for the result
+     */
+    private static class Request<K, V, R> {
+        /** operation to apply; null for the request sent by close() */
+        private final Function<IDictionary<K, V>, R> operation;
+
+        /** future handed to the caller */
+        private final CompletableFuture<R> future;
+
+        /** result of the operation */
+        private R result;
+
+        /** exception thrown by the operation, such as NoSuchKeyException */
+        private RuntimeException failure;
+
+        /**
+         * Constructor : creates a request for the operation
+         * @param operation operation to apply to the dictionary
+         */
+        public Request(Function<IDictionary<K, V>, R> operation) {
+            this.operation = operation;
+            this.future = new CompletableFuture<>();
+        }
+
+        /**
+         * Applies the operation and keeps its result until the batch is done
+         * @param dictionary dictionary to apply the operation to
+         */
+        public void apply(IDictionary<K, V> dictionary) {
+            try {
+                this.result = this.operation.apply(dictionary);
+            } catch (RuntimeException e) {
+                this.failure = e;
+            }
+        }
+
+        /**
+         * Completes the future with the result or the exception of the operation
+         */
+        public void complete() {
+            if (this.operation == null) {
+                return;
+            }
+            if (this.failure != null) {
+                this.future.completeExceptionally(this.failure);
+            } else {
+                this.future.complete(this.result);
+            }
+        }
+
+        /**
+         * Fails the future because the applier stopped; does nothing if it is already completed
+         * @param cause what stopped the applier (null if it was interrupted or closed)
+         */
+        public void fail(Throwable cause) {
+            if (this.operation != null) {
+                this.future.completeExceptionally(new IllegalStateException("Dictionary is closed", cause));
+            }
+        }
+    }
+}
@@ -0,0 +1,713 @@
+package datastructures.concrete;
+
+import datastructures.concrete.dictionaries.HashDictionary;
+import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.IEvictionListener;
+import misc.exceptions.NoSuchKeyException;
+
+/**
+ * BoundedCache class : dictionary holding at most a fixed number of pairs.
+ * A HashDictionary maps each key to its entry, and the entry is also a node
+ * in the doubly linked lists of the eviction policy, so get, put and
+ * eviction all take constant time.
+ * Pairs can also expire a fixed time after they were written. Expired
+ * pairs are dropped lazily when they are looked up, or by cleanUp().
+ * @author Shohei F. Koshiro
+ *
+ * @param <K> Generic type for key
+ * @param <V> Generic type for value
+ */
+public class BoundedCache<K, V> implements IDictionary<K, V> {
+    /**
+     * Eviction policies of the cache
+     */
+    public enum EvictionPolicy {
+        /** evicts the least recently used pair */
+        LRU,
+        /** evicts the least frequently used pair (the least recently used one among ties) */
+        LFU,
+        /**
+         * W-TinyLFU : a small LRU window in front of a segmented LRU main area.
+         * A pair leaving the window only enters the main area if it has been used
+         * more often than the pair it would push out.
+         */
+        TINY_LFU
+    }
+
+    /** entry lives in the LRU list or the TinyLFU window */
+    private static final int WINDOW = 0;
+
+    /** entry lives in the TinyLFU probation segment */
+    private static final int PROBATION = 1;
+
+    /** entry lives in the TinyLFU protected segment */
+    private static final int PROTECTED = 2;
+
+    /** maximum number of pairs */
+    private final int capacity;
+
+    /** eviction policy */
+    private final EvictionPolicy policy;
+
+    /** time to live of a pair in nanoseconds; 0 if pairs never expire */
+    private final long expireAfterWriteNanos;
+
+    /** entries by key */
+    private final HashDictionary<K, Entry<K, V>> entries;
+
+    /** LRU list (LRU), or the window (TINY_LFU) */
+    private final EntryList<K, V> window;
+
+    /** probation segment (TINY_LFU) */
+    private final EntryList<K, V> probation;
+
+    /** protected segment (TINY_LFU) */
+    private final EntryList<K, V> protectedSegment;
+
+    /** maximum size of the window (TINY_LFU) */
+    private final int windowCapacity;
+
+    /** maximum size of the protected segment (TINY_LFU) */
+    private final int protectedCapacity;
+
+    /** access frequencies (TINY_LFU) */
+    private final FrequencySketch sketch;
+
+    /** sentinel of the list of frequency buckets in ascending order (LFU) */
+    private final FrequencyBucket<K, V> buckets;
+
+    /** receiver of evicted and expired pairs; null if none */
+    private IEvictionListener<K, V> listener;
+
+    /** number of get calls which found a pair */
+    private long hits;
+
+    /** number of get calls which did not find a pair */
+    private long misses;
+
+    /** number of pairs evicted or expired */
+    private long evictions;
+
+    /**
+     * Constructor : creates an empty cache whose pairs never expire
+     * @param capacity maximum number of pairs
+     * @param policy eviction policy
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public BoundedCache(int capacity, EvictionPolicy policy) {
+        this(capacity, policy, 0);
+    }
+
+    /**
+     * Constructor : creates an empty cache
+     * @param capacity maximum number of pairs
+     * @param policy eviction policy
+     * @param expireAfterWriteNanos time to live of a pair in nanoseconds (0 for no expiry)
+     * @throws IllegalArgumentException if the capacity is not positive or the time to live is negative
+     */
+    public BoundedCache(int capacity, EvictionPolicy policy, long expireAfterWriteNanos) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        if (expireAfterWriteNanos < 0) {
+            throw new IllegalArgumentException("Time to live must not be negative");
+        }
+        this.capacity = capacity;
+        this.policy = policy;
+        this.expireAfterWriteNanos = expireAfterWriteNanos;
+        this.entries = new HashDictionary<>(capacity);
+        this.window = new EntryList<>();
+        this.probation = new EntryList<>();
+        this.protectedSegment = new EntryList<>();
+        // 1% window, and 80% of the main area protected
+        this.windowCapacity = Math.max(1, capacity / 100);
+        this.protectedCapacity = (int) ((capacity - this.windowCapacity) * 0.8);
+        this.sketch = policy == EvictionPolicy.TINY_LFU ? new FrequencySketch(capacity) : null;
+        this.buckets = new FrequencyBucket<>(0);
+        this.buckets.prev = this.buckets;
+        this.buckets.next = this.buckets;
+    }
+
+    /**
+     * Sets the receiver of evicted and expired pairs
+     * @param listener receiver of the pairs (null for none)
+     */
+    public void setEvictionListener(IEvictionListener<K, V> listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Returns the value corresponding to the given key and records the access.
+     * @param key key used to store the value.
+     * @return value corresponding to the given key.
+     * @throws NoSuchKeyException if the cache does not contain the given key or the pair expired.
+     */
+    @Override
+    public V get(K key) {
+        if (this.sketch != null) {
+            this.sketch.increment(key);
+        }
+        Entry<K, V> entry = this.findLive(key);
+        if (entry == null) {
+            this.misses++;
+            throw new NoSuchKeyException("Specified key not in the cache");
+        }
+        this.hits++;
+        this.touch(entry);
+        return entry.value;
+    }
+
+    /**
+     * Adds the key-value pair to the cache, evicting a pair if the cache is full.
+     * If the key already exists, replace its value and restart its time to live.
+     * @param key key used to store the value
+     * @param value value corresponds to the key
+     */
+    @Override
+    public void put(K key, V value) {
+        Entry<K, V> entry = this.findLive(key);
+        if (entry != null) {
+            entry.value = value;
+            entry.writeTime = this.now();
+            this.touch(entry);
+            return;
+        }
+        entry = new Entry<>(key, value, this.now());
+        if (this.policy == EvictionPolicy.TINY_LFU) {
+            this.sketch.increment(key);
+            this.entries.put(key, entry);
+            this.admitTinyLfu(entry);
+        } else {
+            if (this.entries.size() == this.capacity) {
+                this.evict(this.policy == EvictionPolicy.LRU ? this.window.last() : this.buckets.next.entries.last());
+            }
+            this.entries.put(key, entry);
+            if (this.policy == EvictionPolicy.LRU) {
+                this.window.addFirst(entry);
+            } else {
+                this.addToBucket(entry, this.buckets);
+            }
+        }
+    }
+
+    /**
+     * Remove the key-value pair corresponding to the given key from the cache.
+     * The eviction listener is not called.
+     * @param key key user wants to remove
+     * @return value corresponds to the key
+     * @throws NoSuchKeyException if the cache does not contain the given key or the pair expired.
+     */
+    @Override
+    public V remove(K key) {
+        Entry<K, V> entry = this.findLive(key);
+        if (entry == null) {
+            throw new NoSuchKeyException("Unable to delete. No such key is found");
+        }
+        this.unlink(entry);
+        return entry.value;
+    }
+
+    /**
+     * Returns 'true' if the cache contains the given key and 'false' otherwise.
+     * Does not count as an access of the pair.
+     * @param key key the user wants to search
+     * @return if the given key exists in the cache and has not expired
+     */
+    @Override
+    public boolean containsKey(K key) {
+        return this.findLive(key) != null;
+    }
+
+    /**
+     * Returns the number of pairs stored in the cache, including expired pairs
+     * which have not been dropped yet.
+     * @return number of pairs in the cache
+     */
+    @Override
+    public int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Drops every expired pair now instead of waiting for them to be looked up
+     */
+    public void cleanUp() {
+        if (this.expireAfterWriteNanos == 0) {
+            return;
+        }
+        this.expireAll(this.window);
+        this.expireAll(this.probation);
+        this.expireAll(this.protectedSegment);
+        for (FrequencyBucket<K, V> bucket = this.buckets.next; bucket != this.buckets; ) {
+            FrequencyBucket<K, V> next = bucket.next;
+            this.expireAll(bucket.entries);
+            bucket = next;
+        }
+    }
+
+    /**
+     * Returns the number of get calls which found a pair
+     * @return hit count
+     */
+    public long hitCount() {
+        return this.hits;
+    }
+
+    /**
+     * Returns the number of get calls which did not find a pair
+     * @return miss count
+     */
+    public long missCount() {
+        return this.misses;
+    }
+
+    /**
+     * Returns the number of pairs evicted to make room or dropped because they expired
+     * @return eviction count
+     */
+    public long evictionCount() {
+        return this.evictions;
+    }
+
+    /**
+     * Returns the ratio of get calls which found a pair
+     * @return hit rate between 0 and 1 (0 if get was never called)
+     */
+    public double hitRate() {
+        long requests = this.hits + this.misses;
+        return requests == 0 ? 0 : (double) this.hits / requests;
+    }
+
+    /**
+     * Returns the entry of the key, dropping it first if it expired
+     * @param key key to be found
+     * @return entry of the key; null if the key is not in the cache or expired
+     */
+    private Entry<K, V> findLive(K key) {
+        Entry<K, V> entry = this.entries.getOrDefault(key, null);
+        if (entry == null) {
+            return null;
+        }
+        if (this.isExpired(entry)) {
+            this.drop(entry, true);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Returns 'true' if the time to live of the entry has passed
+     * @param entry entry to check
+     * @return if the entry expired
+     */
+    private boolean isExpired(Entry<K, V> entry) {
+        return this.expireAfterWriteNanos != 0 && this.now() - entry.writeTime >= this.expireAfterWriteNanos;
+    }
+
+    /**
+     * Drops every expired entry of the list
+     * @param list list to clean up
+     */
+    private void expireAll(EntryList<K, V> list) {
+        Entry<K, V> entry = list.sentinel.next;
+        while (entry != list.sentinel) {
+            Entry<K, V> next = entry.next;
+            if (this.isExpired(entry)) {
+                this.drop(entry, true);
+            }
+            entry = next;
+        }
+    }
+
+    /**
+     * Returns the current time
+     * @return time in nanoseconds
+     */
+    private long now() {
+        return this.expireAfterWriteNanos == 0 ? 0 : System.nanoTime();
+    }
+
+    /**
+     * Records an access of the entry in the eviction policy
+     * @param entry entry being accessed
+     */
+    private void touch(Entry<K, V> entry) {
+        if (this.policy == EvictionPolicy.LRU) {
+            this.window.moveToFront(entry);
+        } else if (this.policy == EvictionPolicy.LFU) {
+            FrequencyBucket<K, V> bucket = entry.bucket;
+            bucket.entries.remove(entry);
+            this.addToBucket(entry, bucket);
+            if (bucket.entries.isEmpty()) {
+                removeBucket(bucket);
+            }
+        } else if (entry.region == WINDOW) {
+            this.window.moveToFront(entry);
+        } else if (entry.region == PROBATION) {
+            // a second use promotes the entry to the protected segment
+            this.probation.remove(entry);
+            entry.region = PROTECTED;
+            this.protectedSegment.addFirst(entry);
+            if (this.protectedSegment.size > this.protectedCapacity) {
+                Entry<K, V> demoted = this.protectedSegment.last();
+                this.protectedSegment.remove(demoted);
+                demoted.region = PROBATION;
+                this.probation.addFirst(demoted);
+            }
+        } else {
+            this.protectedSegment.moveToFront(entry);
+        }
+    }
+
+    /**
+     * Moves the entry into the bucket for one more use than the given bucket
+     * (LFU), creating that bucket if needed
+     * @param entry entry to be placed
+     * @param bucket bucket the entry comes from (the sentinel for a new entry)
+     */
+    private void addToBucket(Entry<K, V> entry, FrequencyBucket<K, V> bucket) {
+        int frequency = bucket.frequency + 1;
+        FrequencyBucket<K, V> target = bucket.next;
+        if (target == this.buckets || target.frequency != frequency) {
+            // insert a new bucket right after the given one
+            target = new FrequencyBucket<>(frequency);
+            target.prev = bucket;
+            target.next = bucket.next;
+            bucket.next.prev = target;
+            bucket.next = target;
+        }
+        entry.bucket = target;
+        target.entries.addFirst(entry);
+    }
+
+    /**
+     * Detaches an empty bucket from the bucket list (LFU)
+     * @param bucket bucket to be removed
+     */
+    private static <K, V> void removeBucket(FrequencyBucket<K, V> bucket) {
+        bucket.prev.next = bucket.next;
+        bucket.next.prev = bucket.prev;
+    }
+
+    /**
+     * Places a new entry in the window and, when the window overflows, lets the
+     * window's oldest entry compete with the main area's victim (TINY_LFU)
+     * @param entry new entry
+     */
+    private void admitTinyLfu(Entry<K, V> entry) {
+        entry.region = WINDOW;
+        this.window.addFirst(entry);
+        if (this.window.size <= this.windowCapacity) {
+            return;
+        }
+        Entry<K, V> candidate = this.window.last();
+        this.window.remove(candidate);
+        candidate.region = PROBATION;
+        this.probation.addFirst(candidate);
+        if (this.entries.size() <= this.capacity) {
+            return;
+        }
+        Entry<K, V> victim = this.probation.last();
+        if (victim == candidate) {
+            victim = this.protectedSegment.last();
+        }
+        if (victim == null || this.sketch.frequency(candidate.key) <= this.sketch.frequency(victim.key)) {
+            this.evict(candidate);
+        } else {
+            this.evict(victim);
+        }
+    }
+
+    /**
+     * Drops the entry to make room
+     * @param entry entry to be evicted
+     */
+    private void evict(Entry<K, V> entry) {
+        this.drop(entry, false);
+    }
+
+    /**
+     * Removes the entry and tells the eviction listener
+     * @param entry entry to be dropped
+     * @param expired if the entry expired (rather than being evicted)
+     */
+    private void drop(Entry<K, V> entry, boolean expired) {
+        this.unlink(entry);
+        this.evictions++;
+        if (this.listener != null) {
+            this.listener.onEviction(entry.key, entry.value, expired);
+        }
+    }
+
+    /**
+     * Removes the entry from the dictionary and from its policy list
+     * @param entry entry to be removed
+     */
+    private void unlink(Entry<K, V> entry) {
+        this.entries.remove(entry.key);
+        if (this.policy == EvictionPolicy.LFU) {
+            FrequencyBucket<K, V> bucket = entry.bucket;
+            bucket.entries.remove(entry);
+            if (bucket.entries.isEmpty()) {
+                removeBucket(bucket);
+            }
+        } else if (entry.region == PROBATION) {
+            this.probation.remove(entry);
+        } else if (entry.region == PROTECTED) {
+            this.protectedSegment.remove(entry);
+        } else {
+            this.window.remove(entry);
+        }
+    }
+
+    /**
+     * Entry class : cached pair and node of a policy list
+     * @param <K> Generic type for key
+     * @param <V> Generic type for value
+     */
+    private static class Entry<K, V> {
+        /** key of the pair */
+        private final K key;
+
+        /** value of the pair */
+        private V value;
+
+        /** time of the last write, in nanoseconds */
+        private long writeTime;
+
+        /** WINDOW, PROBATION or PROTECTED */
+        private int region;
+
+        /** frequency bucket holding the entry (LFU) */
+        private FrequencyBucket<K, V> bucket;
+
+        /** Node connected at front */
+        private Entry<K, V> prev;
+
+        /** Node connected at back */
+        private Entry<K, V> next;
+
+        /**
+         * Constructor : creates an unlinked entry
+         * @param key key of the pair
+         * @param value value of the pair
+         * @param writeTime time of the write
+         */
+        public Entry(K key, V value, long writeTime) {
+            this.key = key;
+            this.value = value;
+            this.writeTime = writeTime;
+        }
+    }
+
+    /**
+     * EntryList class : circular doubly linked list of entries around a sentinel.
+     * The front holds the most recently used entry.
+     * @param <K> Generic type for key
+     * @param <V> Generic type for value
+     */
+    private static class EntryList<K, V> {
+        /** sentinel entry; its next is the front and its prev is the back */
+        private final Entry<K, V> sentinel;
+
+        /** number of entries in the list */
+        private int size;
+
+        /**
+         * Constructor : creates an empty list
+         */
+        public EntryList() {
+            this.sentinel = new Entry<>(null, null, 0);
+            this.sentinel.prev = this.sentinel;
+            this.sentinel.next = this.sentinel;
+            this.size = 0;
+        }
+
+        /**
+         * Links the entry at the front
+         * @param entry entry to be added
+         */
+        public void addFirst(Entry<K, V> entry) {
+            entry.prev = this.sentinel;
+            entry.next = this.sentinel.next;
+            this.sentinel.next.prev = entry;
+            this.sentinel.next = entry;
+            this.size++;
+        }
+
+        /**
+         * Unlinks the entry, which must be in this list
+         * @param entry entry to be removed
+         */
+        public void remove(Entry<K, V> entry) {
+            entry.prev.next = entry.next;
+            entry.next.prev = entry.prev;
+            entry.prev = null;
+            entry.next = null;
+            this.size--;
+        }
+
+        /**
+         * Moves the entry, which must be in this list, to the front
+         * @param entry entry to be moved
+         */
+        public void moveToFront(Entry<K, V> entry) {
+            this.remove(entry);
+            this.addFirst(entry);
+        }
+
+        /**
+         * Returns the entry at the back (the least recently used one)
+         * @return back entry; null if the list is empty
+         */
+        public Entry<K, V> last() {
+            return this.size == 0 ? null : this.sentinel.prev;
+        }
+
+        /**
+         * Returns 'true' if the list has no entries
+         * @return If the list is empty
+         */
+        public boolean isEmpty() {
+            return this.size == 0;
+        }
+    }
+
+    /**
+     * FrequencyBucket class : entries used the same number of times (LFU)
+     * @param <K> Generic type for key
+     * @param <V> Generic type for value
+     */
+    private static class FrequencyBucket<K, V> {
+        /** number of uses of the entries in this bucket */
+        private final int frequency;
+
+        /** entries of this bucket, most recently used first */
+        private final EntryList<K, V> entries;
+
+        /** bucket with the next lower frequency */
+        private FrequencyBucket<K, V> prev;
+
+        /** bucket with the next higher frequency */
+        private FrequencyBucket<K, V> next;
+
+        /**
+         * Constructor : creates an empty bucket
+         * @param frequency number of uses
+         */
+        public FrequencyBucket(int frequency) {
+            this.frequency = frequency;
+            this.entries = new EntryList<>();
+        }
+    }
+
+    /**
+     * FrequencySketch class : count-min sketch of recent access frequencies with
+     * 4 rows of counters saturating at 15. All counters are halved once the number
+     * of recorded accesses reaches ten times the capacity, so old popularity fades.
+     */
+    private static class FrequencySketch {
+        /** number of rows */
+        private static final int DEPTH = 4;
+
+        /** largest counter value */
+        private static final int MAX_COUNT = 15;
+
+        /** seeds of the row hash functions */
+        private static final int[] SEEDS = {0x97CB3127, 0xB2FD1AC3, 0x6A09E667, 0xBB67AE85};
+
+        /** counters, one row after the other */
+        private final byte[] counters;
+
+        /** width of a row minus one (width is a power of two) */
+        private final int mask;
+
+        /** number of recorded accesses which triggers halving */
+        private final int sampleSize;
+
+        /** number of accesses recorded since the last halving */
+        private int additions;
+
+        /**
+         * Constructor : sizes the rows for the given cache capacity
+         * @param capacity cache capacity
+         */
+        public FrequencySketch(int capacity) {
+            int width = 16;
+            while (width < capacity && width < (1 << 28)) {
+                width <<= 1;
+            }
+            this.counters = new byte[width * DEPTH];
+            this.mask = width - 1;
+            this.sampleSize = (int) Math.min(Integer.MAX_VALUE, 10L * capacity);
+            this.additions = 0;
+        }
+
+        /**
+         * Records an access of the key
+         * @param key key being accessed
+         */
+        public void increment(Object key) {
+            int h = hash(key);
+            boolean added = false;
+            for (int row = 0; row < DEPTH; row++) {
+                int index = this.indexOf(h, row);
+                if (this.counters[index] < MAX_COUNT) {
+                    this.counters[index]++;
+                    added = true;
+                }
+            }
+            if (added) {
+                this.additions++;
+                if (this.additions >= this.sampleSize) {
+                    this.halve();
+                }
+            }
+        }
+
+        /**
+         * Returns the estimated number of recent accesses of the key
+         * @param key key to look up
+         * @return estimated frequency (never an underestimate before halving)
+         */
+        public int frequency(Object key) {
+            int h = hash(key);
+            int frequency = MAX_COUNT;
+            for (int row = 0; row < DEPTH; row++) {
+                frequency = Math.min(frequency, this.counters[this.indexOf(h, row)]);
+            }
+            return frequency;
+        }
+
+        /**
+         * Halves every counter
+         */
+        private void halve() {
+            for (int i = 0; i < this.counters.length; i++) {
+                this.counters[i] >>= 1;
+            }
+            this.additions >>= 1;
+        }
+
+        /**
+         * Returns the counter of the hash in the given row
+         * @param h hash of the key
+         * @param row row number
+         * @return index in the counter array
+         */
+        private int indexOf(int h, int row) {
+            int mixed = (h ^ SEEDS[row]) * 0x9E3779B9;
+            mixed ^= mixed >>> 15;
+            return row * (this.mask + 1) + (mixed & this.mask);
+        }
+
+        /**
+         * Returns the hash code of the key (0 for the null key)
+         * @param key key to hash
+         * @return hash code
+         */
+        private static int hash(Object key) {
+            return key == null ? 0 : key.hashCode();
+        }
+    }
+}
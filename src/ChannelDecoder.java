@@ -0,0 +1,163 @@
+package datastructures.io;
+
+import datastructures.interfaces.ICodec;
+import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.IList;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectableChannel;
+
+/**
+ * ChannelDecoder class : reads lists and dictionaries written by ChannelEncoder
+ * from a channel, one buffer-sized chunk at a time.
+ * The channel must stay in blocking mode : a non-blocking channel returns no
+ * bytes until data arrives, and the decoder has nothing to wait on.
+ * @author Shohei F. Koshiro
+ */
+public class ChannelDecoder {
+    /** default size of the buffer */
+    public static final int DEFAULT_BUFFER_SIZE = 64 << 10;
+
+    /** channel being read from */
+    private final ReadableByteChannel channel;
+
+    /** bytes read from the channel but not decoded yet */
+    private final ByteBuffer buffer;
+
+    /**
+     * Constructor : reads from the channel through a buffer of the default size
+     * @param channel channel to read from
+     * @throws IllegalArgumentException if the channel is in non-blocking mode
+     */
+    public ChannelDecoder(ReadableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructor : reads from the channel through a buffer of the given size
+     * @param channel channel to read from
+     * @param bufferSize size of the buffer
+     * @throws IllegalArgumentException if the buffer size is not positive or the channel is in non-blocking mode
+     */
+    public ChannelDecoder(ReadableByteChannel channel, int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Buffer size must be positive");
+        }
+        if (channel instanceof SelectableChannel && !((SelectableChannel) channel).isBlocking()) {
+            throw new IllegalArgumentException("Channel must be in blocking mode");
+        }
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(bufferSize);
+        this.buffer.flip();
+    }
+
+    /**
+     * Reads the items of one list and adds them to the end of the given list
+     * @param into list receiving the items
+     * @param codec converts bytes to items
+     * @param <T> Generic type for the items
+     * @throws IOException if the channel cannot be read or ends in the middle of the list
+     */
+    public <T> void readList(IList<T> into, ICodec<T> codec) throws IOException {
+        long tag = this.readVarint();
+        while (tag != ChannelEncoder.END) {
+            into.add(this.readElement(tag, codec));
+            tag = this.readVarint();
+        }
+    }
+
+    /**
+     * Reads the pairs of one dictionary and puts them into the given dictionary
+     * @param into dictionary receiving the pairs
+     * @param keyCodec converts bytes to keys
+     * @param valueCodec converts bytes to values
+     * @param <K> Generic type for key
+     * @param <V> Generic type for value
+     * @throws IOException if the channel cannot be read or ends in the middle of the dictionary
+     */
+    public <K, V> void readDictionary(IDictionary<K, V> into, ICodec<K> keyCodec, ICodec<V> valueCodec)
+            throws IOException {
+        long tag = this.readVarint();
+        while (tag != ChannelEncoder.END) {
+            K key = this.readElement(tag, keyCodec);
+            V value = this.readElement(this.readVarint(), valueCodec);
+            into.put(key, value);
+            tag = this.readVarint();
+        }
+    }
+
+    /**
+     * Reads the bytes of the element with the given tag
+     * @param tag tag read in front of the element
+     * @param codec converts bytes to the element
+     * @param <T> Generic type for the element
+     * @return decoded element; null for the null tag
+     * @throws IOException if the channel cannot be read or the tag is invalid
+     */
+    private <T> T readElement(long tag, ICodec<T> codec) throws IOException {
+        if (tag == ChannelEncoder.NULL) {
+            return null;
+        }
+        long length = tag - ChannelEncoder.LENGTH_OFFSET;
+        if (length < 0 || length > Integer.MAX_VALUE) {
+            throw new IOException("Invalid element tag : " + tag);
+        }
+        byte[] bytes = new byte[(int) length];
+        int filled = Math.min(bytes.length, this.buffer.remaining());
+        this.buffer.get(bytes, 0, filled);
+        if (filled < bytes.length) {
+            // read the rest straight into the array
+            ByteBuffer rest = ByteBuffer.wrap(bytes, filled, bytes.length - filled);
+            while (rest.hasRemaining()) {
+                int read = this.channel.read(rest);
+                if (read < 0) {
+                    throw new EOFException("Channel ended in the middle of an element");
+                }
+                if (read == 0) {
+                    throw new IOException("Channel returned no bytes; it must be in blocking mode");
+                }
+            }
+        }
+        return codec.decode(bytes);
+    }
+
+    /**
+     * Reads a number written seven bits per byte, lowest bits first
+     * @return the number
+     * @throws IOException if the channel cannot be read or the varint is too long
+     */
+    private long readVarint() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (!this.buffer.hasRemaining()) {
+                this.fill();
+            }
+            byte b = this.buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    /**
+     * Refills the empty buffer from the channel
+     * @throws IOException if the channel cannot be read or has ended
+     */
+    private void fill() throws IOException {
+        this.buffer.clear();
+        // a blocking channel returns at least one byte or the end of the stream
+        int read = this.channel.read(this.buffer);
+        this.buffer.flip();
+        if (read < 0) {
+            throw new EOFException("Channel ended in the middle of a list or dictionary");
+        }
+        if (read == 0) {
+            throw new IOException("Channel returned no bytes; it must be in blocking mode");
+        }
+    }
+}
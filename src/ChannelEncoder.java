@@ -0,0 +1,164 @@
+package datastructures.io;
+
+import datastructures.interfaces.ICodec;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * ChannelEncoder class : writes lists and dictionaries to a channel in a compact
+ * binary format, one buffer-sized chunk at a time.
+ * <p>
+ * Every element is written as a varint tag followed by its bytes : tag 0 ends
+ * the list or dictionary, tag 1 stands for null and tag n + 2 is followed by
+ * the n bytes produced by the codec. A dictionary is written as alternating
+ * keys and values. ChannelDecoder reads the format back.
+ * <p>
+ * Bytes stay in the buffer until it fills up or flush() is called. The channel
+ * must stay in blocking mode, so that a write never returns without progress.
+ * @author Shohei F. Koshiro
+ */
+public class ChannelEncoder implements Flushable {
+    /** default size of the buffer */
+    public static final int DEFAULT_BUFFER_SIZE = 64 << 10;
+
+    /** tag ending a list or dictionary */
+    static final int END = 0;
+
+    /** tag of a null element */
+    static final int NULL = 1;
+
+    /** number added to the length of an element to make its tag */
+    static final int LENGTH_OFFSET = 2;
+
+    /** largest number of bytes of a varint */
+    private static final int MAX_VARINT_BYTES = 10;
+
+    /** channel being written to */
+    private final WritableByteChannel channel;
+
+    /** bytes not yet written to the channel */
+    private final ByteBuffer buffer;
+
+    /**
+     * Constructor : writes to the channel through a buffer of the default size
+     * @param channel channel to write to
+     * @throws IllegalArgumentException if the channel is in non-blocking mode
+     */
+    public ChannelEncoder(WritableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructor : writes to the channel through a buffer of the given size
+     * @param channel channel to write to
+     * @param bufferSize size of the buffer
+     * @throws IllegalArgumentException if the buffer cannot hold a varint or the channel is in non-blocking mode
+     */
+    public ChannelEncoder(WritableByteChannel channel, int bufferSize) {
+        if (bufferSize < MAX_VARINT_BYTES) {
+            throw new IllegalArgumentException("Buffer size is too small");
+        }
+        if (channel instanceof SelectableChannel && !((SelectableChannel) channel).isBlocking()) {
+            throw new IllegalArgumentException("Channel must be in blocking mode");
+        }
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(bufferSize);
+    }
+
+    /**
+     * Writes the items followed by the end tag
+     * @param items items of the list
+     * @param codec converts the items to bytes
+     * @param <T> Generic type for the items
+     * @throws IOException if the channel cannot be written
+     */
+    public <T> void writeList(Iterable<? extends T> items, ICodec<T> codec) throws IOException {
+        for (T item : items) {
+            this.writeElement(item, codec);
+        }
+        this.writeVarint(END);
+    }
+
+    /**
+     * Writes the pairs followed by the end tag
+     * @param pairs iterator over the pairs, such as the one of dictionary.stream()
+     * @param keyCodec converts the keys to bytes
+     * @param valueCodec converts the values to bytes
+     * @param <K> Generic type for key
+     * @param <V> Generic type for value
+     * @throws IOException if the channel cannot be written
+     */
+    public <K, V> void writeDictionary(Iterator<? extends Map.Entry<? extends K, ? extends V>> pairs,
+            ICodec<K> keyCodec, ICodec<V> valueCodec) throws IOException {
+        while (pairs.hasNext()) {
+            Map.Entry<? extends K, ? extends V> pair = pairs.next();
+            this.writeElement(pair.getKey(), keyCodec);
+            this.writeElement(pair.getValue(), valueCodec);
+        }
+        this.writeVarint(END);
+    }
+
+    /**
+     * Writes the buffered bytes to the channel
+     * @throws IOException if the channel cannot be written
+     */
+    @Override
+    public void flush() throws IOException {
+        this.buffer.flip();
+        while (this.buffer.hasRemaining()) {
+            this.channel.write(this.buffer);
+        }
+        this.buffer.clear();
+    }
+
+    /**
+     * Writes the tag and bytes of one element
+     * @param item element to write
+     * @param codec converts the element to bytes
+     * @param <T> Generic type for the element
+     * @throws IOException if the channel cannot be written
+     */
+    private <T> void writeElement(T item, ICodec<T> codec) throws IOException {
+        if (item == null) {
+            this.writeVarint(NULL);
+            return;
+        }
+        byte[] bytes = codec.encode(item);
+        this.writeVarint((long) bytes.length + LENGTH_OFFSET);
+        if (bytes.length <= this.buffer.remaining()) {
+            this.buffer.put(bytes);
+        } else if (bytes.length <= this.buffer.capacity()) {
+            this.flush();
+            this.buffer.put(bytes);
+        } else {
+            // too large for the buffer : hand it to the channel as it is
+            this.flush();
+            ByteBuffer wrapped = ByteBuffer.wrap(bytes);
+            while (wrapped.hasRemaining()) {
+                this.channel.write(wrapped);
+            }
+        }
+    }
+
+    /**
+     * Writes the number seven bits per byte, lowest bits first
+     * @param value non-negative number
+     * @throws IOException if the channel cannot be written
+     */
+    private void writeVarint(long value) throws IOException {
+        if (this.buffer.remaining() < MAX_VARINT_BYTES) {
+            this.flush();
+        }
+        while ((value & ~0x7FL) != 0) {
+            this.buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        this.buffer.put((byte) value);
+    }
+}
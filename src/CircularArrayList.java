@@ -0,0 +1,518 @@
+package datastructures.concrete;
+
+import datastructures.interfaces.IList;
+import misc.exceptions.EmptyContainerException;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * CircularArrayList class : list stored in a circular array buffer.
+ * get and set take constant time; insert and delete shift whichever side of
+ * the index is shorter, so changes at either end are cheap.
+ * @author Shohei F. Koshiro
+ *
+ * @param <T> Generic type
+ */
+public class CircularArrayList<T> implements IList<T> {
+    /** default number of slots; must be a power of two */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** keeps the elements; the length is always a power of two */
+    private Object[] elements;
+
+    /** slot of the first element */
+    private int head;
+
+    /** Number of elements in the list */
+    private int size;
+
+    /**
+     * Constructor : creates an empty CircularArrayList object
+     */
+    public CircularArrayList() {
+        this.elements = new Object[DEFAULT_CAPACITY];
+        this.head = 0;
+        this.size = 0;
+    }
+
+    /**
+     * Constructor : creates a CircularArrayList object holding the given items in order
+     * @param items The items to be added
+     */
+    public CircularArrayList(Iterable<? extends T> items) {
+        this();
+        this.appendAll(items);
+    }
+
+    /**
+     * Adds the given item to the end of the list
+     * @param item The item to be added
+     */
+    @Override
+    public void add(T item) {
+        // insert at the end
+        this.insert(this.size, item);
+    }
+
+    /**
+     * Adds all the given items to the end of the list, in order.
+     * @param items The items to be added
+     */
+    public void addAll(Iterable<? extends T> items) {
+        this.appendAll(items);
+    }
+
+    /**
+     * Adds all the given items to the end of the list; shared by addAll and the constructor
+     * @param items The items to be added
+     */
+    private void appendAll(Iterable<? extends T> items) {
+        Iterator<? extends T> iter = items.iterator();
+        // when adding the list to itself, only add the elements that exist now
+        int count = items == this ? this.size : Integer.MAX_VALUE;
+        for (int i = 0; i < count && iter.hasNext(); i++) {
+            if (this.size == this.elements.length) {
+                this.copyOver();
+            }
+            this.elements[this.slot(this.size)] = iter.next();
+            this.size++;
+        }
+    }
+
+    /**
+     * Removes the last element and returns it.
+     * @throws EmptyContainerException if the container is empty and there is no element to remove.
+     * @return The last element
+     */
+    @Override
+    public T remove() {
+        if (this.size == 0) {
+            throw new EmptyContainerException("List empty : no items to remove.");
+        }
+        return this.delete(this.size - 1);
+    }
+
+    /**
+     * Returns the item located at the given index.
+     * @param index The index number
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= this.size()
+     * @return The item located at the given index
+     */
+    @Override
+    public T get(int index) {
+        this.checkIndex(index, this.size);
+        return this.elementAt(index);
+    }
+
+    /**
+     * Overwrites the element located at the given index with the new item.
+     * @param index The index number
+     * @param item The new item to be overwritten
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= this.size()
+     */
+    @Override
+    public void set(int index, T item) {
+        this.checkIndex(index, this.size);
+        this.elements[this.slot(index)] = item;
+    }
+
+    /**
+     * Inserts the given item at the given index. If there already exists an element
+     * at that index, shift over that element and any subsequent elements one index
+     * higher.
+     * @param index The index number
+     * @param item The new item to be inserted
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= this.size() + 1
+     */
+    @Override
+    public void insert(int index, T item) {
+        this.checkIndex(index, this.size + 1);
+        if (this.size == this.elements.length) {
+            this.copyOver();
+        }
+        if (index < this.size / 2) {
+            // move the front part one slot toward the front
+            this.moveLeft(0, -1, index);
+            this.head = this.slot(-1);
+        } else {
+            // move the back part one slot toward the back
+            this.moveRight(index, index + 1, this.size - index);
+        }
+        this.elements[this.slot(index)] = item;
+        this.size++;
+    }
+
+    /**
+     * Deletes the item at the given index. If there are any elements located at a higher
+     * index, shift them all down by one.
+     * @param index The index number
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= this.size()
+     * @return The deleted item
+     */
+    @Override
+    public T delete(int index) {
+        this.checkIndex(index, this.size);
+        T item = this.elementAt(index);
+        if (index < this.size / 2) {
+            // close the gap from the front
+            this.moveRight(0, 1, index);
+            this.elements[this.head] = null;
+            this.head = this.slot(1);
+        } else {
+            // close the gap from the back
+            this.moveLeft(index + 1, index, this.size - index - 1);
+            this.elements[this.slot(this.size - 1)] = null;
+        }
+        this.size--;
+        return item;
+    }
+
+    /**
+     * Deletes the items from index from (inclusive) to index to (exclusive), shifting
+     * any elements located at a higher index down. Only the shorter side is moved.
+     * @param from The index of the first item to delete
+     * @param to The index after the last item to delete
+     * @throws IndexOutOfBoundsException if from < 0, to > this.size() or from > to
+     */
+    public void removeRange(int from, int to) {
+        if (from < 0 || to > this.size || from > to) {
+            throw new IndexOutOfBoundsException("Index out of boundary : check the size of the list");
+        }
+        int count = to - from;
+        if (from < this.size - to) {
+            // close the gap from the front
+            this.moveRight(0, count, from);
+            this.clearSlots(0, count);
+            this.head = this.slot(count);
+        } else {
+            // close the gap from the back
+            this.moveLeft(to, from, this.size - to);
+            this.clearSlots(this.size - count, count);
+        }
+        this.size -= count;
+    }
+
+    /**
+     * Releases the references held by the given range of indexes
+     * @param from The index of the first slot to clear
+     * @param count number of slots to clear
+     */
+    private void clearSlots(int from, int count) {
+        for (int i = 0; i < count; i++) {
+            this.elements[this.slot(from + i)] = null;
+        }
+    }
+
+    /**
+     * Removes all the elements and resets the size to 0
+     */
+    public void clear() {
+        this.elements = new Object[DEFAULT_CAPACITY];
+        this.head = 0;
+        this.size = 0;
+    }
+
+    /**
+     * Returns the index corresponding to the first occurrence of the given item
+     * in the list.
+     * @param item The item to be found in the list
+     * @return The location of the item in the list. (-1 if not found)
+     */
+    @Override
+    public int indexOf(T item) {
+        for (int i = 0; i < this.size; i++) {
+            Object current = this.elements[this.slot(i)];
+            if (item == null ? current == null : item.equals(current)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the number of elements in the container.
+     * @return The size of the list
+     */
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns 'true' if this container contains the given element, and 'false' otherwise.
+     * @param other The item to be found
+     * @return If the list contains the given item
+     */
+    @Override
+    public boolean contains(T other) {
+        return this.indexOf(other) != -1;
+    }
+
+    /**
+     * Returns the slot of the element at the given index. Indexes just outside
+     * of the list (such as -1) wrap around the buffer as well.
+     * @param index The index number
+     * @return slot in the array
+     */
+    private int slot(int index) {
+        return (this.head + index) & (this.elements.length - 1);
+    }
+
+    /**
+     * Returns the element at the given index without checking the index
+     * @param index The index number
+     * @return The element at the index
+     */
+    @SuppressWarnings("unchecked")
+    private T elementAt(int index) {
+        return (T) this.elements[this.slot(index)];
+    }
+
+    /**
+     * Copies the elements at [from, from + length) to [to, to + length) where to < from.
+     * The copy is split where either range wraps around the end of the array.
+     * @param from index of the first element to move
+     * @param to index the first element moves to
+     * @param length number of elements to move
+     */
+    private void moveLeft(int from, int to, int length) {
+        while (length > 0) {
+            int src = this.slot(from);
+            int dst = this.slot(to);
+            int chunk = Math.min(length, Math.min(this.elements.length - src, this.elements.length - dst));
+            System.arraycopy(this.elements, src, this.elements, dst, chunk);
+            from += chunk;
+            to += chunk;
+            length -= chunk;
+        }
+    }
+
+    /**
+     * Copies the elements at [from, from + length) to [to, to + length) where to > from.
+     * Works from the back so that no element is overwritten before it is moved.
+     * @param from index of the first element to move
+     * @param to index the first element moves to
+     * @param length number of elements to move
+     */
+    private void moveRight(int from, int to, int length) {
+        while (length > 0) {
+            int srcEnd = this.slot(from + length - 1);
+            int dstEnd = this.slot(to + length - 1);
+            int chunk = Math.min(length, Math.min(srcEnd + 1, dstEnd + 1));
+            System.arraycopy(this.elements, srcEnd - chunk + 1, this.elements, dstEnd - chunk + 1, chunk);
+            length -= chunk;
+        }
+    }
+
+    /**
+     * Creates a twice as large array and transfers the elements so that the
+     * first element sits at slot 0
+     */
+    private void copyOver() {
+        Object[] newArray = new Object[this.elements.length * 2];
+        int firstPart = Math.min(this.size, this.elements.length - this.head);
+        System.arraycopy(this.elements, this.head, newArray, 0, firstPart);
+        System.arraycopy(this.elements, 0, newArray, firstPart, this.size - firstPart);
+        this.elements = newArray;
+        this.head = 0;
+    }
+
+    /**
+     * Checks the index against the given bound
+     * @param index The index number
+     * @param bound first invalid index
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= bound
+     */
+    private void checkIndex(int index, int bound) {
+        if (bound <= index || index < 0) {
+            throw new IndexOutOfBoundsException("Index out of boundary : check the size of the list");
+        }
+    }
+
+    /**
+     * toString method
+     * @return String representation of the list
+     */
+    @Override
+    public String toString() {
+        StringBuilder print = new StringBuilder("[");
+        for (int i = 0; i < this.size; i++) {
+            if (i > 0) {
+                print.append(", ");
+            }
+            print.append(String.valueOf(this.elementAt(i)));
+        }
+        return print.append("]").toString();
+    }
+
+    /**
+     * Returns an iterator over the contents of this list.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new CircularArrayListIterator<>(this);
+    }
+
+    /**
+     * Returns a spliterator over the contents of this list which splits by index range.
+     * @return spliterator over the elements
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new IndexSpliterator<>(this, 0, this.size);
+    }
+
+    /**
+     * Returns a sequential stream over the contents of this list.
+     * @return stream of the elements
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(this.spliterator(), false);
+    }
+
+    /**
+     * Returns a parallel stream over the contents of this list.
+     * @return parallel stream of the elements
+     */
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(this.spliterator(), true);
+    }
+
+    /**
+     * Iterator class : walks the elements of a CircularArrayList by index
+     * @param <T> Generic type
+     */
+    private static class CircularArrayListIterator<T> implements Iterator<T> {
+        /** list being iterated over */
+        private final CircularArrayList<T> list;
+
+        /** index of the next element */
+        private int current;
+
+        /**
+         * Constructor : starts at the first element of the list
+         * @param list list to iterate over
+         */
+        public CircularArrayListIterator(CircularArrayList<T> list) {
+            this.list = list;
+            this.current = 0;
+        }
+
+        /**
+         * Returns 'true' if the iterator still has elements to look at;
+         * returns 'false' otherwise.
+         * @return If next element exists
+         */
+        @Override
+        public boolean hasNext() {
+            return this.current < this.list.size;
+        }
+
+        /**
+         * Returns the next item in the iteration and internally updates the
+         * iterator to advance one element forward.
+         * @throws NoSuchElementException if we have reached the end of the iteration.
+         * @return Next item
+         */
+        @Override
+        public T next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException("No new element : the iterator has reached the end.");
+            }
+            T item = this.list.elementAt(this.current);
+            this.current++;
+            return item;
+        }
+    }
+
+    /**
+     * Spliterator class : covers a range of indexes and splits it in half
+     * @param <T> Generic type
+     */
+    private static class IndexSpliterator<T> implements Spliterator<T> {
+        /** list being traversed */
+        private final CircularArrayList<T> list;
+
+        /** index of the next element */
+        private int index;
+
+        /** index after the last element of the range */
+        private final int fence;
+
+        /**
+         * Constructor : covers the indexes [index, fence)
+         * @param list list to traverse
+         * @param index first index of the range
+         * @param fence index after the last one of the range
+         */
+        public IndexSpliterator(CircularArrayList<T> list, int index, int fence) {
+            this.list = list;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        /**
+         * Passes the next element to the action
+         * @param action action to perform
+         * @return false if there was no element left
+         */
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (this.index >= this.fence) {
+                return false;
+            }
+            action.accept(this.list.elementAt(this.index));
+            this.index++;
+            return true;
+        }
+
+        /**
+         * Passes all the remaining elements to the action
+         * @param action action to perform
+         */
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            for (; this.index < this.fence; this.index++) {
+                action.accept(this.list.elementAt(this.index));
+            }
+        }
+
+        /**
+         * Hands the first half of the remaining range to a new spliterator
+         * @return spliterator for the first half; null if the range is too small
+         */
+        @Override
+        public Spliterator<T> trySplit() {
+            int mid = (this.index + this.fence) >>> 1;
+            if (mid <= this.index) {
+                return null;
+            }
+            Spliterator<T> prefix = new IndexSpliterator<>(this.list, this.index, mid);
+            this.index = mid;
+            return prefix;
+        }
+
+        /**
+         * Returns the number of remaining elements
+         * @return exact size of the remaining range
+         */
+        @Override
+        public long estimateSize() {
+            return this.fence - this.index;
+        }
+
+        /**
+         * Returns the characteristics of this spliterator
+         * @return ORDERED, SIZED and SUBSIZED
+         */
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package datastructures.io;
+
+import datastructures.interfaces.ICodec;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Codecs class : codecs for common item types.
+ * None of them accept null items.
+ * @author Shohei F. Koshiro
+ */
+public final class Codecs {
+    /** Strings as UTF-8 */
+    public static final ICodec<String> STRING = new ICodec<String>() {
+        @Override
+        public byte[] encode(String item) {
+            return item.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String decode(byte[] bytes) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    /** Integers as 4 big-endian bytes */
+    public static final ICodec<Integer> INTEGER = new ICodec<Integer>() {
+        @Override
+        public byte[] encode(Integer item) {
+            return ByteBuffer.allocate(Integer.BYTES).putInt(item).array();
+        }
+
+        @Override
+        public Integer decode(byte[] bytes) {
+            return ByteBuffer.wrap(bytes).getInt();
+        }
+    };
+
+    /** Longs as 8 big-endian bytes */
+    public static final ICodec<Long> LONG = new ICodec<Long>() {
+        @Override
+        public byte[] encode(Long item) {
+            return ByteBuffer.allocate(Long.BYTES).putLong(item).array();
+        }
+
+        @Override
+        public Long decode(byte[] bytes) {
+            return ByteBuffer.wrap(bytes).getLong();
+        }
+    };
+
+    /** byte arrays as they are */
+    public static final ICodec<byte[]> BYTES = new ICodec<byte[]>() {
+        @Override
+        public byte[] encode(byte[] item) {
+            return item.clone();
+        }
+
+        @Override
+        public byte[] decode(byte[] bytes) {
+            return bytes;
+        }
+    };
+
+    /**
+     * Constructor : not to be instantiated
+     */
+    private Codecs() {
+    }
+}
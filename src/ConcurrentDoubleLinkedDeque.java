@@ -0,0 +1,555 @@
+package datastructures.concrete;
+
+import datastructures.interfaces.IList;
+import misc.exceptions.EmptyContainerException;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * ConcurrentDoubleLinkedDeque class : lock-free deque of doubly linked nodes.
+ * Follows M. Michael's CAS-based deque ("CAS-Based Lock-Free Algorithm for Shared
+ * Deques", 2003). The front and back node and a status flag form one immutable
+ * anchor, which is swapped with a single compare-and-set. A push first swings the
+ * anchor and then fixes the neighbour's link. A thread that finds the anchor
+ * unstable finishes the other thread's push before going on, so no operation
+ * ever waits for another one.
+ * set, and insert and delete away from index 0, copy the deque with the
+ * change applied and swap the anchor to the copy, so they take O(n) but
+ * are still lock-free and never get in the way of the operations at the ends.
+ * Null items are not allowed because null means the deque is empty.
+ * Iteration, indexOf and size are weakly consistent: they never fail during
+ * concurrent changes, but they may or may not show those changes.
+ * @author Shohei F. Koshiro
+ *
+ * @param <T> Generic type
+ */
+public class ConcurrentDoubleLinkedDeque<T> implements IList<T> {
+    /** anchor status : links between the nodes are consistent */
+    private static final int STABLE = 0;
+
+    /** anchor status : the link from the node in front of the back node is being fixed */
+    private static final int PUSHING_BACK = 1;
+
+    /** anchor status : the link from the node behind the front node is being fixed */
+    private static final int PUSHING_FRONT = 2;
+
+    /** operations applied by replaceNodes */
+    private static final int SET = 0;
+    private static final int INSERT = 1;
+    private static final int DELETE = 2;
+
+    /** updater for the link to the previous node */
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<Node, Node> PREV =
+            AtomicReferenceFieldUpdater.newUpdater(Node.class, Node.class, "prev");
+
+    /** updater for the link to the next node */
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<Node, Node> NEXT =
+            AtomicReferenceFieldUpdater.newUpdater(Node.class, Node.class, "next");
+
+    /** front node, back node and status */
+    private final AtomicReference<Anchor<T>> anchor;
+
+    /** Number of elements in the deque (updated right after each push and pop) */
+    private final AtomicInteger size;
+
+    /**
+     * Constructor : creates an empty ConcurrentDoubleLinkedDeque object
+     */
+    public ConcurrentDoubleLinkedDeque() {
+        this.anchor = new AtomicReference<>(new Anchor<T>(null, null, STABLE));
+        this.size = new AtomicInteger(0);
+    }
+
+    /**
+     * Adds the item to the front of the deque
+     * @param item The item to be added
+     * @throws IllegalArgumentException if the item is null
+     */
+    public void offerFirst(T item) {
+        Node<T> node = new Node<>(checkItem(item));
+        while (true) {
+            Anchor<T> a = this.anchor.get();
+            if (a.front == null) {
+                if (this.anchor.compareAndSet(a, new Anchor<>(node, node, STABLE))) {
+                    break;
+                }
+            } else if (a.status == STABLE) {
+                node.next = a.front;
+                Anchor<T> pushed = new Anchor<>(node, a.back, PUSHING_FRONT);
+                if (this.anchor.compareAndSet(a, pushed)) {
+                    this.stabilizeFront(pushed);
+                    break;
+                }
+            } else {
+                this.stabilize(a);
+            }
+        }
+        this.size.incrementAndGet();
+    }
+
+    /**
+     * Adds the item to the back of the deque
+     * @param item The item to be added
+     * @throws IllegalArgumentException if the item is null
+     */
+    public void offerLast(T item) {
+        Node<T> node = new Node<>(checkItem(item));
+        while (true) {
+            Anchor<T> a = this.anchor.get();
+            if (a.back == null) {
+                if (this.anchor.compareAndSet(a, new Anchor<>(node, node, STABLE))) {
+                    break;
+                }
+            } else if (a.status == STABLE) {
+                node.prev = a.back;
+                Anchor<T> pushed = new Anchor<>(a.front, node, PUSHING_BACK);
+                if (this.anchor.compareAndSet(a, pushed)) {
+                    this.stabilizeBack(pushed);
+                    break;
+                }
+            } else {
+                this.stabilize(a);
+            }
+        }
+        this.size.incrementAndGet();
+    }
+
+    /**
+     * Removes the front item of the deque and returns it
+     * @return The front item; null if the deque is empty
+     */
+    public T pollFirst() {
+        Anchor<T> a;
+        while (true) {
+            a = this.anchor.get();
+            if (a.front == null) {
+                return null;
+            }
+            if (a.front == a.back) {
+                if (this.anchor.compareAndSet(a, new Anchor<T>(null, null, STABLE))) {
+                    break;
+                }
+            } else if (a.status == STABLE) {
+                if (this.anchor.compareAndSet(a, new Anchor<>(a.front.next, a.back, STABLE))) {
+                    break;
+                }
+            } else {
+                this.stabilize(a);
+            }
+        }
+        this.size.decrementAndGet();
+        return a.front.data;
+    }
+
+    /**
+     * Removes the back item of the deque and returns it
+     * @return The back item; null if the deque is empty
+     */
+    public T pollLast() {
+        Anchor<T> a;
+        while (true) {
+            a = this.anchor.get();
+            if (a.back == null) {
+                return null;
+            }
+            if (a.front == a.back) {
+                if (this.anchor.compareAndSet(a, new Anchor<T>(null, null, STABLE))) {
+                    break;
+                }
+            } else if (a.status == STABLE) {
+                if (this.anchor.compareAndSet(a, new Anchor<>(a.front, a.back.prev, STABLE))) {
+                    break;
+                }
+            } else {
+                this.stabilize(a);
+            }
+        }
+        this.size.decrementAndGet();
+        return a.back.data;
+    }
+
+    /**
+     * Finishes the push recorded in the anchor
+     * @param a unstable anchor
+     */
+    private void stabilize(Anchor<T> a) {
+        if (a.status == PUSHING_BACK) {
+            this.stabilizeBack(a);
+        } else {
+            this.stabilizeFront(a);
+        }
+    }
+
+    /**
+     * Links the node in front of the newly pushed back node to it and marks the anchor stable
+     * @param a anchor with status PUSHING_BACK
+     */
+    private void stabilizeBack(Anchor<T> a) {
+        Node<T> prev = a.back.prev;
+        if (this.anchor.get() != a) {
+            return;
+        }
+        Node<T> prevNext = prev.next;
+        if (prevNext != a.back) {
+            if (this.anchor.get() != a || !NEXT.compareAndSet(prev, prevNext, a.back)) {
+                return;
+            }
+        }
+        this.anchor.compareAndSet(a, new Anchor<>(a.front, a.back, STABLE));
+    }
+
+    /**
+     * Links the node behind the newly pushed front node to it and marks the anchor stable
+     * @param a anchor with status PUSHING_FRONT
+     */
+    private void stabilizeFront(Anchor<T> a) {
+        Node<T> next = a.front.next;
+        if (this.anchor.get() != a) {
+            return;
+        }
+        Node<T> nextPrev = next.prev;
+        if (nextPrev != a.front) {
+            if (this.anchor.get() != a || !PREV.compareAndSet(next, nextPrev, a.front)) {
+                return;
+            }
+        }
+        this.anchor.compareAndSet(a, new Anchor<>(a.front, a.back, STABLE));
+    }
+
+    /**
+     * Returns a stable anchor, finishing any push in progress first
+     * @return stable anchor
+     */
+    private Anchor<T> stableAnchor() {
+        Anchor<T> a = this.anchor.get();
+        while (a.status != STABLE) {
+            this.stabilize(a);
+            a = this.anchor.get();
+        }
+        return a;
+    }
+
+    /**
+     * Rejects null items
+     * @param item item to check
+     * @return the item
+     * @throws IllegalArgumentException if the item is null
+     */
+    private static <E> E checkItem(E item) {
+        if (item == null) {
+            throw new IllegalArgumentException("ConcurrentDoubleLinkedDeque does not accept null items");
+        }
+        return item;
+    }
+
+    /**
+     * Adds the item to the back of the deque
+     * @param item The item to be added
+     * @throws IllegalArgumentException if the item is null
+     */
+    @Override
+    public void add(T item) {
+        this.offerLast(item);
+    }
+
+    /**
+     * Removes the back item and returns it.
+     * @throws EmptyContainerException if the container is empty and there is no element to remove.
+     * @return The back item
+     */
+    @Override
+    public T remove() {
+        T item = this.pollLast();
+        if (item == null) {
+            throw new EmptyContainerException("Deque empty : no items to remove.");
+        }
+        return item;
+    }
+
+    /**
+     * Returns the item located at the given index, as seen by a weakly consistent walk.
+     * @param index The index number
+     * @throws IndexOutOfBoundsException if the walk ends before reaching the index
+     * @return The item located at the given index
+     */
+    @Override
+    public T get(int index) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("Index out of boundary : check the size of the list");
+        }
+        Iterator<T> iter = this.iterator();
+        for (int i = 0; i < index && iter.hasNext(); i++) {
+            iter.next();
+        }
+        if (!iter.hasNext()) {
+            throw new IndexOutOfBoundsException("Index out of boundary : check the size of the list");
+        }
+        return iter.next();
+    }
+
+    /**
+     * Overwrites the element located at the given index with the new item.
+     * Takes O(n) : the deque is copied with the new item in place and the copy
+     * replaces it in one compare-and-set.
+     * @param index The index number
+     * @param item The new item to be overwritten
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= this.size()
+     * @throws IllegalArgumentException if the item is null
+     */
+    @Override
+    public void set(int index, T item) {
+        this.replaceNodes(SET, index, checkItem(item));
+    }
+
+    /**
+     * Inserts the given item at the given index, shifting the element at that
+     * index and any subsequent elements one index higher. Index 0 is an
+     * offerFirst; any other index takes O(n), like set.
+     * @param index The index number
+     * @param item The new item to be inserted
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= this.size() + 1
+     * @throws IllegalArgumentException if the item is null
+     */
+    @Override
+    public void insert(int index, T item) {
+        if (index == 0) {
+            this.offerFirst(item);
+        } else {
+            this.replaceNodes(INSERT, index, checkItem(item));
+        }
+    }
+
+    /**
+     * Deletes the item at the given index, shifting any elements located at a
+     * higher index down by one. Index 0 is a pollFirst; any other index takes
+     * O(n), like set.
+     * @param index The index number
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= this.size()
+     * @return The deleted item
+     */
+    @Override
+    public T delete(int index) {
+        if (index != 0) {
+            return this.replaceNodes(DELETE, index, null);
+        }
+        T item = this.pollFirst();
+        if (item == null) {
+            throw new IndexOutOfBoundsException("Index out of boundary : check the size of the list");
+        }
+        return item;
+    }
+
+    /**
+     * Changes the deque away from its ends : copies the items of a stable anchor
+     * with the change applied into new nodes, and swaps the anchor to the copy.
+     * If anything else changed the anchor in the meantime, the swap fails and
+     * the change is tried again on the new state. Threads still working on the
+     * old nodes only ever touch nodes which are no longer in the deque.
+     * @param operation SET, INSERT or DELETE
+     * @param index The index number, checked against the copied items
+     * @param item The new item (null for DELETE)
+     * @throws IndexOutOfBoundsException if the index is out of bounds for the operation
+     * @return The overwritten or deleted item; null for INSERT
+     */
+    private T replaceNodes(int operation, int index, T item) {
+        while (true) {
+            Anchor<T> a = this.stableAnchor();
+            ArrayList<T> items = new ArrayList<>();
+            for (Node<T> node = a.front; node != null; node = node == a.back ? null : node.next) {
+                items.add(node.data);
+            }
+            int bound = operation == INSERT ? items.size() + 1 : items.size();
+            if (index < 0 || index >= bound) {
+                throw new IndexOutOfBoundsException("Index out of boundary : check the size of the list");
+            }
+            T old = null;
+            if (operation == SET) {
+                old = items.set(index, item);
+            } else if (operation == INSERT) {
+                items.add(index, item);
+            } else {
+                old = items.remove(index);
+            }
+            if (this.anchor.compareAndSet(a, link(items))) {
+                if (operation == INSERT) {
+                    this.size.incrementAndGet();
+                } else if (operation == DELETE) {
+                    this.size.decrementAndGet();
+                }
+                return old;
+            }
+        }
+    }
+
+    /**
+     * Links new nodes holding the items
+     * @param items items in order from front to back
+     * @return stable anchor of the new nodes
+     */
+    private static <E> Anchor<E> link(ArrayList<E> items) {
+        Node<E> front = null;
+        Node<E> back = null;
+        for (E item : items) {
+            Node<E> node = new Node<>(item);
+            if (back == null) {
+                front = node;
+            } else {
+                node.prev = back;
+                back.next = node;
+            }
+            back = node;
+        }
+        return new Anchor<>(front, back, STABLE);
+    }
+
+    /**
+     * Returns the index of the first occurrence of the item, as seen by a weakly consistent walk.
+     * @param item The item to be found
+     * @return The location of the item. (-1 if not found)
+     */
+    @Override
+    public int indexOf(T item) {
+        int index = 0;
+        for (T current : this) {
+            if (current.equals(item)) {
+                return index;
+            }
+            index++;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the number of elements in the deque. The count may lag behind
+     * pushes and pops that are still in progress.
+     * @return The size of the deque
+     */
+    @Override
+    public int size() {
+        return Math.max(0, this.size.get());
+    }
+
+    /**
+     * Returns 'true' if this container contains the given element, and 'false' otherwise.
+     * @param other The item to be found
+     * @return If the deque contains the given item
+     */
+    @Override
+    public boolean contains(T other) {
+        return this.indexOf(other) != -1;
+    }
+
+    /**
+     * Returns a weakly consistent iterator from the front to the back.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        Anchor<T> a = this.stableAnchor();
+        return new DequeIterator<>(a.front, a.back);
+    }
+
+    /**
+     * Anchor class : front node, back node and status, replaced as a whole
+     * @param <E> Generic type
+     */
+    private static class Anchor<E> {
+        /** First node of the deque */
+        private final Node<E> front;
+
+        /** End node of the deque */
+        private final Node<E> back;
+
+        /** STABLE, PUSHING_BACK or PUSHING_FRONT */
+        private final int status;
+
+        /**
+         * Constructor : creates a new anchor
+         * @param front First node
+         * @param back End node
+         * @param status push in progress, if any
+         */
+        public Anchor(Node<E> front, Node<E> back, int status) {
+            this.front = front;
+            this.back = back;
+            this.status = status;
+        }
+    }
+
+    /**
+     * Node class : this node holds the item, previous node, and next node.
+     * @param <E> Generic type
+     */
+    private static class Node<E> {
+        /** Item the node holds */
+        private final E data;
+
+        /** Node connected at front */
+        private volatile Node<E> prev;
+
+        /** Node connected at back */
+        private volatile Node<E> next;
+
+        /**
+         * Constructor : creates a new node without connecting nodes
+         * @param data Item the node holds
+         */
+        public Node(E data) {
+            this.data = data;
+        }
+    }
+
+    /**
+     * Iterator class : follows the next links from the front node of an anchor
+     * up to its back node
+     * @param <E> Generic type
+     */
+    private static class DequeIterator<E> implements Iterator<E> {
+        /** node to be returned next; null at the end */
+        private Node<E> current;
+
+        /** last node to be returned */
+        private final Node<E> last;
+
+        /**
+         * Constructor : starts at the given node
+         * @param current First node
+         * @param last End node
+         */
+        public DequeIterator(Node<E> current, Node<E> last) {
+            this.current = current;
+            this.last = last;
+        }
+
+        /**
+         * Returns 'true' if the iterator still has elements to look at;
+         * returns 'false' otherwise.
+         * @return If next node exits
+         */
+        @Override
+        public boolean hasNext() {
+            return this.current != null;
+        }
+
+        /**
+         * Returns the next item in the iteration.
+         * @throws NoSuchElementException if we have reached the end of the iteration.
+         * @return Next item
+         */
+        @Override
+        public E next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException("No new node : the iterator has reached the end.");
+            }
+            E item = this.current.data;
+            this.current = this.current == this.last ? null : this.current.next;
+            return item;
+        }
+    }
+}
@@ -0,0 +1,391 @@
+package datastructures.concrete.dictionaries;
+
+import datastructures.interfaces.IDictionary;
+import misc.exceptions.NoSuchKeyException;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Concurrent Hash Dictionary class : thread-safe dictionary split into lock stripes.
+ * Each stripe is a chained hash table guarded by its own lock for writes. Readers
+ * never lock: buckets are published through volatile reads and writes, chain
+ * links are final, and a removal copies the part of the chain in front of the
+ * removed pair instead of unlinking it.
+ * size() adds up the stripes one at a time, so it is only exact when no writes
+ * are running.
+ * @author Shohei F. Koshiro
+ *
+ * @param <K> Generic type for key
+ * @param <V> Generic type for value
+ */
+public class ConcurrentHashDictionary<K, V> implements IDictionary<K, V> {
+    /** default number of stripes; must be a power of two */
+    private static final int DEFAULT_STRIPES = 64;
+
+    /** initial number of buckets per stripe; must be a power of two */
+    private static final int STRIPE_CAPACITY = 8;
+
+    /** ratio of elements to buckets which triggers resizing a stripe */
+    private static final double LOAD_FACTOR = 0.75;
+
+    /** stands in for the null key inside the tables */
+    private static final Object NULL_KEY = new Object();
+
+    /** the stripes; a key always belongs to the same stripe */
+    private final Stripe<K, V>[] stripes;
+
+    /** number of bits the hash is shifted to find the stripe */
+    private final int stripeShift;
+
+    /**
+     * Constructor : creates an empty dictionary with the default number of stripes
+     */
+    public ConcurrentHashDictionary() {
+        this(DEFAULT_STRIPES);
+    }
+
+    /**
+     * Constructor : creates an empty dictionary
+     * @param concurrency expected number of concurrently writing threads
+     * @throws IllegalArgumentException if concurrency is not positive
+     */
+    @SuppressWarnings("unchecked")
+    public ConcurrentHashDictionary(int concurrency) {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("Concurrency must be positive");
+        }
+        int nStripes = 1;
+        int bits = 0;
+        while (nStripes < concurrency && nStripes < (1 << 16)) {
+            nStripes <<= 1;
+            bits++;
+        }
+        this.stripeShift = 32 - bits;
+        this.stripes = (Stripe<K, V>[]) new Stripe<?, ?>[nStripes];
+        for (int i = 0; i < nStripes; i++) {
+            this.stripes[i] = new Stripe<>();
+        }
+    }
+
+    /**
+     * Returns the value corresponding to the given key.
+     * @param key key used to store the value.
+     * @return value corresponding to the given key.
+     * @throws NoSuchKeyException if the dictionary does not contain the given key.
+     */
+    @Override
+    public V get(K key) {
+        Object k = maskNull(key);
+        int h = hash(k);
+        Entry<V> entry = this.stripeFor(h).find(k, h);
+        if (entry == null) {
+            throw new NoSuchKeyException("Specified key not in the dictionary");
+        }
+        return entry.value;
+    }
+
+    /**
+     * Adds the key-value pair to the dictionary. If the key already exists in the dictionary,
+     * replace its value with the given one.
+     * @param key key used to store the value
+     * @param value value corresponds to the key
+     */
+    @Override
+    public void put(K key, V value) {
+        Object k = maskNull(key);
+        int h = hash(k);
+        Stripe<K, V> stripe = this.stripeFor(h);
+        synchronized (stripe) {
+            Entry<V> entry = stripe.find(k, h);
+            if (entry == null) {
+                stripe.insert(k, h, value);
+            } else {
+                entry.value = value;
+            }
+        }
+    }
+
+    /**
+     * Adds the key-value pair only if the key is not in the dictionary yet.
+     * The check and the insertion happen atomically.
+     * @param key key used to store the value
+     * @param value value corresponds to the key
+     * @return true if the pair was added; false if the key already existed
+     */
+    public boolean putIfAbsent(K key, V value) {
+        Object k = maskNull(key);
+        int h = hash(k);
+        Stripe<K, V> stripe = this.stripeFor(h);
+        synchronized (stripe) {
+            if (stripe.find(k, h) != null) {
+                return false;
+            }
+            stripe.insert(k, h, value);
+            return true;
+        }
+    }
+
+    /**
+     * Returns the value of the key, computing and adding it first if the key is
+     * not in the dictionary. The function is called at most once per missing key,
+     * while holding the lock of the key's stripe, so it should be short and must
+     * not modify this dictionary.
+     * @param key key used to store the value
+     * @param function computes the value from the key
+     * @return the existing or computed value
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> function) {
+        Object k = maskNull(key);
+        int h = hash(k);
+        Stripe<K, V> stripe = this.stripeFor(h);
+        synchronized (stripe) {
+            Entry<V> entry = stripe.find(k, h);
+            if (entry != null) {
+                return entry.value;
+            }
+            V value = function.apply(key);
+            stripe.insert(k, h, value);
+            return value;
+        }
+    }
+
+    /**
+     * Atomically combines the given value with the existing value of the key.
+     * If the key is not in the dictionary, the given value is added as it is.
+     * If the function returns null, the pair is removed. The function is called
+     * while holding the lock of the key's stripe and must not modify this dictionary.
+     * @param key key used to store the value
+     * @param value value to be merged
+     * @param function combines the existing value and the given value
+     * @return the new value; null if the pair was removed
+     */
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> function) {
+        Object k = maskNull(key);
+        int h = hash(k);
+        Stripe<K, V> stripe = this.stripeFor(h);
+        synchronized (stripe) {
+            Entry<V> entry = stripe.find(k, h);
+            if (entry == null) {
+                stripe.insert(k, h, value);
+                return value;
+            }
+            V merged = function.apply(entry.value, value);
+            if (merged == null) {
+                stripe.delete(k, h);
+            } else {
+                entry.value = merged;
+            }
+            return merged;
+        }
+    }
+
+    /**
+     * Remove the key-value pair corresponding to the given key from the dictionary.
+     * @param key key user wants to remove
+     * @return value corresponds to the key
+     * @throws NoSuchKeyException if the dictionary does not contain the given key.
+     */
+    @Override
+    public V remove(K key) {
+        Object k = maskNull(key);
+        int h = hash(k);
+        Stripe<K, V> stripe = this.stripeFor(h);
+        synchronized (stripe) {
+            Entry<V> entry = stripe.delete(k, h);
+            if (entry == null) {
+                throw new NoSuchKeyException("Unable to delete. No such key is found");
+            }
+            return entry.value;
+        }
+    }
+
+    /**
+     * Returns 'true' if the dictionary contains the given key and 'false' otherwise.
+     * @param key key the user wants to search
+     * @return if the given key exists in the dictionary
+     */
+    @Override
+    public boolean containsKey(K key) {
+        Object k = maskNull(key);
+        int h = hash(k);
+        return this.stripeFor(h).find(k, h) != null;
+    }
+
+    /**
+     * Returns the number of key-value pairs stored in this dictionary.
+     * @return number of pairs in the dictionary
+     */
+    @Override
+    public int size() {
+        int size = 0;
+        for (Stripe<K, V> stripe : this.stripes) {
+            size += stripe.count;
+        }
+        return size;
+    }
+
+    /**
+     * Returns the stripe responsible for the hash
+     * @param h mixed hash code
+     * @return stripe holding the hash
+     */
+    private Stripe<K, V> stripeFor(int h) {
+        // high bits choose the stripe, low bits choose the bucket
+        return this.stripes.length == 1 ? this.stripes[0] : this.stripes[h >>> this.stripeShift];
+    }
+
+    /**
+     * Replaces the null key by its stand-in
+     * @param key key given by the user
+     * @return non-null key
+     */
+    private static Object maskNull(Object key) {
+        return key == null ? NULL_KEY : key;
+    }
+
+    /**
+     * Spreads the bits of the hash code so that both ends of it are usable
+     * @param key non-null key
+     * @return mixed hash code
+     */
+    private static int hash(Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Stripe class : chained hash table locked on itself by writers.
+     * @param <K> Generic type for key
+     * @param <V> Generic type for value
+     */
+    private static class Stripe<K, V> {
+        /** buckets of the table; replaced as a whole on resize */
+        private volatile AtomicReferenceArray<Entry<V>> table;
+
+        /** number of pairs in the stripe */
+        private volatile int count;
+
+        /**
+         * Constructor : creates an empty stripe
+         */
+        public Stripe() {
+            this.table = new AtomicReferenceArray<>(STRIPE_CAPACITY);
+            this.count = 0;
+        }
+
+        /**
+         * Returns the entry of the key; safe to call without the lock
+         * @param key non-null key
+         * @param h mixed hash code of the key
+         * @return entry of the key; null if the key is not in the stripe
+         */
+        public Entry<V> find(Object key, int h) {
+            AtomicReferenceArray<Entry<V>> tab = this.table;
+            Entry<V> entry = tab.get(h & (tab.length() - 1));
+            while (entry != null) {
+                if (entry.hash == h && key.equals(entry.key)) {
+                    return entry;
+                }
+                entry = entry.next;
+            }
+            return null;
+        }
+
+        /**
+         * Adds a new pair in front of its bucket; the caller holds the lock
+         * and has checked that the key is new
+         * @param key non-null key
+         * @param h mixed hash code of the key
+         * @param value value of the pair
+         */
+        public void insert(Object key, int h, V value) {
+            if (this.count + 1 > this.table.length() * LOAD_FACTOR) {
+                this.resize();
+            }
+            AtomicReferenceArray<Entry<V>> tab = this.table;
+            int index = h & (tab.length() - 1);
+            tab.set(index, new Entry<>(key, h, value, tab.get(index)));
+            this.count = this.count + 1;
+        }
+
+        /**
+         * Removes the pair of the key; the caller holds the lock
+         * @param key non-null key
+         * @param h mixed hash code of the key
+         * @return the removed entry; null if the key is not in the stripe
+         */
+        public Entry<V> delete(Object key, int h) {
+            AtomicReferenceArray<Entry<V>> tab = this.table;
+            int index = h & (tab.length() - 1);
+            Entry<V> first = tab.get(index);
+            Entry<V> target = first;
+            while (target != null && !(target.hash == h && key.equals(target.key))) {
+                target = target.next;
+            }
+            if (target == null) {
+                return null;
+            }
+            // copy the entries in front of the target so that readers walking
+            // the old chain still see a complete chain
+            Entry<V> newFirst = target.next;
+            for (Entry<V> entry = first; entry != target; entry = entry.next) {
+                newFirst = new Entry<>(entry.key, entry.hash, entry.value, newFirst);
+            }
+            tab.set(index, newFirst);
+            this.count = this.count - 1;
+            return target;
+        }
+
+        /**
+         * Doubles the number of buckets; the caller holds the lock.
+         * The new table is filled completely before it is published.
+         */
+        private void resize() {
+            AtomicReferenceArray<Entry<V>> oldTable = this.table;
+            AtomicReferenceArray<Entry<V>> newTable = new AtomicReferenceArray<>(oldTable.length() * 2);
+            int mask = newTable.length() - 1;
+            for (int i = 0; i < oldTable.length(); i++) {
+                for (Entry<V> entry = oldTable.get(i); entry != null; entry = entry.next) {
+                    int index = entry.hash & mask;
+                    newTable.set(index, new Entry<>(entry.key, entry.hash, entry.value, newTable.get(index)));
+                }
+            }
+            this.table = newTable;
+        }
+    }
+
+    /**
+     * Entry class : pair in a bucket chain. Only the value may change after
+     * the entry has been published.
+     * @param <V> Generic type for value
+     */
+    private static class Entry<V> {
+        /** non-null key (NULL_KEY for the null key) */
+        private final Object key;
+
+        /** mixed hash code of the key */
+        private final int hash;
+
+        /** value held */
+        private volatile V value;
+
+        /** next entry of the bucket */
+        private final Entry<V> next;
+
+        /**
+         * Constructor : creates a new entry
+         * @param key non-null key
+         * @param hash mixed hash code of the key
+         * @param value value held
+         * @param next next entry of the bucket
+         */
+        public Entry(Object key, int hash, V value, Entry<V> next) {
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+            this.next = next;
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package datastructures.concrete;
+
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * CuckooFilter class : probabilistic set which answers "might contain" with no
+ * false negatives and a configurable rate of false positives, and which,
+ * unlike a Bloom filter, supports removal.
+ * <p>
+ * Every item is reduced to a short fingerprint stored in one of two buckets of
+ * four slots. The second bucket is derived from the first one and the
+ * fingerprint, so a fingerprint can be moved between its buckets without
+ * knowing the item. A lookup reads at most two buckets of 8 bytes each.
+ * <p>
+ * Only items that were added may be removed; removing anything else may
+ * remove the fingerprint of another item and cause a false negative.
+ * @author Shohei F. Koshiro
+ *
+ * @param <T> Generic type
+ */
+public class CuckooFilter<T> {
+    /** number of slots per bucket */
+    private static final int BUCKET_SIZE = 4;
+
+    /** expected ratio of used slots at capacity */
+    private static final double LOAD_FACTOR = 0.95;
+
+    /** number of relocations tried before the filter is considered full */
+    private static final int MAX_KICKS = 500;
+
+    /** smallest and largest number of fingerprint bits */
+    private static final int MIN_BITS = 4;
+    private static final int MAX_BITS = 16;
+
+    /** fingerprints, BUCKET_SIZE per bucket; 0 marks an empty slot */
+    private final short[] slots;
+
+    /** number of buckets minus 1 (power of two) */
+    private final int bucketMask;
+
+    /** mask of the fingerprint bits */
+    private final int fingerprintMask;
+
+    /** fingerprint left without a slot when the filter filled up; 0 if none */
+    private int victim;
+
+    /** bucket of the victim */
+    private int victimBucket;
+
+    /** number of fingerprints stored, including the victim */
+    private int size;
+
+    /**
+     * Constructor : creates a filter for up to the given number of items
+     * @param capacity number of items the filter should hold
+     * @param falsePositiveRate wanted rate of false positives, between 0 and 1
+     * @throws IllegalArgumentException if capacity is not positive or the rate is not between 0 and 1
+     */
+    public CuckooFilter(int capacity, double falsePositiveRate) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+        }
+        long buckets = Long.highestOneBit((long) Math.ceil(capacity / (BUCKET_SIZE * LOAD_FACTOR)) * 2 - 1);
+        if (buckets * BUCKET_SIZE > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Capacity is too large");
+        }
+        this.slots = new short[(int) buckets * BUCKET_SIZE];
+        this.bucketMask = (int) buckets - 1;
+        // a lookup compares against 2 * BUCKET_SIZE fingerprints
+        int bits = (int) Math.ceil(Math.log(2 * BUCKET_SIZE / falsePositiveRate) / Math.log(2));
+        this.fingerprintMask = (1 << Math.max(MIN_BITS, Math.min(MAX_BITS, bits))) - 1;
+        this.victim = 0;
+        this.size = 0;
+    }
+
+    /**
+     * Adds the item to the filter
+     * @param item item to add
+     * @return false if the filter was already full; the item is then not added.
+     *         The add which fills the filter still succeeds : the fingerprint
+     *         left without a slot is kept aside until an item is removed.
+     */
+    public boolean add(T item) {
+        if (this.victim != 0) {
+            return false;
+        }
+        long h = hash(item);
+        int fingerprint = this.fingerprint(h);
+        int bucket = (int) h & this.bucketMask;
+        this.place(fingerprint, bucket);
+        this.size++;
+        return true;
+    }
+
+    /**
+     * Returns 'false' if the item was certainly not added, and 'true' if it might have been.
+     * @param item item to look for
+     * @return if the item might be in the filter
+     */
+    public boolean mightContain(T item) {
+        long h = hash(item);
+        int fingerprint = this.fingerprint(h);
+        int bucket = (int) h & this.bucketMask;
+        int alt = this.altBucket(bucket, fingerprint);
+        return this.bucketHas(bucket, fingerprint) || this.bucketHas(alt, fingerprint)
+                || (this.victim == fingerprint && (this.victimBucket == bucket || this.victimBucket == alt));
+    }
+
+    /**
+     * Removes the fingerprint of an added item
+     * @param item item which was added
+     * @return false if no fingerprint of the item was found
+     */
+    public boolean remove(T item) {
+        long h = hash(item);
+        int fingerprint = this.fingerprint(h);
+        int bucket = (int) h & this.bucketMask;
+        int alt = this.altBucket(bucket, fingerprint);
+        if (this.victim == fingerprint && (this.victimBucket == bucket || this.victimBucket == alt)) {
+            this.victim = 0;
+            this.size--;
+            return true;
+        }
+        if (!this.removeFrom(bucket, fingerprint) && !this.removeFrom(alt, fingerprint)) {
+            return false;
+        }
+        this.size--;
+        if (this.victim != 0) {
+            // a slot was freed : try to place the victim again
+            int pending = this.victim;
+            this.victim = 0;
+            this.place(pending, this.victimBucket);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of items in the filter
+     * @return number of fingerprints stored
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns 'true' if the last add could not find room for a fingerprint
+     * @return if the filter is full
+     */
+    public boolean isFull() {
+        return this.victim != 0;
+    }
+
+    /**
+     * Places the fingerprint in one of its buckets. When both are full, fingerprints
+     * are kicked to their other bucket; if that goes on for too long, the fingerprint
+     * left without a slot becomes the victim.
+     * @param fingerprint fingerprint to place
+     * @param bucket one of its buckets
+     */
+    private void place(int fingerprint, int bucket) {
+        if (this.insertInto(bucket, fingerprint) || this.insertInto(this.altBucket(bucket, fingerprint), fingerprint)) {
+            return;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextBoolean()) {
+            bucket = this.altBucket(bucket, fingerprint);
+        }
+        for (int kick = 0; kick < MAX_KICKS; kick++) {
+            int slot = bucket * BUCKET_SIZE + random.nextInt(BUCKET_SIZE);
+            int evicted = this.slots[slot] & 0xFFFF;
+            this.slots[slot] = (short) fingerprint;
+            fingerprint = evicted;
+            bucket = this.altBucket(bucket, fingerprint);
+            if (this.insertInto(bucket, fingerprint)) {
+                return;
+            }
+        }
+        // keep the evicted fingerprint so that no added item is lost
+        this.victim = fingerprint;
+        this.victimBucket = bucket;
+    }
+
+    /**
+     * Stores the fingerprint in an empty slot of the bucket
+     * @param bucket bucket index
+     * @param fingerprint fingerprint to store
+     * @return false if the bucket is full
+     */
+    private boolean insertInto(int bucket, int fingerprint) {
+        int start = bucket * BUCKET_SIZE;
+        for (int i = start; i < start + BUCKET_SIZE; i++) {
+            if (this.slots[i] == 0) {
+                this.slots[i] = (short) fingerprint;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Clears one slot of the bucket holding the fingerprint
+     * @param bucket bucket index
+     * @param fingerprint fingerprint to remove
+     * @return false if the bucket does not hold the fingerprint
+     */
+    private boolean removeFrom(int bucket, int fingerprint) {
+        int start = bucket * BUCKET_SIZE;
+        for (int i = start; i < start + BUCKET_SIZE; i++) {
+            if ((this.slots[i] & 0xFFFF) == fingerprint) {
+                this.slots[i] = 0;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns 'true' if the bucket holds the fingerprint
+     * @param bucket bucket index
+     * @param fingerprint fingerprint to look for
+     * @return if a slot of the bucket holds the fingerprint
+     */
+    private boolean bucketHas(int bucket, int fingerprint) {
+        int start = bucket * BUCKET_SIZE;
+        for (int i = start; i < start + BUCKET_SIZE; i++) {
+            if ((this.slots[i] & 0xFFFF) == fingerprint) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the other bucket of a fingerprint; applying it twice gives the first bucket back
+     * @param bucket one bucket of the fingerprint
+     * @param fingerprint the fingerprint
+     * @return the other bucket
+     */
+    private int altBucket(int bucket, int fingerprint) {
+        return (bucket ^ (fingerprint * 0x5BD1E995)) & this.bucketMask;
+    }
+
+    /**
+     * Takes the fingerprint from the high bits of the hash
+     * @param h hash of the item
+     * @return fingerprint between 1 and fingerprintMask
+     */
+    private int fingerprint(long h) {
+        int fingerprint = (int) (h >>> 40) & this.fingerprintMask;
+        return fingerprint == 0 ? 1 : fingerprint;
+    }
+
+    /**
+     * Spreads the hash code of the item over 64 bits
+     * @param item item to hash (may be null)
+     * @return mixed hash
+     */
+    private static long hash(Object item) {
+        long h = Objects.hashCode(item) * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 29;
+        h *= 0xBF58476D1CE4E5B9L;
+        return h ^ (h >>> 32);
+    }
+}
@@ -0,0 +1,225 @@
+package datastructures.concrete;
+
+import datastructures.interfaces.IPriorityQueue;
+import misc.exceptions.EmptyContainerException;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * DAryHeap class : priority queue kept as an array-backed heap in which every
+ * node has d children.
+ * <p>
+ * add and removeMin take O(log n) and peekMin takes constant time. A wider
+ * heap is shallower, so add does fewer moves, while removeMin compares more
+ * children per level; d = 4 is a good default, and its children sit next to
+ * each other in the array. Elements are ordered by their natural ordering or
+ * by the given comparator.
+ * @author Shohei F. Koshiro
+ *
+ * @param <T> Generic type
+ */
+public class DAryHeap<T> implements IPriorityQueue<T> {
+    /** default number of children per node */
+    private static final int DEFAULT_ARITY = 4;
+
+    /** default number of slots */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** number of children per node */
+    private final int arity;
+
+    /** order of the elements (null for the natural ordering) */
+    private final Comparator<? super T> comparator;
+
+    /** the heap; the children of index i are at d * i + 1 to d * i + d */
+    private Object[] heap;
+
+    /** Number of elements in the heap */
+    private int size;
+
+    /**
+     * Constructor : creates an empty 4-ary heap ordered by the natural ordering of the elements
+     */
+    public DAryHeap() {
+        this(DEFAULT_ARITY, null);
+    }
+
+    /**
+     * Constructor : creates an empty 4-ary heap ordered by the given comparator
+     * @param comparator order of the elements (null for the natural ordering)
+     */
+    public DAryHeap(Comparator<? super T> comparator) {
+        this(DEFAULT_ARITY, comparator);
+    }
+
+    /**
+     * Constructor : creates an empty heap with the given number of children per node
+     * @param arity number of children per node
+     * @param comparator order of the elements (null for the natural ordering)
+     * @throws IllegalArgumentException if arity < 2
+     */
+    public DAryHeap(int arity, Comparator<? super T> comparator) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("Arity must be at least 2");
+        }
+        this.arity = arity;
+        this.comparator = comparator;
+        this.heap = new Object[DEFAULT_CAPACITY];
+        this.size = 0;
+    }
+
+    /**
+     * Adds the given item to the heap
+     * @param item The item to be added
+     */
+    @Override
+    public void add(T item) {
+        if (this.size == this.heap.length) {
+            this.heap = Arrays.copyOf(this.heap, this.heap.length * 2);
+        }
+        this.size++;
+        this.siftUp(this.size - 1, item);
+    }
+
+    /**
+     * Removes the smallest element and returns it.
+     * @throws EmptyContainerException if the heap is empty.
+     * @return The smallest element
+     */
+    @Override
+    public T removeMin() {
+        T min = this.peekMin();
+        this.removeAt(0);
+        return min;
+    }
+
+    /**
+     * Returns the smallest element without removing it.
+     * @throws EmptyContainerException if the heap is empty.
+     * @return The smallest element
+     */
+    @Override
+    public T peekMin() {
+        if (this.size == 0) {
+            throw new EmptyContainerException("Heap empty : no items to remove.");
+        }
+        return this.itemAt(0);
+    }
+
+    /**
+     * Returns the number of elements in the heap.
+     * @return The size of the heap
+     */
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Removes the element at the index of the heap array
+     * @param index index of the element (must be valid)
+     */
+    protected void removeAt(int index) {
+        this.removed(index);
+        this.size--;
+        T last = this.itemAt(this.size);
+        this.heap[this.size] = null;
+        if (index == this.size) {
+            return;
+        }
+        // the last element fills the hole and moves whichever way it belongs
+        if (index > 0 && this.compare(last, this.itemAt((index - 1) / this.arity)) < 0) {
+            this.siftUp(index, last);
+        } else {
+            this.siftDown(index, last);
+        }
+    }
+
+    /**
+     * Places the item at the index or above it, moving larger parents down
+     * @param index index of the hole to fill
+     * @param item item to place
+     */
+    protected void siftUp(int index, T item) {
+        while (index > 0) {
+            int parent = (index - 1) / this.arity;
+            T parentItem = this.itemAt(parent);
+            if (this.compare(item, parentItem) >= 0) {
+                break;
+            }
+            this.place(index, parentItem);
+            index = parent;
+        }
+        this.place(index, item);
+    }
+
+    /**
+     * Places the item at the index or below it, moving smaller children up
+     * @param index index of the hole to fill
+     * @param item item to place
+     */
+    protected void siftDown(int index, T item) {
+        while (true) {
+            int first = this.arity * index + 1;
+            if (first >= this.size) {
+                break;
+            }
+            // find the smallest child
+            int smallest = first;
+            int end = Math.min(first + this.arity, this.size);
+            for (int child = first + 1; child < end; child++) {
+                if (this.compare(this.itemAt(child), this.itemAt(smallest)) < 0) {
+                    smallest = child;
+                }
+            }
+            if (this.compare(this.itemAt(smallest), item) >= 0) {
+                break;
+            }
+            this.place(index, this.itemAt(smallest));
+            index = smallest;
+        }
+        this.place(index, item);
+    }
+
+    /**
+     * Stores the item at the index of the heap array. Subclasses override it
+     * to keep track of where every item is.
+     * @param index index in the heap array
+     * @param item item to store
+     */
+    protected void place(int index, T item) {
+        this.heap[index] = item;
+    }
+
+    /**
+     * Called when the element at the index is about to be taken out of the heap. Subclasses override it to forget the element.
+     * @param index index of the removed element
+     */
+    protected void removed(int index) {
+    }
+
+    /**
+     * Returns the item at the index of the heap array
+     * @param index index in the heap array
+     * @return item at the index
+     */
+    @SuppressWarnings("unchecked")
+    protected T itemAt(int index) {
+        return (T) this.heap[index];
+    }
+
+    /**
+     * Compares two elements by the order of this heap
+     * @param a first element
+     * @param b second element
+     * @return negative, zero or positive as a is less than, equal to, or greater than b
+     */
+    @SuppressWarnings("unchecked")
+    protected int compare(T a, T b) {
+        if (this.comparator == null) {
+            return ((Comparable<? super T>) a).compareTo(b);
+        }
+        return this.comparator.compare(a, b);
+    }
+}
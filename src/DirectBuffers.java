@@ -0,0 +1,82 @@
+package misc.memory;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * DirectBuffers class : allocates direct ByteBuffers and frees them again
+ * without waiting for the garbage collector.
+ * <p>
+ * Freeing goes through sun.misc.Unsafe.invokeCleaner, looked up by reflection
+ * (jdk.unsupported opens sun.misc, so no command line flag is needed). On a
+ * JVM without it, free does nothing and the memory is returned once the
+ * buffer is garbage collected; isFreeingSupported tells which case applies.
+ * A freed buffer must never be touched again : reading it may crash the JVM.
+ * @author Shohei F. Koshiro
+ */
+public final class DirectBuffers {
+    /** the Unsafe instance; null if unavailable */
+    private static final Object UNSAFE;
+
+    /** Unsafe.invokeCleaner(ByteBuffer); null if unavailable */
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // fall back to the garbage collector
+            unsafe = null;
+            invokeCleaner = null;
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    /**
+     * Constructor : not to be instantiated
+     */
+    private DirectBuffers() {
+    }
+
+    /**
+     * Allocates a zeroed direct buffer in native byte order
+     * @param bytes capacity of the buffer
+     * @return the new buffer
+     */
+    public static ByteBuffer allocate(int bytes) {
+        return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Returns 'true' if free releases memory right away, and 'false' if it is
+     * left to the garbage collector.
+     * @return if buffers can be freed deterministically
+     */
+    public static boolean isFreeingSupported() {
+        return INVOKE_CLEANER != null;
+    }
+
+    /**
+     * Releases the memory of a buffer returned by allocate
+     * @param buffer buffer to free (ignored if null)
+     */
+    public static void free(ByteBuffer buffer) {
+        if (buffer == null || INVOKE_CLEANER == null) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, buffer);
+        } catch (ReflectiveOperationException e) {
+            // the garbage collector returns the memory instead
+        }
+    }
+}
@@ -2,9 +2,17 @@ package datastructures.concrete;
 
 import datastructures.interfaces.IList;
 import misc.exceptions.EmptyContainerException;
+import misc.metrics.Footprint;
+import misc.metrics.Metrics;
 
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.ListIterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * DoubleLinkedList class : each node is connected to its previous and next node
@@ -22,6 +30,9 @@ public class DoubleLinkedList<T> implements IList<T> {
     /** Number of elements in the list */
     private int size;
 
+    /** Number of structural changes, used by list iterators to detect concurrent modification */
+    private int modCount;
+
     /**
      * Constructor : creates an empty DoubleLinkedList object
      */
@@ -31,6 +42,15 @@ public class DoubleLinkedList<T> implements IList<T> {
         this.size = 0;
     }
 
+    /**
+     * Constructor : creates a DoubleLinkedList object holding the given items in order
+     * @param items The items to be added
+     */
+    public DoubleLinkedList(Iterable<? extends T> items) {
+        this();
+        this.appendAll(items);
+    }
+
     /**
      * Adds a new node with the given item to the list
      * @param item The item the new node should hold
@@ -41,6 +61,28 @@ public class DoubleLinkedList<T> implements IList<T> {
         this.insert(this.size, item);
     }
 
+    /**
+     * Adds all the given items to the end of the list, in order.
+     * Nodes are linked directly behind the back node without looking up an index.
+     * @param items The items to be added
+     */
+    public void addAll(Iterable<? extends T> items) {
+        this.appendAll(items);
+    }
+
+    /**
+     * Adds all the given items to the end of the list; shared by addAll and the constructor
+     * @param items The items to be added
+     */
+    private void appendAll(Iterable<? extends T> items) {
+        Iterator<? extends T> iter = items.iterator();
+        // when adding the list to itself, only add the nodes that exist now
+        int count = items == this ? this.size : Integer.MAX_VALUE;
+        for (int i = 0; i < count && iter.hasNext(); i++) {
+            this.linkBefore(iter.next(), null);
+        }
+    }
+
     /**
      * Removes the end node and returns the item held by the node.
      * @throws EmptyContainerException if the container is empty and there is no element to remove.
@@ -81,28 +123,8 @@ public class DoubleLinkedList<T> implements IList<T> {
         if (this.size <= index || index < 0) {
             throw new IndexOutOfBoundsException("Index out of boundary : check the size of the list");
         }
-        if (this.size == 1) {
-            // end case : only one node
-            this.front = new Node<T>(item);
-            this.back = this.front;
-        } else {
-            if (index == 0) {
-                Node<T> newNode = new Node<T>(item, this.front.getNext());
-                this.front.getNext().setPrev(newNode);
-                this.front = newNode;
-            } else if (index == this.size - 1) {
-                Node<T> newNode = new Node<T>(this.back.getPrev(), item);
-                this.back.getPrev().setNext(newNode);
-                this.back = newNode;
-            } else {
-                // get the node to be changed
-                Node<T> node = findNode(index);
-                Node<T> newNode = new Node<T>(node.getPrev(), item, node.getNext());
-                // set the prev and next nodes of the prev and next nodes to the new node
-                newNode.getPrev().setNext(newNode);
-                newNode.getNext().setPrev(newNode);
-            }
-        }
+        // overwrite the item held by the node; links stay as they are
+        this.findNode(index).setData(item);
     }
 
     /**
@@ -118,30 +140,51 @@ public class DoubleLinkedList<T> implements IList<T> {
         if (this.size + 1 <= index || index < 0) {
             throw new IndexOutOfBoundsException("Index out of boundary : check the size of the list");
         }
+        if (index == this.size) {
+            // end case : add to the end
+            this.linkBefore(item, null);
+        } else {
+            // finds the node which locates at the index
+            this.linkBefore(item, findNode(index));
+        }
+    }
+
+    /**
+     * Links a new node holding the item in front of the given node
+     * @param item The item the new node should hold
+     * @param node The node to be placed after the new node (null to add to the end)
+     * @return The new node
+     */
+    private Node<T> linkBefore(T item, Node<T> node) {
+        Node<T> newNode;
         if (this.size == 0) {
             // irregular case : first item
-            this.front = new Node<T>(item);
-            this.back = this.front;
-        } else if (index == this.size) {
-            // end case : add to the end
-            Node<T> newNode = new Node<T>(this.back, item);
+            newNode = new Node<T>(item);
+            this.front = newNode;
+            this.back = newNode;
+        } else if (node == null) {
+            // end case : back
+            newNode = new Node<T>(this.back, item);
             this.back.setNext(newNode);
             this.back = newNode;
-        } else if (index == 0) {
+        } else if (node == this.front) {
             // end case : front
-            Node<T> newNode = new Node<T>(item, this.front);
+            newNode = new Node<T>(item, this.front);
             this.front.setPrev(newNode);
             this.front = newNode;
         } else {
             // other mid-cases
-            // finds the node which locates at the index
-            Node<T> node = findNode(index);
-            Node<T> newNode = new Node<T>(node.getPrev(), item, node);
+            newNode = new Node<T>(node.getPrev(), item, node);
             // set the prev and next node of the prev and next node
             newNode.getPrev().setNext(newNode);
             node.setPrev(newNode);
         }
         this.size++;
+        this.modCount++;
+        if (Metrics.ENABLED) {
+            Metrics.allocation("DoubleLinkedList", 1);
+        }
+        return newNode;
     }
 
     /**
@@ -157,12 +200,21 @@ public class DoubleLinkedList<T> implements IList<T> {
             throw new IndexOutOfBoundsException("Index out of boundary : check the size of the list");
         }
         Node<T> node = findNode(index);
+        this.unlink(node);
+        return node.getData();
+    }
+
+    /**
+     * Detaches the given node from the list
+     * @param node The node to be removed
+     */
+    private void unlink(Node<T> node) {
         if (this.size > 1) {
-            if (index == 0) {
+            if (node == this.front) {
                 // end case : front
                 this.front = this.front.getNext();
                 this.front.setPrev(null);
-            } else if (index == this.size - 1) {
+            } else if (node == this.back) {
                 // end case : back
                 this.back = this.back.getPrev();
                 this.back.setNext(null);
@@ -172,13 +224,47 @@ public class DoubleLinkedList<T> implements IList<T> {
                 node.getNext().setPrev(node.getPrev());
             }
             this.size--;
+            this.modCount++;
         } else {
             // when there's only one item left
             this.clear();
         }
-        return node.getData();
     }
     
+    /**
+     * Deletes the items from index from (inclusive) to index to (exclusive), shifting
+     * any elements located at a higher index down. The run of nodes is unlinked at once.
+     * @param from The index of the first item to delete
+     * @param to The index after the last item to delete
+     * @throws IndexOutOfBoundsException if from < 0, to > this.size() or from > to
+     */
+    public void removeRange(int from, int to) {
+        if (from < 0 || to > this.size || from > to) {
+            throw new IndexOutOfBoundsException("Index out of boundary : check the size of the list");
+        }
+        if (from == to) {
+            return;
+        }
+        Node<T> first = findNode(from);
+        Node<T> last = first;
+        for (int i = from + 1; i < to; i++) {
+            last = last.getNext();
+        }
+        // connect the nodes around the run
+        if (first == this.front) {
+            this.front = last.getNext();
+        } else {
+            first.getPrev().setNext(last.getNext());
+        }
+        if (last == this.back) {
+            this.back = first.getPrev();
+        } else {
+            last.getNext().setPrev(first.getPrev());
+        }
+        this.size -= to - from;
+        this.modCount++;
+    }
+
     /**
      * Releases all the nodes and resets the size to 0
      */
@@ -186,6 +272,7 @@ public class DoubleLinkedList<T> implements IList<T> {
         this.front = null;
         this.back = null;
         this.size = 0;
+        this.modCount++;
     }
 
     /**
@@ -229,6 +316,16 @@ public class DoubleLinkedList<T> implements IList<T> {
         return this.size;
     }
 
+    /**
+     * Returns the estimated number of heap bytes retained by this list : the
+     * list itself and its nodes, without the items.
+     * @return estimated footprint in bytes
+     */
+    public long footprint() {
+        long self = Footprint.object(2 * Footprint.REFERENCE + 2 * Integer.BYTES);
+        return self + this.size * Footprint.object(3 * Footprint.REFERENCE);
+    }
+
     /**
      * Returns 'true' if this container contains the given element, and 'false' otherwise.
      * @param other The item to be found
@@ -246,20 +343,26 @@ public class DoubleLinkedList<T> implements IList<T> {
      */
     private Node<T> findNode(int index) {
         Node<T> node;
+        int hops;
         if (index > this.size/2) {
             // when node can be found in the second half of the list
             node = this.back;
             index = this.size - index - 1;
+            hops = index;
             for (int i = 0; i < index; i++) {
                 node = node.getPrev();
             }
         } else {
             // when the node can be found in the first half of the list
             node = this.front;
+            hops = index;
             for (int i = 0; i < index; i++) {
                 node = node.getNext();
             }
         }
+        if (Metrics.ENABLED) {
+            Metrics.traversal("DoubleLinkedList", hops);
+        }
         return node;
     }
     
@@ -268,13 +371,14 @@ public class DoubleLinkedList<T> implements IList<T> {
      * @return String representation of the list
      */
     public String toString() {
-        String print = "[";
-        Iterator<T> iter = this.iterator();
-        for (int i = 0; i < this.size() - 1; i++) {
-            print += String.valueOf(iter.next()) + ", ";
+        StringBuilder print = new StringBuilder("[");
+        for (Node<T> node = this.front; node != null; node = node.next) {
+            if (node != this.front) {
+                print.append(", ");
+            }
+            print.append(String.valueOf(node.data));
         }
-        print += String.valueOf(iter.next()) + "]";
-        return print;
+        return print.append("]").toString();
     }
 
     /**
@@ -289,15 +393,62 @@ public class DoubleLinkedList<T> implements IList<T> {
         return new DoubleLinkedListIterator<>(this.front);
     }
 
+    /**
+     * Returns a spliterator over the contents of this list. Nodes cannot be split
+     * by index, so splitting copies growing batches of items into arrays.
+     * @return spliterator over the elements
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(this.iterator(), this.size, Spliterator.ORDERED);
+    }
+
+    /**
+     * Returns a sequential stream over the contents of this list.
+     * @return stream of the elements
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(this.spliterator(), false);
+    }
+
+    /**
+     * Returns a parallel stream over the contents of this list.
+     * @return parallel stream of the elements
+     */
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(this.spliterator(), true);
+    }
+
+    /**
+     * Returns a list iterator positioned before the first element.
+     * @return list iterator over the contents of this list
+     */
+    public ListIterator<T> listIterator() {
+        return this.listIterator(0);
+    }
+
+    /**
+     * Returns a list iterator positioned before the element at the given index.
+     * Edits made through the iterator take constant time.
+     * @param index The index of the first element returned by next()
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= this.size() + 1
+     * @return list iterator over the contents of this list
+     */
+    public ListIterator<T> listIterator(int index) {
+        if (this.size + 1 <= index || index < 0) {
+            throw new IndexOutOfBoundsException("Index out of boundary : check the size of the list");
+        }
+        return new DoubleLinkedListListIterator(index);
+    }
+
     /**
      * Node class : this node holds the item, previous node, and back node.
      * @author Shohei F. Koshiro
      * @param <E> Generic type
      */
     private static class Node<E> {
-        // You may not change the fields in this node or add any new fields.
         /** Item the node holds */
-        public final E data;
+        public E data;
         
         /** Node connected at front */
         public Node<E> prev;
@@ -359,6 +510,14 @@ public class DoubleLinkedList<T> implements IList<T> {
             this.next = next;
         }
         
+        /**
+         * Sets the item held by the node
+         * @param data New item
+         */
+        public void setData(E data) {
+            this.data = data;
+        }
+
         /**
          * Lets the user get the previous node
          * @return Previous node
@@ -424,4 +583,162 @@ public class DoubleLinkedList<T> implements IList<T> {
             return item;
         }
     }
+
+    /**
+     * ListIterator class : bidirectional iterator which edits the list at its cursor.
+     * Fails fast when the list is structurally changed by anything but this iterator.
+     */
+    private class DoubleLinkedListListIterator implements ListIterator<T> {
+        /** Node returned by the next call to next(); null at the end of the list */
+        private Node<T> nextNode;
+
+        /** Node returned by the last call to next() or previous(); null if none */
+        private Node<T> lastReturned;
+
+        /** Index of nextNode */
+        private int nextIndex;
+
+        /** modCount of the list this iterator agrees with */
+        private int expectedModCount;
+
+        /**
+         * Constructor : positions the cursor before the element at the given index
+         * @param index The index of the first element returned by next()
+         */
+        public DoubleLinkedListListIterator(int index) {
+            this.nextNode = index == DoubleLinkedList.this.size ? null : findNode(index);
+            this.lastReturned = null;
+            this.nextIndex = index;
+            this.expectedModCount = DoubleLinkedList.this.modCount;
+        }
+
+        /**
+         * Returns 'true' if there are elements after the cursor
+         * @return If next element exists
+         */
+        @Override
+        public boolean hasNext() {
+            return this.nextIndex < DoubleLinkedList.this.size;
+        }
+
+        /**
+         * Returns the element after the cursor and moves the cursor forward.
+         * @throws NoSuchElementException if the cursor is at the end of the list.
+         * @return Next item
+         */
+        @Override
+        public T next() {
+            this.checkModCount();
+            if (!this.hasNext()) {
+                throw new NoSuchElementException("No new node : the iterator has reached the end.");
+            }
+            this.lastReturned = this.nextNode;
+            this.nextNode = this.nextNode.getNext();
+            this.nextIndex++;
+            return this.lastReturned.getData();
+        }
+
+        /**
+         * Returns 'true' if there are elements before the cursor
+         * @return If previous element exists
+         */
+        @Override
+        public boolean hasPrevious() {
+            return this.nextIndex > 0;
+        }
+
+        /**
+         * Returns the element before the cursor and moves the cursor backward.
+         * @throws NoSuchElementException if the cursor is at the front of the list.
+         * @return Previous item
+         */
+        @Override
+        public T previous() {
+            this.checkModCount();
+            if (!this.hasPrevious()) {
+                throw new NoSuchElementException("No previous node : the iterator is at the front.");
+            }
+            this.nextNode = this.nextNode == null ? DoubleLinkedList.this.back : this.nextNode.getPrev();
+            this.lastReturned = this.nextNode;
+            this.nextIndex--;
+            return this.lastReturned.getData();
+        }
+
+        /**
+         * Returns the index of the element that would be returned by next()
+         * @return index after the cursor
+         */
+        @Override
+        public int nextIndex() {
+            return this.nextIndex;
+        }
+
+        /**
+         * Returns the index of the element that would be returned by previous()
+         * @return index before the cursor
+         */
+        @Override
+        public int previousIndex() {
+            return this.nextIndex - 1;
+        }
+
+        /**
+         * Removes the element last returned by next() or previous()
+         * @throws IllegalStateException if there is no such element
+         */
+        @Override
+        public void remove() {
+            this.checkModCount();
+            if (this.lastReturned == null) {
+                throw new IllegalStateException("Call next() or previous() before remove()");
+            }
+            if (this.lastReturned == this.nextNode) {
+                // returned by previous() : the cursor is in front of the removed node
+                this.nextNode = this.nextNode.getNext();
+            } else {
+                // returned by next() : the cursor is behind the removed node
+                this.nextIndex--;
+            }
+            unlink(this.lastReturned);
+            this.lastReturned = null;
+            this.expectedModCount = DoubleLinkedList.this.modCount;
+        }
+
+        /**
+         * Replaces the element last returned by next() or previous()
+         * @param item The new item
+         * @throws IllegalStateException if there is no such element
+         */
+        @Override
+        public void set(T item) {
+            this.checkModCount();
+            if (this.lastReturned == null) {
+                throw new IllegalStateException("Call next() or previous() before set()");
+            }
+            this.lastReturned.setData(item);
+        }
+
+        /**
+         * Inserts the item in front of the cursor, so that next() is not affected
+         * @param item The new item
+         */
+        @Override
+        public void add(T item) {
+            this.checkModCount();
+            linkBefore(item, this.nextNode);
+            this.nextIndex++;
+            this.lastReturned = null;
+            this.expectedModCount = DoubleLinkedList.this.modCount;
+        }
+
+        /**
+         * Checks that the list has only been changed through this iterator
+         * @throws ConcurrentModificationException if the list was changed elsewhere
+         */
+        private void checkModCount() {
+            if (DoubleLinkedList.this.modCount != this.expectedModCount) {
+                throw new ConcurrentModificationException("List was modified outside of the iterator");
+            }
+        }
+    }
 }
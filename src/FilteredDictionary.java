@@ -0,0 +1,142 @@
+package datastructures.concrete.dictionaries;
+
+import datastructures.concrete.CuckooFilter;
+import datastructures.interfaces.IDictionary;
+import misc.exceptions.NoSuchKeyException;
+
+/**
+ * Filtered Dictionary class : puts a cuckoo filter in front of another dictionary
+ * so that lookups of absent keys are answered without searching it.
+ * <p>
+ * The filter holds a fingerprint of every key of the dictionary and is kept in
+ * sync by put and remove. get and containsKey first ask the filter, which
+ * reads at most two small buckets, and only search the dictionary when the
+ * key might be there. Absent keys reach the dictionary at the false positive
+ * rate given to the constructor.
+ * <p>
+ * If more keys are added than the filter was sized for and it fills up, it is
+ * no longer consulted and every lookup goes to the dictionary.
+ * @author Shohei F. Koshiro
+ *
+ * @param <K> Generic type for key
+ * @param <V> Generic type for value
+ */
+public class FilteredDictionary<K, V> implements IDictionary<K, V> {
+    /** default wanted rate of false positives */
+    private static final double DEFAULT_FALSE_POSITIVE_RATE = 0.01;
+
+    /** dictionary holding the pairs */
+    private final IDictionary<K, V> dictionary;
+
+    /** fingerprints of the keys of the dictionary */
+    private final CuckooFilter<K> filter;
+
+    /** if the filter is consulted; false once it filled up */
+    private boolean filtering;
+
+    /**
+     * Constructor : puts a filter with a 1% false positive rate in front of the dictionary
+     * @param dictionary empty dictionary to hold the pairs; must not be used directly afterwards
+     * @param expectedSize number of keys the filter is sized for
+     * @throws IllegalArgumentException if the dictionary is not empty or expectedSize is not positive
+     */
+    public FilteredDictionary(IDictionary<K, V> dictionary, int expectedSize) {
+        this(dictionary, expectedSize, DEFAULT_FALSE_POSITIVE_RATE);
+    }
+
+    /**
+     * Constructor : puts a filter in front of the dictionary
+     * @param dictionary empty dictionary to hold the pairs; must not be used directly afterwards
+     * @param expectedSize number of keys the filter is sized for
+     * @param falsePositiveRate wanted rate of absent keys which still reach the dictionary
+     * @throws IllegalArgumentException if the dictionary is not empty, expectedSize is not
+     *         positive or the rate is not between 0 and 1
+     */
+    public FilteredDictionary(IDictionary<K, V> dictionary, int expectedSize, double falsePositiveRate) {
+        if (!dictionary.isEmpty()) {
+            throw new IllegalArgumentException("Dictionary must be empty");
+        }
+        this.dictionary = dictionary;
+        this.filter = new CuckooFilter<>(expectedSize, falsePositiveRate);
+        this.filtering = true;
+    }
+
+    /**
+     * Returns the value corresponding to the given key.
+     * @param key key used to store the value.
+     * @return value corresponding to the given key.
+     * @throws NoSuchKeyException if the dictionary does not contain the given key.
+     */
+    @Override
+    public V get(K key) {
+        if (this.filtering && !this.filter.mightContain(key)) {
+            throw new NoSuchKeyException("Specified key not in the dictionary");
+        }
+        return this.dictionary.get(key);
+    }
+
+    /**
+     * Adds the key-value pair to the dictionary. If the key already exists in the dictionary,
+     * replace its value with the given one.
+     * @param key key used to store the value
+     * @param value value corresponds to the key
+     */
+    @Override
+    public void put(K key, V value) {
+        int before = this.dictionary.size();
+        this.dictionary.put(key, value);
+        // only a new key needs a fingerprint
+        if (this.filtering && this.dictionary.size() > before && !this.filter.add(key)) {
+            this.filtering = false;
+        }
+    }
+
+    /**
+     * Remove the key-value pair corresponding to the given key from the dictionary.
+     * @param key key user wants to remove
+     * @return value corresponds to the key
+     * @throws NoSuchKeyException if the dictionary does not contain the given key.
+     */
+    @Override
+    public V remove(K key) {
+        if (this.filtering && !this.filter.mightContain(key)) {
+            throw new NoSuchKeyException("Unable to delete. No such key is found");
+        }
+        V current = this.dictionary.remove(key);
+        if (this.filtering) {
+            this.filter.remove(key);
+        }
+        return current;
+    }
+
+    /**
+     * Returns 'true' if the dictionary contains the given key and 'false' otherwise.
+     * @param key key the user wants to search
+     * @return if the given key exists in the dictionary
+     */
+    @Override
+    public boolean containsKey(K key) {
+        if (this.filtering && !this.filter.mightContain(key)) {
+            return false;
+        }
+        return this.dictionary.containsKey(key);
+    }
+
+    /**
+     * Returns the number of key-value pairs stored in this dictionary.
+     * @return number of pairs in the dictionary
+     */
+    @Override
+    public int size() {
+        return this.dictionary.size();
+    }
+
+    /**
+     * Returns 'true' if lookups still go through the filter, and 'false' once it
+     * filled up because more keys were added than it was sized for.
+     * @return if the filter is consulted
+     */
+    public boolean isFiltering() {
+        return this.filtering;
+    }
+}
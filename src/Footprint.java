@@ -0,0 +1,53 @@
+package misc.metrics;
+
+/**
+ * Footprint class : estimates of the heap bytes taken by objects and arrays,
+ * used by the footprint() methods of the data structures.
+ * The estimates assume a 64-bit JVM with compressed references and 8-byte
+ * object alignment, the default for heaps below 32 GiB.
+ * @author Shohei F. Koshiro
+ */
+public final class Footprint {
+    /** bytes of a reference */
+    public static final int REFERENCE = 4;
+
+    /** bytes of an object header */
+    public static final int OBJECT_HEADER = 12;
+
+    /** bytes of an array header, including the length */
+    public static final int ARRAY_HEADER = 16;
+
+    /**
+     * Constructor : not to be instantiated
+     */
+    private Footprint() {
+    }
+
+    /**
+     * Returns the bytes taken by an object with the given field bytes
+     * @param fieldBytes total bytes of the fields
+     * @return bytes of the object, aligned
+     */
+    public static long object(long fieldBytes) {
+        return align(OBJECT_HEADER + fieldBytes);
+    }
+
+    /**
+     * Returns the bytes taken by an array
+     * @param length number of elements
+     * @param elementBytes bytes per element (REFERENCE for object arrays)
+     * @return bytes of the array, aligned
+     */
+    public static long array(long length, int elementBytes) {
+        return align(ARRAY_HEADER + length * elementBytes);
+    }
+
+    /**
+     * Rounds the size up to the object alignment
+     * @param bytes unaligned size
+     * @return aligned size
+     */
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
@@ -0,0 +1,530 @@
+package datastructures.concrete.dictionaries;
+
+import datastructures.interfaces.IDictionary;
+import misc.exceptions.NoSuchKeyException;
+import misc.metrics.Footprint;
+import misc.metrics.Metrics;
+
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Hash Dictionary class : open addressing with linear probing.
+ * Removed entries are filled by shifting the following entries of the same
+ * probe run backward, so the table never holds tombstones.
+ * @author Shohei F. Koshiro
+ *
+ * @param <K> Generic type for key
+ * @param <V> Generic type for value
+ */
+public class HashDictionary<K, V> implements IDictionary<K, V> {
+    /** default number of slots; must be a power of two */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** ratio of elements to slots which triggers resizing */
+    private static final double LOAD_FACTOR = 0.75;
+
+    /** largest number of slots (power of two) */
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    /** keys of the pairs; null marks an empty slot */
+    private Object[] keys;
+
+    /** values of the pairs, stored at the same index as their keys */
+    private Object[] values;
+
+    /** number of non-null keys stored in the table */
+    private int nElements;
+
+    /** number of elements the table holds before it gets resized */
+    private int threshold;
+
+    /** if the null key is stored (it is kept outside the table) */
+    private boolean hasNullKey;
+
+    /** value corresponding to the null key */
+    private V nullValue;
+
+    /**
+     * Constructor : creates an empty hash dictionary
+     */
+    public HashDictionary() {
+        this(0);
+    }
+
+    /**
+     * Constructor : creates an empty hash dictionary sized to hold the given
+     * number of pairs without resizing
+     * @param expectedSize number of pairs expected to be added
+     * @throws IllegalArgumentException if expectedSize is negative or more than the
+     *         largest table holds
+     */
+    public HashDictionary(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size must not be negative");
+        }
+        this.allocate(capacityFor(expectedSize));
+        this.nElements = 0;
+        this.hasNullKey = false;
+        this.nullValue = null;
+    }
+
+    /**
+     * Returns the smallest power-of-two capacity which holds the given number of
+     * pairs under the load factor
+     * @param nPairs number of pairs
+     * @return number of slots
+     * @throws IllegalArgumentException if even the largest table does not hold nPairs
+     */
+    private static int capacityFor(long nPairs) {
+        if (nPairs > (long) (MAX_CAPACITY * LOAD_FACTOR)) {
+            throw new IllegalArgumentException("Too many pairs : at most "
+                    + (long) (MAX_CAPACITY * LOAD_FACTOR) + " fit in a HashDictionary");
+        }
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity * LOAD_FACTOR < nPairs) {
+            capacity *= 2;
+        }
+        return capacity;
+    }
+
+    /**
+     * Creates the empty arrays for the given number of slots
+     * @param capacity number of slots (power of two)
+     */
+    private void allocate(int capacity) {
+        this.keys = new Object[capacity];
+        this.values = new Object[capacity];
+        this.threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    /**
+     * Returns the value corresponding to the given key.
+     * @param key key used to store the value.
+     * @return value corresponding to the given key.
+     * @throws NoSuchKeyException if the dictionary does not contain the given key.
+     */
+    @Override
+    public V get(K key) {
+        if (key == null) {
+            if (!this.hasNullKey) {
+                throw new NoSuchKeyException("Specified key not in the dictionary");
+            }
+            return this.nullValue;
+        }
+        int index = this.getIndex(key);
+        if (index == -1) {
+            throw new NoSuchKeyException("Specified key not in the dictionary");
+        }
+        return this.valueAt(index);
+    }
+
+    /**
+     * Returns the value corresponding to the given key, or the given default if
+     * the key is not in the dictionary. Takes a single lookup, unlike
+     * containsKey followed by get.
+     * @param key key used to store the value.
+     * @param defaultValue value returned if the key is missing
+     * @return value corresponding to the given key, or the default value.
+     */
+    public V getOrDefault(K key, V defaultValue) {
+        if (key == null) {
+            return this.hasNullKey ? this.nullValue : defaultValue;
+        }
+        int index = this.getIndex(key);
+        return index == -1 ? defaultValue : this.valueAt(index);
+    }
+
+    /**
+     * Adds the key-value pair to the dictionary. If the key already exists in the dictionary,
+     * replace its value with the given one.
+     * @param key key used to store the value
+     * @param value value corresponds to the key
+     * @throws IllegalStateException if the key is new and the table cannot grow any more
+     */
+    @Override
+    public void put(K key, V value) {
+        if (key == null) {
+            this.hasNullKey = true;
+            this.nullValue = value;
+            return;
+        }
+        int mask = this.keys.length - 1;
+        int index = hash(key) & mask;
+        int probes = 1;
+        while (this.keys[index] != null) {
+            if (key.equals(this.keys[index])) {
+                // when the pair already exists, only replace the value
+                this.values[index] = value;
+                if (Metrics.ENABLED) {
+                    Metrics.scan("HashDictionary", probes);
+                }
+                return;
+            }
+            index = (index + 1) & mask;
+            probes++;
+        }
+        if (Metrics.ENABLED) {
+            Metrics.scan("HashDictionary", probes);
+        }
+        // when key is new
+        if (this.nElements == this.threshold && this.keys.length == MAX_CAPACITY) {
+            throw new IllegalStateException("Dictionary is full");
+        }
+        this.keys[index] = key;
+        this.values[index] = value;
+        this.nElements++;
+        if (this.nElements > this.threshold) {
+            this.resize();
+        }
+    }
+
+    /**
+     * Adds all the pairs of the other dictionary, replacing the values of keys
+     * which already exist. The table is resized at most once beforehand.
+     * @param other dictionary holding the pairs to be added
+     * @throws IllegalArgumentException if the pairs of both dictionaries may not fit in one table
+     */
+    public void putAll(HashDictionary<? extends K, ? extends V> other) {
+        int needed = capacityFor((long) this.nElements + other.nElements);
+        if (needed > this.keys.length) {
+            this.rehash(needed);
+        }
+        for (int i = 0; i < other.keys.length; i++) {
+            if (other.keys[i] != null) {
+                this.put(keyAt(other.keys[i]), other.valueAt(i));
+            }
+        }
+        if (other.hasNullKey) {
+            this.put(null, other.nullValue);
+        }
+    }
+
+    /**
+     * Casts a stored key back to the key type
+     * @param key stored key
+     * @return the key
+     */
+    @SuppressWarnings("unchecked")
+    private static <E> E keyAt(Object key) {
+        return (E) key;
+    }
+
+    /**
+     * Doubles the number of slots and re-inserts the pairs into the new table
+     */
+    private void resize() {
+        this.rehash(this.keys.length * 2);
+    }
+
+    /**
+     * Re-inserts the pairs into a new table with the given number of slots
+     * @param capacity number of slots (power of two)
+     */
+    private void rehash(int capacity) {
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        Object[] oldKeys = this.keys;
+        Object[] oldValues = this.values;
+        this.allocate(capacity);
+        int mask = this.keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int index = hash(oldKeys[i]) & mask;
+                while (this.keys[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                this.keys[index] = oldKeys[i];
+                this.values[index] = oldValues[i];
+            }
+        }
+        if (Metrics.ENABLED) {
+            Metrics.resize("HashDictionary", oldKeys.length, capacity, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Remove the key-value pair corresponding to the given key from the dictionary.
+     * @param key key user wants to remove
+     * @return value corresponds to the key
+     * @throws NoSuchKeyException if the dictionary does not contain the given key.
+     */
+    @Override
+    public V remove(K key) {
+        if (key == null) {
+            if (!this.hasNullKey) {
+                throw new NoSuchKeyException("Unable to delete. No such key is found");
+            }
+            V current = this.nullValue;
+            this.hasNullKey = false;
+            this.nullValue = null;
+            return current;
+        }
+        int index = this.getIndex(key);
+        if (index == -1) {
+            throw new NoSuchKeyException("Unable to delete. No such key is found");
+        }
+        // keep the value to return
+        V current = this.valueAt(index);
+        this.shiftBackward(index);
+        this.nElements--;
+        return current;
+    }
+
+    /**
+     * Fills the emptied slot by moving back the following pairs of the probe run
+     * which would not be reachable from their home slot otherwise.
+     * @param hole index of the slot being emptied
+     */
+    private void shiftBackward(int hole) {
+        int mask = this.keys.length - 1;
+        int index = (hole + 1) & mask;
+        while (this.keys[index] != null) {
+            int home = hash(this.keys[index]) & mask;
+            // distance from the home slot to the current slot and to the hole
+            if (((index - home) & mask) >= ((index - hole) & mask)) {
+                this.keys[hole] = this.keys[index];
+                this.values[hole] = this.values[index];
+                hole = index;
+            }
+            index = (index + 1) & mask;
+        }
+        this.keys[hole] = null;
+        this.values[hole] = null;
+    }
+
+    /**
+     * Returns the index of the given non-null key.
+     * @param key Key user wants to find
+     * @return index the key resides; -1 if key not in the dictionary
+     */
+    private int getIndex(Object key) {
+        int mask = this.keys.length - 1;
+        int index = hash(key) & mask;
+        int probes = 1;
+        while (this.keys[index] != null && !key.equals(this.keys[index])) {
+            index = (index + 1) & mask;
+            probes++;
+        }
+        if (Metrics.ENABLED) {
+            Metrics.scan("HashDictionary", probes);
+        }
+        return this.keys[index] == null ? -1 : index;
+    }
+
+    /**
+     * Spreads the higher bits of the hash code so that they affect the slot index
+     * @param key non-null key
+     * @return mixed hash code
+     */
+    private static int hash(Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Returns the value stored at the given slot
+     * @param index slot index
+     * @return value at the slot
+     */
+    @SuppressWarnings("unchecked")
+    private V valueAt(int index) {
+        return (V) this.values[index];
+    }
+
+    /**
+     * Returns 'true' if the dictionary contains the given key and 'false' otherwise.
+     * @param key key the user wants to search
+     * @return if the given key exists in the dictionary
+     */
+    @Override
+    public boolean containsKey(K key) {
+        if (key == null) {
+            return this.hasNullKey;
+        }
+        return this.getIndex(key) != -1;
+    }
+
+    /**
+     * Returns the number of key-value pairs stored in this dictionary.
+     * @return number of pairs in the dictionary
+     */
+    @Override
+    public int size() {
+        return this.hasNullKey ? this.nElements + 1 : this.nElements;
+    }
+
+    /**
+     * Returns the estimated number of heap bytes retained by this dictionary : the
+     * dictionary itself and its two slot arrays, without the keys and values.
+     * @return estimated footprint in bytes
+     */
+    public long footprint() {
+        long self = Footprint.object(3 * Footprint.REFERENCE + 2 * Integer.BYTES + 1);
+        return self + 2 * Footprint.array(this.keys.length, Footprint.REFERENCE);
+    }
+
+    /**
+     * Returns a spliterator over the key-value pairs of this dictionary which
+     * splits by slot range. Each pair is handed out as an immutable entry.
+     * @return spliterator over the pairs
+     */
+    public Spliterator<Map.Entry<K, V>> spliterator() {
+        return new SlotSpliterator<>(this, 0, this.keys.length, this.hasNullKey, this.size());
+    }
+
+    /**
+     * Returns a sequential stream over the key-value pairs of this dictionary.
+     * @return stream of the pairs
+     */
+    public Stream<Map.Entry<K, V>> stream() {
+        return StreamSupport.stream(this.spliterator(), false);
+    }
+
+    /**
+     * Returns a parallel stream over the key-value pairs of this dictionary.
+     * @return parallel stream of the pairs
+     */
+    public Stream<Map.Entry<K, V>> parallelStream() {
+        return StreamSupport.stream(this.spliterator(), true);
+    }
+
+    /**
+     * Spliterator class : covers a range of slots and splits it in half. Only the
+     * top-level spliterator knows its exact size, since the pairs are not spread
+     * evenly over the slots.
+     * @param <K> Generic type for key
+     * @param <V> Generic type for value
+     */
+    private static class SlotSpliterator<K, V> implements Spliterator<Map.Entry<K, V>> {
+        /** dictionary being traversed */
+        private final HashDictionary<K, V> dictionary;
+
+        /** next slot to look at */
+        private int index;
+
+        /** slot after the last one of the range */
+        private final int fence;
+
+        /** if the pair of the null key still has to be handed out */
+        private boolean includeNull;
+
+        /** estimated number of remaining pairs */
+        private long estimate;
+
+        /** if the estimate is exact (true until the first split) */
+        private boolean sized;
+
+        /**
+         * Constructor : covers the slots [index, fence) with an exact size
+         * @param dictionary dictionary to traverse
+         * @param index first slot of the range
+         * @param fence slot after the last one of the range
+         * @param includeNull if the pair of the null key belongs to this spliterator
+         * @param size number of pairs in the range
+         */
+        public SlotSpliterator(HashDictionary<K, V> dictionary, int index, int fence,
+                               boolean includeNull, long size) {
+            this(dictionary, index, fence, includeNull, size, true);
+        }
+
+        /**
+         * Constructor : covers the slots [index, fence)
+         * @param dictionary dictionary to traverse
+         * @param index first slot of the range
+         * @param fence slot after the last one of the range
+         * @param includeNull if the pair of the null key belongs to this spliterator
+         * @param estimate estimated number of pairs in the range
+         * @param sized if the estimate is exact
+         */
+        private SlotSpliterator(HashDictionary<K, V> dictionary, int index, int fence,
+                                boolean includeNull, long estimate, boolean sized) {
+            this.dictionary = dictionary;
+            this.index = index;
+            this.fence = fence;
+            this.includeNull = includeNull;
+            this.estimate = estimate;
+            this.sized = sized;
+        }
+
+        /**
+         * Passes the next pair to the action
+         * @param action action to perform
+         * @return false if there was no pair left
+         */
+        @Override
+        public boolean tryAdvance(Consumer<? super Map.Entry<K, V>> action) {
+            if (this.includeNull) {
+                this.includeNull = false;
+                this.countPair();
+                action.accept(new AbstractMap.SimpleImmutableEntry<>(null, this.dictionary.nullValue));
+                return true;
+            }
+            Object[] keys = this.dictionary.keys;
+            while (this.index < this.fence) {
+                int slot = this.index;
+                this.index++;
+                if (keys[slot] != null) {
+                    K key = keyAt(keys[slot]);
+                    this.countPair();
+                    action.accept(new AbstractMap.SimpleImmutableEntry<>(key, this.dictionary.valueAt(slot)));
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Takes a handed out pair off the estimate
+         */
+        private void countPair() {
+            if (this.estimate > 0) {
+                this.estimate--;
+            }
+        }
+
+        /**
+         * Hands the first half of the remaining slots to a new spliterator
+         * @return spliterator for the first half; null if the range is too small
+         */
+        @Override
+        public Spliterator<Map.Entry<K, V>> trySplit() {
+            int mid = (this.index + this.fence) >>> 1;
+            if (mid <= this.index) {
+                return null;
+            }
+            this.estimate >>>= 1;
+            this.sized = false;
+            Spliterator<Map.Entry<K, V>> prefix =
+                    new SlotSpliterator<>(this.dictionary, this.index, mid, this.includeNull, this.estimate, false);
+            this.index = mid;
+            this.includeNull = false;
+            return prefix;
+        }
+
+        /**
+         * Returns the estimated number of remaining pairs
+         * @return estimated size
+         */
+        @Override
+        public long estimateSize() {
+            return this.estimate;
+        }
+
+        /**
+         * Returns the characteristics of this spliterator
+         * @return DISTINCT and NONNULL, plus SIZED before any split
+         */
+        @Override
+        public int characteristics() {
+            int characteristics = Spliterator.DISTINCT | Spliterator.NONNULL;
+            if (this.sized) {
+                characteristics |= Spliterator.SIZED;
+            }
+            return characteristics;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package datastructures.interfaces;
+
+/**
+ * Converts items to and from bytes so that data structures can store them
+ * outside of the heap or send them to another process.
+ * @author Shohei F. Koshiro
+ *
+ * @param <T> Generic type
+ */
+public interface ICodec<T> {
+    /**
+     * Returns the bytes representing the item.
+     * Equal items must be encoded to equal bytes.
+     * @param item item to be encoded
+     * @return encoded bytes
+     */
+    byte[] encode(T item);
+
+    /**
+     * Returns the item represented by the bytes
+     * @param bytes bytes produced by encode
+     * @return decoded item
+     */
+    T decode(byte[] bytes);
+}
@@ -0,0 +1,20 @@
+package datastructures.interfaces;
+
+/**
+ * Receives the pairs a bounded cache drops because it is full or because
+ * they expired.
+ * @author Shohei F. Koshiro
+ *
+ * @param <K> Generic type for key
+ * @param <V> Generic type for value
+ */
+public interface IEvictionListener<K, V> {
+    /**
+     * Called after a pair left the cache on its own (not through remove)
+     * @param key key of the pair
+     * @param value value of the pair
+     * @param expired true if the pair outlived its time to live; false if it
+     *        was evicted to make room
+     */
+    void onEviction(K key, V value, boolean expired);
+}
@@ -0,0 +1,40 @@
+package misc.metrics;
+
+/**
+ * Receives the hot-path counters reported by the data structures while
+ * Metrics.ENABLED is on.
+ * Calls come from whatever thread uses the data structure, so implementations
+ * must be thread-safe and should return quickly.
+ * @author Shohei F. Koshiro
+ */
+public interface IMetricsListener {
+    /**
+     * Called after a key lookup in a dictionary
+     * @param structure name of the data structure class
+     * @param length number of entries or slots compared before the lookup finished
+     */
+    void onScan(String structure, int length);
+
+    /**
+     * Called after a list walked its nodes to reach an index
+     * @param structure name of the data structure class
+     * @param hops number of links followed
+     */
+    void onTraversal(String structure, int hops);
+
+    /**
+     * Called after the backing storage of a data structure was resized
+     * @param structure name of the data structure class
+     * @param oldCapacity capacity before the resize
+     * @param newCapacity capacity after the resize
+     * @param nanos time spent copying, in nanoseconds
+     */
+    void onResize(String structure, int oldCapacity, int newCapacity, long nanos);
+
+    /**
+     * Called when a data structure allocated per-element objects (nodes or pairs)
+     * @param structure name of the data structure class
+     * @param count number of objects allocated
+     */
+    void onAllocation(String structure, int count);
+}
@@ -0,0 +1,49 @@
+package datastructures.interfaces;
+
+import java.util.function.BinaryOperator;
+
+/**
+ * Associative operation with an identity element, used to keep aggregates
+ * (sums, minimums, maximums, ...) of values in augmented data structures.
+ * combine must be associative; it does not need to be commutative, as
+ * values are always combined in key order.
+ * @author Shohei F. Koshiro
+ *
+ * @param <V> Generic type for values
+ */
+public interface IMonoid<V> {
+    /**
+     * Returns the identity element : combine(identity(), v) and combine(v, identity()) are v.
+     * @return identity element
+     */
+    V identity();
+
+    /**
+     * Combines two values, the first one coming before the second in key order
+     * @param a first value
+     * @param b second value
+     * @return combined value
+     */
+    V combine(V a, V b);
+
+    /**
+     * Returns a monoid made of the given identity and operation
+     * @param identity identity element
+     * @param combine associative operation
+     * @param <V> Generic type for values
+     * @return monoid
+     */
+    static <V> IMonoid<V> of(V identity, BinaryOperator<V> combine) {
+        return new IMonoid<V>() {
+            @Override
+            public V identity() {
+                return identity;
+            }
+
+            @Override
+            public V combine(V a, V b) {
+                return combine.apply(a, b);
+            }
+        };
+    }
+}
@@ -0,0 +1,45 @@
+package datastructures.interfaces;
+
+import misc.exceptions.EmptyContainerException;
+
+/**
+ * Represents a priority queue : a collection which hands out its smallest element first.
+ * @author Shohei F. Koshiro
+ *
+ * @param <T> Generic type
+ */
+public interface IPriorityQueue<T> {
+    /**
+     * Adds the given item to the queue
+     * @param item The item to be added
+     */
+    void add(T item);
+
+    /**
+     * Removes the smallest element and returns it.
+     * @throws EmptyContainerException if the queue is empty.
+     * @return The smallest element
+     */
+    T removeMin();
+
+    /**
+     * Returns the smallest element without removing it.
+     * @throws EmptyContainerException if the queue is empty.
+     * @return The smallest element
+     */
+    T peekMin();
+
+    /**
+     * Returns the number of elements in the queue.
+     * @return The size of the queue
+     */
+    int size();
+
+    /**
+     * Returns 'true' if the queue has no elements, and 'false' otherwise.
+     * @return If the queue is empty
+     */
+    default boolean isEmpty() {
+        return this.size() == 0;
+    }
+}
@@ -0,0 +1,448 @@
+package datastructures.concrete;
+
+import datastructures.interfaces.IList;
+import misc.exceptions.EmptyContainerException;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * IndexableSkipList class : list kept as a skip list whose links know how many
+ * elements they skip.
+ * <p>
+ * Every node is linked on level 0 and, with probability 1/2 per level, on the
+ * levels above. Each link carries its width, the number of level-0 steps it
+ * covers, so a search for an index drops down the levels adding up widths and
+ * get, set, insert and delete take O(log n) expected time at any index.
+ * <p>
+ * Reads share a read lock and run concurrently with each other; writes take
+ * the write lock. An iterator checks for writes at every step and throws
+ * ConcurrentModificationException if the list changed since it was created.
+ * @author Shohei F. Koshiro
+ *
+ * @param <T> Generic type
+ */
+public class IndexableSkipList<T> implements IList<T> {
+    /** largest number of levels */
+    private static final int MAX_LEVEL = 32;
+
+    /** sentinel in front of the first element, linked on every level */
+    private final Node<T> head;
+
+    /** number of levels in use */
+    private int level;
+
+    /** Number of elements in the list */
+    private int size;
+
+    /** number of structural changes, checked by the iterators */
+    private int modCount;
+
+    /** shared by readers */
+    private final Lock readLock;
+
+    /** taken by writers */
+    private final Lock writeLock;
+
+    /**
+     * Constructor : creates an empty IndexableSkipList object
+     */
+    public IndexableSkipList() {
+        this.head = new Node<>(null, MAX_LEVEL);
+        this.level = 1;
+        this.size = 0;
+        this.modCount = 0;
+        ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        this.readLock = lock.readLock();
+        this.writeLock = lock.writeLock();
+    }
+
+    /**
+     * Adds the given item to the end of the list
+     * @param item The item to be added
+     */
+    @Override
+    public void add(T item) {
+        this.writeLock.lock();
+        try {
+            this.insertAt(this.size, item);
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    /**
+     * Removes the last element and returns it.
+     * @throws EmptyContainerException if the container is empty and there is no element to remove.
+     * @return The last element
+     */
+    @Override
+    public T remove() {
+        this.writeLock.lock();
+        try {
+            if (this.size == 0) {
+                throw new EmptyContainerException("List empty : no items to remove.");
+            }
+            return this.deleteAt(this.size - 1);
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the item located at the given index.
+     * @param index The index number
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= this.size()
+     * @return The item located at the given index
+     */
+    @Override
+    public T get(int index) {
+        this.readLock.lock();
+        try {
+            this.checkIndex(index, this.size);
+            return this.findNode(index).item;
+        } finally {
+            this.readLock.unlock();
+        }
+    }
+
+    /**
+     * Overwrites the element located at the given index with the new item.
+     * @param index The index number
+     * @param item The new item to be overwritten
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= this.size()
+     */
+    @Override
+    public void set(int index, T item) {
+        this.writeLock.lock();
+        try {
+            this.checkIndex(index, this.size);
+            this.findNode(index).item = item;
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    /**
+     * Inserts the given item at the given index, shifting the element at that
+     * index and any subsequent elements one index higher.
+     * @param index The index number
+     * @param item The new item to be inserted
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= this.size() + 1
+     */
+    @Override
+    public void insert(int index, T item) {
+        this.writeLock.lock();
+        try {
+            this.checkIndex(index, this.size + 1);
+            this.insertAt(index, item);
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    /**
+     * Deletes the item at the given index, shifting any elements located at a
+     * higher index down by one.
+     * @param index The index number
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= this.size()
+     * @return The deleted item
+     */
+    @Override
+    public T delete(int index) {
+        this.writeLock.lock();
+        try {
+            this.checkIndex(index, this.size);
+            return this.deleteAt(index);
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the index corresponding to the first occurrence of the given item.
+     * @param item The item to be found in the list
+     * @return The location of the item in the list. (-1 if not found)
+     */
+    @Override
+    public int indexOf(T item) {
+        this.readLock.lock();
+        try {
+            Node<T> node = this.head.next[0];
+            for (int i = 0; node != null; i++) {
+                if (item == null ? node.item == null : item.equals(node.item)) {
+                    return i;
+                }
+                node = node.next[0];
+            }
+            return -1;
+        } finally {
+            this.readLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of elements in the container.
+     * @return The size of the list
+     */
+    @Override
+    public int size() {
+        this.readLock.lock();
+        try {
+            return this.size;
+        } finally {
+            this.readLock.unlock();
+        }
+    }
+
+    /**
+     * Returns 'true' if this container contains the given element, and 'false' otherwise.
+     * @param other The item to be found
+     * @return If the list contains the given item
+     */
+    @Override
+    public boolean contains(T other) {
+        return this.indexOf(other) != -1;
+    }
+
+    /**
+     * toString method
+     * @return String representation of the list
+     */
+    @Override
+    public String toString() {
+        this.readLock.lock();
+        try {
+            StringBuilder print = new StringBuilder("[");
+            for (Node<T> node = this.head.next[0]; node != null; node = node.next[0]) {
+                if (print.length() > 1) {
+                    print.append(", ");
+                }
+                print.append(String.valueOf(node.item));
+            }
+            return print.append("]").toString();
+        } finally {
+            this.readLock.unlock();
+        }
+    }
+
+    /**
+     * Returns an iterator over the contents of this list.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        this.readLock.lock();
+        try {
+            return new IndexableSkipListIterator();
+        } finally {
+            this.readLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the node at the index; the caller holds a lock
+     * @param index The index number (must be valid)
+     * @return node at the index
+     */
+    private Node<T> findNode(int index) {
+        // positions count from the head at -1
+        Node<T> node = this.head;
+        int position = -1;
+        for (int i = this.level - 1; i >= 0; i--) {
+            while (node.next[i] != null && position + node.width[i] <= index) {
+                position += node.width[i];
+                node = node.next[i];
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Links a new node at the index; the caller holds the write lock
+     * @param index The index number (0 to size)
+     * @param item The new item to be inserted
+     */
+    @SuppressWarnings("unchecked")
+    private void insertAt(int index, T item) {
+        Node<T>[] update = (Node<T>[]) new Node<?>[MAX_LEVEL];
+        int[] positions = new int[MAX_LEVEL];
+        this.findPredecessors(index, update, positions);
+        int height = randomHeight();
+        if (height > this.level) {
+            for (int i = this.level; i < height; i++) {
+                update[i] = this.head;
+                positions[i] = -1;
+                this.head.next[i] = null;
+            }
+            this.level = height;
+        }
+        Node<T> node = new Node<>(item, height);
+        for (int i = 0; i < this.level; i++) {
+            Node<T> before = update[i];
+            if (i < height) {
+                if (before.next[i] != null) {
+                    // the old successor moves one position further
+                    node.width[i] = positions[i] + before.width[i] + 1 - index;
+                }
+                node.next[i] = before.next[i];
+                before.next[i] = node;
+                before.width[i] = index - positions[i];
+            } else if (before.next[i] != null) {
+                before.width[i]++;
+            }
+        }
+        this.size++;
+        this.modCount++;
+    }
+
+    /**
+     * Unlinks the node at the index; the caller holds the write lock
+     * @param index The index number (must be valid)
+     * @return The deleted item
+     */
+    @SuppressWarnings("unchecked")
+    private T deleteAt(int index) {
+        Node<T>[] update = (Node<T>[]) new Node<?>[MAX_LEVEL];
+        this.findPredecessors(index, update, new int[MAX_LEVEL]);
+        Node<T> target = update[0].next[0];
+        for (int i = 0; i < this.level; i++) {
+            Node<T> before = update[i];
+            if (before.next[i] == target) {
+                before.width[i] += target.width[i] - 1;
+                before.next[i] = target.next[i];
+            } else if (before.next[i] != null) {
+                before.width[i]--;
+            }
+        }
+        while (this.level > 1 && this.head.next[this.level - 1] == null) {
+            this.level--;
+        }
+        this.size--;
+        this.modCount++;
+        return target.item;
+    }
+
+    /**
+     * Finds, on every level in use, the last node in front of the index
+     * @param index The index number
+     * @param update receives the node for each level
+     * @param positions receives the index of that node for each level (-1 for the head)
+     */
+    private void findPredecessors(int index, Node<T>[] update, int[] positions) {
+        Node<T> node = this.head;
+        int position = -1;
+        for (int i = this.level - 1; i >= 0; i--) {
+            while (node.next[i] != null && position + node.width[i] < index) {
+                position += node.width[i];
+                node = node.next[i];
+            }
+            update[i] = node;
+            positions[i] = position;
+        }
+    }
+
+    /**
+     * Returns the number of levels of a new node : 1 plus one for each coin flip that comes up heads
+     * @return height between 1 and MAX_LEVEL
+     */
+    private static int randomHeight() {
+        int bits = ThreadLocalRandom.current().nextInt() | (1 << (MAX_LEVEL - 1));
+        return Integer.numberOfTrailingZeros(bits) + 1;
+    }
+
+    /**
+     * Checks the index against the given bound
+     * @param index The index number
+     * @param bound first invalid index
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= bound
+     */
+    private void checkIndex(int index, int bound) {
+        if (bound <= index || index < 0) {
+            throw new IndexOutOfBoundsException("Index out of boundary : check the size of the list");
+        }
+    }
+
+    /**
+     * Node class : holds an item and its links with their widths
+     * @param <E> Generic type
+     */
+    private static class Node<E> {
+        /** Item the node holds */
+        private E item;
+
+        /** next node on each level of this node */
+        private final Node<E>[] next;
+
+        /** number of level-0 steps covered by each link; meaningless where the link is null */
+        private final int[] width;
+
+        /**
+         * Constructor : creates an unlinked node
+         * @param item Item the node holds
+         * @param height number of levels of the node
+         */
+        @SuppressWarnings("unchecked")
+        public Node(E item, int height) {
+            this.item = item;
+            this.next = (Node<E>[]) new Node<?>[height];
+            this.width = new int[height];
+        }
+    }
+
+    /**
+     * Iterator class : follows the level-0 links, checking for writes at every step
+     */
+    private class IndexableSkipListIterator implements Iterator<T> {
+        /** node to be returned next */
+        private Node<T> current;
+
+        /** modCount of the list when the iterator was created */
+        private final int expectedModCount;
+
+        /**
+         * Constructor : starts at the first node; the caller holds a lock
+         */
+        public IndexableSkipListIterator() {
+            this.current = IndexableSkipList.this.head.next[0];
+            this.expectedModCount = IndexableSkipList.this.modCount;
+        }
+
+        /**
+         * Returns 'true' if the iterator still has elements to look at;
+         * returns 'false' otherwise.
+         * @return If next element exists
+         */
+        @Override
+        public boolean hasNext() {
+            return this.current != null;
+        }
+
+        /**
+         * Returns the next element and advances the iterator.
+         * @throws NoSuchElementException if we have reached the end of the iteration.
+         * @throws ConcurrentModificationException if the list was changed since the iterator was created
+         * @return Next element
+         */
+        @Override
+        public T next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException("No new element : the iterator has reached the end.");
+            }
+            IndexableSkipList.this.readLock.lock();
+            try {
+                if (IndexableSkipList.this.modCount != this.expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                T item = this.current.item;
+                this.current = this.current.next[0];
+                return item;
+            } finally {
+                IndexableSkipList.this.readLock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package datastructures.concrete;
+
+import datastructures.concrete.dictionaries.HashDictionary;
+import misc.exceptions.NoSuchKeyException;
+
+import java.util.Comparator;
+
+/**
+ * IndexedDAryHeap class : d-ary heap which also knows where every element is,
+ * so that an element can be moved up or taken out without searching for it.
+ * <p>
+ * A HashDictionary maps every element to its index in the heap array and is
+ * updated whenever an element moves. decreaseKey and remove find the element
+ * in expected constant time and then take O(log n). Elements must be distinct
+ * by equals, and must not change their hashCode while they are in the heap.
+ * @author Shohei F. Koshiro
+ *
+ * @param <T> Generic type
+ */
+public class IndexedDAryHeap<T> extends DAryHeap<T> {
+    /** index of every element in the heap array */
+    private final HashDictionary<T, Integer> positions;
+
+    /**
+     * Constructor : creates an empty 4-ary heap ordered by the natural ordering of the elements
+     */
+    public IndexedDAryHeap() {
+        this(null);
+    }
+
+    /**
+     * Constructor : creates an empty 4-ary heap ordered by the given comparator
+     * @param comparator order of the elements (null for the natural ordering)
+     */
+    public IndexedDAryHeap(Comparator<? super T> comparator) {
+        super(comparator);
+        this.positions = new HashDictionary<>();
+    }
+
+    /**
+     * Constructor : creates an empty heap with the given number of children per node
+     * @param arity number of children per node
+     * @param comparator order of the elements (null for the natural ordering)
+     * @throws IllegalArgumentException if arity < 2
+     */
+    public IndexedDAryHeap(int arity, Comparator<? super T> comparator) {
+        super(arity, comparator);
+        this.positions = new HashDictionary<>();
+    }
+
+    /**
+     * Adds the given item to the heap
+     * @param item The item to be added
+     * @throws IllegalArgumentException if the item is already in the heap
+     */
+    @Override
+    public void add(T item) {
+        if (this.positions.containsKey(item)) {
+            throw new IllegalArgumentException("Item already in the heap");
+        }
+        super.add(item);
+    }
+
+    /**
+     * Returns 'true' if the heap contains the given element, and 'false' otherwise.
+     * @param item The item to be found
+     * @return If the heap contains the given item
+     */
+    public boolean contains(T item) {
+        return this.positions.containsKey(item);
+    }
+
+    /**
+     * Replaces an element with a smaller or equal one and moves it up to its new place
+     * @param oldItem element in the heap
+     * @param newItem element taking its place
+     * @throws NoSuchKeyException if oldItem is not in the heap
+     * @throws IllegalArgumentException if newItem is greater than oldItem, or is
+     *         another element already in the heap
+     */
+    public void decreaseKey(T oldItem, T newItem) {
+        int index = this.indexOf(oldItem);
+        if (this.compare(newItem, oldItem) > 0) {
+            throw new IllegalArgumentException("New item is greater than the old one");
+        }
+        if (!equal(oldItem, newItem)) {
+            if (this.positions.containsKey(newItem)) {
+                throw new IllegalArgumentException("Item already in the heap");
+            }
+            this.positions.remove(oldItem);
+        }
+        this.siftUp(index, newItem);
+    }
+
+    /**
+     * Removes the given element from the heap
+     * @param item element to remove
+     * @throws NoSuchKeyException if the item is not in the heap
+     */
+    public void remove(T item) {
+        this.removeAt(this.indexOf(item));
+    }
+
+    /**
+     * Stores the item at the index and records where it is
+     * @param index index in the heap array
+     * @param item item to store
+     */
+    @Override
+    protected void place(int index, T item) {
+        super.place(index, item);
+        this.positions.put(item, index);
+    }
+
+    /**
+     * Forgets the element at the index, which is being taken out of the heap
+     * @param index index of the removed element
+     */
+    @Override
+    protected void removed(int index) {
+        this.positions.remove(this.itemAt(index));
+    }
+
+    /**
+     * Returns the index of the element in the heap array
+     * @param item element to look for
+     * @return index of the element
+     * @throws NoSuchKeyException if the item is not in the heap
+     */
+    private int indexOf(T item) {
+        Integer index = this.positions.getOrDefault(item, null);
+        if (index == null) {
+            throw new NoSuchKeyException("Specified item not in the heap");
+        }
+        return index;
+    }
+
+    /**
+     * Compares two elements with equals, allowing nulls
+     * @param a first element
+     * @param b second element
+     * @return if they are equal
+     */
+    private static boolean equal(Object a, Object b) {
+        return a == null ? b == null : a.equals(b);
+    }
+}
@@ -0,0 +1,257 @@
+package datastructures.concrete;
+
+import misc.exceptions.EmptyContainerException;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * LongArrayList class : list of long values stored in a flat long array.
+ * Follows the same contract as IList without boxing the elements.
+ * @author Shohei F. Koshiro
+ */
+public class LongArrayList {
+    /** default number of slots */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** keeps the elements */
+    private long[] elements;
+
+    /** Number of elements in the list */
+    private int size;
+
+    /**
+     * Constructor : creates an empty LongArrayList object
+     */
+    public LongArrayList() {
+        this.elements = new long[DEFAULT_CAPACITY];
+        this.size = 0;
+    }
+
+    /**
+     * Adds the given item to the end of the list
+     * @param item The item to be added
+     */
+    public void add(long item) {
+        if (this.size == this.elements.length) {
+            this.copyOver();
+        }
+        this.elements[this.size] = item;
+        this.size++;
+    }
+
+    /**
+     * Removes the last element and returns it.
+     * @throws EmptyContainerException if the container is empty and there is no element to remove.
+     * @return The last element
+     */
+    public long remove() {
+        if (this.size == 0) {
+            throw new EmptyContainerException("List empty : no items to remove.");
+        }
+        this.size--;
+        return this.elements[this.size];
+    }
+
+    /**
+     * Returns the item located at the given index.
+     * @param index The index number
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= this.size()
+     * @return The item located at the given index
+     */
+    public long get(int index) {
+        this.checkIndex(index, this.size);
+        return this.elements[index];
+    }
+
+    /**
+     * Overwrites the element located at the given index with the new item.
+     * @param index The index number
+     * @param item The new item to be overwritten
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= this.size()
+     */
+    public void set(int index, long item) {
+        this.checkIndex(index, this.size);
+        this.elements[index] = item;
+    }
+
+    /**
+     * Inserts the given item at the given index, shifting the element at that
+     * index and any subsequent elements one index higher.
+     * @param index The index number
+     * @param item The new item to be inserted
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= this.size() + 1
+     */
+    public void insert(int index, long item) {
+        this.checkIndex(index, this.size + 1);
+        if (this.size == this.elements.length) {
+            this.copyOver();
+        }
+        System.arraycopy(this.elements, index, this.elements, index + 1, this.size - index);
+        this.elements[index] = item;
+        this.size++;
+    }
+
+    /**
+     * Deletes the item at the given index, shifting any elements located at a
+     * higher index down by one.
+     * @param index The index number
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= this.size()
+     * @return The deleted item
+     */
+    public long delete(int index) {
+        this.checkIndex(index, this.size);
+        long item = this.elements[index];
+        System.arraycopy(this.elements, index + 1, this.elements, index, this.size - index - 1);
+        this.size--;
+        return item;
+    }
+
+    /**
+     * Returns the index corresponding to the first occurrence of the given item.
+     * @param item The item to be found in the list
+     * @return The location of the item in the list. (-1 if not found)
+     */
+    public int indexOf(long item) {
+        for (int i = 0; i < this.size; i++) {
+            if (this.elements[i] == item) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the number of elements in the container.
+     * @return The size of the list
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns 'true' if the list has no elements, and 'false' otherwise.
+     * @return If the list is empty
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Returns 'true' if this container contains the given element, and 'false' otherwise.
+     * @param other The item to be found
+     * @return If the list contains the given item
+     */
+    public boolean contains(long other) {
+        return this.indexOf(other) != -1;
+    }
+
+    /**
+     * Removes all the elements and resets the size to 0
+     */
+    public void clear() {
+        this.size = 0;
+    }
+
+    /**
+     * Doubles the length of the array
+     */
+    private void copyOver() {
+        long[] newArray = new long[this.elements.length * 2];
+        System.arraycopy(this.elements, 0, newArray, 0, this.size);
+        this.elements = newArray;
+    }
+
+    /**
+     * Checks the index against the given bound
+     * @param index The index number
+     * @param bound first invalid index
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= bound
+     */
+    private void checkIndex(int index, int bound) {
+        if (bound <= index || index < 0) {
+            throw new IndexOutOfBoundsException("Index out of boundary : check the size of the list");
+        }
+    }
+
+    /**
+     * Returns an iterator over the contents of this list which does not box the elements.
+     * @return iterator over the elements
+     */
+    public PrimitiveIterator.OfLong iterator() {
+        return new LongArrayListIterator(this);
+    }
+
+    /**
+     * Returns a spliterator over the contents of this list which splits by index range.
+     * @return spliterator over the elements
+     */
+    public Spliterator.OfLong spliterator() {
+        return Spliterators.spliterator(this.elements, 0, this.size, Spliterator.ORDERED);
+    }
+
+    /**
+     * Returns a sequential stream over the contents of this list.
+     * @return stream of the elements
+     */
+    public LongStream stream() {
+        return StreamSupport.longStream(this.spliterator(), false);
+    }
+
+    /**
+     * Returns a parallel stream over the contents of this list.
+     * @return parallel stream of the elements
+     */
+    public LongStream parallelStream() {
+        return StreamSupport.longStream(this.spliterator(), true);
+    }
+
+    /**
+     * Iterator class : walks the backing array of a LongArrayList
+     */
+    private static class LongArrayListIterator implements PrimitiveIterator.OfLong {
+        /** list being iterated over */
+        private final LongArrayList list;
+
+        /** index of the next element */
+        private int current;
+
+        /**
+         * Constructor : starts at the first element of the list
+         * @param list list to iterate over
+         */
+        public LongArrayListIterator(LongArrayList list) {
+            this.list = list;
+            this.current = 0;
+        }
+
+        /**
+         * Returns 'true' if the iterator still has elements to look at;
+         * returns 'false' otherwise.
+         * @return If next element exists
+         */
+        @Override
+        public boolean hasNext() {
+            return this.current < this.list.size;
+        }
+
+        /**
+         * Returns the next element and advances the iterator.
+         * @throws NoSuchElementException if we have reached the end of the iteration.
+         * @return Next element
+         */
+        @Override
+        public long nextLong() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException("No new element : the iterator has reached the end.");
+            }
+            long item = this.list.elements[this.current];
+            this.current++;
+            return item;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package datastructures.concrete.dictionaries;
+
+import misc.exceptions.NoSuchKeyException;
+
+/**
+ * LongLongDictionary class : long to long dictionary stored in flat long arrays.
+ * Uses open addressing with linear probing and backward-shift deletion like
+ * HashDictionary. Every long is a valid key: key 0 marks an empty slot in the
+ * table, so the pair for key 0 is kept outside the table.
+ * @author Shohei F. Koshiro
+ */
+public class LongLongDictionary {
+    /** default number of slots; must be a power of two */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** ratio of elements to slots which triggers resizing */
+    private static final double LOAD_FACTOR = 0.75;
+
+    /** keys of the pairs; 0 marks an empty slot */
+    private long[] keys;
+
+    /** values of the pairs, stored at the same index as their keys */
+    private long[] values;
+
+    /** number of non-zero keys stored in the table */
+    private int nElements;
+
+    /** number of elements the table holds before it gets resized */
+    private int threshold;
+
+    /** if key 0 is stored */
+    private boolean hasZeroKey;
+
+    /** value corresponding to key 0 */
+    private long zeroValue;
+
+    /**
+     * Constructor : creates an empty dictionary
+     */
+    public LongLongDictionary() {
+        this.allocate(DEFAULT_CAPACITY);
+        this.nElements = 0;
+        this.hasZeroKey = false;
+    }
+
+    /**
+     * Creates the empty arrays for the given number of slots
+     * @param capacity number of slots (power of two)
+     */
+    private void allocate(int capacity) {
+        this.keys = new long[capacity];
+        this.values = new long[capacity];
+        this.threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    /**
+     * Returns the value corresponding to the given key.
+     * @param key key used to store the value.
+     * @return value corresponding to the given key.
+     * @throws NoSuchKeyException if the dictionary does not contain the given key.
+     */
+    public long get(long key) {
+        if (key == 0) {
+            if (!this.hasZeroKey) {
+                throw new NoSuchKeyException("Specified key not in the dictionary");
+            }
+            return this.zeroValue;
+        }
+        int index = this.getIndex(key);
+        if (index == -1) {
+            throw new NoSuchKeyException("Specified key not in the dictionary");
+        }
+        return this.values[index];
+    }
+
+    /**
+     * Adds the key-value pair to the dictionary. If the key already exists in the dictionary,
+     * replace its value with the given one.
+     * @param key key used to store the value
+     * @param value value corresponds to the key
+     */
+    public void put(long key, long value) {
+        if (key == 0) {
+            this.hasZeroKey = true;
+            this.zeroValue = value;
+            return;
+        }
+        int mask = this.keys.length - 1;
+        int index = hash(key) & mask;
+        while (this.keys[index] != 0) {
+            if (this.keys[index] == key) {
+                // when the pair already exists, only replace the value
+                this.values[index] = value;
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+        // when key is new
+        this.keys[index] = key;
+        this.values[index] = value;
+        this.nElements++;
+        if (this.nElements > this.threshold) {
+            this.resize();
+        }
+    }
+
+    /**
+     * Doubles the number of slots and re-inserts the pairs into the new table
+     */
+    private void resize() {
+        long[] oldKeys = this.keys;
+        long[] oldValues = this.values;
+        this.allocate(oldKeys.length * 2);
+        int mask = this.keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int index = hash(oldKeys[i]) & mask;
+                while (this.keys[index] != 0) {
+                    index = (index + 1) & mask;
+                }
+                this.keys[index] = oldKeys[i];
+                this.values[index] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Remove the key-value pair corresponding to the given key from the dictionary.
+     * @param key key user wants to remove
+     * @return value corresponds to the key
+     * @throws NoSuchKeyException if the dictionary does not contain the given key.
+     */
+    public long remove(long key) {
+        if (key == 0) {
+            if (!this.hasZeroKey) {
+                throw new NoSuchKeyException("Unable to delete. No such key is found");
+            }
+            this.hasZeroKey = false;
+            return this.zeroValue;
+        }
+        int index = this.getIndex(key);
+        if (index == -1) {
+            throw new NoSuchKeyException("Unable to delete. No such key is found");
+        }
+        // keep the value to return
+        long current = this.values[index];
+        this.shiftBackward(index);
+        this.nElements--;
+        return current;
+    }
+
+    /**
+     * Fills the emptied slot by moving back the following pairs of the probe run
+     * which would not be reachable from their home slot otherwise.
+     * @param hole index of the slot being emptied
+     */
+    private void shiftBackward(int hole) {
+        int mask = this.keys.length - 1;
+        int index = (hole + 1) & mask;
+        while (this.keys[index] != 0) {
+            int home = hash(this.keys[index]) & mask;
+            if (((index - home) & mask) >= ((index - hole) & mask)) {
+                this.keys[hole] = this.keys[index];
+                this.values[hole] = this.values[index];
+                hole = index;
+            }
+            index = (index + 1) & mask;
+        }
+        this.keys[hole] = 0;
+    }
+
+    /**
+     * Returns the index of the given non-zero key.
+     * @param key Key user wants to find
+     * @return index the key resides; -1 if key not in the dictionary
+     */
+    private int getIndex(long key) {
+        int mask = this.keys.length - 1;
+        int index = hash(key) & mask;
+        while (this.keys[index] != 0) {
+            if (this.keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Spreads the bits of the key so that they affect the slot index
+     * @param key key to hash
+     * @return mixed hash code
+     */
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Returns 'true' if the dictionary contains the given key and 'false' otherwise.
+     * @param key key the user wants to search
+     * @return if the given key exists in the dictionary
+     */
+    public boolean containsKey(long key) {
+        if (key == 0) {
+            return this.hasZeroKey;
+        }
+        return this.getIndex(key) != -1;
+    }
+
+    /**
+     * Returns the number of key-value pairs stored in this dictionary.
+     * @return number of pairs in the dictionary
+     */
+    public int size() {
+        return this.hasZeroKey ? this.nElements + 1 : this.nElements;
+    }
+
+    /**
+     * Returns 'true' if the dictionary has no pairs, and 'false' otherwise.
+     * @return If the dictionary is empty
+     */
+    public boolean isEmpty() {
+        return this.size() == 0;
+    }
+}
@@ -0,0 +1,263 @@
+package datastructures.concrete;
+
+import datastructures.concrete.dictionaries.IntIntDictionary;
+import misc.exceptions.EmptyContainerException;
+import misc.exceptions.NoSuchKeyException;
+
+import java.util.Arrays;
+
+/**
+ * LongPriorityHeap class : indexed 4-ary heap of int ids ordered by long
+ * priorities, kept in flat primitive arrays.
+ * <p>
+ * Ids and priorities sit in parallel int and long arrays, so nothing is boxed,
+ * and an IntIntDictionary maps every id to its index for decreaseKey and
+ * remove. add, removeMin, decreaseKey and remove take O(log n), peekMin takes
+ * constant time. Every id may be in the heap at most once; ids with equal
+ * priorities come out in no particular order.
+ * @author Shohei F. Koshiro
+ */
+public class LongPriorityHeap {
+    /** number of children per node */
+    private static final int ARITY = 4;
+
+    /** default number of slots */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** ids in heap order; the children of index i are at 4 * i + 1 to 4 * i + 4 */
+    private int[] ids;
+
+    /** priorities, stored at the same index as their ids */
+    private long[] priorities;
+
+    /** index of every id in the heap arrays */
+    private final IntIntDictionary positions;
+
+    /** Number of ids in the heap */
+    private int size;
+
+    /**
+     * Constructor : creates an empty heap
+     */
+    public LongPriorityHeap() {
+        this.ids = new int[DEFAULT_CAPACITY];
+        this.priorities = new long[DEFAULT_CAPACITY];
+        this.positions = new IntIntDictionary();
+        this.size = 0;
+    }
+
+    /**
+     * Adds the id with the given priority
+     * @param id id to add
+     * @param priority its priority; smaller comes out first
+     * @throws IllegalArgumentException if the id is already in the heap
+     */
+    public void add(int id, long priority) {
+        if (this.positions.containsKey(id)) {
+            throw new IllegalArgumentException("Id already in the heap");
+        }
+        if (this.size == this.ids.length) {
+            this.ids = Arrays.copyOf(this.ids, this.size * 2);
+            this.priorities = Arrays.copyOf(this.priorities, this.size * 2);
+        }
+        this.size++;
+        this.siftUp(this.size - 1, id, priority);
+    }
+
+    /**
+     * Removes the id with the smallest priority and returns it.
+     * @throws EmptyContainerException if the heap is empty.
+     * @return id with the smallest priority
+     */
+    public int removeMin() {
+        int min = this.peekMin();
+        this.removeAt(0);
+        return min;
+    }
+
+    /**
+     * Returns the id with the smallest priority without removing it.
+     * @throws EmptyContainerException if the heap is empty.
+     * @return id with the smallest priority
+     */
+    public int peekMin() {
+        this.checkNotEmpty();
+        return this.ids[0];
+    }
+
+    /**
+     * Returns the smallest priority in the heap.
+     * @throws EmptyContainerException if the heap is empty.
+     * @return priority of the id returned by peekMin
+     */
+    public long peekMinPriority() {
+        this.checkNotEmpty();
+        return this.priorities[0];
+    }
+
+    /**
+     * Lowers the priority of the id
+     * @param id id in the heap
+     * @param priority new priority
+     * @throws NoSuchKeyException if the id is not in the heap
+     * @throws IllegalArgumentException if the new priority is greater than the current one
+     */
+    public void decreaseKey(int id, long priority) {
+        int index = this.indexOf(id);
+        if (priority > this.priorities[index]) {
+            throw new IllegalArgumentException("New priority is greater than the old one");
+        }
+        this.siftUp(index, id, priority);
+    }
+
+    /**
+     * Removes the id from the heap
+     * @param id id to remove
+     * @return its priority
+     * @throws NoSuchKeyException if the id is not in the heap
+     */
+    public long remove(int id) {
+        int index = this.indexOf(id);
+        long priority = this.priorities[index];
+        this.removeAt(index);
+        return priority;
+    }
+
+    /**
+     * Returns the priority of the id
+     * @param id id in the heap
+     * @return its priority
+     * @throws NoSuchKeyException if the id is not in the heap
+     */
+    public long priority(int id) {
+        return this.priorities[this.indexOf(id)];
+    }
+
+    /**
+     * Returns 'true' if the id is in the heap, and 'false' otherwise.
+     * @param id id to look for
+     * @return If the heap contains the id
+     */
+    public boolean contains(int id) {
+        return this.positions.containsKey(id);
+    }
+
+    /**
+     * Returns the number of ids in the heap.
+     * @return The size of the heap
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns 'true' if the heap has no ids, and 'false' otherwise.
+     * @return If the heap is empty
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Removes the entry at the index of the heap arrays
+     * @param index index of the entry (must be valid)
+     */
+    private void removeAt(int index) {
+        this.positions.remove(this.ids[index]);
+        this.size--;
+        if (index == this.size) {
+            return;
+        }
+        // the last entry fills the hole and moves whichever way it belongs
+        int lastId = this.ids[this.size];
+        long lastPriority = this.priorities[this.size];
+        if (index > 0 && lastPriority < this.priorities[(index - 1) / ARITY]) {
+            this.siftUp(index, lastId, lastPriority);
+        } else {
+            this.siftDown(index, lastId, lastPriority);
+        }
+    }
+
+    /**
+     * Places the entry at the index or above it, moving larger parents down
+     * @param index index of the hole to fill
+     * @param id id to place
+     * @param priority its priority
+     */
+    private void siftUp(int index, int id, long priority) {
+        while (index > 0) {
+            int parent = (index - 1) / ARITY;
+            if (priority >= this.priorities[parent]) {
+                break;
+            }
+            this.place(index, this.ids[parent], this.priorities[parent]);
+            index = parent;
+        }
+        this.place(index, id, priority);
+    }
+
+    /**
+     * Places the entry at the index or below it, moving smaller children up
+     * @param index index of the hole to fill
+     * @param id id to place
+     * @param priority its priority
+     */
+    private void siftDown(int index, int id, long priority) {
+        while (true) {
+            int first = ARITY * index + 1;
+            if (first >= this.size) {
+                break;
+            }
+            // find the smallest child
+            int smallest = first;
+            int end = Math.min(first + ARITY, this.size);
+            for (int child = first + 1; child < end; child++) {
+                if (this.priorities[child] < this.priorities[smallest]) {
+                    smallest = child;
+                }
+            }
+            if (this.priorities[smallest] >= priority) {
+                break;
+            }
+            this.place(index, this.ids[smallest], this.priorities[smallest]);
+            index = smallest;
+        }
+        this.place(index, id, priority);
+    }
+
+    /**
+     * Stores the entry at the index and records where the id is
+     * @param index index in the heap arrays
+     * @param id id to store
+     * @param priority its priority
+     */
+    private void place(int index, int id, long priority) {
+        this.ids[index] = id;
+        this.priorities[index] = priority;
+        this.positions.put(id, index);
+    }
+
+    /**
+     * Returns the index of the id in the heap arrays
+     * @param id id to look for
+     * @return index of the id
+     * @throws NoSuchKeyException if the id is not in the heap
+     */
+    private int indexOf(int id) {
+        int index = this.positions.getOrDefault(id, -1);
+        if (index == -1) {
+            throw new NoSuchKeyException("Specified id not in the heap");
+        }
+        return index;
+    }
+
+    /**
+     * Checks that the heap has an entry
+     * @throws EmptyContainerException if the heap is empty.
+     */
+    private void checkNotEmpty() {
+        if (this.size == 0) {
+            throw new EmptyContainerException("Heap empty : no items to remove.");
+        }
+    }
+}
@@ -0,0 +1,758 @@
+package datastructures.concrete.dictionaries;
+
+import datastructures.interfaces.ICodec;
+import datastructures.interfaces.IDictionary;
+import misc.exceptions.NoSuchKeyException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Mapped Dictionary class : dictionary persisted in two memory-mapped files.
+ * <p>
+ * The log file (base path + ".log") holds the serialized pairs. Every put
+ * appends a record, so old versions of a pair stay behind as dead bytes until
+ * compaction rewrites the log with the live records only. This happens
+ * automatically once dead bytes outweigh live bytes, or through compact().
+ * The log is mapped one fixed-size segment at a time, on first access, and a
+ * record never crosses a segment boundary.
+ * <p>
+ * The index file (base path + ".idx") is an open-addressing hash table of
+ * record offsets with linear probing and backward-shift deletion, as in
+ * HashDictionary. Opening a dictionary only maps the index, so its cost does
+ * not depend on the number of pairs; pages are read in by the OS as lookups
+ * touch them.
+ * <p>
+ * Compaction writes the new log and the new index to temporary files
+ * (".log.compact", ".idx.compact") and commits by moving the new index into
+ * place. That index is marked as waiting for its log, which is moved into
+ * place next; if the process dies in between, opening the dictionary finishes
+ * the move. A crash before the commit leaves the old files untouched.
+ * <p>
+ * Changes reach the disk when the OS writes the mapped pages back, and at the
+ * latest on flush() or close(). Null keys are not allowed; null values are.
+ * The dictionary is not thread-safe.
+ * @author Shohei F. Koshiro
+ *
+ * @param <K> Generic type for key
+ * @param <V> Generic type for value
+ */
+public class MappedDictionary<K, V> implements IDictionary<K, V>, Closeable {
+    /** default size of a log segment (64 MiB) */
+    public static final int DEFAULT_SEGMENT_SIZE = 64 << 20;
+
+    /** first four bytes of an index file */
+    private static final int MAGIC = 0x4D444958;
+
+    /** version of the file layout */
+    private static final int VERSION = 1;
+
+    /** bytes before the first index slot */
+    private static final int HEADER_SIZE = 64;
+
+    /** bytes per index slot : record offset + 1 (0 when empty), key hash, unused */
+    private static final int SLOT_SIZE = 16;
+
+    /** initial number of index slots */
+    private static final int INITIAL_SLOTS = 1024;
+
+    /** ratio of pairs to slots which triggers growing the index */
+    private static final double LOAD_FACTOR = 0.7;
+
+    /** bytes in front of the key and value of a record : key length, value length */
+    private static final int RECORD_HEADER = 8;
+
+    /** key length marking the unused rest of a segment */
+    private static final int PADDING = -1;
+
+    /** value length marking a null value */
+    private static final int NULL_VALUE = -1;
+
+    /** log size below which automatic compaction never runs */
+    private static final long MIN_COMPACTION_SIZE = 1 << 20;
+
+    /** header positions */
+    private static final int MAGIC_POS = 0;
+    private static final int VERSION_POS = 4;
+    private static final int SLOTS_POS = 8;
+    private static final int SIZE_POS = 12;
+    private static final int SEGMENT_SIZE_POS = 16;
+    private static final int LOG_END_POS = 24;
+    private static final int DEAD_BYTES_POS = 32;
+    private static final int LOG_PENDING_POS = 40;
+
+    /** path of the log file */
+    private final Path logPath;
+
+    /** path of the index file */
+    private final Path indexPath;
+
+    /** converts keys to bytes */
+    private final ICodec<K> keyCodec;
+
+    /** converts values to bytes */
+    private final ICodec<V> valueCodec;
+
+    /** size of a log segment */
+    private final int segmentSize;
+
+    /** channel of the log file */
+    private FileChannel logChannel;
+
+    /** mapped log segments; null until first accessed */
+    private ArrayList<MappedByteBuffer> segments;
+
+    /** channel of the index file */
+    private FileChannel indexChannel;
+
+    /** mapped index file */
+    private MappedByteBuffer index;
+
+    /** number of index slots (power of two) */
+    private int slots;
+
+    /** if close() has been called */
+    private boolean closed;
+
+    /**
+     * Constructor : opens the dictionary stored at the base path, or creates an
+     * empty one, with the default segment size
+     * @param basePath path of the files without the ".log"/".idx" extension
+     * @param keyCodec converts keys to bytes
+     * @param valueCodec converts values to bytes
+     * @throws IOException if the files cannot be opened or the index is corrupt
+     */
+    public MappedDictionary(Path basePath, ICodec<K> keyCodec, ICodec<V> valueCodec) throws IOException {
+        this(basePath, keyCodec, valueCodec, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Constructor : opens the dictionary stored at the base path, or creates an empty one
+     * @param basePath path of the files without the ".log"/".idx" extension
+     * @param keyCodec converts keys to bytes
+     * @param valueCodec converts values to bytes
+     * @param segmentSize size of a log segment for a new dictionary; an existing
+     *        dictionary keeps the size it was created with
+     * @throws IOException if the files cannot be opened or the index is corrupt
+     * @throws IllegalArgumentException if the segment size is too small
+     */
+    public MappedDictionary(Path basePath, ICodec<K> keyCodec, ICodec<V> valueCodec, int segmentSize)
+            throws IOException {
+        if (segmentSize < 2 * RECORD_HEADER) {
+            throw new IllegalArgumentException("Segment size is too small");
+        }
+        this.logPath = basePath.resolveSibling(basePath.getFileName() + ".log");
+        this.indexPath = basePath.resolveSibling(basePath.getFileName() + ".idx");
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        boolean exists = Files.exists(this.indexPath);
+        this.openIndex();
+        if (exists) {
+            if (this.index.getInt(MAGIC_POS) != MAGIC || this.index.getInt(VERSION_POS) != VERSION) {
+                this.indexChannel.close();
+                throw new IOException("Not a mapped dictionary index : " + this.indexPath);
+            }
+            this.segmentSize = (int) this.index.getLong(SEGMENT_SIZE_POS);
+        } else {
+            this.segmentSize = segmentSize;
+            this.index.putLong(SEGMENT_SIZE_POS, segmentSize);
+        }
+        this.finishCompaction();
+        this.openLog();
+        this.closed = false;
+    }
+
+    /**
+     * Returns the value corresponding to the given key.
+     * @param key key used to store the value.
+     * @return value corresponding to the given key.
+     * @throws NoSuchKeyException if the dictionary does not contain the given key.
+     */
+    @Override
+    public V get(K key) {
+        byte[] keyBytes = this.encodeKey(key);
+        int slot = this.findSlot(keyBytes, hash(keyBytes));
+        if (this.slotOffset(slot) < 0) {
+            throw new NoSuchKeyException("Specified key not in the dictionary");
+        }
+        byte[] valueBytes = this.readValue(this.slotOffset(slot));
+        return valueBytes == null ? null : this.valueCodec.decode(valueBytes);
+    }
+
+    /**
+     * Adds the key-value pair to the dictionary. If the key already exists in the dictionary,
+     * replace its value with the given one.
+     * @param key key used to store the value
+     * @param value value corresponds to the key
+     * @throws IllegalArgumentException if the key is null or the record does not fit in a segment
+     */
+    @Override
+    public void put(K key, V value) {
+        byte[] keyBytes = this.encodeKey(key);
+        byte[] valueBytes = value == null ? null : this.valueCodec.encode(value);
+        int h = hash(keyBytes);
+        int slot = this.findSlot(keyBytes, h);
+        long oldOffset = this.slotOffset(slot);
+        long offset = this.append(keyBytes, valueBytes);
+        if (oldOffset >= 0) {
+            // the old record stays in the log until compaction
+            this.addDeadBytes(this.recordLength(oldOffset));
+            this.setSlot(slot, offset, h);
+        } else {
+            this.setSlot(slot, offset, h);
+            this.index.putInt(SIZE_POS, this.size() + 1);
+            if (this.size() > this.slots * LOAD_FACTOR) {
+                this.growIndex();
+            }
+        }
+        this.compactIfWasteful();
+    }
+
+    /**
+     * Remove the key-value pair corresponding to the given key from the dictionary.
+     * @param key key user wants to remove
+     * @return value corresponds to the key
+     * @throws NoSuchKeyException if the dictionary does not contain the given key.
+     */
+    @Override
+    public V remove(K key) {
+        byte[] keyBytes = this.encodeKey(key);
+        int slot = this.findSlot(keyBytes, hash(keyBytes));
+        long offset = this.slotOffset(slot);
+        if (offset < 0) {
+            throw new NoSuchKeyException("Unable to delete. No such key is found");
+        }
+        byte[] valueBytes = this.readValue(offset);
+        this.addDeadBytes(this.recordLength(offset));
+        this.shiftBackward(slot);
+        this.index.putInt(SIZE_POS, this.size() - 1);
+        this.compactIfWasteful();
+        return valueBytes == null ? null : this.valueCodec.decode(valueBytes);
+    }
+
+    /**
+     * Returns 'true' if the dictionary contains the given key and 'false' otherwise.
+     * @param key key the user wants to search
+     * @return if the given key exists in the dictionary
+     */
+    @Override
+    public boolean containsKey(K key) {
+        byte[] keyBytes = this.encodeKey(key);
+        return this.slotOffset(this.findSlot(keyBytes, hash(keyBytes))) >= 0;
+    }
+
+    /**
+     * Returns the number of key-value pairs stored in this dictionary.
+     * @return number of pairs in the dictionary
+     */
+    @Override
+    public int size() {
+        this.checkOpen();
+        return this.index.getInt(SIZE_POS);
+    }
+
+    /**
+     * Writes all changes to the disk
+     */
+    public void flush() {
+        this.checkOpen();
+        this.index.force();
+        for (MappedByteBuffer segment : this.segments) {
+            if (segment != null) {
+                segment.force();
+            }
+        }
+    }
+
+    /**
+     * Writes all changes to the disk and closes the files. The mapped memory is
+     * released once the buffers are garbage collected.
+     * @throws IOException if a file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        this.flush();
+        this.closed = true;
+        this.logChannel.close();
+        this.indexChannel.close();
+        this.segments = null;
+        this.index = null;
+    }
+
+    /**
+     * Rewrites the log with the live records only and drops the dead bytes.
+     * The new log may be longer than the live bytes because records never
+     * cross a segment boundary.
+     */
+    public void compact() {
+        this.checkOpen();
+        Path tempLogPath = compactPath(this.logPath);
+        Path tempIndexPath = compactPath(this.indexPath);
+        FileChannel oldLogChannel = this.logChannel;
+        ArrayList<MappedByteBuffer> oldSegments = this.segments;
+        FileChannel oldIndexChannel = this.indexChannel;
+        MappedByteBuffer oldIndex = this.index;
+        FileChannel newLogChannel = null;
+        FileChannel newIndexChannel = null;
+        try {
+            // the new index starts as a copy of the old one and gets the new offsets
+            Files.deleteIfExists(tempLogPath);
+            Files.deleteIfExists(tempIndexPath);
+            this.index.force();
+            Files.copy(this.indexPath, tempIndexPath);
+            newIndexChannel = FileChannel.open(tempIndexPath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.indexChannel = newIndexChannel;
+            this.index = newIndexChannel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    HEADER_SIZE + (long) this.slots * SLOT_SIZE);
+            newLogChannel = FileChannel.open(tempLogPath, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.logChannel = newLogChannel;
+            this.segments = new ArrayList<>();
+            this.index.putLong(LOG_END_POS, 0);
+            for (int slot = 0; slot < this.slots; slot++) {
+                long offset = this.slotOffset(slot);
+                if (offset >= 0) {
+                    byte[] keyBytes = readBytes(oldSegments, oldLogChannel, offset + RECORD_HEADER,
+                            this.recordInt(oldSegments, oldLogChannel, offset));
+                    int valueLength = this.recordInt(oldSegments, oldLogChannel, offset + 4);
+                    byte[] valueBytes = valueLength == NULL_VALUE ? null : readBytes(oldSegments, oldLogChannel,
+                            offset + RECORD_HEADER + keyBytes.length, valueLength);
+                    this.setSlot(slot, this.append(keyBytes, valueBytes), this.slotHash(slot));
+                }
+            }
+            this.index.putLong(DEAD_BYTES_POS, 0);
+            this.index.putInt(LOG_PENDING_POS, 1);
+            for (MappedByteBuffer segment : this.segments) {
+                segment.force();
+            }
+            this.index.force();
+            newLogChannel.close();
+            newIndexChannel.close();
+        } catch (IOException | RuntimeException e) {
+            // nothing is committed yet : go back to the old files
+            closeQuietly(newLogChannel);
+            closeQuietly(newIndexChannel);
+            this.logChannel = oldLogChannel;
+            this.segments = oldSegments;
+            this.indexChannel = oldIndexChannel;
+            this.index = oldIndex;
+            deleteQuietly(tempLogPath);
+            deleteQuietly(tempIndexPath);
+            if (e instanceof IOException) {
+                throw new UncheckedIOException((IOException) e);
+            }
+            throw (RuntimeException) e;
+        }
+        try {
+            oldLogChannel.close();
+            oldIndexChannel.close();
+            // commit point : from here on the new index is used, and it brings its log along
+            Files.move(tempIndexPath, this.indexPath, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            this.openIndex();
+            this.finishCompaction();
+            this.openLog();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Moves the compacted log into place if the index is waiting for it, and
+     * removes the files of a compaction which was never committed
+     * @throws IOException if a file cannot be moved or deleted
+     */
+    private void finishCompaction() throws IOException {
+        Path tempLogPath = compactPath(this.logPath);
+        if (this.index.getInt(LOG_PENDING_POS) != 0) {
+            // the log may already have been moved before a crash
+            if (Files.exists(tempLogPath)) {
+                Files.move(tempLogPath, this.logPath, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            }
+            this.index.putInt(LOG_PENDING_POS, 0);
+            this.index.force();
+        } else {
+            Files.deleteIfExists(tempLogPath);
+        }
+        Files.deleteIfExists(compactPath(this.indexPath));
+    }
+
+    /**
+     * Returns the path of the temporary file written by compaction
+     * @param path path of the log or index file
+     * @return path of its temporary copy
+     */
+    private static Path compactPath(Path path) {
+        return path.resolveSibling(path.getFileName() + ".compact");
+    }
+
+    /**
+     * Closes the channel, ignoring errors
+     * @param channel channel to close (may be null)
+     */
+    private static void closeQuietly(FileChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // already failing : the first error is the one reported
+            }
+        }
+    }
+
+    /**
+     * Deletes the file, ignoring errors
+     * @param path file to delete
+     */
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            // already failing : the first error is the one reported
+        }
+    }
+
+    /**
+     * Compacts the log when dead bytes outweigh live bytes
+     */
+    private void compactIfWasteful() {
+        long dead = this.index.getLong(DEAD_BYTES_POS);
+        if (this.logEnd() >= MIN_COMPACTION_SIZE && dead > this.logEnd() - dead) {
+            this.compact();
+        }
+    }
+
+    /**
+     * Encodes a non-null key
+     * @param key key to encode
+     * @return encoded key
+     * @throws IllegalArgumentException if the key is null
+     */
+    private byte[] encodeKey(K key) {
+        this.checkOpen();
+        if (key == null) {
+            throw new IllegalArgumentException("MappedDictionary does not accept null keys");
+        }
+        return this.keyCodec.encode(key);
+    }
+
+    /**
+     * Rejects use after close()
+     * @throws IllegalStateException if the dictionary is closed
+     */
+    private void checkOpen() {
+        if (this.closed) {
+            throw new IllegalStateException("Dictionary is closed");
+        }
+    }
+
+    /**
+     * Mixes the hash code of the key bytes
+     * @param keyBytes encoded key
+     * @return mixed hash code
+     */
+    private static int hash(byte[] keyBytes) {
+        int h = Arrays.hashCode(keyBytes) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    // ---- index ----
+
+    /**
+     * Opens and maps the index file, initializing the header of a new file
+     * @throws IOException if the file cannot be opened
+     */
+    private void openIndex() throws IOException {
+        this.indexChannel = FileChannel.open(this.indexPath, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        boolean isNew = this.indexChannel.size() == 0;
+        int nSlots = INITIAL_SLOTS;
+        if (!isNew) {
+            MappedByteBuffer header = this.indexChannel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            nSlots = header.getInt(SLOTS_POS);
+        }
+        this.index = this.indexChannel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) nSlots * SLOT_SIZE);
+        this.slots = nSlots;
+        if (isNew) {
+            this.index.putInt(MAGIC_POS, MAGIC);
+            this.index.putInt(VERSION_POS, VERSION);
+            this.index.putInt(SLOTS_POS, nSlots);
+        }
+    }
+
+    /**
+     * Returns the slot holding the key, or the empty slot where it would be added
+     * @param keyBytes encoded key
+     * @param h mixed hash of the key
+     * @return slot index
+     */
+    private int findSlot(byte[] keyBytes, int h) {
+        int mask = this.slots - 1;
+        int slot = h & mask;
+        while (this.slotOffset(slot) >= 0) {
+            if (this.slotHash(slot) == h && this.keyEquals(this.slotOffset(slot), keyBytes)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Returns the record offset stored in the slot
+     * @param slot slot index
+     * @return record offset; -1 if the slot is empty
+     */
+    private long slotOffset(int slot) {
+        return this.index.getLong(HEADER_SIZE + slot * SLOT_SIZE) - 1;
+    }
+
+    /**
+     * Returns the key hash stored in the slot
+     * @param slot slot index
+     * @return mixed hash of the key
+     */
+    private int slotHash(int slot) {
+        return this.index.getInt(HEADER_SIZE + slot * SLOT_SIZE + 8);
+    }
+
+    /**
+     * Stores a record offset and key hash in the slot
+     * @param slot slot index
+     * @param offset record offset (-1 to empty the slot)
+     * @param h mixed hash of the key
+     */
+    private void setSlot(int slot, long offset, int h) {
+        this.index.putLong(HEADER_SIZE + slot * SLOT_SIZE, offset + 1);
+        this.index.putInt(HEADER_SIZE + slot * SLOT_SIZE + 8, h);
+    }
+
+    /**
+     * Fills the emptied slot by moving back the following slots of the probe run
+     * which would not be reachable from their home slot otherwise.
+     * @param hole slot being emptied
+     */
+    private void shiftBackward(int hole) {
+        int mask = this.slots - 1;
+        int slot = (hole + 1) & mask;
+        while (this.slotOffset(slot) >= 0) {
+            int home = this.slotHash(slot) & mask;
+            if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+                this.setSlot(hole, this.slotOffset(slot), this.slotHash(slot));
+                hole = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        this.setSlot(hole, -1, 0);
+    }
+
+    /**
+     * Doubles the number of index slots. The new index is written to a temporary
+     * file which then replaces the index file.
+     */
+    private void growIndex() {
+        Path tempPath = this.indexPath.resolveSibling(this.indexPath.getFileName() + ".grow");
+        try {
+            Files.deleteIfExists(tempPath);
+            int newSlots = this.slots * 2;
+            MappedByteBuffer newIndex;
+            try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                newIndex = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) newSlots * SLOT_SIZE);
+            }
+            for (int i = 0; i < HEADER_SIZE; i++) {
+                newIndex.put(i, this.index.get(i));
+            }
+            newIndex.putInt(SLOTS_POS, newSlots);
+            int mask = newSlots - 1;
+            for (int slot = 0; slot < this.slots; slot++) {
+                long stored = this.index.getLong(HEADER_SIZE + slot * SLOT_SIZE);
+                if (stored != 0) {
+                    int h = this.slotHash(slot);
+                    int target = h & mask;
+                    while (newIndex.getLong(HEADER_SIZE + target * SLOT_SIZE) != 0) {
+                        target = (target + 1) & mask;
+                    }
+                    newIndex.putLong(HEADER_SIZE + target * SLOT_SIZE, stored);
+                    newIndex.putInt(HEADER_SIZE + target * SLOT_SIZE + 8, h);
+                }
+            }
+            newIndex.force();
+            this.indexChannel.close();
+            Files.move(tempPath, this.indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            this.openIndex();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ---- log ----
+
+    /**
+     * Opens the log file; segments are mapped when first accessed
+     * @throws IOException if the file cannot be opened
+     */
+    private void openLog() throws IOException {
+        this.logChannel = FileChannel.open(this.logPath, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.segments = new ArrayList<>();
+    }
+
+    /**
+     * Returns the offset where the next record goes
+     * @return end of the log
+     */
+    private long logEnd() {
+        return this.index.getLong(LOG_END_POS);
+    }
+
+    /**
+     * Adds to the number of bytes held by dead records
+     * @param bytes bytes of the records which died
+     */
+    private void addDeadBytes(long bytes) {
+        this.index.putLong(DEAD_BYTES_POS, this.index.getLong(DEAD_BYTES_POS) + bytes);
+    }
+
+    /**
+     * Returns the mapped segment, mapping it first if needed
+     * @param list mapped segments of the log
+     * @param channel channel of the log
+     * @param number segment number
+     * @return mapped segment
+     */
+    private MappedByteBuffer segment(ArrayList<MappedByteBuffer> list, FileChannel channel, int number) {
+        while (list.size() <= number) {
+            list.add(null);
+        }
+        MappedByteBuffer segment = list.get(number);
+        if (segment == null) {
+            try {
+                segment = channel.map(FileChannel.MapMode.READ_WRITE, (long) number * this.segmentSize,
+                        this.segmentSize);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            list.set(number, segment);
+        }
+        return segment;
+    }
+
+    /**
+     * Appends a record to the log, starting a new segment if it does not fit in the current one
+     * @param keyBytes encoded key
+     * @param valueBytes encoded value (null for a null value)
+     * @return offset of the record
+     * @throws IllegalArgumentException if the record is larger than a segment
+     */
+    private long append(byte[] keyBytes, byte[] valueBytes) {
+        int valueLength = valueBytes == null ? NULL_VALUE : valueBytes.length;
+        long length = (long) RECORD_HEADER + keyBytes.length + Math.max(valueLength, 0);
+        if (length > this.segmentSize) {
+            throw new IllegalArgumentException("Record of " + length + " bytes does not fit in a log segment");
+        }
+        long offset = this.logEnd();
+        int position = (int) (offset % this.segmentSize);
+        if (position + length > this.segmentSize) {
+            // mark the rest of the segment as unused
+            if (this.segmentSize - position >= 4) {
+                this.segment(this.segments, this.logChannel, (int) (offset / this.segmentSize))
+                        .putInt(position, PADDING);
+            }
+            offset += this.segmentSize - position;
+            position = 0;
+        }
+        MappedByteBuffer segment = this.segment(this.segments, this.logChannel, (int) (offset / this.segmentSize));
+        segment.putInt(position, keyBytes.length);
+        segment.putInt(position + 4, valueLength);
+        segment.put(position + RECORD_HEADER, keyBytes);
+        if (valueBytes != null) {
+            segment.put(position + RECORD_HEADER + keyBytes.length, valueBytes);
+        }
+        this.index.putLong(LOG_END_POS, offset + length);
+        return offset;
+    }
+
+    /**
+     * Reads an int of a record in the given log
+     * @param list mapped segments of the log
+     * @param channel channel of the log
+     * @param offset position in the log
+     * @return the int at the position
+     */
+    private int recordInt(ArrayList<MappedByteBuffer> list, FileChannel channel, long offset) {
+        return this.segment(list, channel, (int) (offset / this.segmentSize)).getInt((int) (offset % this.segmentSize));
+    }
+
+    /**
+     * Reads bytes of a record in the given log
+     * @param list mapped segments of the log
+     * @param channel channel of the log
+     * @param offset position in the log
+     * @param length number of bytes
+     * @return the bytes at the position
+     */
+    private byte[] readBytes(ArrayList<MappedByteBuffer> list, FileChannel channel, long offset, int length) {
+        byte[] bytes = new byte[length];
+        this.segment(list, channel, (int) (offset / this.segmentSize)).get((int) (offset % this.segmentSize), bytes);
+        return bytes;
+    }
+
+    /**
+     * Returns the value bytes of the record
+     * @param offset record offset
+     * @return encoded value; null for a null value
+     */
+    private byte[] readValue(long offset) {
+        int keyLength = this.recordInt(this.segments, this.logChannel, offset);
+        int valueLength = this.recordInt(this.segments, this.logChannel, offset + 4);
+        if (valueLength == NULL_VALUE) {
+            return null;
+        }
+        return this.readBytes(this.segments, this.logChannel, offset + RECORD_HEADER + keyLength, valueLength);
+    }
+
+    /**
+     * Returns the number of bytes taken by the record
+     * @param offset record offset
+     * @return record length
+     */
+    private long recordLength(long offset) {
+        int keyLength = this.recordInt(this.segments, this.logChannel, offset);
+        int valueLength = this.recordInt(this.segments, this.logChannel, offset + 4);
+        return RECORD_HEADER + keyLength + Math.max(valueLength, 0);
+    }
+
+    /**
+     * Compares the key of the record with the given bytes without copying it
+     * @param offset record offset
+     * @param keyBytes encoded key
+     * @return if the record holds the key
+     */
+    private boolean keyEquals(long offset, byte[] keyBytes) {
+        MappedByteBuffer segment = this.segment(this.segments, this.logChannel, (int) (offset / this.segmentSize));
+        int position = (int) (offset % this.segmentSize);
+        if (segment.getInt(position) != keyBytes.length) {
+            return false;
+        }
+        for (int i = 0; i < keyBytes.length; i++) {
+            if (segment.get(position + RECORD_HEADER + i) != keyBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
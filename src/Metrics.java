@@ -0,0 +1,88 @@
+package misc.metrics;
+
+/**
+ * Metrics class : opt-in switch and dispatch point for hot-path counters.
+ * Counting is turned on by starting the JVM with -Ddatastructures.metrics=true.
+ * ENABLED is a static final constant, so when it is off the JIT removes the
+ * guarded calls and the data structures pay nothing.
+ * @author Shohei F. Koshiro
+ */
+public final class Metrics {
+    /** if the data structures report their counters */
+    public static final boolean ENABLED = Boolean.getBoolean("datastructures.metrics");
+
+    /** receiver of the counters; null to drop them */
+    private static volatile IMetricsListener listener = null;
+
+    /**
+     * Constructor : not to be instantiated
+     */
+    private Metrics() {
+    }
+
+    /**
+     * Sets the receiver of the counters
+     * @param newListener receiver of the counters (null to drop them)
+     */
+    public static void setListener(IMetricsListener newListener) {
+        listener = newListener;
+    }
+
+    /**
+     * Returns the receiver of the counters
+     * @return current listener; null if none is set
+     */
+    public static IMetricsListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Reports the length of a key lookup
+     * @param structure name of the data structure class
+     * @param length number of entries or slots compared
+     */
+    public static void scan(String structure, int length) {
+        IMetricsListener current = listener;
+        if (current != null) {
+            current.onScan(structure, length);
+        }
+    }
+
+    /**
+     * Reports the number of links followed to reach an index
+     * @param structure name of the data structure class
+     * @param hops number of links followed
+     */
+    public static void traversal(String structure, int hops) {
+        IMetricsListener current = listener;
+        if (current != null) {
+            current.onTraversal(structure, hops);
+        }
+    }
+
+    /**
+     * Reports a resize of the backing storage
+     * @param structure name of the data structure class
+     * @param oldCapacity capacity before the resize
+     * @param newCapacity capacity after the resize
+     * @param nanos time spent copying, in nanoseconds
+     */
+    public static void resize(String structure, int oldCapacity, int newCapacity, long nanos) {
+        IMetricsListener current = listener;
+        if (current != null) {
+            current.onResize(structure, oldCapacity, newCapacity, nanos);
+        }
+    }
+
+    /**
+     * Reports per-element allocations
+     * @param structure name of the data structure class
+     * @param count number of objects allocated
+     */
+    public static void allocation(String structure, int count) {
+        IMetricsListener current = listener;
+        if (current != null) {
+            current.onAllocation(structure, count);
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package misc.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * MetricsRecorder class : listener which adds up the counters of every data
+ * structure separately, so that the structures causing long scans, long walks
+ * or many resizes can be told apart.
+ * Install it with Metrics.setListener(new MetricsRecorder()) and read the
+ * counters of a structure with getCounters at any time.
+ * @author Shohei F. Koshiro
+ */
+public class MetricsRecorder implements IMetricsListener {
+    /** counters of every structure which reported something, by structure name */
+    private final ConcurrentHashMap<String, Counters> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Adds the lookup to the scan counters of the structure
+     */
+    @Override
+    public void onScan(String structure, int length) {
+        Counters c = this.countersOf(structure);
+        c.scans.increment();
+        c.scanLength.add(length);
+        c.maxScanLength.accumulateAndGet(length, Math::max);
+    }
+
+    /**
+     * Adds the index walk to the traversal counters of the structure
+     */
+    @Override
+    public void onTraversal(String structure, int hops) {
+        Counters c = this.countersOf(structure);
+        c.traversals.increment();
+        c.traversalHops.add(hops);
+        c.maxTraversalHops.accumulateAndGet(hops, Math::max);
+    }
+
+    /**
+     * Adds the resize to the resize counters of the structure
+     */
+    @Override
+    public void onResize(String structure, int oldCapacity, int newCapacity, long nanos) {
+        Counters c = this.countersOf(structure);
+        c.resizes.increment();
+        c.resizeNanos.add(nanos);
+    }
+
+    /**
+     * Adds the objects to the allocation counter of the structure
+     */
+    @Override
+    public void onAllocation(String structure, int count) {
+        this.countersOf(structure).allocations.add(count);
+    }
+
+    /**
+     * Returns the names of the structures which reported counters
+     * @return structure names
+     */
+    public Set<String> getStructures() {
+        return Collections.unmodifiableSet(this.counters.keySet());
+    }
+
+    /**
+     * Returns the counters of the structure. They keep counting, so they can
+     * be held on to and read again later.
+     * @param structure name of the data structure class
+     * @return counters of the structure (all 0 if it reported nothing yet)
+     */
+    public Counters getCounters(String structure) {
+        return this.countersOf(structure);
+    }
+
+    /**
+     * Resets the counters of every structure to 0
+     */
+    public void reset() {
+        for (Counters c : this.counters.values()) {
+            c.reset();
+        }
+    }
+
+    /**
+     * toString method
+     * @return String representation of the counters, one line per structure
+     */
+    @Override
+    public String toString() {
+        StringBuilder print = new StringBuilder();
+        for (Map.Entry<String, Counters> entry : new TreeMap<>(this.counters).entrySet()) {
+            if (print.length() > 0) {
+                print.append('\n');
+            }
+            print.append(entry.getKey()).append(" : ").append(entry.getValue());
+        }
+        return print.toString();
+    }
+
+    /**
+     * Returns the counters of the structure, creating them on first use
+     * @param structure name of the data structure class
+     * @return counters of the structure
+     */
+    private Counters countersOf(String structure) {
+        Counters c = this.counters.get(structure);
+        return c != null ? c : this.counters.computeIfAbsent(structure, name -> new Counters());
+    }
+
+    /**
+     * Counters class : counters reported by one data structure
+     */
+    public static final class Counters {
+        /** number of lookups */
+        private final LongAdder scans = new LongAdder();
+
+        /** entries or slots compared over all lookups */
+        private final LongAdder scanLength = new LongAdder();
+
+        /** longest lookup */
+        private final AtomicLong maxScanLength = new AtomicLong();
+
+        /** number of index walks */
+        private final LongAdder traversals = new LongAdder();
+
+        /** links followed over all index walks */
+        private final LongAdder traversalHops = new LongAdder();
+
+        /** longest index walk */
+        private final AtomicLong maxTraversalHops = new AtomicLong();
+
+        /** number of resizes */
+        private final LongAdder resizes = new LongAdder();
+
+        /** time spent resizing, in nanoseconds */
+        private final LongAdder resizeNanos = new LongAdder();
+
+        /** per-element objects allocated */
+        private final LongAdder allocations = new LongAdder();
+
+        /**
+         * Constructor : creates counters which are all 0
+         */
+        private Counters() {
+        }
+
+        /**
+         * Returns the number of lookups
+         * @return scan count
+         */
+        public long getScanCount() {
+            return this.scans.sum();
+        }
+
+        /**
+         * Returns the average number of entries or slots compared per lookup
+         * @return average scan length (0 if there was no lookup)
+         */
+        public double getAverageScanLength() {
+            long count = this.scans.sum();
+            return count == 0 ? 0 : (double) this.scanLength.sum() / count;
+        }
+
+        /**
+         * Returns the longest lookup
+         * @return maximum scan length
+         */
+        public long getMaxScanLength() {
+            return this.maxScanLength.get();
+        }
+
+        /**
+         * Returns the number of index walks
+         * @return traversal count
+         */
+        public long getTraversalCount() {
+            return this.traversals.sum();
+        }
+
+        /**
+         * Returns the average number of links followed per index walk
+         * @return average hops (0 if there was no walk)
+         */
+        public double getAverageTraversalHops() {
+            long count = this.traversals.sum();
+            return count == 0 ? 0 : (double) this.traversalHops.sum() / count;
+        }
+
+        /**
+         * Returns the longest index walk
+         * @return maximum hops
+         */
+        public long getMaxTraversalHops() {
+            return this.maxTraversalHops.get();
+        }
+
+        /**
+         * Returns the number of resizes
+         * @return resize count
+         */
+        public long getResizeCount() {
+            return this.resizes.sum();
+        }
+
+        /**
+         * Returns the time spent resizing
+         * @return total resize time in nanoseconds
+         */
+        public long getResizeNanos() {
+            return this.resizeNanos.sum();
+        }
+
+        /**
+         * Returns the number of per-element objects allocated
+         * @return allocation count
+         */
+        public long getAllocationCount() {
+            return this.allocations.sum();
+        }
+
+        /**
+         * Resets every counter to 0
+         */
+        public void reset() {
+            this.scans.reset();
+            this.scanLength.reset();
+            this.maxScanLength.set(0);
+            this.traversals.reset();
+            this.traversalHops.reset();
+            this.maxTraversalHops.set(0);
+            this.resizes.reset();
+            this.resizeNanos.reset();
+            this.allocations.reset();
+        }
+
+        /**
+         * toString method
+         * @return String representation of the counters
+         */
+        @Override
+        public String toString() {
+            return "scan avg=" + this.getAverageScanLength() + " max=" + this.getMaxScanLength()
+                    + ", traversal avg=" + this.getAverageTraversalHops() + " max=" + this.getMaxTraversalHops()
+                    + ", resizes=" + this.getResizeCount() + " (" + this.getResizeNanos() + " ns)"
+                    + ", allocations=" + this.getAllocationCount();
+        }
+    }
+}
@@ -0,0 +1,447 @@
+package datastructures.concrete;
+
+import misc.exceptions.EmptyContainerException;
+import misc.memory.DirectBuffers;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * OffHeapLongLinkedList class : doubly linked list of long values whose nodes
+ * live in direct ByteBuffers instead of the heap.
+ * <p>
+ * Nodes are 16 bytes (previous link, next link, value) carved out of slabs of
+ * 65536 nodes each. A link is an int handle made of the slab number and the
+ * node number within the slab, so the heap only holds the array of slabs no
+ * matter how many elements there are. Deleted nodes go onto a free list and
+ * are reused before a new slab is allocated.
+ * <p>
+ * close() frees the slabs right away through DirectBuffers (on a JVM where
+ * that is not possible, once the buffers are garbage collected). The list
+ * and its iterators must not be used after it is closed.
+ * @author Shohei F. Koshiro
+ */
+public class OffHeapLongLinkedList implements AutoCloseable {
+    /** number of bits of a handle used for the node number within its slab */
+    private static final int SLAB_SHIFT = 16;
+
+    /** number of nodes per slab */
+    private static final int SLAB_NODES = 1 << SLAB_SHIFT;
+
+    /** bytes per node : previous (int), next (int), value (long) */
+    private static final int NODE_SIZE = 16;
+
+    /** offsets within a node */
+    private static final int PREV = 0;
+    private static final int NEXT = 4;
+    private static final int VALUE = 8;
+
+    /** handle meaning no node */
+    private static final int NIL = -1;
+
+    /** slabs of nodes; null after close() */
+    private ByteBuffer[] slabs;
+
+    /** number of slabs allocated */
+    private int nSlabs;
+
+    /** number of nodes ever handed out from the slabs */
+    private int nUsed;
+
+    /** first node of the free list, linked through NEXT */
+    private int free;
+
+    /** first node of the list */
+    private int front;
+
+    /** last node of the list */
+    private int back;
+
+    /** Number of elements in the list */
+    private int size;
+
+    /**
+     * Constructor : creates an empty OffHeapLongLinkedList object
+     */
+    public OffHeapLongLinkedList() {
+        this.slabs = new ByteBuffer[4];
+        this.nSlabs = 0;
+        this.nUsed = 0;
+        this.free = NIL;
+        this.front = NIL;
+        this.back = NIL;
+        this.size = 0;
+    }
+
+    /**
+     * Adds the given item to the end of the list
+     * @param item The item to be added
+     */
+    public void add(long item) {
+        this.linkBefore(item, NIL);
+    }
+
+    /**
+     * Removes the last element and returns it.
+     * @throws EmptyContainerException if the container is empty and there is no element to remove.
+     * @throws IllegalStateException if the list is closed
+     * @return The last element
+     */
+    public long remove() {
+        this.checkOpen();
+        if (this.size == 0) {
+            throw new EmptyContainerException("List empty : no items to remove.");
+        }
+        return this.unlink(this.back);
+    }
+
+    /**
+     * Returns the item located at the given index.
+     * @param index The index number
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= this.size()
+     * @return The item located at the given index
+     */
+    public long get(int index) {
+        this.checkIndex(index, this.size);
+        return this.value(this.findNode(index));
+    }
+
+    /**
+     * Overwrites the element located at the given index with the new item.
+     * @param index The index number
+     * @param item The new item to be overwritten
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= this.size()
+     */
+    public void set(int index, long item) {
+        this.checkIndex(index, this.size);
+        int node = this.findNode(index);
+        this.slab(node).putLong(offset(node) + VALUE, item);
+    }
+
+    /**
+     * Inserts the given item at the given index, shifting the element at that
+     * index and any subsequent elements one index higher.
+     * @param index The index number
+     * @param item The new item to be inserted
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= this.size() + 1
+     */
+    public void insert(int index, long item) {
+        this.checkIndex(index, this.size + 1);
+        this.linkBefore(item, index == this.size ? NIL : this.findNode(index));
+    }
+
+    /**
+     * Deletes the item at the given index, shifting any elements located at a
+     * higher index down by one.
+     * @param index The index number
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= this.size()
+     * @return The deleted item
+     */
+    public long delete(int index) {
+        this.checkIndex(index, this.size);
+        return this.unlink(this.findNode(index));
+    }
+
+    /**
+     * Returns the index corresponding to the first occurrence of the given item.
+     * @param item The item to be found in the list
+     * @return The location of the item in the list. (-1 if not found)
+     */
+    public int indexOf(long item) {
+        this.checkOpen();
+        int node = this.front;
+        for (int i = 0; i < this.size; i++) {
+            if (this.value(node) == item) {
+                return i;
+            }
+            node = this.next(node);
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the number of elements in the container.
+     * @return The size of the list
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns 'true' if the list has no elements, and 'false' otherwise.
+     * @return If the list is empty
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Returns 'true' if this container contains the given element, and 'false' otherwise.
+     * @param other The item to be found
+     * @return If the list contains the given item
+     */
+    public boolean contains(long other) {
+        return this.indexOf(other) != -1;
+    }
+
+    /**
+     * Removes all the elements. The slabs are kept and reused.
+     */
+    public void clear() {
+        this.checkOpen();
+        this.nUsed = 0;
+        this.free = NIL;
+        this.front = NIL;
+        this.back = NIL;
+        this.size = 0;
+    }
+
+    /**
+     * Returns the number of bytes of direct memory held by the list
+     * @return off-heap footprint
+     */
+    public long offHeapBytes() {
+        return (long) this.nSlabs * SLAB_NODES * NODE_SIZE;
+    }
+
+    /**
+     * Frees all the slabs. Calling close again does nothing.
+     */
+    @Override
+    public void close() {
+        if (this.slabs == null) {
+            return;
+        }
+        for (int i = 0; i < this.nSlabs; i++) {
+            DirectBuffers.free(this.slabs[i]);
+        }
+        this.slabs = null;
+        this.nSlabs = 0;
+        this.size = 0;
+    }
+
+    /**
+     * Returns an iterator over the contents of this list which does not box the elements.
+     * @return iterator over the elements
+     */
+    public PrimitiveIterator.OfLong iterator() {
+        this.checkOpen();
+        return new OffHeapLongLinkedListIterator(this);
+    }
+
+    /**
+     * Takes a node off the free list or out of the slabs
+     * @return handle of the new node
+     */
+    private int allocate() {
+        if (this.free != NIL) {
+            int node = this.free;
+            this.free = this.next(node);
+            return node;
+        }
+        if (this.nUsed == this.nSlabs * SLAB_NODES) {
+            if (this.nSlabs == this.slabs.length) {
+                this.slabs = Arrays.copyOf(this.slabs, this.nSlabs * 2);
+            }
+            this.slabs[this.nSlabs] = DirectBuffers.allocate(SLAB_NODES * NODE_SIZE);
+            this.nSlabs++;
+        }
+        int node = this.nUsed;
+        this.nUsed++;
+        return node;
+    }
+
+    /**
+     * Links a new node holding the item in front of the given node
+     * @param item item of the new node
+     * @param successor node to insert before; NIL to append
+     */
+    private void linkBefore(long item, int successor) {
+        this.checkOpen();
+        if (this.size == Integer.MAX_VALUE) {
+            throw new IllegalStateException("List is full");
+        }
+        int node = this.allocate();
+        int predecessor = successor == NIL ? this.back : this.prev(successor);
+        ByteBuffer slab = this.slab(node);
+        int offset = offset(node);
+        slab.putInt(offset + PREV, predecessor);
+        slab.putInt(offset + NEXT, successor);
+        slab.putLong(offset + VALUE, item);
+        if (predecessor == NIL) {
+            this.front = node;
+        } else {
+            this.slab(predecessor).putInt(offset(predecessor) + NEXT, node);
+        }
+        if (successor == NIL) {
+            this.back = node;
+        } else {
+            this.slab(successor).putInt(offset(successor) + PREV, node);
+        }
+        this.size++;
+    }
+
+    /**
+     * Unlinks the node and puts it onto the free list
+     * @param node node to be removed
+     * @return item the node held
+     */
+    private long unlink(int node) {
+        int predecessor = this.prev(node);
+        int successor = this.next(node);
+        long item = this.value(node);
+        if (predecessor == NIL) {
+            this.front = successor;
+        } else {
+            this.slab(predecessor).putInt(offset(predecessor) + NEXT, successor);
+        }
+        if (successor == NIL) {
+            this.back = predecessor;
+        } else {
+            this.slab(successor).putInt(offset(successor) + PREV, predecessor);
+        }
+        this.slab(node).putInt(offset(node) + NEXT, this.free);
+        this.free = node;
+        this.size--;
+        return item;
+    }
+
+    /**
+     * Returns the node at the index, walking from the closer end
+     * @param index The index number
+     * @return handle of the node
+     */
+    private int findNode(int index) {
+        int node;
+        if (index < this.size / 2) {
+            node = this.front;
+            for (int i = 0; i < index; i++) {
+                node = this.next(node);
+            }
+        } else {
+            node = this.back;
+            for (int i = this.size - 1; i > index; i--) {
+                node = this.prev(node);
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Returns the slab holding the node
+     * @param node handle of the node
+     * @return slab of the node
+     */
+    private ByteBuffer slab(int node) {
+        return this.slabs[node >>> SLAB_SHIFT];
+    }
+
+    /**
+     * Returns the position of the node within its slab
+     * @param node handle of the node
+     * @return byte offset in the slab
+     */
+    private static int offset(int node) {
+        return (node & (SLAB_NODES - 1)) * NODE_SIZE;
+    }
+
+    /**
+     * Returns the previous link of the node
+     * @param node handle of the node
+     * @return handle of the previous node
+     */
+    private int prev(int node) {
+        return this.slab(node).getInt(offset(node) + PREV);
+    }
+
+    /**
+     * Returns the next link of the node
+     * @param node handle of the node
+     * @return handle of the next node
+     */
+    private int next(int node) {
+        return this.slab(node).getInt(offset(node) + NEXT);
+    }
+
+    /**
+     * Returns the value of the node
+     * @param node handle of the node
+     * @return value held by the node
+     */
+    private long value(int node) {
+        return this.slab(node).getLong(offset(node) + VALUE);
+    }
+
+    /**
+     * Checks the index against the given bound
+     * @param index The index number
+     * @param bound first invalid index
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= bound
+     */
+    private void checkIndex(int index, int bound) {
+        this.checkOpen();
+        if (bound <= index || index < 0) {
+            throw new IndexOutOfBoundsException("Index out of boundary : check the size of the list");
+        }
+    }
+
+    /**
+     * Rejects use after close()
+     * @throws IllegalStateException if the list is closed
+     */
+    private void checkOpen() {
+        if (this.slabs == null) {
+            throw new IllegalStateException("List is closed");
+        }
+    }
+
+    /**
+     * Iterator class : follows the next links of an OffHeapLongLinkedList
+     */
+    private static class OffHeapLongLinkedListIterator implements PrimitiveIterator.OfLong {
+        /** list being iterated over */
+        private final OffHeapLongLinkedList list;
+
+        /** node to be returned next */
+        private int current;
+
+        /**
+         * Constructor : starts at the first node of the list
+         * @param list list to iterate over
+         */
+        public OffHeapLongLinkedListIterator(OffHeapLongLinkedList list) {
+            this.list = list;
+            this.current = list.front;
+        }
+
+        /**
+         * Returns 'true' if the iterator still has elements to look at;
+         * returns 'false' otherwise.
+         * @return If next element exists
+         */
+        @Override
+        public boolean hasNext() {
+            return this.current != NIL;
+        }
+
+        /**
+         * Returns the next element and advances the iterator.
+         * @throws NoSuchElementException if we have reached the end of the iteration.
+         * @throws IllegalStateException if the list has been closed
+         * @return Next element
+         */
+        @Override
+        public long nextLong() {
+            // the slabs may have been freed
+            this.list.checkOpen();
+            if (!this.hasNext()) {
+                throw new NoSuchElementException("No new element : the iterator has reached the end.");
+            }
+            long item = this.list.value(this.current);
+            this.current = this.list.next(this.current);
+            return item;
+        }
+    }
+}
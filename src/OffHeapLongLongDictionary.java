@@ -0,0 +1,336 @@
+package datastructures.concrete.dictionaries;
+
+import misc.exceptions.NoSuchKeyException;
+import misc.memory.DirectBuffers;
+
+import java.nio.ByteBuffer;
+
+/**
+ * OffHeapLongLongDictionary class : long to long dictionary whose table lives
+ * in direct ByteBuffers instead of the heap.
+ * <p>
+ * Works like LongLongDictionary : open addressing with linear probing and
+ * backward-shift deletion, key 0 marking an empty slot and the pair for key 0
+ * kept outside the table. Slots are 16 bytes (key, value) split over slabs of
+ * 65536 slots, so the table can grow past the 2 GiB limit of a single buffer
+ * while the heap only holds the array of slabs.
+ * <p>
+ * close() and resizing free the slabs right away through DirectBuffers (on a
+ * JVM where that is not possible, once the buffers are garbage collected).
+ * The dictionary must not be used after it is closed.
+ * @author Shohei F. Koshiro
+ */
+public class OffHeapLongLongDictionary implements AutoCloseable {
+    /** default number of slots; must be a power of two */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** ratio of elements to slots which triggers resizing */
+    private static final double LOAD_FACTOR = 0.75;
+
+    /** number of bits of a slot index used for the slot number within its slab */
+    private static final int SLAB_SHIFT = 16;
+
+    /** number of slots per slab */
+    private static final int SLAB_SLOTS = 1 << SLAB_SHIFT;
+
+    /** bytes per slot : key (long), value (long) */
+    private static final int SLOT_SIZE = 16;
+
+    /** largest number of slots */
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    /** slabs of slots; null after close() */
+    private ByteBuffer[] slabs;
+
+    /** number of slots (power of two) */
+    private int capacity;
+
+    /** number of non-zero keys stored in the table */
+    private int nElements;
+
+    /** number of elements the table holds before it gets resized */
+    private int threshold;
+
+    /** if key 0 is stored */
+    private boolean hasZeroKey;
+
+    /** value corresponding to key 0 */
+    private long zeroValue;
+
+    /**
+     * Constructor : creates an empty dictionary
+     */
+    public OffHeapLongLongDictionary() {
+        this.allocate(DEFAULT_CAPACITY);
+        this.nElements = 0;
+        this.hasZeroKey = false;
+    }
+
+    /**
+     * Creates the zeroed slabs for the given number of slots
+     * @param newCapacity number of slots (power of two)
+     */
+    private void allocate(int newCapacity) {
+        int nSlabs = Math.max(1, newCapacity >>> SLAB_SHIFT);
+        int slabSlots = Math.min(newCapacity, SLAB_SLOTS);
+        this.slabs = new ByteBuffer[nSlabs];
+        for (int i = 0; i < nSlabs; i++) {
+            this.slabs[i] = DirectBuffers.allocate(slabSlots * SLOT_SIZE);
+        }
+        this.capacity = newCapacity;
+        this.threshold = (int) (newCapacity * LOAD_FACTOR);
+    }
+
+    /**
+     * Returns the value corresponding to the given key.
+     * @param key key used to store the value.
+     * @return value corresponding to the given key.
+     * @throws NoSuchKeyException if the dictionary does not contain the given key.
+     */
+    public long get(long key) {
+        this.checkOpen();
+        if (key == 0) {
+            if (!this.hasZeroKey) {
+                throw new NoSuchKeyException("Specified key not in the dictionary");
+            }
+            return this.zeroValue;
+        }
+        int index = this.getIndex(key);
+        if (index == -1) {
+            throw new NoSuchKeyException("Specified key not in the dictionary");
+        }
+        return this.valueAt(index);
+    }
+
+    /**
+     * Adds the key-value pair to the dictionary. If the key already exists in the dictionary,
+     * replace its value with the given one.
+     * @param key key used to store the value
+     * @param value value corresponds to the key
+     * @throws IllegalStateException if the key is new and the table cannot grow any more
+     */
+    public void put(long key, long value) {
+        this.checkOpen();
+        if (key == 0) {
+            this.hasZeroKey = true;
+            this.zeroValue = value;
+            return;
+        }
+        int mask = this.capacity - 1;
+        int index = hash(key) & mask;
+        while (this.keyAt(index) != 0) {
+            if (this.keyAt(index) == key) {
+                // when the pair already exists, only replace the value
+                this.setSlot(index, key, value);
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+        // when key is new
+        if (this.nElements == this.threshold && this.capacity == MAX_CAPACITY) {
+            throw new IllegalStateException("Dictionary is full");
+        }
+        this.setSlot(index, key, value);
+        this.nElements++;
+        if (this.nElements > this.threshold) {
+            this.resize();
+        }
+    }
+
+    /**
+     * Doubles the number of slots and re-inserts the pairs into the new table
+     * @throws IllegalStateException if the table cannot grow any more
+     */
+    private void resize() {
+        if (this.capacity == MAX_CAPACITY) {
+            throw new IllegalStateException("Dictionary is full");
+        }
+        ByteBuffer[] oldSlabs = this.slabs;
+        int oldCapacity = this.capacity;
+        this.allocate(oldCapacity * 2);
+        int mask = this.capacity - 1;
+        for (int i = 0; i < oldCapacity; i++) {
+            ByteBuffer oldSlab = oldSlabs[i >>> SLAB_SHIFT];
+            int offset = (i & (SLAB_SLOTS - 1)) * SLOT_SIZE;
+            long key = oldSlab.getLong(offset);
+            if (key != 0) {
+                int index = hash(key) & mask;
+                while (this.keyAt(index) != 0) {
+                    index = (index + 1) & mask;
+                }
+                this.setSlot(index, key, oldSlab.getLong(offset + 8));
+            }
+        }
+        for (ByteBuffer oldSlab : oldSlabs) {
+            DirectBuffers.free(oldSlab);
+        }
+    }
+
+    /**
+     * Remove the key-value pair corresponding to the given key from the dictionary.
+     * @param key key user wants to remove
+     * @return value corresponds to the key
+     * @throws NoSuchKeyException if the dictionary does not contain the given key.
+     */
+    public long remove(long key) {
+        this.checkOpen();
+        if (key == 0) {
+            if (!this.hasZeroKey) {
+                throw new NoSuchKeyException("Unable to delete. No such key is found");
+            }
+            this.hasZeroKey = false;
+            return this.zeroValue;
+        }
+        int index = this.getIndex(key);
+        if (index == -1) {
+            throw new NoSuchKeyException("Unable to delete. No such key is found");
+        }
+        // keep the value to return
+        long current = this.valueAt(index);
+        this.shiftBackward(index);
+        this.nElements--;
+        return current;
+    }
+
+    /**
+     * Fills the emptied slot by moving back the following pairs of the probe run
+     * which would not be reachable from their home slot otherwise.
+     * @param hole index of the slot being emptied
+     */
+    private void shiftBackward(int hole) {
+        int mask = this.capacity - 1;
+        int index = (hole + 1) & mask;
+        long key;
+        while ((key = this.keyAt(index)) != 0) {
+            int home = hash(key) & mask;
+            if (((index - home) & mask) >= ((index - hole) & mask)) {
+                this.setSlot(hole, key, this.valueAt(index));
+                hole = index;
+            }
+            index = (index + 1) & mask;
+        }
+        this.setSlot(hole, 0, 0);
+    }
+
+    /**
+     * Returns the index of the given non-zero key.
+     * @param key Key user wants to find
+     * @return index the key resides; -1 if key not in the dictionary
+     */
+    private int getIndex(long key) {
+        int mask = this.capacity - 1;
+        int index = hash(key) & mask;
+        long current;
+        while ((current = this.keyAt(index)) != 0) {
+            if (current == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the key stored in the slot
+     * @param index slot index
+     * @return key of the slot; 0 if empty
+     */
+    private long keyAt(int index) {
+        return this.slabs[index >>> SLAB_SHIFT].getLong((index & (SLAB_SLOTS - 1)) * SLOT_SIZE);
+    }
+
+    /**
+     * Returns the value stored in the slot
+     * @param index slot index
+     * @return value of the slot
+     */
+    private long valueAt(int index) {
+        return this.slabs[index >>> SLAB_SHIFT].getLong((index & (SLAB_SLOTS - 1)) * SLOT_SIZE + 8);
+    }
+
+    /**
+     * Stores the pair in the slot
+     * @param index slot index
+     * @param key key of the pair (0 to empty the slot)
+     * @param value value of the pair
+     */
+    private void setSlot(int index, long key, long value) {
+        ByteBuffer slab = this.slabs[index >>> SLAB_SHIFT];
+        int offset = (index & (SLAB_SLOTS - 1)) * SLOT_SIZE;
+        slab.putLong(offset, key);
+        slab.putLong(offset + 8, value);
+    }
+
+    /**
+     * Spreads the bits of the key so that they affect the slot index
+     * @param key key to hash
+     * @return mixed hash code
+     */
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Returns 'true' if the dictionary contains the given key and 'false' otherwise.
+     * @param key key the user wants to search
+     * @return if the given key exists in the dictionary
+     */
+    public boolean containsKey(long key) {
+        this.checkOpen();
+        if (key == 0) {
+            return this.hasZeroKey;
+        }
+        return this.getIndex(key) != -1;
+    }
+
+    /**
+     * Returns the number of key-value pairs stored in this dictionary.
+     * @return number of pairs in the dictionary
+     */
+    public int size() {
+        return this.hasZeroKey ? this.nElements + 1 : this.nElements;
+    }
+
+    /**
+     * Returns 'true' if the dictionary has no pairs, and 'false' otherwise.
+     * @return If the dictionary is empty
+     */
+    public boolean isEmpty() {
+        return this.size() == 0;
+    }
+
+    /**
+     * Returns the number of bytes of direct memory held by the dictionary
+     * @return off-heap footprint
+     */
+    public long offHeapBytes() {
+        return this.slabs == null ? 0 : (long) this.capacity * SLOT_SIZE;
+    }
+
+    /**
+     * Frees all the slabs. Calling close again does nothing.
+     */
+    @Override
+    public void close() {
+        if (this.slabs == null) {
+            return;
+        }
+        for (ByteBuffer slab : this.slabs) {
+            DirectBuffers.free(slab);
+        }
+        this.slabs = null;
+        this.nElements = 0;
+        this.hasZeroKey = false;
+    }
+
+    /**
+     * Rejects use after close()
+     * @throws IllegalStateException if the dictionary is closed
+     */
+    private void checkOpen() {
+        if (this.slabs == null) {
+            throw new IllegalStateException("Dictionary is closed");
+        }
+    }
+}
@@ -0,0 +1,529 @@
+package datastructures.concrete.dictionaries;
+
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IDictionary;
+import misc.exceptions.NoSuchKeyException;
+
+import java.util.AbstractMap;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Persistent AVL class : sorted dictionary kept as an immutable height-balanced
+ * binary search tree.
+ * <p>
+ * Nodes are never modified. An update copies the nodes on the path from the
+ * root to the changed node, O(log n) of them, and shares every other node with
+ * the previous version. The current version is published by swapping the root
+ * with compare-and-set, retried if another writer got there first, so neither
+ * readers nor writers take a lock.
+ * <p>
+ * snapshot() hands out the current version in O(1). It is a dictionary of its
+ * own: later updates to either of them do not show in the other.
+ * Keys are ordered by their natural ordering or by the given comparator;
+ * null keys are not allowed.
+ * @author Shohei F. Koshiro
+ *
+ * @param <K> Generic type for key
+ * @param <V> Generic type for value
+ */
+public class PersistentAVL<K, V> implements IDictionary<K, V> {
+    /** Root node of the current version */
+    private final AtomicReference<Node<K, V>> root;
+
+    /** Order of the keys */
+    private final Comparator<? super K> comparator;
+
+    /**
+     * Constructor: creates an empty dictionary ordered by the natural ordering of the keys
+     */
+    public PersistentAVL() {
+        this(null);
+    }
+
+    /**
+     * Constructor: creates an empty dictionary ordered by the given comparator
+     * @param comparator order of the keys (null for the natural ordering)
+     */
+    public PersistentAVL(Comparator<? super K> comparator) {
+        this(null, comparator);
+    }
+
+    /**
+     * Constructor: creates a dictionary starting from the given version
+     * @param root root node of the version
+     * @param comparator order of the keys (null for the natural ordering)
+     */
+    private PersistentAVL(Node<K, V> root, Comparator<? super K> comparator) {
+        this.root = new AtomicReference<>(root);
+        this.comparator = comparator;
+    }
+
+    /**
+     * Returns an independent dictionary holding the current pairs, in O(1).
+     * @return snapshot of this dictionary
+     */
+    public PersistentAVL<K, V> snapshot() {
+        return new PersistentAVL<>(this.root.get(), this.comparator);
+    }
+
+    /**
+     * Returns the value corresponding to the given key.
+     * @param key key used to store the value.
+     * @return value corresponding to the given key.
+     * @throws NoSuchKeyException if the dictionary does not contain the given key.
+     */
+    @Override
+    public V get(K key) {
+        Node<K, V> node = this.findNode(this.root.get(), key);
+        if (node == null) {
+            throw new NoSuchKeyException("Specified key not in the dictionary");
+        }
+        return node.value;
+    }
+
+    /**
+     * Adds the key-value pair to the dictionary. If the key already exists in the dictionary,
+     * replace its value with the given one.
+     * @param key key used to store the value
+     * @param value value corresponds to the key
+     * @throws IllegalArgumentException if the key is null
+     */
+    @Override
+    public void put(K key, V value) {
+        checkKey(key);
+        Node<K, V> current;
+        do {
+            current = this.root.get();
+        } while (!this.root.compareAndSet(current, this.putNode(current, key, value)));
+    }
+
+    /**
+     * Returns a copy of the subtree holding the pair
+     * @param node root of the subtree
+     * @param key key used to store the value
+     * @param value value corresponds to the key
+     * @return root of the new subtree
+     */
+    private Node<K, V> putNode(Node<K, V> node, K key, V value) {
+        if (node == null) {
+            return new Node<>(key, value, null, null);
+        }
+        int cmp = this.compare(key, node.key);
+        if (cmp < 0) {
+            return balance(node.key, node.value, this.putNode(node.left, key, value), node.right);
+        } else if (cmp > 0) {
+            return balance(node.key, node.value, node.left, this.putNode(node.right, key, value));
+        }
+        // when the pair already exists, only replace the value
+        return new Node<>(key, value, node.left, node.right);
+    }
+
+    /**
+     * Remove the key-value pair corresponding to the given key from the dictionary.
+     * @param key key user wants to remove
+     * @return value corresponds to the key
+     * @throws NoSuchKeyException if the dictionary does not contain the given key.
+     */
+    @Override
+    public V remove(K key) {
+        Node<K, V> current;
+        Node<K, V> node;
+        do {
+            current = this.root.get();
+            node = this.findNode(current, key);
+            if (node == null) {
+                throw new NoSuchKeyException("Unable to delete. No such key is found");
+            }
+        } while (!this.root.compareAndSet(current, this.removeNode(current, key)));
+        return node.value;
+    }
+
+    /**
+     * Returns a copy of the subtree without the key; the key must exist in the subtree
+     * @param node root of the subtree
+     * @param key key to be removed
+     * @return root of the new subtree
+     */
+    private Node<K, V> removeNode(Node<K, V> node, K key) {
+        int cmp = this.compare(key, node.key);
+        if (cmp < 0) {
+            return balance(node.key, node.value, this.removeNode(node.left, key), node.right);
+        } else if (cmp > 0) {
+            return balance(node.key, node.value, node.left, this.removeNode(node.right, key));
+        }
+        if (node.left == null) {
+            return node.right;
+        } else if (node.right == null) {
+            return node.left;
+        }
+        // replace the node with the smallest node of the right subtree
+        Node<K, V> successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        return balance(successor.key, successor.value, node.left, removeMin(node.right));
+    }
+
+    /**
+     * Returns a copy of the subtree without its smallest node
+     * @param node root of the subtree
+     * @return root of the new subtree
+     */
+    private static <K, V> Node<K, V> removeMin(Node<K, V> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        return balance(node.key, node.value, removeMin(node.left), node.right);
+    }
+
+    /**
+     * Returns 'true' if the dictionary contains the given key and 'false' otherwise.
+     * @param key key the user wants to search
+     * @return if the given key exists in the dictionary
+     */
+    @Override
+    public boolean containsKey(K key) {
+        return this.findNode(this.root.get(), key) != null;
+    }
+
+    /**
+     * Returns the number of key-value pairs stored in this dictionary.
+     * @return number of pairs in the dictionary
+     */
+    @Override
+    public int size() {
+        return size(this.root.get());
+    }
+
+    /**
+     * Returns an iterator over the pairs of the current version in ascending key
+     * order. Updates made after the call do not show in the iteration.
+     * @return iterator over the pairs
+     */
+    public Iterator<Map.Entry<K, V>> iterator() {
+        return new PersistentAVLIterator<>(this.root.get());
+    }
+
+    /**
+     * Returns a sequential stream over the pairs of the current version in
+     * ascending key order. Call parallel() on it to process the pairs in
+     * parallel : the version never changes, so it is split by key rank into
+     * halves of exactly known size.
+     * @return stream of the pairs
+     */
+    public Stream<Map.Entry<K, V>> stream() {
+        Node<K, V> current = this.root.get();
+        return StreamSupport.stream(new PersistentAVLSpliterator<>(current, 0, size(current)), false);
+    }
+
+    /**
+     * Returns the node holding the given key in the given version
+     * @param node root of the version
+     * @param key key to be found
+     * @return node holding the key; null if the key is not in the version
+     */
+    private Node<K, V> findNode(Node<K, V> node, K key) {
+        checkKey(key);
+        while (node != null) {
+            int cmp = this.compare(key, node.key);
+            if (cmp == 0) {
+                return node;
+            }
+            node = cmp < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    /**
+     * Compares two keys by the order of this dictionary
+     * @param a first key
+     * @param b second key
+     * @return negative, zero or positive as a is less than, equal to, or greater than b
+     */
+    @SuppressWarnings("unchecked")
+    private int compare(K a, K b) {
+        if (this.comparator == null) {
+            return ((Comparable<? super K>) a).compareTo(b);
+        }
+        return this.comparator.compare(a, b);
+    }
+
+    /**
+     * Rejects null keys
+     * @param key key to check
+     * @throws IllegalArgumentException if the key is null
+     */
+    private static void checkKey(Object key) {
+        if (key == null) {
+            throw new IllegalArgumentException("PersistentAVL does not accept null keys");
+        }
+    }
+
+    /**
+     * Returns the height of the subtree
+     * @param node root of the subtree
+     * @return height of the subtree (0 if empty)
+     */
+    private static int height(Node<?, ?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    /**
+     * Returns the number of nodes in the subtree
+     * @param node root of the subtree
+     * @return number of nodes (0 if empty)
+     */
+    private static int size(Node<?, ?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * Creates a node from the pair and the children, rotating so that the
+     * heights of the children differ by at most one. The children may differ
+     * in height by at most two.
+     * @param key key of the pair
+     * @param value value of the pair
+     * @param left left child
+     * @param right right child
+     * @return root of the new subtree
+     */
+    private static <K, V> Node<K, V> balance(K key, V value, Node<K, V> left, Node<K, V> right) {
+        int diff = height(left) - height(right);
+        if (diff > 1) {
+            if (height(left.left) < height(left.right)) {
+                // left-right case
+                Node<K, V> pivot = left.right;
+                return new Node<>(pivot.key, pivot.value,
+                        new Node<>(left.key, left.value, left.left, pivot.left),
+                        new Node<>(key, value, pivot.right, right));
+            }
+            return new Node<>(left.key, left.value, left.left, new Node<>(key, value, left.right, right));
+        } else if (diff < -1) {
+            if (height(right.right) < height(right.left)) {
+                // right-left case
+                Node<K, V> pivot = right.left;
+                return new Node<>(pivot.key, pivot.value,
+                        new Node<>(key, value, left, pivot.left),
+                        new Node<>(right.key, right.value, pivot.right, right.right));
+            }
+            return new Node<>(right.key, right.value, new Node<>(key, value, left, right.left), right.right);
+        }
+        return new Node<>(key, value, left, right);
+    }
+
+    /**
+     * Node class : immutable node holding the pair, the children, and the height and size of the subtree.
+     * @param <K> Generic type for key
+     * @param <V> Generic type for value
+     */
+    private static class Node<K, V> {
+        /** key of the pair */
+        private final K key;
+
+        /** value of the pair */
+        private final V value;
+
+        /** left child (smaller keys) */
+        private final Node<K, V> left;
+
+        /** right child (larger keys) */
+        private final Node<K, V> right;
+
+        /** height of the subtree rooted at this node */
+        private final int height;
+
+        /** number of nodes in the subtree rooted at this node */
+        private final int size;
+
+        /**
+         * Constructor : creates a node over the given children
+         * @param key key of the pair
+         * @param value value of the pair
+         * @param left left child
+         * @param right right child
+         */
+        public Node(K key, V value, Node<K, V> left, Node<K, V> right) {
+            this.key = key;
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.height = Math.max(height(left), height(right)) + 1;
+            this.size = size(left) + size(right) + 1;
+        }
+    }
+
+    /**
+     * Iterator class : in-order iterator over the pairs of one version
+     * @param <K> Generic type for key
+     * @param <V> Generic type for value
+     */
+    private static class PersistentAVLIterator<K, V> implements Iterator<Map.Entry<K, V>> {
+        /** nodes whose pairs are not yet visited */
+        private final DoubleLinkedList<Node<K, V>> stack;
+
+        /**
+         * Constructor : pushes the path to the smallest key
+         * @param root root of the version to iterate over
+         */
+        public PersistentAVLIterator(Node<K, V> root) {
+            this.stack = new DoubleLinkedList<>();
+            this.pushLeft(root);
+        }
+
+        /**
+         * Constructor : pushes the path to the key of the given rank, found
+         * through the subtree sizes in O(log n)
+         * @param root root of the version to iterate over
+         * @param rank number of smaller keys of the first pair visited
+         */
+        public PersistentAVLIterator(Node<K, V> root, int rank) {
+            this.stack = new DoubleLinkedList<>();
+            Node<K, V> node = root;
+            while (node != null) {
+                int leftSize = size(node.left);
+                if (rank < leftSize) {
+                    // the node comes after the pair, so it is visited later
+                    this.stack.add(node);
+                    node = node.left;
+                } else if (rank == leftSize) {
+                    this.stack.add(node);
+                    return;
+                } else {
+                    rank -= leftSize + 1;
+                    node = node.right;
+                }
+            }
+        }
+
+        /**
+         * Pushes the node and its left descendants
+         * @param node first node to push
+         */
+        private void pushLeft(Node<K, V> node) {
+            while (node != null) {
+                this.stack.add(node);
+                node = node.left;
+            }
+        }
+
+        /**
+         * Returns 'true' if there are pairs left to visit
+         * @return If next pair exists
+         */
+        @Override
+        public boolean hasNext() {
+            return !this.stack.isEmpty();
+        }
+
+        /**
+         * Returns the next pair in key order
+         * @throws NoSuchElementException if there are no more pairs
+         * @return Next pair
+         */
+        @Override
+        public Map.Entry<K, V> next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException("No new element : the iterator has reached the end.");
+            }
+            Node<K, V> node = this.stack.remove();
+            this.pushLeft(node.right);
+            return new AbstractMap.SimpleImmutableEntry<>(node.key, node.value);
+        }
+    }
+
+    /**
+     * Spliterator class : visits the pairs of one version whose ranks lie in a
+     * range. Splitting halves the range; as the nodes know the sizes of their
+     * subtrees, each half finds its first pair in O(log n).
+     * @param <K> Generic type for key
+     * @param <V> Generic type for value
+     */
+    private static class PersistentAVLSpliterator<K, V> implements Spliterator<Map.Entry<K, V>> {
+        /** root of the version */
+        private final Node<K, V> root;
+
+        /** rank of the next pair to visit */
+        private int from;
+
+        /** rank after the last pair to visit */
+        private final int to;
+
+        /** iterator positioned at rank from; null until the first pair is visited */
+        private PersistentAVLIterator<K, V> iterator;
+
+        /**
+         * Constructor : covers the pairs of ranks from (inclusive) to to (exclusive)
+         * @param root root of the version
+         * @param from rank of the first pair
+         * @param to rank after the last pair
+         */
+        public PersistentAVLSpliterator(Node<K, V> root, int from, int to) {
+            this.root = root;
+            this.from = from;
+            this.to = to;
+            this.iterator = null;
+        }
+
+        /**
+         * Visits the next pair, if any
+         * @param action action applied to the pair
+         * @return if a pair was visited
+         */
+        @Override
+        public boolean tryAdvance(Consumer<? super Map.Entry<K, V>> action) {
+            if (this.from >= this.to) {
+                return false;
+            }
+            if (this.iterator == null) {
+                this.iterator = new PersistentAVLIterator<>(this.root, this.from);
+            }
+            this.from++;
+            action.accept(this.iterator.next());
+            return true;
+        }
+
+        /**
+         * Hands the first half of the remaining pairs to a new spliterator
+         * @return spliterator over the first half; null if less than two pairs remain
+         */
+        @Override
+        public Spliterator<Map.Entry<K, V>> trySplit() {
+            if (this.to - this.from < 2) {
+                return null;
+            }
+            int mid = (this.from + this.to) >>> 1;
+            PersistentAVLSpliterator<K, V> prefix = new PersistentAVLSpliterator<>(this.root, this.from, mid);
+            this.from = mid;
+            // the iterator was positioned at the old start
+            this.iterator = null;
+            return prefix;
+        }
+
+        /**
+         * Returns the number of pairs left
+         * @return exact number of pairs
+         */
+        @Override
+        public long estimateSize() {
+            return this.to - this.from;
+        }
+
+        /**
+         * Returns the characteristics of the spliterator
+         * @return ordered, distinct, non-null, immutable and exactly sized
+         */
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.IMMUTABLE
+                    | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+}
@@ -0,0 +1,439 @@
+package datastructures.concrete;
+
+import datastructures.interfaces.IList;
+import misc.exceptions.EmptyContainerException;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * PersistentList class : list kept as an immutable height-balanced tree ordered
+ * by index, where every node knows the size of its subtree.
+ * <p>
+ * get, set, insert and delete take O(log n) at any index. Nodes are never
+ * modified : an update copies the O(log n) nodes on the path to the changed
+ * position and shares the rest with the previous version. The current version
+ * is published by swapping the root with compare-and-set, retried if another
+ * writer got there first, so neither readers nor writers take a lock.
+ * <p>
+ * snapshot() hands out the current version in O(1). It is a list of its own:
+ * later updates to either of them do not show in the other.
+ * @author Shohei F. Koshiro
+ *
+ * @param <T> Generic type
+ */
+public class PersistentList<T> implements IList<T> {
+    /** Root node of the current version */
+    private final AtomicReference<Node<T>> root;
+
+    /**
+     * Constructor : creates an empty PersistentList object
+     */
+    public PersistentList() {
+        this(null);
+    }
+
+    /**
+     * Constructor : creates a list starting from the given version
+     * @param root root node of the version
+     */
+    private PersistentList(Node<T> root) {
+        this.root = new AtomicReference<>(root);
+    }
+
+    /**
+     * Returns an independent list holding the current elements, in O(1).
+     * @return snapshot of this list
+     */
+    public PersistentList<T> snapshot() {
+        return new PersistentList<>(this.root.get());
+    }
+
+    /**
+     * Adds the given item to the end of the list
+     * @param item The item to be added
+     */
+    @Override
+    public void add(T item) {
+        Node<T> current;
+        do {
+            current = this.root.get();
+        } while (!this.root.compareAndSet(current, insertAt(current, size(current), item)));
+    }
+
+    /**
+     * Removes the last element and returns it.
+     * @throws EmptyContainerException if the container is empty and there is no element to remove.
+     * @return The last element
+     */
+    @Override
+    public T remove() {
+        Node<T> current;
+        Node<T> last;
+        do {
+            current = this.root.get();
+            if (current == null) {
+                throw new EmptyContainerException("List empty : no items to remove.");
+            }
+            last = findNode(current, current.size - 1);
+        } while (!this.root.compareAndSet(current, deleteAt(current, current.size - 1)));
+        return last.item;
+    }
+
+    /**
+     * Returns the item located at the given index.
+     * @param index The index number
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= this.size()
+     * @return The item located at the given index
+     */
+    @Override
+    public T get(int index) {
+        Node<T> current = this.root.get();
+        checkIndex(index, size(current));
+        return findNode(current, index).item;
+    }
+
+    /**
+     * Overwrites the element located at the given index with the new item.
+     * @param index The index number
+     * @param item The new item to be overwritten
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= this.size()
+     */
+    @Override
+    public void set(int index, T item) {
+        Node<T> current;
+        do {
+            current = this.root.get();
+            checkIndex(index, size(current));
+        } while (!this.root.compareAndSet(current, setAt(current, index, item)));
+    }
+
+    /**
+     * Inserts the given item at the given index, shifting the element at that
+     * index and any subsequent elements one index higher.
+     * @param index The index number
+     * @param item The new item to be inserted
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= this.size() + 1
+     */
+    @Override
+    public void insert(int index, T item) {
+        Node<T> current;
+        do {
+            current = this.root.get();
+            checkIndex(index, size(current) + 1);
+        } while (!this.root.compareAndSet(current, insertAt(current, index, item)));
+    }
+
+    /**
+     * Deletes the item at the given index, shifting any elements located at a
+     * higher index down by one.
+     * @param index The index number
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= this.size()
+     * @return The deleted item
+     */
+    @Override
+    public T delete(int index) {
+        Node<T> current;
+        Node<T> deleted;
+        do {
+            current = this.root.get();
+            checkIndex(index, size(current));
+            deleted = findNode(current, index);
+        } while (!this.root.compareAndSet(current, deleteAt(current, index)));
+        return deleted.item;
+    }
+
+    /**
+     * Returns the index corresponding to the first occurrence of the given item.
+     * @param item The item to be found in the list
+     * @return The location of the item in the list. (-1 if not found)
+     */
+    @Override
+    public int indexOf(T item) {
+        int index = 0;
+        for (T other : this) {
+            if (item == null ? other == null : item.equals(other)) {
+                return index;
+            }
+            index++;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the number of elements in the container.
+     * @return The size of the list
+     */
+    @Override
+    public int size() {
+        return size(this.root.get());
+    }
+
+    /**
+     * Returns 'true' if this container contains the given element, and 'false' otherwise.
+     * @param other The item to be found
+     * @return If the list contains the given item
+     */
+    @Override
+    public boolean contains(T other) {
+        return this.indexOf(other) != -1;
+    }
+
+    /**
+     * toString method
+     * @return String representation of the list
+     */
+    @Override
+    public String toString() {
+        StringBuilder print = new StringBuilder("[");
+        for (T item : this) {
+            if (print.length() > 1) {
+                print.append(", ");
+            }
+            print.append(String.valueOf(item));
+        }
+        return print.append("]").toString();
+    }
+
+    /**
+     * Returns an iterator over the elements of the current version. Updates made
+     * after the call do not show in the iteration.
+     * @return iterator over the elements
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new PersistentListIterator<>(this.root.get());
+    }
+
+    /**
+     * Returns the node at the index of the given version
+     * @param node root of the version
+     * @param index The index number (must be valid)
+     * @return node at the index
+     */
+    private static <T> Node<T> findNode(Node<T> node, int index) {
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node;
+            }
+        }
+    }
+
+    /**
+     * Returns a copy of the subtree with the item at the index replaced
+     * @param node root of the subtree
+     * @param index index within the subtree (must be valid)
+     * @param item new item
+     * @return root of the new subtree
+     */
+    private static <T> Node<T> setAt(Node<T> node, int index, T item) {
+        int leftSize = size(node.left);
+        if (index < leftSize) {
+            return new Node<>(node.item, setAt(node.left, index, item), node.right);
+        } else if (index > leftSize) {
+            return new Node<>(node.item, node.left, setAt(node.right, index - leftSize - 1, item));
+        }
+        return new Node<>(item, node.left, node.right);
+    }
+
+    /**
+     * Returns a copy of the subtree with the item inserted at the index
+     * @param node root of the subtree
+     * @param index index within the subtree (0 to its size)
+     * @param item item to be inserted
+     * @return root of the new subtree
+     */
+    private static <T> Node<T> insertAt(Node<T> node, int index, T item) {
+        if (node == null) {
+            return new Node<>(item, null, null);
+        }
+        int leftSize = size(node.left);
+        if (index <= leftSize) {
+            return balance(node.item, insertAt(node.left, index, item), node.right);
+        }
+        return balance(node.item, node.left, insertAt(node.right, index - leftSize - 1, item));
+    }
+
+    /**
+     * Returns a copy of the subtree without the item at the index
+     * @param node root of the subtree
+     * @param index index within the subtree (must be valid)
+     * @return root of the new subtree
+     */
+    private static <T> Node<T> deleteAt(Node<T> node, int index) {
+        int leftSize = size(node.left);
+        if (index < leftSize) {
+            return balance(node.item, deleteAt(node.left, index), node.right);
+        } else if (index > leftSize) {
+            return balance(node.item, node.left, deleteAt(node.right, index - leftSize - 1));
+        }
+        if (node.left == null) {
+            return node.right;
+        } else if (node.right == null) {
+            return node.left;
+        }
+        // replace the node with the first node of the right subtree
+        Node<T> successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        return balance(successor.item, node.left, deleteAt(node.right, 0));
+    }
+
+    /**
+     * Checks the index against the given bound
+     * @param index The index number
+     * @param bound first invalid index
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= bound
+     */
+    private static void checkIndex(int index, int bound) {
+        if (bound <= index || index < 0) {
+            throw new IndexOutOfBoundsException("Index out of boundary : check the size of the list");
+        }
+    }
+
+    /**
+     * Returns the height of the subtree
+     * @param node root of the subtree
+     * @return height of the subtree (0 if empty)
+     */
+    private static int height(Node<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    /**
+     * Returns the number of nodes in the subtree
+     * @param node root of the subtree
+     * @return number of nodes (0 if empty)
+     */
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * Creates a node from the item and the children, rotating so that the
+     * heights of the children differ by at most one. The children may differ
+     * in height by at most two.
+     * @param item item of the node
+     * @param left left child
+     * @param right right child
+     * @return root of the new subtree
+     */
+    private static <T> Node<T> balance(T item, Node<T> left, Node<T> right) {
+        int diff = height(left) - height(right);
+        if (diff > 1) {
+            if (height(left.left) < height(left.right)) {
+                // left-right case
+                Node<T> pivot = left.right;
+                return new Node<>(pivot.item, new Node<>(left.item, left.left, pivot.left),
+                        new Node<>(item, pivot.right, right));
+            }
+            return new Node<>(left.item, left.left, new Node<>(item, left.right, right));
+        } else if (diff < -1) {
+            if (height(right.right) < height(right.left)) {
+                // right-left case
+                Node<T> pivot = right.left;
+                return new Node<>(pivot.item, new Node<>(item, left, pivot.left),
+                        new Node<>(right.item, pivot.right, right.right));
+            }
+            return new Node<>(right.item, new Node<>(item, left, right.left), right.right);
+        }
+        return new Node<>(item, left, right);
+    }
+
+    /**
+     * Node class : immutable node holding an item, the children, and the height and size of the subtree.
+     * @param <E> Generic type
+     */
+    private static class Node<E> {
+        /** Item the node holds */
+        private final E item;
+
+        /** left child (smaller indexes) */
+        private final Node<E> left;
+
+        /** right child (larger indexes) */
+        private final Node<E> right;
+
+        /** height of the subtree rooted at this node */
+        private final int height;
+
+        /** number of nodes in the subtree rooted at this node */
+        private final int size;
+
+        /**
+         * Constructor : creates a node over the given children
+         * @param item item of the node
+         * @param left left child
+         * @param right right child
+         */
+        public Node(E item, Node<E> left, Node<E> right) {
+            this.item = item;
+            this.left = left;
+            this.right = right;
+            this.height = Math.max(height(left), height(right)) + 1;
+            this.size = size(left) + size(right) + 1;
+        }
+    }
+
+    /**
+     * Iterator class : in-order iterator over the elements of one version
+     * @param <T> Generic type
+     */
+    private static class PersistentListIterator<T> implements Iterator<T> {
+        /** nodes whose items are not yet visited */
+        private final DoubleLinkedList<Node<T>> stack;
+
+        /**
+         * Constructor : pushes the path to the first element
+         * @param root root of the version to iterate over
+         */
+        public PersistentListIterator(Node<T> root) {
+            this.stack = new DoubleLinkedList<>();
+            this.pushLeft(root);
+        }
+
+        /**
+         * Pushes the node and its left descendants
+         * @param node first node to push
+         */
+        private void pushLeft(Node<T> node) {
+            while (node != null) {
+                this.stack.add(node);
+                node = node.left;
+            }
+        }
+
+        /**
+         * Returns 'true' if the iterator still has elements to look at;
+         * returns 'false' otherwise.
+         * @return If next element exists
+         */
+        @Override
+        public boolean hasNext() {
+            return !this.stack.isEmpty();
+        }
+
+        /**
+         * Returns the next element and advances the iterator.
+         * @throws NoSuchElementException if we have reached the end of the iteration.
+         * @return Next element
+         */
+        @Override
+        public T next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException("No new element : the iterator has reached the end.");
+            }
+            Node<T> node = this.stack.remove();
+            this.pushLeft(node.right);
+            return node.item;
+        }
+    }
+}
@@ -0,0 +1,441 @@
+package datastructures.concrete;
+
+import datastructures.interfaces.IList;
+import misc.exceptions.EmptyContainerException;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * UnrolledLinkedList class : doubly linked list whose nodes each hold a small
+ * array of elements.
+ * <p>
+ * Walking the list touches one node per array instead of one node per element,
+ * and the links and headers are shared by all the elements of a node. A full
+ * node is split in half when an element is inserted into it. A node which
+ * drops below half full after a delete is merged with a neighbour when the two
+ * fit in one node, so nodes stay at least half full on average. Adding and
+ * removing at the end take constant time.
+ * @author Shohei F. Koshiro
+ *
+ * @param <T> Generic type
+ */
+public class UnrolledLinkedList<T> implements IList<T> {
+    /** default number of elements per node */
+    private static final int DEFAULT_NODE_CAPACITY = 32;
+
+    /** number of elements a node can hold */
+    private final int nodeCapacity;
+
+    /** First node */
+    private Node<T> front;
+
+    /** Last node */
+    private Node<T> back;
+
+    /** Number of elements in the list */
+    private int size;
+
+    /**
+     * Constructor : creates an empty UnrolledLinkedList object
+     */
+    public UnrolledLinkedList() {
+        this(DEFAULT_NODE_CAPACITY);
+    }
+
+    /**
+     * Constructor : creates an empty UnrolledLinkedList object with the given node size
+     * @param nodeCapacity number of elements a node can hold
+     * @throws IllegalArgumentException if nodeCapacity < 2
+     */
+    public UnrolledLinkedList(int nodeCapacity) {
+        if (nodeCapacity < 2) {
+            throw new IllegalArgumentException("Node capacity must be at least 2");
+        }
+        this.nodeCapacity = nodeCapacity;
+        this.front = null;
+        this.back = null;
+        this.size = 0;
+    }
+
+    /**
+     * Adds the given item to the end of the list
+     * @param item The item to be added
+     */
+    @Override
+    public void add(T item) {
+        if (this.back == null || this.back.count == this.nodeCapacity) {
+            this.linkAfter(this.back);
+        }
+        this.back.items[this.back.count] = item;
+        this.back.count++;
+        this.size++;
+    }
+
+    /**
+     * Removes the last element and returns it.
+     * @throws EmptyContainerException if the container is empty and there is no element to remove.
+     * @return The last element
+     */
+    @Override
+    public T remove() {
+        if (this.size == 0) {
+            throw new EmptyContainerException("List empty : no items to remove.");
+        }
+        Node<T> node = this.back;
+        node.count--;
+        T item = node.item(node.count);
+        node.items[node.count] = null;
+        this.size--;
+        if (node.count == 0) {
+            this.unlink(node);
+        }
+        return item;
+    }
+
+    /**
+     * Returns the item located at the given index.
+     * @param index The index number
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= this.size()
+     * @return The item located at the given index
+     */
+    @Override
+    public T get(int index) {
+        this.checkIndex(index, this.size);
+        int[] offset = new int[1];
+        return this.findNode(index, offset).item(offset[0]);
+    }
+
+    /**
+     * Overwrites the element located at the given index with the new item.
+     * @param index The index number
+     * @param item The new item to be overwritten
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= this.size()
+     */
+    @Override
+    public void set(int index, T item) {
+        this.checkIndex(index, this.size);
+        int[] offset = new int[1];
+        this.findNode(index, offset).items[offset[0]] = item;
+    }
+
+    /**
+     * Inserts the given item at the given index, shifting the element at that
+     * index and any subsequent elements one index higher.
+     * @param index The index number
+     * @param item The new item to be inserted
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= this.size() + 1
+     */
+    @Override
+    public void insert(int index, T item) {
+        this.checkIndex(index, this.size + 1);
+        if (index == this.size) {
+            this.add(item);
+            return;
+        }
+        int[] found = new int[1];
+        Node<T> node = this.findNode(index, found);
+        int offset = found[0];
+        if (node.count == this.nodeCapacity) {
+            // split the full node : the second half moves to a new node
+            Node<T> next = this.linkAfter(node);
+            int half = this.nodeCapacity / 2;
+            next.count = node.count - half;
+            System.arraycopy(node.items, half, next.items, 0, next.count);
+            Arrays.fill(node.items, half, node.count, null);
+            node.count = half;
+            if (offset > half) {
+                node = next;
+                offset -= half;
+            }
+        }
+        System.arraycopy(node.items, offset, node.items, offset + 1, node.count - offset);
+        node.items[offset] = item;
+        node.count++;
+        this.size++;
+    }
+
+    /**
+     * Deletes the item at the given index, shifting any elements located at a
+     * higher index down by one.
+     * @param index The index number
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= this.size()
+     * @return The deleted item
+     */
+    @Override
+    public T delete(int index) {
+        this.checkIndex(index, this.size);
+        int[] found = new int[1];
+        Node<T> node = this.findNode(index, found);
+        int offset = found[0];
+        T item = node.item(offset);
+        System.arraycopy(node.items, offset + 1, node.items, offset, node.count - offset - 1);
+        node.count--;
+        node.items[node.count] = null;
+        this.size--;
+        if (node.count == 0) {
+            this.unlink(node);
+        } else if (node.count < this.nodeCapacity / 2) {
+            // merge with a neighbour when both fit in one node
+            if (node.next != null && node.count + node.next.count <= this.nodeCapacity) {
+                this.mergeNext(node);
+            } else if (node.prev != null && node.prev.count + node.count <= this.nodeCapacity) {
+                this.mergeNext(node.prev);
+            }
+        }
+        return item;
+    }
+
+    /**
+     * Returns the index corresponding to the first occurrence of the given item.
+     * @param item The item to be found in the list
+     * @return The location of the item in the list. (-1 if not found)
+     */
+    @Override
+    public int indexOf(T item) {
+        int start = 0;
+        for (Node<T> node = this.front; node != null; node = node.next) {
+            for (int i = 0; i < node.count; i++) {
+                Object other = node.items[i];
+                if (item == null ? other == null : item.equals(other)) {
+                    return start + i;
+                }
+            }
+            start += node.count;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the number of elements in the container.
+     * @return The size of the list
+     */
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns 'true' if this container contains the given element, and 'false' otherwise.
+     * @param other The item to be found
+     * @return If the list contains the given item
+     */
+    @Override
+    public boolean contains(T other) {
+        return this.indexOf(other) != -1;
+    }
+
+    /**
+     * Removes all the elements and resets the size to 0
+     */
+    public void clear() {
+        this.front = null;
+        this.back = null;
+        this.size = 0;
+    }
+
+    /**
+     * toString method
+     * @return String representation of the list
+     */
+    @Override
+    public String toString() {
+        StringBuilder print = new StringBuilder("[");
+        for (Node<T> node = this.front; node != null; node = node.next) {
+            for (int i = 0; i < node.count; i++) {
+                if (print.length() > 1) {
+                    print.append(", ");
+                }
+                print.append(String.valueOf(node.items[i]));
+            }
+        }
+        return print.append("]").toString();
+    }
+
+    /**
+     * Returns an iterator over the contents of this list.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new UnrolledLinkedListIterator<>(this.front);
+    }
+
+    /**
+     * Returns the node holding the element at the index, walking from the closer
+     * end one node at a time.
+     * @param index The index number (must be valid)
+     * @param offset receives the position of the element within the node in offset[0]
+     * @return node holding the element
+     */
+    private Node<T> findNode(int index, int[] offset) {
+        Node<T> node;
+        if (index < this.size / 2) {
+            node = this.front;
+            while (index >= node.count) {
+                index -= node.count;
+                node = node.next;
+            }
+            offset[0] = index;
+        } else {
+            node = this.back;
+            int remaining = this.size - 1 - index;
+            while (remaining >= node.count) {
+                remaining -= node.count;
+                node = node.prev;
+            }
+            offset[0] = node.count - 1 - remaining;
+        }
+        return node;
+    }
+
+    /**
+     * Links a new empty node after the given node
+     * @param node node to link after; null to link at the front of an empty list
+     * @return the new node
+     */
+    private Node<T> linkAfter(Node<T> node) {
+        Node<T> created = new Node<>(this.nodeCapacity);
+        created.prev = node;
+        if (node == null) {
+            created.next = this.front;
+            this.front = created;
+        } else {
+            created.next = node.next;
+            node.next = created;
+        }
+        if (created.next == null) {
+            this.back = created;
+        } else {
+            created.next.prev = created;
+        }
+        return created;
+    }
+
+    /**
+     * Unlinks the node from the list
+     * @param node node to be removed
+     */
+    private void unlink(Node<T> node) {
+        if (node.prev == null) {
+            this.front = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+        if (node.next == null) {
+            this.back = node.prev;
+        } else {
+            node.next.prev = node.prev;
+        }
+    }
+
+    /**
+     * Moves the elements of the next node to the end of the given node and unlinks the next node
+     * @param node node receiving the elements
+     */
+    private void mergeNext(Node<T> node) {
+        Node<T> next = node.next;
+        System.arraycopy(next.items, 0, node.items, node.count, next.count);
+        node.count += next.count;
+        this.unlink(next);
+    }
+
+    /**
+     * Checks the index against the given bound
+     * @param index The index number
+     * @param bound first invalid index
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= bound
+     */
+    private void checkIndex(int index, int bound) {
+        if (bound <= index || index < 0) {
+            throw new IndexOutOfBoundsException("Index out of boundary : check the size of the list");
+        }
+    }
+
+    /**
+     * Node class : holds up to nodeCapacity elements and the connecting nodes
+     * @param <E> Generic type
+     */
+    private static class Node<E> {
+        /** Items the node holds; slots from count on are null */
+        private final Object[] items;
+
+        /** Number of items the node holds */
+        private int count;
+
+        /** Node connected at front */
+        private Node<E> prev;
+
+        /** Node connected at back */
+        private Node<E> next;
+
+        /**
+         * Constructor : creates an empty node
+         * @param capacity number of items the node can hold
+         */
+        public Node(int capacity) {
+            this.items = new Object[capacity];
+            this.count = 0;
+        }
+
+        /**
+         * Returns the item at the position
+         * @param offset position within the node
+         * @return item at the position
+         */
+        @SuppressWarnings("unchecked")
+        public E item(int offset) {
+            return (E) this.items[offset];
+        }
+    }
+
+    /**
+     * Iterator class : walks the arrays of the nodes in order
+     * @param <T> Generic type
+     */
+    private static class UnrolledLinkedListIterator<T> implements Iterator<T> {
+        /** node holding the next element */
+        private Node<T> current;
+
+        /** position of the next element within the node */
+        private int offset;
+
+        /**
+         * Constructor : starts at the first element of the given node
+         * @param current first node of the list
+         */
+        public UnrolledLinkedListIterator(Node<T> current) {
+            this.current = current;
+            this.offset = 0;
+        }
+
+        /**
+         * Returns 'true' if the iterator still has elements to look at;
+         * returns 'false' otherwise.
+         * @return If next element exists
+         */
+        @Override
+        public boolean hasNext() {
+            return this.current != null;
+        }
+
+        /**
+         * Returns the next element and advances the iterator.
+         * @throws NoSuchElementException if we have reached the end of the iteration.
+         * @return Next element
+         */
+        @Override
+        public T next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException("No new element : the iterator has reached the end.");
+            }
+            T item = this.current.item(this.offset);
+            this.offset++;
+            if (this.offset == this.current.count) {
+                this.current = this.current.next;
+                this.offset = 0;
+            }
+            return item;
+        }
+    }
+}
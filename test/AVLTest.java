@@ -0,0 +1,149 @@
+package datastructures.concrete.dictionaries;
+
+import datastructures.interfaces.IMonoid;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests the augmented queries of AVL, select and aggregate, against a scan of TreeMap.
+ * @author Shohei F. Koshiro
+ */
+public class AVLTest {
+    /** operations per sequence */
+    private static final int STEPS = 20000;
+
+    /** keys are drawn from 0 to KEYS - 1 */
+    private static final int KEYS = 1000;
+
+    /** concatenation, which is not commutative, so the order of combination shows */
+    private static final IMonoid<String> CONCAT = IMonoid.of("", String::concat);
+
+    /**
+     * aggregate(lo, hi) equals the values of the range combined in key order,
+     * while puts and removes rebalance the tree
+     */
+    @Test
+    public void aggregateMatchesScan() {
+        AVL<Integer, String> avl = new AVL<>(null, CONCAT);
+        AVL<Integer, Long> sums = new AVL<>(null, IMonoid.of(0L, Long::sum));
+        TreeMap<Integer, String> model = new TreeMap<>();
+        Random random = new Random(17);
+        for (int step = 0; step < STEPS; step++) {
+            int key = random.nextInt(KEYS);
+            int op = random.nextInt(10);
+            if (op < 5) {
+                String value = Integer.toString(random.nextInt(100), 36);
+                avl.put(key, value);
+                sums.put(key, (long) value.length());
+                model.put(key, value);
+            } else if (op < 7) {
+                if (model.remove(key) != null) {
+                    avl.remove(key);
+                    sums.remove(key);
+                }
+            } else {
+                int lo = random.nextInt(KEYS + 20) - 10;
+                int hi = lo + random.nextInt(KEYS / 4) - 10;
+                String expected = scan(model, lo, hi);
+                String context = "step " + step + " aggregate(" + lo + ", " + hi + ")";
+                assertEquals(expected, avl.aggregate(lo, hi), context);
+                assertEquals(expected.length(), (long) sums.aggregate(lo, hi), context);
+            }
+        }
+        assertEquals(scan(model, Integer.MIN_VALUE, Integer.MAX_VALUE),
+                avl.aggregate(Integer.MIN_VALUE, Integer.MAX_VALUE));
+    }
+
+    /**
+     * select(k) returns the k-th smallest key for every k, after random puts and removes
+     */
+    @Test
+    public void selectMatchesSortedKeys() {
+        AVL<Integer, Integer> avl = new AVL<>();
+        TreeMap<Integer, Integer> model = new TreeMap<>();
+        Random random = new Random(17);
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < KEYS / 2; i++) {
+                int key = random.nextInt(KEYS);
+                if (random.nextInt(3) == 0) {
+                    if (model.remove(key) != null) {
+                        avl.remove(key);
+                    }
+                } else {
+                    avl.put(key, key);
+                    model.put(key, key);
+                }
+            }
+            List<Integer> keys = new ArrayList<>(model.keySet());
+            for (int k = 0; k < keys.size(); k++) {
+                assertEquals(keys.get(k), avl.select(k), "round " + round + " select(" + k + ")");
+                assertEquals(k, avl.rank(keys.get(k)), "round " + round + " rank(" + keys.get(k) + ")");
+            }
+            assertThrows(IndexOutOfBoundsException.class, () -> avl.select(keys.size()));
+            assertThrows(IndexOutOfBoundsException.class, () -> avl.select(-1));
+        }
+    }
+
+    /**
+     * A tree built from sorted arrays answers select and aggregate like one built by puts
+     */
+    @Test
+    public void bulkBuiltTreeAnswersQueries() {
+        int size = 777;
+        Integer[] keys = new Integer[size];
+        String[] values = new String[size];
+        TreeMap<Integer, String> model = new TreeMap<>();
+        for (int i = 0; i < size; i++) {
+            keys[i] = 3 * i;
+            values[i] = Integer.toString(i, 36);
+            model.put(keys[i], values[i]);
+        }
+        AVL<Integer, String> avl = new AVL<>(keys, values, null, CONCAT);
+        Random random = new Random(17);
+        for (int i = 0; i < 1000; i++) {
+            int lo = random.nextInt(3 * size);
+            int hi = lo + random.nextInt(300);
+            assertEquals(scan(model, lo, hi), avl.aggregate(lo, hi), "aggregate(" + lo + ", " + hi + ")");
+            int k = random.nextInt(size);
+            assertEquals(keys[k], avl.select(k));
+        }
+        // an empty or inverted range aggregates to the identity
+        assertEquals("", avl.aggregate(1, 2));
+        assertEquals("", avl.aggregate(30, 0));
+    }
+
+    /**
+     * aggregate needs a monoid
+     */
+    @Test
+    public void aggregateWithoutMonoidIsRejected() {
+        AVL<Integer, Integer> avl = new AVL<>();
+        avl.put(1, 1);
+        assertThrows(IllegalStateException.class, () -> avl.aggregate(0, 2));
+    }
+
+    /**
+     * Concatenates the values whose keys are between lo and hi in key order
+     * @param model pairs to scan
+     * @param lo smallest key of the range
+     * @param hi largest key of the range
+     * @return concatenation; empty if lo > hi
+     */
+    private static String scan(TreeMap<Integer, String> model, int lo, int hi) {
+        StringBuilder result = new StringBuilder();
+        for (Map.Entry<Integer, String> entry : model.entrySet()) {
+            if (entry.getKey() >= lo && entry.getKey() <= hi) {
+                result.append(entry.getValue());
+            }
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,253 @@
+package datastructures.concrete.dictionaries;
+
+import misc.exceptions.NoSuchKeyException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the batching, closing and failure handling of AsyncDictionary. The
+ * applier is held inside a put of the GATE key so that requests pile up in
+ * the queue at a known point.
+ * @author Shohei F. Koshiro
+ */
+public class AsyncDictionaryTest {
+    /** key whose put holds the applier until the gate is opened */
+    private static final int GATE = -1;
+
+    /** longest wait for a future, in seconds */
+    private static final int TIMEOUT = 10;
+
+    /**
+     * Requests queued while the applier is busy are applied in batches of up
+     * to maxBatch, in the order they were queued
+     * @throws Exception if a request fails
+     */
+    @Test
+    public void queuedRequestsAreBatched() throws Exception {
+        GatedDictionary dictionary = new GatedDictionary();
+        AsyncDictionary<Integer, Integer> async = new AsyncDictionary<>(dictionary, 10);
+        try {
+            CompletableFuture<Void> gate = async.putAsync(GATE, 0);
+            dictionary.awaitEntered();
+            List<CompletableFuture<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 12; i++) {
+                futures.add(async.putAsync(i % 4, i));
+            }
+            for (int i = 0; i < 4; i++) {
+                futures.add(async.getAsync(i));
+            }
+            futures.add(async.sizeAsync());
+            dictionary.open();
+
+            gate.get(TIMEOUT, TimeUnit.SECONDS);
+            for (int i = 0; i < 4; i++) {
+                // the last put of each key came before the gets
+                assertEquals(8 + i, futures.get(12 + i).get(TIMEOUT, TimeUnit.SECONDS));
+            }
+            assertEquals(5, futures.get(16).get(TIMEOUT, TimeUnit.SECONDS));
+            // the gate alone, then 17 requests in batches of 10 and 7
+            assertEquals(18 / 3.0, async.getAverageBatchSize());
+        } finally {
+            async.close();
+        }
+    }
+
+    /**
+     * close() waits for every queued request to be applied, and requests made
+     * after it fail
+     * @throws Exception if a request fails
+     */
+    @Test
+    public void closeDrainsTheQueue() throws Exception {
+        GatedDictionary dictionary = new GatedDictionary();
+        AsyncDictionary<Integer, Integer> async = new AsyncDictionary<>(dictionary, 8);
+        async.putAsync(GATE, 0);
+        dictionary.awaitEntered();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            futures.add(async.putAsync(i, i));
+        }
+        Thread closer = new Thread(async::close);
+        closer.start();
+        dictionary.open();
+        closer.join(TimeUnit.SECONDS.toMillis(TIMEOUT));
+        assertFalse(closer.isAlive(), "close() did not return");
+
+        for (CompletableFuture<Void> future : futures) {
+            assertTrue(future.isDone() && !future.isCompletedExceptionally());
+        }
+        assertEquals(101, dictionary.size());
+        ExecutionException e = assertThrows(ExecutionException.class, () -> async.sizeAsync().get());
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+        // a second close returns at once
+        async.close();
+    }
+
+    /**
+     * Every request submitted while another thread closes the dictionary is
+     * either applied or failed; none is left waiting
+     * @throws Exception if a thread fails
+     */
+    @Test
+    public void submitRacingCloseCompletesEveryFuture() throws Exception {
+        for (int round = 0; round < 50; round++) {
+            AsyncDictionary<Integer, Integer> async = new AsyncDictionary<>(new HashDictionary<>(), 4);
+            List<List<CompletableFuture<Void>>> submitted = new ArrayList<>();
+            List<Thread> submitters = new ArrayList<>();
+            CountDownLatch started = new CountDownLatch(4);
+            for (int t = 0; t < 4; t++) {
+                List<CompletableFuture<Void>> futures = new ArrayList<>();
+                submitted.add(futures);
+                int first = t * 1000000;
+                Thread submitter = new Thread(() -> {
+                    started.countDown();
+                    for (int i = first; i < first + 5000; i++) {
+                        futures.add(async.putAsync(i, i));
+                    }
+                });
+                submitters.add(submitter);
+                submitter.start();
+            }
+            started.await();
+            async.close();
+            for (Thread submitter : submitters) {
+                submitter.join();
+            }
+            for (List<CompletableFuture<Void>> futures : submitted) {
+                for (CompletableFuture<Void> future : futures) {
+                    try {
+                        future.get(TIMEOUT, TimeUnit.SECONDS);
+                    } catch (ExecutionException e) {
+                        assertInstanceOf(IllegalStateException.class, e.getCause(), "round " + round);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * NoSuchKeyException thrown by the dictionary fails only the future of its request
+     * @throws Exception if a request fails
+     */
+    @Test
+    public void missingKeysFailTheirFuture() throws Exception {
+        try (AsyncDictionary<Integer, Integer> async = new AsyncDictionary<>(new HashDictionary<>())) {
+            CompletableFuture<Integer> get = async.getAsync(1);
+            CompletableFuture<Integer> remove = async.removeAsync(1);
+            CompletableFuture<Void> put = async.putAsync(1, 10);
+            CompletableFuture<Integer> removed = async.removeAsync(1);
+
+            ExecutionException e = assertThrows(ExecutionException.class, () -> get.get(TIMEOUT, TimeUnit.SECONDS));
+            assertInstanceOf(NoSuchKeyException.class, e.getCause());
+            e = assertThrows(ExecutionException.class, () -> remove.get(TIMEOUT, TimeUnit.SECONDS));
+            assertInstanceOf(NoSuchKeyException.class, e.getCause());
+            assertNull(put.get(TIMEOUT, TimeUnit.SECONDS));
+            assertEquals(10, removed.get(TIMEOUT, TimeUnit.SECONDS));
+            assertFalse(async.containsKeyAsync(1).get(TIMEOUT, TimeUnit.SECONDS));
+        }
+    }
+
+    /**
+     * When the applier is interrupted, the batch it was applying completes,
+     * and every request still queued, or made afterwards, fails
+     * @throws Exception if a request fails unexpectedly
+     */
+    @Test
+    public void interruptedApplierFailsPendingRequests() throws Exception {
+        GatedDictionary dictionary = new GatedDictionary();
+        AsyncDictionary<Integer, Integer> async = new AsyncDictionary<>(dictionary, 8);
+        CompletableFuture<Void> gate = async.putAsync(GATE, 0);
+        Thread applier = dictionary.awaitEntered();
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            pending.add(async.putAsync(i, i));
+        }
+        applier.interrupt();
+        dictionary.open();
+
+        assertNull(gate.get(TIMEOUT, TimeUnit.SECONDS));
+        applier.join(TimeUnit.SECONDS.toMillis(TIMEOUT));
+        assertFalse(applier.isAlive(), "applier did not stop");
+        for (CompletableFuture<Void> future : pending) {
+            ExecutionException e = assertThrows(ExecutionException.class,
+                    () -> future.get(TIMEOUT, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+        }
+        assertEquals(1, dictionary.size());
+        ExecutionException e = assertThrows(ExecutionException.class, () -> async.getAsync(GATE).get());
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+        async.close();
+    }
+
+    /**
+     * GatedDictionary class : HashDictionary whose put of the GATE key waits,
+     * ignoring interrupts, until the gate is opened
+     */
+    private static class GatedDictionary extends HashDictionary<Integer, Integer> {
+        /** counted down when the applier enters the gated put */
+        private final CountDownLatch entered = new CountDownLatch(1);
+
+        /** counted down to let the gated put finish */
+        private final CountDownLatch released = new CountDownLatch(1);
+
+        /** thread which entered the gated put */
+        private volatile Thread applier;
+
+        /**
+         * Adds the pair, first waiting for the gate if the key is GATE
+         * @param key key used to store the value
+         * @param value value corresponds to the key
+         */
+        @Override
+        public void put(Integer key, Integer value) {
+            if (key == GATE) {
+                this.applier = Thread.currentThread();
+                this.entered.countDown();
+                boolean interrupted = false;
+                while (true) {
+                    try {
+                        this.released.await();
+                        break;
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+                if (interrupted) {
+                    // keep the interrupt for the applier loop to see
+                    Thread.currentThread().interrupt();
+                }
+            }
+            super.put(key, value);
+        }
+
+        /**
+         * Waits until the applier is inside the gated put
+         * @return the applier thread
+         * @throws InterruptedException if interrupted while waiting
+         */
+        public Thread awaitEntered() throws InterruptedException {
+            assertTrue(this.entered.await(TIMEOUT, TimeUnit.SECONDS), "applier did not reach the gate");
+            return this.applier;
+        }
+
+        /**
+         * Lets the gated put finish
+         */
+        public void open() {
+            this.released.countDown();
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package datastructures.concrete;
+
+import datastructures.concrete.BoundedCache.EvictionPolicy;
+import misc.exceptions.NoSuchKeyException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the eviction order of each policy of BoundedCache, the expiry of
+ * pairs, the eviction listener and the statistics.
+ * @author Shohei F. Koshiro
+ */
+public class BoundedCacheTest {
+    /**
+     * LRU evicts the pair used least recently, counting get and put as uses
+     */
+    @Test
+    public void lruEvictsLeastRecentlyUsed() {
+        BoundedCache<Integer, String> cache = new BoundedCache<>(3, EvictionPolicy.LRU);
+        List<String> evicted = record(cache);
+        cache.put(1, "a");
+        cache.put(2, "b");
+        cache.put(3, "c");
+        cache.get(1);
+        cache.put(4, "d");
+        cache.put(3, "c2");
+        cache.put(5, "e");
+        assertEquals(List.of("2=b evicted", "1=a evicted"), evicted);
+        assertEquals("c2", cache.get(3));
+        assertTrue(cache.containsKey(4));
+        assertTrue(cache.containsKey(5));
+        assertEquals(3, cache.size());
+    }
+
+    /**
+     * LFU evicts the pair used least often, and the least recently used among ties
+     */
+    @Test
+    public void lfuEvictsLeastFrequentlyUsed() {
+        BoundedCache<Integer, String> cache = new BoundedCache<>(3, EvictionPolicy.LFU);
+        List<String> evicted = record(cache);
+        cache.put(1, "a");
+        cache.put(2, "b");
+        cache.put(3, "c");
+        cache.get(1);
+        cache.get(1);
+        cache.get(3);
+        // 1 used three times, 3 twice, 2 once
+        cache.put(4, "d");
+        cache.put(5, "e");
+        assertEquals(List.of("2=b evicted", "4=d evicted"), evicted);
+
+        // 5 and the new 6 are both used once; 5 is older
+        cache.put(6, "f");
+        assertEquals(List.of("2=b evicted", "4=d evicted", "5=e evicted"), evicted);
+        assertEquals("a", cache.get(1));
+        assertEquals("c", cache.get(3));
+        assertEquals("f", cache.get(6));
+    }
+
+    /**
+     * A scan of keys used once flushes LRU but leaves the frequently used keys
+     * of W-TinyLFU in place
+     */
+    @Test
+    public void tinyLfuResistsScans() {
+        int capacity = 100;
+        BoundedCache<Integer, Integer> lru = new BoundedCache<>(capacity, EvictionPolicy.LRU);
+        BoundedCache<Integer, Integer> tinyLfu = new BoundedCache<>(capacity, EvictionPolicy.TINY_LFU);
+        for (BoundedCache<Integer, Integer> cache : List.of(lru, tinyLfu)) {
+            for (int key = 0; key < capacity; key++) {
+                cache.put(key, key);
+            }
+            for (int use = 0; use < 5; use++) {
+                for (int key = 0; key < capacity; key++) {
+                    cache.get(key);
+                }
+            }
+            for (int key = 1000; key < 1000 + capacity; key++) {
+                cache.put(key, key);
+            }
+        }
+        assertEquals(0, countKept(lru, capacity));
+        int kept = countKept(tinyLfu, capacity);
+        // a scanned key whose counters all collide with used keys looks frequent and gets in
+        assertTrue(kept >= 80, "only " + kept + " frequently used keys kept");
+        assertEquals(capacity, tinyLfu.size());
+    }
+
+    /**
+     * W-TinyLFU admits a new key which was asked for more often than the main area's victim
+     */
+    @Test
+    public void tinyLfuAdmitsFrequentNewKeys() {
+        int capacity = 100;
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(capacity, EvictionPolicy.TINY_LFU);
+        for (int key = 0; key < capacity; key++) {
+            cache.put(key, key);
+        }
+        for (int miss = 0; miss < 5; miss++) {
+            assertThrows(NoSuchKeyException.class, () -> cache.get(500));
+        }
+        cache.put(500, 500);
+        // pushes 500 out of the window, where it competes with the main area
+        cache.put(501, 501);
+        assertTrue(cache.containsKey(500));
+        assertEquals(capacity, cache.size());
+    }
+
+    /**
+     * Pairs expire after their time to live, are reported as expired, and a
+     * write restarts the time to live
+     * @throws InterruptedException if interrupted while waiting
+     */
+    @Test
+    public void pairsExpireAfterWrite() throws InterruptedException {
+        long ttl = TimeUnit.MILLISECONDS.toNanos(1000);
+        BoundedCache<Integer, String> cache = new BoundedCache<>(10, EvictionPolicy.LRU, ttl);
+        List<String> evicted = record(cache);
+        cache.put(1, "a");
+        cache.put(2, "b");
+        assertEquals("a", cache.get(1));
+        TimeUnit.MILLISECONDS.sleep(600);
+        cache.put(2, "b2");
+        TimeUnit.MILLISECONDS.sleep(600);
+
+        assertFalse(cache.containsKey(1));
+        assertThrows(NoSuchKeyException.class, () -> cache.get(1));
+        assertEquals("b2", cache.get(2));
+        assertEquals(List.of("1=a expired"), evicted);
+        assertEquals(1, cache.evictionCount());
+    }
+
+    /**
+     * cleanUp drops every expired pair without waiting for a lookup
+     * @throws InterruptedException if interrupted while waiting
+     */
+    @Test
+    public void cleanUpDropsExpiredPairs() throws InterruptedException {
+        for (EvictionPolicy policy : EvictionPolicy.values()) {
+            BoundedCache<Integer, Integer> cache = new BoundedCache<>(100, policy,
+                    TimeUnit.MILLISECONDS.toNanos(50));
+            List<String> evicted = record(cache);
+            for (int key = 0; key < 50; key++) {
+                cache.put(key, key);
+                cache.get(key);
+            }
+            TimeUnit.MILLISECONDS.sleep(100);
+            assertEquals(50, cache.size(), policy + " before cleanUp");
+            cache.cleanUp();
+            assertEquals(0, cache.size(), policy + " after cleanUp");
+            assertEquals(50, evicted.size(), policy + " listener calls");
+            assertTrue(evicted.stream().allMatch(pair -> pair.endsWith("expired")), policy.toString());
+        }
+    }
+
+    /**
+     * Hits, misses and evictions are counted; containsKey and remove do not count
+     */
+    @Test
+    public void statisticsAreCounted() {
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(2, EvictionPolicy.LRU);
+        List<String> evicted = record(cache);
+        assertEquals(0, cache.hitRate());
+        cache.put(1, 1);
+        cache.put(2, 2);
+        cache.get(1);
+        cache.get(1);
+        cache.get(2);
+        assertThrows(NoSuchKeyException.class, () -> cache.get(3));
+        assertTrue(cache.containsKey(1));
+        assertFalse(cache.containsKey(3));
+        assertEquals(3, cache.hitCount());
+        assertEquals(1, cache.missCount());
+        assertEquals(0.75, cache.hitRate());
+
+        assertEquals(2, cache.remove(2));
+        assertThrows(NoSuchKeyException.class, () -> cache.remove(2));
+        assertEquals(0, cache.evictionCount());
+        cache.put(3, 3);
+        cache.put(4, 4);
+        assertEquals(1, cache.evictionCount());
+        assertEquals(List.of("1=1 evicted"), evicted);
+    }
+
+    /**
+     * Records the pairs given to the eviction listener of the cache as "key=value evicted|expired"
+     * @param cache cache to listen to
+     * @param <K> Generic type for key
+     * @param <V> Generic type for value
+     * @return list filled as pairs leave the cache
+     */
+    private static <K, V> List<String> record(BoundedCache<K, V> cache) {
+        List<String> evicted = new ArrayList<>();
+        cache.setEvictionListener((key, value, expired) ->
+                evicted.add(key + "=" + value + (expired ? " expired" : " evicted")));
+        return evicted;
+    }
+
+    /**
+     * Counts the keys 0 to count - 1 still in the cache
+     * @param cache cache to look into
+     * @param count number of keys
+     * @return number of keys found
+     */
+    private static int countKept(BoundedCache<Integer, Integer> cache, int count) {
+        int kept = 0;
+        for (int key = 0; key < count; key++) {
+            if (cache.containsKey(key)) {
+                kept++;
+            }
+        }
+        return kept;
+    }
+}
@@ -0,0 +1,196 @@
+package datastructures.io;
+
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.dictionaries.HashDictionary;
+import datastructures.interfaces.IList;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.Pipe;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Round-trip tests of ChannelEncoder and ChannelDecoder, with buffers small
+ * enough that tags and elements are split across refills.
+ * @author Shohei F. Koshiro
+ */
+public class ChannelCodecTest {
+    /** smallest buffer the encoder accepts */
+    private static final int SMALL_BUFFER = 10;
+
+    /**
+     * Lists with null, empty and long items come back equal, also when
+     * several lists follow each other in the channel
+     * @throws IOException never, the channels are in memory
+     */
+    @Test
+    public void listsRoundTrip() throws IOException {
+        List<String> first = Arrays.asList("a", null, "", "a longer string than the buffers", null);
+        List<String> second = new ArrayList<>();
+        Random random = new Random(16);
+        for (int i = 0; i < 500; i++) {
+            second.add(random.nextInt(10) == 0 ? null : "item " + random.nextInt());
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ChannelEncoder encoder = new ChannelEncoder(Channels.newChannel(bytes), SMALL_BUFFER);
+        encoder.writeList(first, Codecs.STRING);
+        encoder.writeList(new ArrayList<>(), Codecs.STRING);
+        encoder.writeList(second, Codecs.STRING);
+        encoder.flush();
+
+        for (int bufferSize : new int[] {1, 7, ChannelDecoder.DEFAULT_BUFFER_SIZE}) {
+            ChannelDecoder decoder = decoder(bytes.toByteArray(), bufferSize);
+            assertEquals(first, read(decoder), "buffer of " + bufferSize);
+            assertEquals(new ArrayList<>(), read(decoder), "buffer of " + bufferSize);
+            assertEquals(second, read(decoder), "buffer of " + bufferSize);
+        }
+    }
+
+    /**
+     * Elements whose tags sit on either side of the one, two and three byte
+     * varint boundaries, and elements larger than both buffers, come back equal
+     * @throws IOException never, the channels are in memory
+     */
+    @Test
+    public void varintBoundariesAndLargeElementsRoundTrip() throws IOException {
+        // tag = length + 2, so these lengths give tags 2, 127, 128, 16383, 16384 and beyond
+        int[] lengths = {0, 125, 126, 16381, 16382, 100000};
+        List<byte[]> items = new ArrayList<>();
+        Random random = new Random(16);
+        long expectedSize = 1;
+        for (int length : lengths) {
+            byte[] item = new byte[length];
+            random.nextBytes(item);
+            items.add(item);
+            long tag = length + 2;
+            expectedSize += length + (tag < 128 ? 1 : tag < 16384 ? 2 : 3);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ChannelEncoder encoder = new ChannelEncoder(Channels.newChannel(bytes), 64);
+        encoder.writeList(items, Codecs.BYTES);
+        encoder.flush();
+        assertEquals(expectedSize, bytes.size());
+
+        IList<byte[]> decoded = new DoubleLinkedList<>();
+        decoder(bytes.toByteArray(), 64).readList(decoded, Codecs.BYTES);
+        assertEquals(items.size(), decoded.size());
+        for (int i = 0; i < items.size(); i++) {
+            assertArrayEquals(items.get(i), decoded.get(i), "item of length " + lengths[i]);
+        }
+    }
+
+    /**
+     * Dictionaries with a null key and null values come back equal
+     * @throws IOException never, the channels are in memory
+     */
+    @Test
+    public void dictionariesRoundTrip() throws IOException {
+        HashDictionary<String, Integer> dictionary = new HashDictionary<>();
+        for (int i = 0; i < 300; i++) {
+            dictionary.put("key " + i, i % 7 == 0 ? null : i);
+        }
+        dictionary.put(null, -1);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ChannelEncoder encoder = new ChannelEncoder(Channels.newChannel(bytes), SMALL_BUFFER);
+        encoder.writeDictionary(dictionary.stream().iterator(), Codecs.STRING, Codecs.INTEGER);
+        encoder.flush();
+
+        HashDictionary<String, Integer> decoded = new HashDictionary<>();
+        decoder(bytes.toByteArray(), 5).readDictionary(decoded, Codecs.STRING, Codecs.INTEGER);
+        assertEquals(dictionary.size(), decoded.size());
+        for (int i = 0; i < 300; i++) {
+            assertEquals(dictionary.get("key " + i), decoded.get("key " + i));
+        }
+        assertEquals(-1, decoded.get(null));
+        assertNull(decoded.get("key 0"));
+    }
+
+    /**
+     * Input cut anywhere before the end tag throws EOFException, whether the
+     * cut falls in a tag, in a small element or in an element larger than the buffer
+     * @throws IOException never, the channels are in memory
+     */
+    @Test
+    public void truncatedInputThrowsEofException() throws IOException {
+        List<byte[]> items = Arrays.asList(new byte[3], null, new byte[200], new byte[0]);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ChannelEncoder encoder = new ChannelEncoder(Channels.newChannel(bytes), SMALL_BUFFER);
+        encoder.writeList(items, Codecs.BYTES);
+        encoder.flush();
+        byte[] encoded = bytes.toByteArray();
+
+        for (int cut = 0; cut < encoded.length; cut++) {
+            ChannelDecoder decoder = decoder(Arrays.copyOf(encoded, cut), 16);
+            assertThrows(EOFException.class, () -> decoder.readList(new DoubleLinkedList<>(), Codecs.BYTES),
+                    "cut after " + cut + " bytes");
+        }
+    }
+
+    /**
+     * Channels in non-blocking mode are rejected instead of being polled in a busy loop
+     * @throws IOException if the pipe cannot be opened
+     */
+    @Test
+    public void nonBlockingChannelsAreRejected() throws IOException {
+        Pipe pipe = Pipe.open();
+        try {
+            pipe.source().configureBlocking(false);
+            pipe.sink().configureBlocking(false);
+            assertThrows(IllegalArgumentException.class, () -> new ChannelDecoder(pipe.source()));
+            assertThrows(IllegalArgumentException.class, () -> new ChannelEncoder(pipe.sink()));
+
+            pipe.source().configureBlocking(true);
+            pipe.sink().configureBlocking(true);
+            ChannelEncoder encoder = new ChannelEncoder(pipe.sink());
+            encoder.writeList(Arrays.asList(1, null, 3), Codecs.INTEGER);
+            encoder.flush();
+            IList<Integer> decoded = new DoubleLinkedList<>();
+            new ChannelDecoder(pipe.source()).readList(decoded, Codecs.INTEGER);
+            assertEquals(3, decoded.size());
+            assertNull(decoded.get(1));
+            assertFalse(decoded.contains(2));
+        } finally {
+            pipe.source().close();
+            pipe.sink().close();
+        }
+    }
+
+    /**
+     * Creates a decoder reading the bytes
+     * @param bytes encoded bytes
+     * @param bufferSize size of the decoder's buffer
+     * @return decoder
+     */
+    private static ChannelDecoder decoder(byte[] bytes, int bufferSize) {
+        return new ChannelDecoder(Channels.newChannel(new ByteArrayInputStream(bytes)), bufferSize);
+    }
+
+    /**
+     * Reads the next list of strings
+     * @param decoder decoder to read from
+     * @return items of the list
+     * @throws IOException if the list cannot be read
+     */
+    private static List<String> read(ChannelDecoder decoder) throws IOException {
+        IList<String> list = new DoubleLinkedList<>();
+        decoder.readList(list, Codecs.STRING);
+        List<String> items = new ArrayList<>();
+        for (String item : list) {
+            items.add(item);
+        }
+        return items;
+    }
+}
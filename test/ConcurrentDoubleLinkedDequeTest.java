@@ -0,0 +1,203 @@
+package datastructures.concrete;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests of ConcurrentDoubleLinkedDeque under concurrent producers and consumers,
+ * and of the index operations away from its ends.
+ * @author Shohei F. Koshiro
+ */
+public class ConcurrentDoubleLinkedDequeTest {
+    /** number of producer and of consumer threads */
+    private static final int THREADS = 4;
+
+    /** items offered by each producer per round */
+    private static final int ITEMS = 50000;
+
+    /** number of rounds */
+    private static final int ROUNDS = 20;
+
+    /**
+     * Producers offer at both ends, consumers poll at both ends; every item
+     * must come out exactly once.
+     * @throws Exception if a thread fails
+     */
+    @Test
+    public void producersAndConsumersLoseNothing() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(2 * THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                ConcurrentDoubleLinkedDeque<Integer> deque = new ConcurrentDoubleLinkedDeque<>();
+                int total = THREADS * ITEMS;
+                AtomicInteger consumed = new AtomicInteger();
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> producers = new ArrayList<>();
+                List<Future<BitSet>> consumers = new ArrayList<>();
+                for (int t = 0; t < THREADS; t++) {
+                    int first = t * ITEMS;
+                    producers.add(pool.submit(() -> {
+                        start.await();
+                        for (int i = first; i < first + ITEMS; i++) {
+                            if ((i & 1) == 0) {
+                                deque.offerLast(i);
+                            } else {
+                                deque.offerFirst(i);
+                            }
+                        }
+                        return null;
+                    }));
+                    boolean fromFront = (t & 1) == 0;
+                    consumers.add(pool.submit(() -> {
+                        start.await();
+                        BitSet seen = new BitSet(total);
+                        while (consumed.get() < total) {
+                            Integer item = fromFront ? deque.pollFirst() : deque.pollLast();
+                            if (item != null) {
+                                assertFalse(seen.get(item), "item polled twice : " + item);
+                                seen.set(item);
+                                consumed.incrementAndGet();
+                            }
+                        }
+                        return seen;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> producer : producers) {
+                    producer.get(60, TimeUnit.SECONDS);
+                }
+                BitSet all = new BitSet(total);
+                int count = 0;
+                for (Future<BitSet> consumer : consumers) {
+                    BitSet seen = consumer.get(60, TimeUnit.SECONDS);
+                    assertFalse(all.intersects(seen), "item polled by two consumers");
+                    all.or(seen);
+                    count += seen.cardinality();
+                }
+                assertEquals(total, count);
+                assertEquals(total, all.cardinality());
+                assertNull(deque.pollFirst());
+                assertEquals(0, deque.size());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * set, insert and delete at any index match ArrayList
+     */
+    @Test
+    public void indexOperationsMatchArrayList() {
+        Random random = new Random(7);
+        ConcurrentDoubleLinkedDeque<Integer> deque = new ConcurrentDoubleLinkedDeque<>();
+        List<Integer> model = new ArrayList<>();
+        for (int step = 0; step < 20000; step++) {
+            int size = model.size();
+            switch (random.nextInt(5)) {
+                case 0:
+                    int at = random.nextInt(size + 1);
+                    deque.insert(at, step);
+                    model.add(at, step);
+                    break;
+                case 1:
+                    if (size > 0) {
+                        int index = random.nextInt(size);
+                        assertEquals(model.remove(index), deque.delete(index));
+                    }
+                    break;
+                case 2:
+                    if (size > 0) {
+                        int index = random.nextInt(size);
+                        deque.set(index, step);
+                        model.set(index, step);
+                    }
+                    break;
+                case 3:
+                    deque.add(step);
+                    model.add(step);
+                    break;
+                default:
+                    if (size > 0) {
+                        int index = random.nextInt(size);
+                        assertEquals(model.get(index), deque.get(index));
+                    }
+                    break;
+            }
+            assertEquals(model.size(), deque.size());
+        }
+        List<Integer> items = new ArrayList<>();
+        deque.forEach(items::add);
+        assertEquals(model, items);
+        assertThrows(IndexOutOfBoundsException.class, () -> deque.set(model.size(), 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> deque.insert(model.size() + 1, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> deque.delete(model.size()));
+    }
+
+    /**
+     * Deletes in the middle while other threads push and pop at the ends; no
+     * item is lost or duplicated.
+     * @throws Exception if a thread fails
+     */
+    @Test
+    public void middleDeletesRaceWithEnds() throws Exception {
+        ConcurrentDoubleLinkedDeque<Integer> deque = new ConcurrentDoubleLinkedDeque<>();
+        for (int i = 0; i < 1000; i++) {
+            deque.add(-1 - i);
+        }
+        int perThread = 20000;
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        try {
+            Future<?> producer = pool.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    deque.offerLast(i);
+                }
+            });
+            Future<BitSet> middle = pool.submit(() -> {
+                BitSet seen = new BitSet();
+                Random random = new Random(3);
+                for (int i = 0; i < 2000; i++) {
+                    int size = deque.size();
+                    if (size > 2) {
+                        try {
+                            int item = deque.delete(1 + random.nextInt(size - 2));
+                            if (item >= 0) {
+                                seen.set(item);
+                            }
+                        } catch (IndexOutOfBoundsException e) {
+                            // the deque shrank in the meantime
+                        }
+                    }
+                }
+                return seen;
+            });
+            producer.get(60, TimeUnit.SECONDS);
+            BitSet seen = middle.get(60, TimeUnit.SECONDS);
+            Integer item;
+            while ((item = deque.pollFirst()) != null) {
+                if (item >= 0) {
+                    assertFalse(seen.get(item), "item deleted and still in the deque : " + item);
+                    seen.set(item);
+                }
+            }
+            assertEquals(perThread, seen.cardinality());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package datastructures.concrete.dictionaries;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that putIfAbsent, computeIfAbsent and merge of ConcurrentHashDictionary
+ * are atomic when many threads work on the same keys. The null key is one of them.
+ * @author Shohei F. Koshiro
+ */
+public class ConcurrentHashDictionaryTest {
+    /** number of threads */
+    private static final int THREADS = 8;
+
+    /** number of shared keys, the last one being null */
+    private static final int KEYS = 64;
+
+    /** passes of each thread over the keys */
+    private static final int ROUNDS = 2000;
+
+    /**
+     * Threads merging counts into shared keys lose no increment
+     * @throws Exception if a thread fails
+     */
+    @Test
+    public void mergeCountsEveryIncrement() throws Exception {
+        ConcurrentHashDictionary<Integer, Long> counts = new ConcurrentHashDictionary<>(4);
+        runAll(thread -> () -> {
+            for (int round = 0; round < ROUNDS; round++) {
+                for (int i = 0; i < KEYS; i++) {
+                    // threads walk the keys in different orders
+                    counts.merge(key((i + thread) % KEYS), 1L, Long::sum);
+                }
+            }
+            return null;
+        });
+        assertEquals(KEYS, counts.size());
+        for (int i = 0; i < KEYS; i++) {
+            assertEquals((long) THREADS * ROUNDS, counts.get(key(i)), "count of " + key(i));
+        }
+    }
+
+    /**
+     * Merging up and down with removal at zero leaves every key out of the dictionary
+     * @throws Exception if a thread fails
+     */
+    @Test
+    public void mergeRemovesAtomically() throws Exception {
+        ConcurrentHashDictionary<Integer, Long> counts = new ConcurrentHashDictionary<>(4);
+        runAll(thread -> () -> {
+            long delta = thread % 2 == 0 ? 1L : -1L;
+            for (int round = 0; round < ROUNDS; round++) {
+                for (int i = 0; i < KEYS; i++) {
+                    counts.merge(key(i), delta, (a, b) -> a + b == 0 ? null : a + b);
+                }
+            }
+            return null;
+        });
+        assertEquals(0, counts.size());
+    }
+
+    /**
+     * Exactly one thread wins putIfAbsent for each key, and its value is the one kept
+     * @throws Exception if a thread fails
+     */
+    @Test
+    public void putIfAbsentHasOneWinner() throws Exception {
+        for (int round = 0; round < ROUNDS / 100; round++) {
+            ConcurrentHashDictionary<Integer, Integer> owners = new ConcurrentHashDictionary<>(4);
+            AtomicIntegerArray wins = new AtomicIntegerArray(KEYS);
+            AtomicIntegerArray winner = new AtomicIntegerArray(KEYS);
+            runAll(thread -> () -> {
+                for (int i = 0; i < KEYS; i++) {
+                    if (owners.putIfAbsent(key(i), thread)) {
+                        wins.incrementAndGet(i);
+                        winner.set(i, thread);
+                    }
+                }
+                return null;
+            });
+            for (int i = 0; i < KEYS; i++) {
+                assertEquals(1, wins.get(i), "winners of " + key(i));
+                assertEquals(winner.get(i), owners.get(key(i)), "owner of " + key(i));
+            }
+        }
+    }
+
+    /**
+     * computeIfAbsent calls the function once per key and every thread gets the same value
+     * @throws Exception if a thread fails
+     */
+    @Test
+    public void computeIfAbsentComputesOnce() throws Exception {
+        for (int round = 0; round < ROUNDS / 100; round++) {
+            ConcurrentHashDictionary<Integer, Object> values = new ConcurrentHashDictionary<>(4);
+            AtomicIntegerArray calls = new AtomicIntegerArray(KEYS);
+            List<Object[]> seen = runAll(thread -> () -> {
+                Object[] results = new Object[KEYS];
+                for (int i = 0; i < KEYS; i++) {
+                    int index = i;
+                    results[i] = values.computeIfAbsent(key(i), k -> {
+                        calls.incrementAndGet(index);
+                        return new Object();
+                    });
+                }
+                return results;
+            });
+            for (int i = 0; i < KEYS; i++) {
+                assertEquals(1, calls.get(i), "calls for " + key(i));
+                for (Object[] results : seen) {
+                    assertSame(values.get(key(i)), results[i], "value of " + key(i));
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the i-th shared key, the last one being null
+     * @param i index of the key
+     * @return key
+     */
+    private static Integer key(int i) {
+        return i == KEYS - 1 ? null : i * 31;
+    }
+
+    /**
+     * Task of one thread, built from its number
+     * @param <T> result of the task
+     */
+    private interface Task<T> {
+        /**
+         * Builds the task of the thread
+         * @param thread number of the thread
+         * @return task
+         */
+        Callable<T> of(int thread);
+    }
+
+    /**
+     * Runs the task on every thread, all starting together, and waits for them
+     * @param task task of each thread
+     * @param <T> result of the task
+     * @return results in thread order
+     * @throws Exception if a thread fails
+     */
+    private static <T> List<T> runAll(Task<T> task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<T>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                Callable<T> callable = task.of(t);
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return callable.call();
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(60, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+            assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        }
+    }
+}
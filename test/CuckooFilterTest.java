@@ -0,0 +1,141 @@
+package datastructures.concrete;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests CuckooFilter : no false negatives, a false-positive rate near the
+ * configured one, and the victim kept aside when the filter is full.
+ * @author Shohei F. Koshiro
+ */
+public class CuckooFilterTest {
+    /** number of items the large filters are created for */
+    private static final int CAPACITY = 100000;
+
+    /**
+     * Every added item is found, after removals of other items and after re-adding
+     */
+    @Test
+    public void noFalseNegatives() {
+        CuckooFilter<Integer> filter = new CuckooFilter<>(CAPACITY, 0.01);
+        for (int i = 0; i < CAPACITY; i++) {
+            assertTrue(filter.add(i), "add " + i);
+        }
+        assertEquals(CAPACITY, filter.size());
+        for (int i = 0; i < CAPACITY; i++) {
+            assertTrue(filter.mightContain(i), "after adding, " + i);
+        }
+        for (int i = 0; i < CAPACITY; i += 2) {
+            assertTrue(filter.remove(i), "remove " + i);
+        }
+        assertEquals(CAPACITY / 2, filter.size());
+        for (int i = 1; i < CAPACITY; i += 2) {
+            assertTrue(filter.mightContain(i), "after removals, " + i);
+        }
+        for (int i = 0; i < CAPACITY; i += 4) {
+            assertTrue(filter.add(i), "add again " + i);
+        }
+        for (int i = 0; i < CAPACITY; i++) {
+            if (i % 2 == 1 || i % 4 == 0) {
+                assertTrue(filter.mightContain(i), "after adding again, " + i);
+            }
+        }
+    }
+
+    /**
+     * Items which were never added are reported at no more than the configured rate,
+     * and not far below it
+     */
+    @Test
+    public void falsePositiveRateIsNearConfiguredRate() {
+        for (double rate : new double[] {0.05, 0.01, 0.001}) {
+            CuckooFilter<Integer> filter = new CuckooFilter<>(CAPACITY, rate);
+            for (int i = 0; i < CAPACITY; i++) {
+                filter.add(i);
+            }
+            int queries = 1000000;
+            int falsePositives = 0;
+            for (int i = CAPACITY; i < CAPACITY + queries; i++) {
+                if (filter.mightContain(i)) {
+                    falsePositives++;
+                }
+            }
+            double measured = (double) falsePositives / queries;
+            assertTrue(measured <= rate, "rate " + rate + " measured " + measured);
+            assertTrue(measured >= rate / 10, "rate " + rate + " measured " + measured);
+        }
+    }
+
+    /**
+     * Items sharing a hash code share their fingerprint and both buckets, so
+     * the filter fills up after a known number of them : add then returns
+     * false, and removing one of them makes room for exactly one more
+     */
+    @Test
+    public void fullBucketsRejectAdds() {
+        // "Aa" and "BB" have the same hash code, and so do all their concatenations
+        List<String> items = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            StringBuilder item = new StringBuilder();
+            for (int bit = 0; bit < 5; bit++) {
+                item.append((i >> bit & 1) == 0 ? "Aa" : "BB");
+            }
+            items.add(item.toString());
+        }
+        CuckooFilter<String> filter = new CuckooFilter<>(1000, 0.01);
+        int count = 0;
+        while (!filter.isFull()) {
+            assertTrue(filter.add(items.get(count)), "add " + count);
+            count++;
+        }
+        // two buckets of four slots, or one if both buckets are the same, plus the victim
+        assertTrue(count == 9 || count == 5, "full after " + count + " items");
+        assertFalse(filter.add(items.get(count)));
+        assertEquals(count, filter.size());
+
+        assertTrue(filter.remove(items.get(0)));
+        assertFalse(filter.isFull());
+        assertEquals(count - 1, filter.size());
+        for (int i = 1; i < count; i++) {
+            assertTrue(filter.mightContain(items.get(i)), "after remove, " + i);
+        }
+        assertTrue(filter.add(items.get(count)));
+        assertTrue(filter.isFull());
+    }
+
+    /**
+     * When a small filter of unrelated items fills up, no added item is lost,
+     * neither while full nor while items are removed; each removal frees a
+     * slot, and the victim is placed back once one of them is within its reach
+     */
+    @Test
+    public void fullFilterLosesNoItem() {
+        for (int trial = 0; trial < 100; trial++) {
+            CuckooFilter<Integer> filter = new CuckooFilter<>(8, 0.01);
+            List<Integer> added = new ArrayList<>();
+            int item = trial * 1000;
+            while (!filter.isFull()) {
+                assertTrue(filter.add(item), "trial " + trial + " add " + item);
+                added.add(item);
+                item++;
+            }
+            assertFalse(filter.add(item), "trial " + trial + " add to a full filter");
+            while (filter.isFull()) {
+                for (Integer each : added) {
+                    assertTrue(filter.mightContain(each), "trial " + trial + " full, " + each);
+                }
+                assertTrue(filter.remove(added.remove(added.size() - 1)), "trial " + trial + " remove");
+                assertEquals(added.size(), filter.size());
+            }
+            for (Integer each : added) {
+                assertTrue(filter.mightContain(each), "trial " + trial + " victim placed, " + each);
+            }
+        }
+    }
+}
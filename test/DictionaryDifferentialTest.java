@@ -0,0 +1,287 @@
+package datastructures.concrete.dictionaries;
+
+import datastructures.concrete.BoundedCache;
+import datastructures.concrete.BoundedCache.EvictionPolicy;
+import datastructures.interfaces.IDictionary;
+import datastructures.io.Codecs;
+import misc.exceptions.NoSuchKeyException;
+import misc.metrics.LatencyHistograms;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Differential test of every IDictionary : random sequences of operations run
+ * against the implementation and against HashMap, or TreeMap for the sorted
+ * dictionaries, and every result, or the type of exception thrown, must be the
+ * same. Keys are drawn from a small range so that gets, removes and puts hit
+ * existing keys about as often as they miss. AVL also has its ordered queries
+ * checked, PersistentAVL its iteration order, and MappedDictionary is compacted
+ * and reopened along the way. The implementations which accept a null key get
+ * it mixed in. BoundedCache is large enough never to evict, and one
+ * FilteredDictionary is sized below the number of keys, so that its filter
+ * fills up and lookups fall back to the dictionary behind it.
+ * A failure names the seed and the step.
+ * The latency of every operation is printed at the end.
+ * @author Shohei F. Koshiro
+ */
+public class DictionaryDifferentialTest {
+    /** operations per sequence */
+    private static final int STEPS = 50000;
+
+    /** keys are drawn from 0 to KEYS - 1 */
+    private static final int KEYS = 512;
+
+    /** one key in NULL_KEY_ONE_IN is null for the implementations which accept it */
+    private static final int NULL_KEY_ONE_IN = 64;
+
+    /** number of keys the small FilteredDictionary is sized for */
+    private static final int SMALL_FILTER = 64;
+
+    /** implementations which accept a null key */
+    private static final Set<String> NULL_KEYS = Set.of("ArrayDictionary", "HashDictionary",
+            "ConcurrentHashDictionary", "FilteredDictionary", "FilteredDictionary(" + SMALL_FILTER + ")",
+            "BoundedCache(LRU)", "BoundedCache(LFU)", "BoundedCache(TINY_LFU)");
+
+    /** seed of the sequences */
+    private static final long SEED = 373;
+
+    /** steps between two compactions of MappedDictionary */
+    private static final int COMPACTION_INTERVAL = 5000;
+
+    /** latency of every operation of every implementation */
+    private static final LatencyHistograms LATENCIES = new LatencyHistograms();
+
+    /** directory for the files of MappedDictionary */
+    @TempDir
+    Path directory;
+
+    /**
+     * Prints the latencies
+     */
+    @AfterAll
+    public static void printLatencies() {
+        LATENCIES.print(System.out);
+    }
+
+    /**
+     * Creates an empty dictionary
+     * @param name simple class name of the implementation, with the filter size or eviction policy
+     * @return the new dictionary
+     * @throws IOException if the files of MappedDictionary cannot be created
+     */
+    private IDictionary<Integer, Integer> newDictionary(String name) throws IOException {
+        switch (name) {
+            case "ArrayDictionary":
+                return new ArrayDictionary<>();
+            case "HashDictionary":
+                return new HashDictionary<>();
+            case "AVL":
+                return new AVL<>();
+            case "PersistentAVL":
+                return new PersistentAVL<>();
+            case "ConcurrentHashDictionary":
+                return new ConcurrentHashDictionary<>();
+            case "FilteredDictionary":
+                return new FilteredDictionary<>(new HashDictionary<>(), KEYS);
+            case "FilteredDictionary(" + SMALL_FILTER + ")":
+                return new FilteredDictionary<>(new HashDictionary<>(), SMALL_FILTER);
+            case "BoundedCache(LRU)":
+                // room for every key and the null key : nothing is ever evicted
+                return new BoundedCache<>(KEYS + 1, EvictionPolicy.LRU);
+            case "BoundedCache(LFU)":
+                return new BoundedCache<>(KEYS + 1, EvictionPolicy.LFU);
+            case "BoundedCache(TINY_LFU)":
+                return new BoundedCache<>(KEYS + 1, EvictionPolicy.TINY_LFU);
+            case "MappedDictionary":
+                return this.openMapped();
+            default:
+                throw new IllegalArgumentException("Unknown dictionary : " + name);
+        }
+    }
+
+    /**
+     * Opens the MappedDictionary of the test, with small segments so that records often skip to the next one
+     * @return the dictionary
+     * @throws IOException if its files cannot be opened
+     */
+    private MappedDictionary<Integer, Integer> openMapped() throws IOException {
+        return new MappedDictionary<>(this.directory.resolve("dictionary"), Codecs.INTEGER, Codecs.INTEGER, 100);
+    }
+
+    /**
+     * Every IDictionary operation gives the same result as the java.util model
+     * @param name implementation
+     * @throws IOException if the files of MappedDictionary cannot be used
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"ArrayDictionary", "HashDictionary", "AVL", "PersistentAVL", "ConcurrentHashDictionary",
+            "FilteredDictionary", "FilteredDictionary(" + SMALL_FILTER + ")", "MappedDictionary",
+            "BoundedCache(LRU)", "BoundedCache(LFU)", "BoundedCache(TINY_LFU)"})
+    public void dictionaryMatchesModel(String name) throws IOException {
+        IDictionary<Integer, Integer> dictionary = this.newDictionary(name);
+        boolean sorted = dictionary instanceof AVL || dictionary instanceof PersistentAVL;
+        Map<Integer, Integer> model = sorted ? new TreeMap<>() : new HashMap<>();
+        boolean nullKeys = NULL_KEYS.contains(name);
+        Random random = new Random(SEED);
+        try {
+            for (int step = 0; step < STEPS; step++) {
+                IDictionary<Integer, Integer> current = dictionary;
+                int op = random.nextInt(100);
+                Integer key = nextKey(random, nullKeys);
+                Integer value = random.nextInt();
+                String context = name + " seed " + SEED + " step " + step;
+                if (op < 35) {
+                    model.put(key, value);
+                    this.check(context + " put(" + key + ")", null, name, "put", () -> {
+                        current.put(key, value);
+                        return null;
+                    });
+                } else if (op < 55) {
+                    Object expected = model.containsKey(key) ? model.get(key) : NoSuchKeyException.class;
+                    this.check(context + " get(" + key + ")", expected, name, "get", () -> current.get(key));
+                } else if (op < 72) {
+                    Object expected = model.containsKey(key) ? model.remove(key) : NoSuchKeyException.class;
+                    this.check(context + " remove(" + key + ")", expected, name, "remove", () -> current.remove(key));
+                } else if (op < 88) {
+                    this.check(context + " containsKey(" + key + ")", model.containsKey(key), name, "containsKey",
+                            () -> current.containsKey(key));
+                } else if (op < 92) {
+                    this.check(context + " size", model.size(), name, "size", current::size);
+                } else if (dictionary instanceof AVL) {
+                    this.checkOrdered(context, (AVL<Integer, Integer>) dictionary, (TreeMap<Integer, Integer>) model,
+                            random);
+                } else if (dictionary instanceof PersistentAVL && op == 99) {
+                    PersistentAVL<Integer, Integer> persistent = (PersistentAVL<Integer, Integer>) dictionary;
+                    this.check(context + " iterator", new ArrayList<>(model.entrySet()), name, "iterator",
+                            () -> toList(persistent.iterator()));
+                }
+                if (dictionary instanceof MappedDictionary && step % COMPACTION_INTERVAL == COMPACTION_INTERVAL - 1) {
+                    MappedDictionary<Integer, Integer> mapped = (MappedDictionary<Integer, Integer>) dictionary;
+                    this.check(context + " compact", null, name, "compact", () -> {
+                        mapped.compact();
+                        return null;
+                    });
+                    mapped.close();
+                    dictionary = this.openMapped();
+                }
+            }
+            for (Map.Entry<Integer, Integer> entry : model.entrySet()) {
+                assertEquals(entry.getValue(), dictionary.get(entry.getKey()), name + " value of " + entry.getKey());
+            }
+            assertEquals(model.size(), dictionary.size(), name + " size at the end");
+            if (dictionary instanceof FilteredDictionary) {
+                boolean small = name.equals("FilteredDictionary(" + SMALL_FILTER + ")");
+                assertEquals(!small, ((FilteredDictionary<Integer, Integer>) dictionary).isFiltering(),
+                        name + " still filtering");
+            }
+        } finally {
+            if (dictionary instanceof MappedDictionary) {
+                ((MappedDictionary<Integer, Integer>) dictionary).close();
+            }
+        }
+    }
+
+    /**
+     * Draws a key, null once in NULL_KEY_ONE_IN times if the implementation accepts it.
+     * The same numbers are drawn either way, so every implementation runs the same sequence.
+     * @param random source of the sequence
+     * @param nullKeys if the implementation accepts a null key
+     * @return key
+     */
+    private static Integer nextKey(Random random, boolean nullKeys) {
+        boolean useNull = random.nextInt(NULL_KEY_ONE_IN) == 0;
+        int key = random.nextInt(KEYS);
+        return nullKeys && useNull ? null : key;
+    }
+
+    /**
+     * Checks one ordered query of AVL against TreeMap
+     * @param context description of the step for the failure message
+     * @param avl dictionary under test
+     * @param model its model
+     * @param random source of the sequence
+     */
+    private void checkOrdered(String context, AVL<Integer, Integer> avl, TreeMap<Integer, Integer> model,
+                              Random random) {
+        Integer key = random.nextInt(KEYS);
+        switch (random.nextInt(5)) {
+            case 0:
+                Integer floor = model.floorKey(key);
+                this.check(context + " floor(" + key + ")", floor == null ? NoSuchKeyException.class : floor,
+                        "AVL", "floor", () -> avl.floor(key));
+                break;
+            case 1:
+                Integer ceiling = model.ceilingKey(key);
+                this.check(context + " ceiling(" + key + ")", ceiling == null ? NoSuchKeyException.class : ceiling,
+                        "AVL", "ceiling", () -> avl.ceiling(key));
+                break;
+            case 2:
+                this.check(context + " rank(" + key + ")", model.headMap(key).size(), "AVL", "rank",
+                        () -> avl.rank(key));
+                break;
+            case 3:
+                int k = random.nextInt(model.size() + 2) - 1;
+                Object expected = k >= 0 && k < model.size() ? new ArrayList<>(model.keySet()).get(k)
+                        : IndexOutOfBoundsException.class;
+                this.check(context + " select(" + k + ")", expected, "AVL", "select", () -> avl.select(k));
+                break;
+            default:
+                Integer hi = key + random.nextInt(64);
+                this.check(context + " rangeIterator(" + key + ", " + hi + ")",
+                        new ArrayList<>(model.subMap(key, true, hi, true).keySet()), "AVL", "rangeIterator",
+                        () -> toList(avl.rangeIterator(key, hi)));
+                break;
+        }
+    }
+
+    /**
+     * Runs the operation, timing it, and compares its outcome with the expected one
+     * @param context description of the step for the failure message
+     * @param expected expected result, or the class of the expected exception
+     * @param name implementation
+     * @param operation name of the operation
+     * @param call the operation on the implementation
+     */
+    private void check(String context, Object expected, String name, String operation, Supplier<?> call) {
+        Object actual;
+        try {
+            actual = LATENCIES.time(name, operation, call);
+        } catch (RuntimeException e) {
+            actual = e.getClass();
+        }
+        if (!Objects.equals(expected, actual)) {
+            assertEquals(expected, actual, context);
+        }
+    }
+
+    /**
+     * Copies what the iterator returns
+     * @param iterator iterator to drain
+     * @param <T> type of the items
+     * @return list of the items in iteration order
+     */
+    private static <T> List<T> toList(Iterator<T> iterator) {
+        List<T> copy = new ArrayList<>();
+        while (iterator.hasNext()) {
+            copy.add(iterator.next());
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,141 @@
+package misc.metrics;
+
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.dictionaries.ArrayDictionary;
+import datastructures.concrete.dictionaries.HashDictionary;
+import datastructures.interfaces.IDictionary;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+import org.openjdk.jol.vm.VM;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tests the footprint() methods against the heap bytes JOL measures for the
+ * structure, minus the keys, values and items, which footprint() leaves out.
+ * @author Shohei F. Koshiro
+ */
+public class FootprintTest {
+    /** sizes the structures are checked at */
+    private static final int[] SIZES = {0, 1, 7, 100, 1000};
+
+    /**
+     * Skips the tests on JVMs whose layout differs from the one Footprint assumes
+     */
+    @BeforeAll
+    public static void checkLayout() {
+        assumeTrue(VM.current().sizeOfField("Object") == Footprint.REFERENCE, "references are not compressed");
+        assumeTrue(VM.current().objectHeaderSize() == Footprint.OBJECT_HEADER, "unexpected object header");
+        assumeTrue(VM.current().arrayHeaderSize() == Footprint.ARRAY_HEADER, "unexpected array header");
+        assumeTrue(VM.current().objectAlignment() == 8, "unexpected object alignment");
+    }
+
+    /**
+     * Footprint.object and Footprint.array match the sizes of plain objects and arrays
+     */
+    @Test
+    public void constantsMatchTheJvm() {
+        assertEquals(VM.current().sizeOf(new Object()), Footprint.object(0));
+        assertEquals(VM.current().sizeOf(new Object[0]), Footprint.array(0, Footprint.REFERENCE));
+        assertEquals(VM.current().sizeOf(new Object[5]), Footprint.array(5, Footprint.REFERENCE));
+        assertEquals(VM.current().sizeOf(new long[3]), Footprint.array(3, Long.BYTES));
+        assertEquals(VM.current().sizeOf(new byte[13]), Footprint.array(13, Byte.BYTES));
+    }
+
+    /**
+     * HashDictionary.footprint matches JOL as the table grows and after removals
+     */
+    @Test
+    public void hashDictionaryMatchesJol() {
+        for (int size : SIZES) {
+            HashDictionary<Integer, Integer> dictionary = new HashDictionary<>();
+            List<Object> items = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                put(dictionary, items, i);
+            }
+            assertMatches(dictionary, dictionary.footprint(), items, "HashDictionary of " + size);
+            for (int i = 0; i < size; i += 2) {
+                dictionary.remove(1000 + i);
+            }
+            assertMatches(dictionary, dictionary.footprint(), items, "HashDictionary after removals");
+        }
+        HashDictionary<Integer, Integer> presized = new HashDictionary<>(1000);
+        assertMatches(presized, presized.footprint(), new ArrayList<>(), "presized HashDictionary");
+    }
+
+    /**
+     * ArrayDictionary.footprint matches JOL as the array grows and after trimToSize
+     */
+    @Test
+    public void arrayDictionaryMatchesJol() {
+        for (int size : SIZES) {
+            ArrayDictionary<Integer, Integer> dictionary = new ArrayDictionary<>();
+            List<Object> items = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                put(dictionary, items, i);
+            }
+            assertMatches(dictionary, dictionary.footprint(), items, "ArrayDictionary of " + size);
+            for (int i = 0; i < size; i += 2) {
+                dictionary.remove(1000 + i);
+            }
+            dictionary.trimToSize();
+            assertMatches(dictionary, dictionary.footprint(), items, "trimmed ArrayDictionary");
+        }
+    }
+
+    /**
+     * DoubleLinkedList.footprint matches JOL as nodes are added and deleted
+     */
+    @Test
+    public void doubleLinkedListMatchesJol() {
+        for (int size : SIZES) {
+            DoubleLinkedList<Integer> list = new DoubleLinkedList<>();
+            List<Object> items = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                Integer item = 1000 + i;
+                list.add(item);
+                items.add(item);
+            }
+            assertMatches(list, list.footprint(), items, "DoubleLinkedList of " + size);
+            for (int i = 0; i < size / 2; i++) {
+                list.delete(list.size() / 2);
+            }
+            assertMatches(list, list.footprint(), items, "DoubleLinkedList after deletes");
+        }
+    }
+
+    /**
+     * Puts i -> -i with boxes outside of the Integer cache, and keeps them to be subtracted
+     * @param dictionary dictionary to fill
+     * @param items keys and values put so far
+     * @param i number of the pair
+     */
+    private static void put(IDictionary<Integer, Integer> dictionary, List<Object> items, int i) {
+        Integer key = 1000 + i;
+        Integer value = -1000 - i;
+        dictionary.put(key, value);
+        items.add(key);
+        items.add(value);
+    }
+
+    /**
+     * Asserts that the estimate equals the bytes JOL finds reachable from the
+     * structure, without the items
+     * @param structure structure to measure
+     * @param estimate what its footprint() returned
+     * @param items keys, values or items it may refer to
+     * @param context description for the failure message
+     */
+    private static void assertMatches(Object structure, long estimate, List<Object> items, String context) {
+        GraphLayout layout = GraphLayout.parseInstance(structure);
+        if (!items.isEmpty()) {
+            layout = layout.subtract(GraphLayout.parseInstance(items.toArray()));
+        }
+        assertEquals(layout.totalSize(), estimate, context + "\n" + layout.toFootprint());
+    }
+}
@@ -0,0 +1,46 @@
+package datastructures.concrete.dictionaries;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests of the sizing limits of HashDictionary.
+ * @author Shohei F. Koshiro
+ */
+public class HashDictionaryTest {
+    /**
+     * An expected size larger than the largest table is rejected instead of
+     * looping on an overflowed capacity
+     */
+    @Test
+    public void expectedSizeBeyondLargestTableIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new HashDictionary<Integer, Integer>(900000000));
+        assertThrows(IllegalArgumentException.class, () -> new HashDictionary<Integer, Integer>(Integer.MAX_VALUE));
+    }
+
+    /**
+     * Small expected sizes still work and hold their pairs
+     */
+    @Test
+    public void expectedSizeHoldsPairs() {
+        HashDictionary<Integer, Integer> dictionary = new HashDictionary<>(1000);
+        for (int i = 0; i < 1000; i++) {
+            dictionary.put(i, -i);
+        }
+        HashDictionary<Integer, Integer> merged = new HashDictionary<>();
+        merged.putAll(dictionary);
+        assertEquals(1000, merged.size());
+        assertEquals(-999, merged.get(999));
+    }
+
+    /**
+     * A negative expected size is rejected before anything is allocated
+     */
+    @Test
+    public void negativeExpectedSizeIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new HashDictionary<Integer, Integer>(-1));
+        assertEquals(0, new HashDictionary<Integer, Integer>(0).size());
+    }
+}
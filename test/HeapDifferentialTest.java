@@ -0,0 +1,444 @@
+package datastructures.concrete;
+
+import datastructures.concrete.dictionaries.HashDictionary;
+import datastructures.concrete.dictionaries.IntIntDictionary;
+import misc.exceptions.EmptyContainerException;
+import misc.exceptions.NoSuchKeyException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Differential test of the heaps : random sequences of operations run against
+ * DAryHeap, IndexedDAryHeap and LongPriorityHeap and against
+ * java.util.PriorityQueue, and every result, or the type of exception thrown,
+ * must be the same. After every decreaseKey and remove of the indexed heaps,
+ * the heap order and the map from elements to indexes are checked entry by
+ * entry. A failure names the seed and the step.
+ * @author Shohei F. Koshiro
+ */
+public class HeapDifferentialTest {
+    /** operations per sequence */
+    private static final int STEPS = 30000;
+
+    /** ids are drawn from -IDS / 4 to 3 * IDS / 4 - 1, so that 0 comes up often */
+    private static final int IDS = 400;
+
+    /** priorities are drawn from 0 to PRIORITIES - 1, so that some are equal */
+    private static final int PRIORITIES = 100;
+
+    /** seed of the sequences */
+    private static final long SEED = 373;
+
+    /** orders jobs by priority, then by id */
+    private static final Comparator<Job> ORDER = Comparator.comparingLong((Job job) -> job.priority)
+            .thenComparingInt(job -> job.id);
+
+    /**
+     * add, removeMin and peekMin give the same results as PriorityQueue
+     * @param arity number of children per node
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {2, 3, 4, 8})
+    public void dAryHeapMatchesPriorityQueue(int arity) {
+        DAryHeap<Integer> heap = new DAryHeap<>(arity, null);
+        PriorityQueue<Integer> model = new PriorityQueue<>();
+        Random random = new Random(SEED);
+        for (int step = 0; step < STEPS; step++) {
+            String context = "arity " + arity + " seed " + SEED + " step " + step;
+            int op = random.nextInt(10);
+            if (op < 5 || model.size() < 10 && op < 8) {
+                // duplicates are allowed in a plain heap
+                int item = random.nextInt(PRIORITIES);
+                heap.add(item);
+                model.add(item);
+            } else if (op < 9) {
+                if (model.isEmpty()) {
+                    assertThrows(EmptyContainerException.class, heap::removeMin, context);
+                } else {
+                    assertEquals(model.poll(), heap.removeMin(), context);
+                }
+            } else if (model.isEmpty()) {
+                assertThrows(EmptyContainerException.class, heap::peekMin, context);
+            } else {
+                assertEquals(model.peek(), heap.peekMin(), context);
+            }
+            assertEquals(model.size(), heap.size(), context);
+        }
+    }
+
+    /**
+     * Every operation of IndexedDAryHeap gives the same result as PriorityQueue,
+     * and the element-to-index map stays exact
+     * @param arity number of children per node
+     * @throws ReflectiveOperationException if the map cannot be read
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {2, 4})
+    public void indexedDAryHeapMatchesPriorityQueue(int arity) throws ReflectiveOperationException {
+        IndexedDAryHeap<Job> heap = new IndexedDAryHeap<>(arity, ORDER);
+        PriorityQueue<Job> model = new PriorityQueue<>(ORDER);
+        Map<Integer, Job> jobs = new HashMap<>();
+        Random random = new Random(SEED);
+        for (int step = 0; step < STEPS; step++) {
+            String context = "arity " + arity + " seed " + SEED + " step " + step;
+            int id = randomId(random);
+            Job current = jobs.get(id);
+            int op = random.nextInt(100);
+            if (op < 30) {
+                Job job = new Job(id, random.nextInt(PRIORITIES));
+                if (current != null) {
+                    assertThrows(IllegalArgumentException.class, () -> heap.add(job), context + " duplicate");
+                } else {
+                    heap.add(job);
+                    model.add(job);
+                    jobs.put(id, job);
+                }
+            } else if (op < 45) {
+                if (model.isEmpty()) {
+                    assertThrows(EmptyContainerException.class, heap::removeMin, context);
+                } else {
+                    Job min = model.poll();
+                    jobs.remove(min.id);
+                    assertEquals(min, heap.removeMin(), context);
+                }
+            } else if (op < 50) {
+                Object expected = model.isEmpty() ? EmptyContainerException.class : model.peek();
+                assertEquals(expected, outcome(heap::peekMin), context);
+            } else if (op < 75) {
+                this.decreaseKey(context, heap, model, jobs, id, random);
+                checkPositions(context, heap);
+            } else if (op < 90) {
+                if (current == null) {
+                    assertThrows(NoSuchKeyException.class, () -> heap.remove(new Job(id, 0)), context);
+                } else {
+                    heap.remove(current);
+                    model.remove(current);
+                    jobs.remove(id);
+                }
+                checkPositions(context, heap);
+            } else {
+                assertEquals(current != null, heap.contains(new Job(id, 0)), context + " contains");
+            }
+            assertEquals(model.size(), heap.size(), context);
+        }
+        while (!model.isEmpty()) {
+            assertEquals(model.poll(), heap.removeMin());
+        }
+    }
+
+    /**
+     * Runs one decreaseKey, choosing among an equal new element, a new element
+     * with a lower priority and the same id, one with a new id, and the cases
+     * which must be rejected
+     * @param context description of the step for the failure message
+     * @param heap heap under test
+     * @param model its model
+     * @param jobs jobs in the heap by id
+     * @param id id drawn for this step
+     * @param random source of the sequence
+     */
+    private void decreaseKey(String context, IndexedDAryHeap<Job> heap, PriorityQueue<Job> model,
+                             Map<Integer, Job> jobs, int id, Random random) {
+        Job old = jobs.get(id);
+        if (old == null) {
+            assertThrows(NoSuchKeyException.class, () -> heap.decreaseKey(new Job(id, 0), new Job(id, 0)),
+                    context + " missing");
+            return;
+        }
+        Job replacement;
+        switch (random.nextInt(5)) {
+            case 0:
+                // the same element : nothing moves
+                replacement = old;
+                break;
+            case 1:
+                // equal by equals, lower priority
+                replacement = new Job(id, old.priority - random.nextInt(PRIORITIES));
+                break;
+            case 2:
+                // another element, which must not be in the heap yet; a strictly
+                // lower priority keeps it smaller whatever its id
+                int newId = randomId(random);
+                Job other = new Job(newId, old.priority - 1 - random.nextInt(PRIORITIES));
+                if (newId != id && jobs.containsKey(newId)) {
+                    assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(old, other),
+                            context + " replacement already in the heap");
+                    return;
+                }
+                replacement = other;
+                break;
+            case 3:
+                Job greater = new Job(id, old.priority + 1);
+                assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(old, greater),
+                        context + " greater");
+                return;
+            default:
+                replacement = new Job(id, old.priority);
+                break;
+        }
+        heap.decreaseKey(old, replacement);
+        model.remove(old);
+        jobs.remove(id);
+        model.add(replacement);
+        jobs.put(replacement.id, replacement);
+        assertTrue(heap.contains(replacement), context + " contains the replacement");
+        if (replacement.id != id) {
+            assertFalse(heap.contains(old), context + " still contains the old element");
+        }
+    }
+
+    /**
+     * Every operation of LongPriorityHeap gives the same result as a sorted set
+     * of (priority, id) pairs, with 0 and negative ids mixed in, and the
+     * id-to-index map stays exact
+     * @throws ReflectiveOperationException if the arrays cannot be read
+     */
+    @Test
+    public void longPriorityHeapMatchesModel() throws ReflectiveOperationException {
+        LongPriorityHeap heap = new LongPriorityHeap();
+        TreeSet<Job> model = new TreeSet<>(ORDER);
+        Map<Integer, Job> jobs = new HashMap<>();
+        Random random = new Random(SEED);
+        for (int step = 0; step < STEPS; step++) {
+            String context = "seed " + SEED + " step " + step;
+            int id = randomId(random);
+            Job current = jobs.get(id);
+            int op = random.nextInt(100);
+            if (op < 30) {
+                long priority = random.nextInt(PRIORITIES) - PRIORITIES / 2;
+                if (current != null) {
+                    assertThrows(IllegalArgumentException.class, () -> heap.add(id, priority), context);
+                } else {
+                    heap.add(id, priority);
+                    Job job = new Job(id, priority);
+                    model.add(job);
+                    jobs.put(id, job);
+                }
+            } else if (op < 45) {
+                if (model.isEmpty()) {
+                    assertThrows(EmptyContainerException.class, heap::removeMin, context);
+                    assertThrows(EmptyContainerException.class, heap::peekMinPriority, context);
+                } else {
+                    // ties come out in no particular order : only the priority must match
+                    long priority = heap.peekMinPriority();
+                    assertEquals(model.first().priority, priority, context);
+                    int min = heap.removeMin();
+                    Job removed = jobs.remove(min);
+                    assertTrue(removed != null && removed.priority == priority, context + " removed " + min);
+                    model.remove(removed);
+                }
+            } else if (op < 70) {
+                if (current == null) {
+                    assertThrows(NoSuchKeyException.class, () -> heap.decreaseKey(id, 0), context);
+                } else if (random.nextInt(5) == 0) {
+                    long greater = current.priority + 1;
+                    assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(id, greater), context);
+                } else {
+                    Job lowered = new Job(id, current.priority - random.nextInt(PRIORITIES / 4));
+                    heap.decreaseKey(id, lowered.priority);
+                    model.remove(current);
+                    model.add(lowered);
+                    jobs.put(id, lowered);
+                }
+                checkPositions(context, heap);
+            } else if (op < 85) {
+                if (current == null) {
+                    assertThrows(NoSuchKeyException.class, () -> heap.remove(id), context);
+                } else {
+                    assertEquals(current.priority, heap.remove(id), context);
+                    model.remove(current);
+                    jobs.remove(id);
+                }
+                checkPositions(context, heap);
+            } else {
+                assertEquals(current != null, heap.contains(id), context + " contains");
+                if (current != null) {
+                    assertEquals(current.priority, heap.priority(id), context + " priority");
+                }
+            }
+            assertEquals(model.size(), heap.size(), context);
+        }
+    }
+
+    /**
+     * removeAt moves the last element up when it is smaller than the parent of
+     * the hole, and down otherwise
+     * @throws ReflectiveOperationException if the map cannot be read
+     */
+    @Test
+    public void removeAtSiftsUpOrDown() throws ReflectiveOperationException {
+        // binary heap [1, 10, 2, 11, 12, 3, 4], laid out in insertion order
+        int[] items = {1, 10, 2, 11, 12, 3, 4};
+        IndexedDAryHeap<Integer> up = new IndexedDAryHeap<>(2, null);
+        IndexedDAryHeap<Integer> down = new IndexedDAryHeap<>(2, null);
+        for (int item : items) {
+            up.add(item);
+            down.add(item);
+        }
+        // the hole of 11 is under 10; the last element, 4, must move above 10
+        up.remove(11);
+        checkPositions("up", up);
+        assertEquals(4, up.itemAt(1));
+        assertEquals(10, up.itemAt(3));
+        // the hole of 2 is under 1; the last element, 4, must move below 3
+        down.remove(2);
+        checkPositions("down", down);
+        assertEquals(3, down.itemAt(2));
+        assertEquals(4, down.itemAt(5));
+
+        List<Integer> drained = new ArrayList<>();
+        while (!up.isEmpty()) {
+            drained.add(up.removeMin());
+        }
+        assertEquals(List.of(1, 2, 3, 4, 10, 12), drained);
+    }
+
+    /**
+     * Draws an id, from a range which includes 0 and negative ids
+     * @param random source of the sequence
+     * @return id
+     */
+    private static int randomId(Random random) {
+        return random.nextInt(IDS) - IDS / 4;
+    }
+
+    /**
+     * Returns the result of the call, or the class of the exception it threw
+     * @param call call to run
+     * @return result or exception class
+     */
+    private static Object outcome(Supplier<?> call) {
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            return e.getClass();
+        }
+    }
+
+    /**
+     * Checks the heap order and that the map of the heap sends every element
+     * to its index, and holds nothing else
+     * @param context description of the step for the failure message
+     * @param heap heap to check
+     * @param <T> Generic type
+     * @throws ReflectiveOperationException if the map cannot be read
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> void checkPositions(String context, IndexedDAryHeap<T> heap)
+            throws ReflectiveOperationException {
+        Field field = IndexedDAryHeap.class.getDeclaredField("positions");
+        field.setAccessible(true);
+        HashDictionary<T, Integer> positions = (HashDictionary<T, Integer>) field.get(heap);
+        Field arityField = DAryHeap.class.getDeclaredField("arity");
+        arityField.setAccessible(true);
+        int arity = arityField.getInt(heap);
+        assertEquals(heap.size(), positions.size(), context + " size of the map");
+        for (int i = 0; i < heap.size(); i++) {
+            assertEquals(i, positions.get(heap.itemAt(i)), context + " index of " + heap.itemAt(i));
+            if (i > 0) {
+                assertTrue(heap.compare(heap.itemAt((i - 1) / arity), heap.itemAt(i)) <= 0,
+                        context + " heap order at " + i);
+            }
+        }
+    }
+
+    /**
+     * Checks the heap order and that the map of the heap sends every id to its
+     * index, and holds nothing else
+     * @param context description of the step for the failure message
+     * @param heap heap to check
+     * @throws ReflectiveOperationException if the arrays cannot be read
+     */
+    private static void checkPositions(String context, LongPriorityHeap heap) throws ReflectiveOperationException {
+        int[] ids = (int[]) read(heap, "ids");
+        long[] priorities = (long[]) read(heap, "priorities");
+        IntIntDictionary positions = (IntIntDictionary) read(heap, "positions");
+        assertEquals(heap.size(), positions.size(), context + " size of the map");
+        for (int i = 0; i < heap.size(); i++) {
+            assertEquals(i, positions.get(ids[i]), context + " index of " + ids[i]);
+            if (i > 0) {
+                assertTrue(priorities[(i - 1) / 4] <= priorities[i], context + " heap order at " + i);
+            }
+        }
+    }
+
+    /**
+     * Reads a private field of LongPriorityHeap
+     * @param heap heap to read from
+     * @param name name of the field
+     * @return value of the field
+     * @throws ReflectiveOperationException if the field cannot be read
+     */
+    private static Object read(LongPriorityHeap heap, String name) throws ReflectiveOperationException {
+        Field field = LongPriorityHeap.class.getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(heap);
+    }
+
+    /**
+     * Job class : element of the indexed heaps, equal to the other jobs of its id
+     */
+    private static final class Job {
+        /** identity of the job */
+        private final int id;
+
+        /** priority; smaller comes out first */
+        private final long priority;
+
+        /**
+         * Constructor : creates a job
+         * @param id identity of the job
+         * @param priority its priority
+         */
+        Job(int id, long priority) {
+            this.id = id;
+            this.priority = priority;
+        }
+
+        /**
+         * Returns 'true' if the other object is a job with the same id
+         * @param other object to compare with
+         * @return if the ids are equal
+         */
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Job && ((Job) other).id == this.id;
+        }
+
+        /**
+         * Returns the hash code of the id
+         * @return hash code
+         */
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(this.id);
+        }
+
+        /**
+         * Returns the job as id@priority
+         * @return description of the job
+         */
+        @Override
+        public String toString() {
+            return this.id + "@" + this.priority;
+        }
+    }
+}
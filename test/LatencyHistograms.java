@@ -0,0 +1,59 @@
+package misc.metrics;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * LatencyHistograms class : latency of every operation of every implementation
+ * run by a differential test, kept in one HdrHistogram each, so that a new
+ * implementation can be shown to be faster as well as correct.
+ * The first calls include interpretation and compilation, so the figures are
+ * only good for comparing implementations within one run.
+ * @author Shohei F. Koshiro
+ */
+public final class LatencyHistograms {
+    /** histograms by implementation, then by operation; latencies in nanoseconds */
+    private final Map<String, Map<String, Histogram>> histograms = new TreeMap<>();
+
+    /**
+     * Runs the operation and records how long it took, whether or not it threw
+     * @param implementation name of the implementation
+     * @param operation name of the operation
+     * @param call the operation
+     * @param <T> type of the result
+     * @return result of the operation
+     */
+    public synchronized <T> T time(String implementation, String operation, Supplier<T> call) {
+        long start = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            long nanos = System.nanoTime() - start;
+            this.histograms.computeIfAbsent(implementation, name -> new TreeMap<>())
+                    .computeIfAbsent(operation, name -> new Histogram(3))
+                    .recordValue(nanos);
+        }
+    }
+
+    /**
+     * Prints count, p50, p99, p999 and max of every operation, in nanoseconds
+     * @param out stream to print to
+     */
+    public synchronized void print(PrintStream out) {
+        out.printf("%-28s %-14s %9s %9s %9s %9s %11s%n", "implementation", "operation", "count", "p50",
+                "p99", "p999", "max");
+        for (Map.Entry<String, Map<String, Histogram>> implementation : this.histograms.entrySet()) {
+            for (Map.Entry<String, Histogram> operation : implementation.getValue().entrySet()) {
+                Histogram histogram = operation.getValue();
+                out.printf("%-28s %-14s %9d %9d %9d %9d %11d%n", implementation.getKey(), operation.getKey(),
+                        histogram.getTotalCount(), histogram.getValueAtPercentile(50),
+                        histogram.getValueAtPercentile(99), histogram.getValueAtPercentile(99.9),
+                        histogram.getMaxValue());
+            }
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package datastructures.concrete;
+
+import datastructures.interfaces.IList;
+import misc.exceptions.EmptyContainerException;
+import misc.metrics.LatencyHistograms;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Differential test of every IList : random sequences of operations run
+ * against the implementation and against ArrayList (ArrayDeque for the deque
+ * operations of ConcurrentDoubleLinkedDeque), and every result, or the type of
+ * exception thrown, must be the same. Indexes are sometimes out of range on
+ * purpose. A failure names the seed and the step, so it can be replayed.
+ * The latency of every operation is printed at the end.
+ * @author Shohei F. Koshiro
+ */
+public class ListDifferentialTest {
+    /** operations per sequence */
+    private static final int STEPS = 50000;
+
+    /** size above which the sequence removes more than it adds */
+    private static final int MAX_SIZE = 300;
+
+    /** items are drawn from 0 to ITEMS - 1, so that indexOf finds some */
+    private static final int ITEMS = 64;
+
+    /** seed of the sequences */
+    private static final long SEED = 373;
+
+    /** latency of every operation of every implementation */
+    private static final LatencyHistograms LATENCIES = new LatencyHistograms();
+
+    /**
+     * Prints the latencies
+     */
+    @AfterAll
+    public static void printLatencies() {
+        LATENCIES.print(System.out);
+    }
+
+    /**
+     * Creates an empty list
+     * @param name simple class name of the implementation, with the node capacity for UnrolledLinkedList
+     * @return the new list
+     */
+    private static IList<Integer> newList(String name) {
+        switch (name) {
+            case "DoubleLinkedList":
+                return new DoubleLinkedList<>();
+            case "CircularArrayList":
+                return new CircularArrayList<>();
+            case "UnrolledLinkedList":
+                return new UnrolledLinkedList<>();
+            case "UnrolledLinkedList(4)":
+                return new UnrolledLinkedList<>(4);
+            case "IndexableSkipList":
+                return new IndexableSkipList<>();
+            case "PersistentList":
+                return new PersistentList<>();
+            case "ConcurrentDoubleLinkedDeque":
+                return new ConcurrentDoubleLinkedDeque<>();
+            default:
+                throw new IllegalArgumentException("Unknown list : " + name);
+        }
+    }
+
+    /**
+     * Every IList operation gives the same result as ArrayList
+     * @param name implementation
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"DoubleLinkedList", "CircularArrayList", "UnrolledLinkedList", "UnrolledLinkedList(4)",
+            "IndexableSkipList", "PersistentList", "ConcurrentDoubleLinkedDeque"})
+    public void listMatchesArrayList(String name) {
+        IList<Integer> list = newList(name);
+        List<Integer> model = new ArrayList<>();
+        Random random = new Random(SEED);
+        for (int step = 0; step < STEPS; step++) {
+            int size = model.size();
+            int op = random.nextInt(100);
+            if (size > MAX_SIZE && op < 35) {
+                // shrink instead of growing
+                op += 35;
+            }
+            Integer item = random.nextInt(ITEMS);
+            String context = name + " seed " + SEED + " step " + step;
+            if (op < 20) {
+                model.add(item);
+                this.check(context + " add", null, name, "add", () -> {
+                    list.add(item);
+                    return null;
+                });
+            } else if (op < 35) {
+                int index = pickIndex(random, size + 1);
+                Object expected = inRange(index, size + 1) ? null : IndexOutOfBoundsException.class;
+                if (expected == null) {
+                    model.add(index, item);
+                }
+                this.check(context + " insert(" + index + ")", expected, name, "insert", () -> {
+                    list.insert(index, item);
+                    return null;
+                });
+            } else if (op < 45) {
+                Object expected = size == 0 ? EmptyContainerException.class : model.remove(size - 1);
+                this.check(context + " remove", expected, name, "remove", list::remove);
+            } else if (op < 57) {
+                int index = pickIndex(random, size);
+                Object expected = inRange(index, size) ? model.remove(index) : IndexOutOfBoundsException.class;
+                this.check(context + " delete(" + index + ")", expected, name, "delete", () -> list.delete(index));
+            } else if (op < 72) {
+                int index = pickIndex(random, size);
+                Object expected = inRange(index, size) ? model.get(index) : IndexOutOfBoundsException.class;
+                this.check(context + " get(" + index + ")", expected, name, "get", () -> list.get(index));
+            } else if (op < 82) {
+                int index = pickIndex(random, size);
+                Object expected = inRange(index, size) ? null : IndexOutOfBoundsException.class;
+                if (expected == null) {
+                    model.set(index, item);
+                }
+                this.check(context + " set(" + index + ")", expected, name, "set", () -> {
+                    list.set(index, item);
+                    return null;
+                });
+            } else if (op < 90) {
+                this.check(context + " indexOf", model.indexOf(item), name, "indexOf", () -> list.indexOf(item));
+            } else if (op < 96) {
+                this.check(context + " contains", model.contains(item), name, "contains",
+                        () -> list.contains(item));
+            } else if (op < 99) {
+                this.check(context + " size", size, name, "size", list::size);
+            } else {
+                this.check(context + " iterator", model, name, "iterator", () -> toList(list));
+            }
+        }
+        assertEquals(model, toList(list), name + " contents at the end");
+    }
+
+    /**
+     * The deque operations of ConcurrentDoubleLinkedDeque give the same result as ArrayDeque
+     */
+    @Test
+    public void dequeMatchesArrayDeque() {
+        String name = "ConcurrentDoubleLinkedDeque";
+        ConcurrentDoubleLinkedDeque<Integer> deque = new ConcurrentDoubleLinkedDeque<>();
+        ArrayDeque<Integer> model = new ArrayDeque<>();
+        Random random = new Random(SEED);
+        for (int step = 0; step < STEPS; step++) {
+            int size = model.size();
+            int op = random.nextInt(100);
+            if (size > MAX_SIZE && op < 45) {
+                op += 45;
+            }
+            Integer item = random.nextInt(ITEMS);
+            String context = name + " seed " + SEED + " step " + step;
+            if (op < 20) {
+                model.offerFirst(item);
+                this.check(context + " offerFirst", null, name, "offerFirst", () -> {
+                    deque.offerFirst(item);
+                    return null;
+                });
+            } else if (op < 35) {
+                model.offerLast(item);
+                this.check(context + " offerLast", null, name, "offerLast", () -> {
+                    deque.offerLast(item);
+                    return null;
+                });
+            } else if (op < 45) {
+                model.addLast(item);
+                this.check(context + " add", null, name, "add", () -> {
+                    deque.add(item);
+                    return null;
+                });
+            } else if (op < 65) {
+                this.check(context + " pollFirst", model.pollFirst(), name, "pollFirst", deque::pollFirst);
+            } else if (op < 80) {
+                this.check(context + " pollLast", model.pollLast(), name, "pollLast", deque::pollLast);
+            } else if (op < 90) {
+                Object expected = size == 0 ? EmptyContainerException.class : model.removeLast();
+                this.check(context + " remove", expected, name, "remove", deque::remove);
+            } else if (op < 98) {
+                this.check(context + " size", size, name, "size", deque::size);
+            } else {
+                this.check(context + " iterator", new ArrayList<>(model), name, "iterator", () -> toList(deque));
+            }
+        }
+        assertEquals(new ArrayList<>(model), toList(deque), name + " contents at the end");
+    }
+
+    /**
+     * Runs the operation, timing it, and compares its outcome with the expected one
+     * @param context description of the step for the failure message
+     * @param expected expected result, or the class of the expected exception
+     * @param name implementation
+     * @param operation name of the operation
+     * @param call the operation on the implementation
+     */
+    private void check(String context, Object expected, String name, String operation, Supplier<?> call) {
+        Object actual;
+        try {
+            actual = LATENCIES.time(name, operation, call);
+        } catch (RuntimeException e) {
+            actual = e.getClass();
+        }
+        if (!Objects.equals(expected, actual)) {
+            assertEquals(expected, actual, context);
+        }
+    }
+
+    /**
+     * Picks an index, out of range once in twenty times
+     * @param random source of the sequence
+     * @param bound first invalid index
+     * @return index
+     */
+    private static int pickIndex(Random random, int bound) {
+        if (bound == 0 || random.nextInt(20) == 0) {
+            return random.nextBoolean() ? -1 : bound;
+        }
+        return random.nextInt(bound);
+    }
+
+    /**
+     * Returns if the index is below the bound and not negative
+     * @param index index to check
+     * @param bound first invalid index
+     * @return if the index is valid
+     */
+    private static boolean inRange(int index, int bound) {
+        return index >= 0 && index < bound;
+    }
+
+    /**
+     * Copies the items of the iterable in iteration order
+     * @param items items to copy
+     * @return list of the items
+     */
+    private static List<Integer> toList(Iterable<Integer> items) {
+        List<Integer> copy = new ArrayList<>();
+        Iterator<Integer> iterator = items.iterator();
+        while (iterator.hasNext()) {
+            copy.add(iterator.next());
+        }
+        return copy;
+    }
+}
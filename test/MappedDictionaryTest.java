@@ -0,0 +1,113 @@
+package datastructures.concrete.dictionaries;
+
+import datastructures.io.Codecs;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Tests compaction of MappedDictionary.
+ * @author Shohei F. Koshiro
+ */
+public class MappedDictionaryTest {
+    /** directory for the files of the dictionary */
+    @TempDir
+    Path directory;
+
+    /**
+     * Rewriting in slot order may need more segment padding than the old log
+     * had; compaction must still succeed and keep every pair
+     */
+    @Test
+    public void compactionMayGrowThePadding() throws IOException {
+        Map<Integer, byte[]> expected = new HashMap<>();
+        Path base = this.directory.resolve("dictionary");
+        try (MappedDictionary<Integer, byte[]> dictionary = new MappedDictionary<>(base, Codecs.INTEGER,
+                Codecs.BYTES, 64)) {
+            // records of 40 and 24 bytes fill the 64-byte segments exactly in insertion order
+            for (int i = 0; i < 30; i++) {
+                byte[] value = new byte[i % 2 == 0 ? 28 : 12];
+                value[0] = (byte) i;
+                dictionary.put(i, value);
+                expected.put(i, value);
+            }
+            for (int round = 0; round < 5; round++) {
+                dictionary.compact();
+                assertContents(expected, dictionary);
+            }
+        }
+        try (MappedDictionary<Integer, byte[]> dictionary = new MappedDictionary<>(base, Codecs.INTEGER,
+                Codecs.BYTES, 64)) {
+            assertContents(expected, dictionary);
+        }
+    }
+
+    /**
+     * A crash after the new index was moved into place but before its log
+     * followed is finished when the dictionary is opened again
+     */
+    @Test
+    public void openingFinishesAnInterruptedCompaction() throws IOException {
+        Path base = this.directory.resolve("dictionary");
+        Path log = this.directory.resolve("dictionary.log");
+        Path index = this.directory.resolve("dictionary.idx");
+        Path saved = this.directory.resolve("saved");
+        Files.createDirectory(saved);
+        Map<Integer, byte[]> expected = new HashMap<>();
+        try (MappedDictionary<Integer, byte[]> dictionary = new MappedDictionary<>(base, Codecs.INTEGER,
+                Codecs.BYTES, 64)) {
+            for (int i = 0; i < 20; i++) {
+                dictionary.put(i % 10, new byte[] {(byte) i});
+                expected.put(i % 10, new byte[] {(byte) i});
+            }
+            dictionary.flush();
+            // keep the log from before the compaction
+            Files.copy(log, saved.resolve("old.log"));
+            dictionary.compact();
+        }
+        // the state after the commit point : new index, new log still at its temporary path
+        Files.move(log, this.directory.resolve("dictionary.log.compact"));
+        Files.copy(saved.resolve("old.log"), log);
+        setPending(index);
+
+        try (MappedDictionary<Integer, byte[]> dictionary = new MappedDictionary<>(base, Codecs.INTEGER,
+                Codecs.BYTES, 64)) {
+            assertContents(expected, dictionary);
+        }
+        assertFalse(Files.exists(this.directory.resolve("dictionary.log.compact")));
+    }
+
+    /**
+     * Marks the index file as waiting for its compacted log
+     * @param index path of the index file
+     */
+    private static void setPending(Path index) throws IOException {
+        byte[] bytes = Files.readAllBytes(index);
+        bytes[43] = 1;
+        Path temp = index.resolveSibling("pending");
+        Files.write(temp, bytes);
+        Files.move(temp, index, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Checks that the dictionary holds exactly the expected pairs
+     * @param expected expected pairs
+     * @param dictionary dictionary to check
+     */
+    private static void assertContents(Map<Integer, byte[]> expected, MappedDictionary<Integer, byte[]> dictionary) {
+        assertEquals(expected.size(), dictionary.size());
+        for (Map.Entry<Integer, byte[]> entry : expected.entrySet()) {
+            assertArrayEquals(entry.getValue(), dictionary.get(entry.getKey()));
+        }
+    }
+}
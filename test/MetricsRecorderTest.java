@@ -0,0 +1,72 @@
+package misc.metrics;
+
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.dictionaries.ArrayDictionary;
+import datastructures.concrete.dictionaries.HashDictionary;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that MetricsRecorder keeps the counters of each structure apart.
+ * The build runs this test alone, in its own execution, with
+ * -Ddatastructures.metrics=true.
+ * @author Shohei F. Koshiro
+ */
+public class MetricsRecorderTest {
+    /**
+     * Removes the recorder again
+     */
+    @AfterEach
+    public void removeListener() {
+        Metrics.setListener(null);
+    }
+
+    /**
+     * Scans, walks and allocations end up under the structure which reported them
+     */
+    @Test
+    public void countersAreKeptPerStructure() {
+        assertTrue(Metrics.ENABLED, "tests must run with -Ddatastructures.metrics=true");
+        MetricsRecorder recorder = new MetricsRecorder();
+        Metrics.setListener(recorder);
+
+        ArrayDictionary<Integer, Integer> array = new ArrayDictionary<>();
+        for (int i = 0; i < 10; i++) {
+            array.put(i, i);
+        }
+        HashDictionary<Integer, Integer> hash = new HashDictionary<>();
+        for (int i = 0; i < 10; i++) {
+            hash.put(i, i);
+        }
+        hash.get(3);
+        DoubleLinkedList<Integer> list = new DoubleLinkedList<>();
+        for (int i = 0; i < 10; i++) {
+            list.add(i);
+        }
+        list.get(5);
+
+        MetricsRecorder.Counters arrayCounters = recorder.getCounters("ArrayDictionary");
+        // puts of new keys scan every pair in the array
+        assertEquals(10, arrayCounters.getScanCount());
+        assertEquals(9, arrayCounters.getMaxScanLength());
+        assertEquals(10, arrayCounters.getAllocationCount());
+        assertEquals(0, arrayCounters.getTraversalCount());
+
+        MetricsRecorder.Counters hashCounters = recorder.getCounters("HashDictionary");
+        // 10 puts and 1 get
+        assertEquals(11, hashCounters.getScanCount());
+        assertEquals(0, hashCounters.getAllocationCount());
+
+        MetricsRecorder.Counters listCounters = recorder.getCounters("DoubleLinkedList");
+        assertEquals(0, listCounters.getScanCount());
+        assertTrue(listCounters.getTraversalCount() > 0);
+        assertEquals(10, listCounters.getAllocationCount());
+
+        assertTrue(recorder.getStructures().contains("DoubleLinkedList"));
+        recorder.reset();
+        assertEquals(0, recorder.getCounters("HashDictionary").getScanCount());
+    }
+}
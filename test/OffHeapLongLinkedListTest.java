@@ -0,0 +1,66 @@
+package datastructures.concrete;
+
+import datastructures.concrete.dictionaries.OffHeapLongLongDictionary;
+import misc.memory.DirectBuffers;
+import org.junit.jupiter.api.Test;
+
+import java.util.PrimitiveIterator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests closing the off-heap structures, which frees their memory.
+ * @author Shohei F. Koshiro
+ */
+public class OffHeapLongLinkedListTest {
+    /**
+     * The JVM running the tests frees direct buffers right away
+     */
+    @Test
+    public void buffersAreFreedOnClose() {
+        assertTrue(DirectBuffers.isFreeingSupported());
+    }
+
+    /**
+     * Every operation touching the slabs is rejected after close, including
+     * remove on an emptied list and iterators created before close
+     */
+    @Test
+    public void listRejectsUseAfterClose() {
+        OffHeapLongLinkedList list = new OffHeapLongLinkedList();
+        for (long i = 0; i < 100000; i++) {
+            list.add(i);
+        }
+        PrimitiveIterator.OfLong iterator = list.iterator();
+        assertEquals(0, iterator.nextLong());
+        list.close();
+        list.close();
+        assertThrows(IllegalStateException.class, list::remove);
+        assertThrows(IllegalStateException.class, () -> list.get(0));
+        assertThrows(IllegalStateException.class, () -> list.add(1));
+        assertThrows(IllegalStateException.class, iterator::nextLong);
+        assertEquals(0, list.size());
+    }
+
+    /**
+     * The dictionary keeps working across resizes, which free the old slabs,
+     * and is rejected after close
+     */
+    @Test
+    public void dictionaryRejectsUseAfterClose() {
+        OffHeapLongLongDictionary dictionary = new OffHeapLongLongDictionary();
+        for (long i = 0; i < 200000; i++) {
+            dictionary.put(i, -i);
+        }
+        for (long i = 0; i < 200000; i++) {
+            assertEquals(-i, dictionary.get(i));
+        }
+        dictionary.close();
+        dictionary.close();
+        assertThrows(IllegalStateException.class, () -> dictionary.get(1));
+        assertThrows(IllegalStateException.class, () -> dictionary.put(1, 1));
+        assertEquals(0, dictionary.offHeapBytes());
+    }
+}
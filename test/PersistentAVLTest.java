@@ -0,0 +1,67 @@
+package datastructures.concrete.dictionaries;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Tests the spliterator behind PersistentAVL.stream().
+ * @author Shohei F. Koshiro
+ */
+public class PersistentAVLTest {
+    /**
+     * Returns a dictionary holding i -> -i for i from 0 to size - 1, inserted in a scrambled order
+     * @param size number of pairs
+     * @return the dictionary
+     */
+    private static PersistentAVL<Integer, Integer> filled(int size) {
+        PersistentAVL<Integer, Integer> dictionary = new PersistentAVL<>();
+        for (int i = 0; i < size; i++) {
+            int key = (int) ((i * 7919L) % size);
+            dictionary.put(key, -key);
+        }
+        return dictionary;
+    }
+
+    /**
+     * The spliterator splits into halves of exactly known size which together
+     * cover every pair in order
+     */
+    @Test
+    public void splitsIntoExactHalves() {
+        PersistentAVL<Integer, Integer> dictionary = filled(1001);
+        Spliterator<Map.Entry<Integer, Integer>> suffix = dictionary.stream().spliterator();
+        assertEquals(1001, suffix.getExactSizeIfKnown());
+        // advance a little before splitting
+        suffix.tryAdvance(entry -> assertEquals(0, entry.getKey()));
+        Spliterator<Map.Entry<Integer, Integer>> prefix = suffix.trySplit();
+        assertNotNull(prefix);
+        assertEquals(500, prefix.getExactSizeIfKnown());
+        assertEquals(500, suffix.getExactSizeIfKnown());
+        int[] expected = {1};
+        prefix.forEachRemaining(entry -> assertEquals(expected[0]++, entry.getKey()));
+        suffix.forEachRemaining(entry -> assertEquals(expected[0]++, entry.getKey()));
+        assertEquals(1001, expected[0]);
+    }
+
+    /**
+     * A parallel stream sees every pair once and keeps the key order
+     */
+    @Test
+    public void parallelStreamKeepsOrder() {
+        PersistentAVL<Integer, Integer> dictionary = filled(100000);
+        List<Integer> keys = dictionary.stream().parallel().map(Map.Entry::getKey).collect(Collectors.toList());
+        assertEquals(100000, keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            assertEquals(i, keys.get(i));
+        }
+        long sum = dictionary.stream().parallel().mapToLong(Map.Entry::getValue).sum();
+        assertEquals(-100000L * 99999 / 2, sum);
+    }
+}
@@ -0,0 +1,136 @@
+package datastructures.concrete;
+
+import misc.exceptions.EmptyContainerException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests IntArrayList and LongArrayList against ArrayList.
+ * @author Shohei F. Koshiro
+ */
+public class PrimitiveArrayListTest {
+    /** operations per sequence */
+    private static final int STEPS = 20000;
+
+    /**
+     * Random add, remove, get, set, insert, delete and indexOf give the same
+     * results as ArrayList, including 0 and negative items
+     */
+    @Test
+    public void intArrayListMatchesArrayList() {
+        IntArrayList list = new IntArrayList();
+        List<Integer> model = new ArrayList<>();
+        Random random = new Random(5);
+        for (int step = 0; step < STEPS; step++) {
+            int item = random.nextInt(33) - 16;
+            int size = model.size();
+            int op = random.nextInt(size > 200 ? 4 : 7);
+            if (op == 0 && size > 0) {
+                assertEquals(model.remove(size - 1), list.remove(), "step " + step);
+            } else if (op == 1 && size > 0) {
+                int index = random.nextInt(size);
+                assertEquals(model.remove(index), list.delete(index), "step " + step);
+            } else if (op == 2 && size > 0) {
+                int index = random.nextInt(size);
+                model.set(index, item);
+                list.set(index, item);
+            } else if (op == 3) {
+                assertEquals(model.indexOf(item), list.indexOf(item), "step " + step);
+                assertEquals(model.contains(item), list.contains(item), "step " + step);
+            } else if (op == 4) {
+                int index = random.nextInt(size + 1);
+                model.add(index, item);
+                list.insert(index, item);
+            } else {
+                model.add(item);
+                list.add(item);
+            }
+            assertEquals(model.size(), list.size(), "step " + step);
+        }
+        List<Integer> contents = new ArrayList<>();
+        PrimitiveIterator.OfInt iterator = list.iterator();
+        while (iterator.hasNext()) {
+            contents.add(iterator.nextInt());
+        }
+        assertEquals(model, contents);
+        assertEquals(model.stream().mapToLong(Integer::longValue).sum(), list.parallelStream().asLongStream().sum());
+    }
+
+    /**
+     * Random add, remove, get, set, insert, delete and indexOf give the same
+     * results as ArrayList, including 0 and values beyond the int range
+     */
+    @Test
+    public void longArrayListMatchesArrayList() {
+        LongArrayList list = new LongArrayList();
+        List<Long> model = new ArrayList<>();
+        Random random = new Random(5);
+        for (int step = 0; step < STEPS; step++) {
+            long item = (random.nextInt(33) - 16) * (1L << 40);
+            int size = model.size();
+            int op = random.nextInt(size > 200 ? 4 : 7);
+            if (op == 0 && size > 0) {
+                assertEquals(model.remove(size - 1), list.remove(), "step " + step);
+            } else if (op == 1 && size > 0) {
+                int index = random.nextInt(size);
+                assertEquals(model.remove(index), list.delete(index), "step " + step);
+            } else if (op == 2 && size > 0) {
+                int index = random.nextInt(size);
+                model.set(index, item);
+                list.set(index, item);
+            } else if (op == 3) {
+                assertEquals(model.indexOf(item), list.indexOf(item), "step " + step);
+                assertEquals(model.contains(item), list.contains(item), "step " + step);
+            } else if (op == 4) {
+                int index = random.nextInt(size + 1);
+                model.add(index, item);
+                list.insert(index, item);
+            } else {
+                model.add(item);
+                list.add(item);
+            }
+            assertEquals(model.size(), list.size(), "step " + step);
+        }
+        List<Long> contents = new ArrayList<>();
+        PrimitiveIterator.OfLong iterator = list.iterator();
+        while (iterator.hasNext()) {
+            contents.add(iterator.nextLong());
+        }
+        assertEquals(model, contents);
+        assertEquals(model.stream().mapToLong(Long::longValue).sum(), list.parallelStream().sum());
+    }
+
+    /**
+     * Empty lists and bad indexes throw the repository's exceptions, and clear empties the list
+     */
+    @Test
+    public void boundsAreChecked() {
+        IntArrayList ints = new IntArrayList();
+        LongArrayList longs = new LongArrayList();
+        assertThrows(EmptyContainerException.class, ints::remove);
+        assertThrows(EmptyContainerException.class, longs::remove);
+        ints.add(0);
+        longs.add(0);
+        assertThrows(IndexOutOfBoundsException.class, () -> ints.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> longs.get(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> ints.insert(2, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> longs.delete(1));
+        assertTrue(ints.contains(0));
+        assertTrue(longs.contains(0));
+        ints.clear();
+        longs.clear();
+        assertTrue(ints.isEmpty());
+        assertTrue(longs.isEmpty());
+        assertFalse(ints.contains(0));
+        assertFalse(longs.contains(0));
+    }
+}
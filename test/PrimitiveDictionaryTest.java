@@ -0,0 +1,143 @@
+package datastructures.concrete.dictionaries;
+
+import misc.exceptions.NoSuchKeyException;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests IntIntDictionary and LongLongDictionary against HashMap, with the 0
+ * key, which marks empty slots and is kept outside the table, in every run.
+ * @author Shohei F. Koshiro
+ */
+public class PrimitiveDictionaryTest {
+    /** operations per sequence */
+    private static final int STEPS = 50000;
+
+    /**
+     * Random put, get, remove and containsKey give the same results as HashMap
+     */
+    @Test
+    public void intIntDictionaryMatchesHashMap() {
+        IntIntDictionary dictionary = new IntIntDictionary();
+        Map<Integer, Integer> model = new HashMap<>();
+        Random random = new Random(5);
+        for (int step = 0; step < STEPS; step++) {
+            // keys around 0, so that key 0 and negative keys come up often
+            int key = random.nextInt(2000) - 1000;
+            int value = random.nextInt();
+            String context = "step " + step + " key " + key;
+            switch (random.nextInt(4)) {
+                case 0:
+                case 1:
+                    model.put(key, value);
+                    dictionary.put(key, value);
+                    break;
+                case 2:
+                    if (model.containsKey(key)) {
+                        assertEquals(model.remove(key), dictionary.remove(key), context);
+                    } else {
+                        assertThrows(NoSuchKeyException.class, () -> dictionary.remove(key), context);
+                    }
+                    break;
+                default:
+                    assertEquals(model.containsKey(key), dictionary.containsKey(key), context);
+                    if (model.containsKey(key)) {
+                        assertEquals(model.get(key), dictionary.get(key), context);
+                    } else {
+                        assertThrows(NoSuchKeyException.class, () -> dictionary.get(key), context);
+                    }
+                    break;
+            }
+            assertEquals(model.size(), dictionary.size(), context);
+        }
+        for (Map.Entry<Integer, Integer> entry : model.entrySet()) {
+            assertEquals(entry.getValue(), dictionary.get(entry.getKey()));
+        }
+    }
+
+    /**
+     * Random put, get, remove and containsKey give the same results as HashMap
+     */
+    @Test
+    public void longLongDictionaryMatchesHashMap() {
+        LongLongDictionary dictionary = new LongLongDictionary();
+        Map<Long, Long> model = new HashMap<>();
+        Random random = new Random(5);
+        for (int step = 0; step < STEPS; step++) {
+            // keys around 0 and beyond the int range
+            long key = (random.nextInt(2000) - 1000) * (1L << 33);
+            long value = random.nextLong();
+            String context = "step " + step + " key " + key;
+            switch (random.nextInt(4)) {
+                case 0:
+                case 1:
+                    model.put(key, value);
+                    dictionary.put(key, value);
+                    break;
+                case 2:
+                    if (model.containsKey(key)) {
+                        assertEquals(model.remove(key), dictionary.remove(key), context);
+                    } else {
+                        assertThrows(NoSuchKeyException.class, () -> dictionary.remove(key), context);
+                    }
+                    break;
+                default:
+                    assertEquals(model.containsKey(key), dictionary.containsKey(key), context);
+                    if (model.containsKey(key)) {
+                        assertEquals(model.get(key), dictionary.get(key), context);
+                    } else {
+                        assertThrows(NoSuchKeyException.class, () -> dictionary.get(key), context);
+                    }
+                    break;
+            }
+            assertEquals(model.size(), dictionary.size(), context);
+        }
+        for (Map.Entry<Long, Long> entry : model.entrySet()) {
+            assertEquals(entry.getValue(), dictionary.get(entry.getKey()));
+        }
+    }
+
+    /**
+     * Key 0 is stored, replaced and removed on its own, and counts in size
+     */
+    @Test
+    public void zeroKeyIsAPair() {
+        IntIntDictionary ints = new IntIntDictionary();
+        LongLongDictionary longs = new LongLongDictionary();
+        assertFalse(ints.containsKey(0));
+        assertFalse(longs.containsKey(0));
+        assertThrows(NoSuchKeyException.class, () -> ints.get(0));
+        assertThrows(NoSuchKeyException.class, () -> longs.remove(0));
+
+        ints.put(0, 0);
+        longs.put(0, 0);
+        assertTrue(ints.containsKey(0));
+        assertTrue(longs.containsKey(0));
+        assertEquals(1, ints.size());
+        assertEquals(1, longs.size());
+        ints.put(0, 7);
+        longs.put(0, 7);
+        ints.put(1, 1);
+        longs.put(1, 1);
+        assertEquals(2, ints.size());
+        assertEquals(7, ints.get(0));
+        assertEquals(7, longs.get(0));
+
+        assertEquals(7, ints.remove(0));
+        assertEquals(7, longs.remove(0));
+        assertFalse(ints.containsKey(0));
+        assertFalse(longs.containsKey(0));
+        assertEquals(1, ints.size());
+        assertEquals(1, longs.size());
+        assertEquals(1, ints.get(1));
+        assertEquals(1, longs.get(1));
+    }
+}